@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.BasicDynaClass;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.DynaClass;
+import org.apache.commons.beanutils.DynaProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for <code>BeanUtilsBean.copyProperties()</code> from each
+ * kind of source (JavaBean, DynaBean and Map) and for
+ * <code>BeanUtilsBean.populate()</code> from String values, which
+ * need conversion.
+ *
+ * @version $Revision$ $Date$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanUtilsBenchmark {
+
+    /**
+     * State shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        BeanUtilsBean beanUtils;
+        DynaClass dynaClass;
+
+        @Setup
+        public void setUp() {
+            beanUtils = new BeanUtilsBean();
+            dynaClass = new BasicDynaClass("BenchDynaBean", null, new DynaProperty[] {
+                new DynaProperty("booleanProperty", Boolean.TYPE),
+                new DynaProperty("intProperty", Integer.TYPE),
+                new DynaProperty("longProperty", Long.TYPE),
+                new DynaProperty("doubleProperty", Double.TYPE),
+                new DynaProperty("stringProperty", String.class),
+                new DynaProperty("integerProperty", Integer.class)
+            });
+        }
+    }
+
+    /**
+     * State of each thread.
+     */
+    @State(Scope.Thread)
+    public static class Beans {
+        BenchBean dest;
+        BenchBean bean;
+        DynaBean dynaBean;
+        Map map;
+        Map strings;
+
+        @Setup
+        public void setUp(Shared shared) throws Exception {
+            dest = new BenchBean();
+            bean = new BenchBean();
+            dynaBean = shared.dynaClass.newInstance();
+            dynaBean.set("booleanProperty", Boolean.FALSE);
+            dynaBean.set("intProperty", new Integer(1));
+            dynaBean.set("longProperty", new Long(2));
+            dynaBean.set("doubleProperty", new Double(3));
+            dynaBean.set("stringProperty", "DynaBean");
+            dynaBean.set("integerProperty", new Integer(4));
+            map = new HashMap();
+            map.put("booleanProperty", Boolean.FALSE);
+            map.put("intProperty", new Integer(1));
+            map.put("longProperty", new Long(2));
+            map.put("doubleProperty", new Double(3));
+            map.put("stringProperty", "Map");
+            map.put("integerProperty", new Integer(4));
+            strings = new HashMap();
+            strings.put("booleanProperty", "false");
+            strings.put("intProperty", "1");
+            strings.put("longProperty", "2");
+            strings.put("doubleProperty", "3.0");
+            strings.put("stringProperty", "String");
+            strings.put("integerProperty", "4");
+        }
+    }
+
+    @Benchmark
+    public BenchBean copyFromBean(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.copyProperties(beans.dest, beans.bean);
+        return beans.dest;
+    }
+
+    @Benchmark
+    public BenchBean copyFromDynaBean(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.copyProperties(beans.dest, beans.dynaBean);
+        return beans.dest;
+    }
+
+    @Benchmark
+    public BenchBean copyFromMap(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.copyProperties(beans.dest, beans.map);
+        return beans.dest;
+    }
+
+    @Benchmark
+    public BenchBean populate(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.populate(beans.dest, beans.strings);
+        return beans.dest;
+    }
+
+    @Benchmark
+    public Map describe(Shared shared, Beans beans) throws Exception {
+        return shared.beanUtils.describe(beans.bean);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchBean copyFromBeanContended(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.copyProperties(beans.dest, beans.bean);
+        return beans.dest;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchBean populateContended(Shared shared, Beans beans) throws Exception {
+        shared.beanUtils.populate(beans.dest, beans.strings);
+        return beans.dest;
+    }
+}
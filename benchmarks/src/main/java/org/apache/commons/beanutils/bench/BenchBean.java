@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JavaBean with simple, nested, indexed and mapped properties,
+ * used by the benchmarks.
+ *
+ * @version $Revision$ $Date$
+ */
+public class BenchBean {
+
+    private boolean booleanProperty = true;
+    private int intProperty = 123;
+    private long longProperty = 321L;
+    private double doubleProperty = 321.0;
+    private String stringProperty = "This is a string";
+    private Integer integerProperty = new Integer(456);
+    private int[] intArray = new int[] {0, 10, 20, 30, 40};
+    private List stringList = new ArrayList();
+    private Map mappedProperty = new HashMap();
+    private BenchBean nested;
+
+    public BenchBean() {
+        stringList.add("String 0");
+        stringList.add("String 1");
+        stringList.add("String 2");
+        mappedProperty.put("First Key", "First Value");
+        mappedProperty.put("Second Key", "Second Value");
+    }
+
+    public boolean getBooleanProperty() {
+        return booleanProperty;
+    }
+    public void setBooleanProperty(boolean booleanProperty) {
+        this.booleanProperty = booleanProperty;
+    }
+
+    public int getIntProperty() {
+        return intProperty;
+    }
+    public void setIntProperty(int intProperty) {
+        this.intProperty = intProperty;
+    }
+
+    public long getLongProperty() {
+        return longProperty;
+    }
+    public void setLongProperty(long longProperty) {
+        this.longProperty = longProperty;
+    }
+
+    public double getDoubleProperty() {
+        return doubleProperty;
+    }
+    public void setDoubleProperty(double doubleProperty) {
+        this.doubleProperty = doubleProperty;
+    }
+
+    public String getStringProperty() {
+        return stringProperty;
+    }
+    public void setStringProperty(String stringProperty) {
+        this.stringProperty = stringProperty;
+    }
+
+    public Integer getIntegerProperty() {
+        return integerProperty;
+    }
+    public void setIntegerProperty(Integer integerProperty) {
+        this.integerProperty = integerProperty;
+    }
+
+    public int[] getIntArray() {
+        return intArray;
+    }
+    public void setIntArray(int[] intArray) {
+        this.intArray = intArray;
+    }
+    public int getIntArray(int index) {
+        return intArray[index];
+    }
+    public void setIntArray(int index, int value) {
+        intArray[index] = value;
+    }
+
+    public List getStringList() {
+        return stringList;
+    }
+    public void setStringList(List stringList) {
+        this.stringList = stringList;
+    }
+
+    public Object getMappedProperty(String key) {
+        return mappedProperty.get(key);
+    }
+    public void setMappedProperty(String key, Object value) {
+        mappedProperty.put(key, value);
+    }
+
+    public BenchBean getNested() {
+        if (nested == null) {
+            nested = new BenchBean();
+        }
+        return nested;
+    }
+    public void setNested(BenchBean nested) {
+        this.nested = nested;
+    }
+}
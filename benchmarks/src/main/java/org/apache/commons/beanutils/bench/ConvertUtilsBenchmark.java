@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for <code>ConvertUtilsBean.convert(Object, Class)</code>
+ * for each type which has a <code>Converter</code> registered by default,
+ * converting from a typical input value.
+ *
+ * @version $Revision$ $Date$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertUtilsBenchmark {
+
+    /** The target types and input values, as "type=value" */
+    @Param({
+        "boolean=true",
+        "byte=12",
+        "char=c",
+        "double=1234.5",
+        "float=12.5",
+        "int=1234",
+        "long=1234567",
+        "short=123",
+        "java.lang.Boolean=yes",
+        "java.lang.Byte=12",
+        "java.lang.Character=c",
+        "java.lang.Double=1234.5",
+        "java.lang.Float=12.5",
+        "java.lang.Integer=1234",
+        "java.lang.Long=1234567",
+        "java.lang.Short=123",
+        "java.lang.String=value",
+        "java.math.BigDecimal=1234.5678",
+        "java.math.BigInteger=12345678901234567890",
+        "java.lang.Class=java.lang.String",
+        "java.io.File=/tmp/file.txt",
+        "java.net.URL=http://commons.apache.org/beanutils/",
+        "java.sql.Date=2012-03-04",
+        "java.sql.Time=12:34:56",
+        "java.sql.Timestamp=2012-03-04 12:34:56.789",
+        "java.util.Date=#1330864496789",
+        "java.util.Calendar=#1330864496789",
+        "[I=1,2,3,4",
+        "[Ljava.lang.String;=a,b,c,d"
+    })
+    public String conversion;
+
+    ConvertUtilsBean convertUtils;
+    Class type;
+    Object value;
+
+    @Setup
+    public void setUp() throws Exception {
+        convertUtils = new ConvertUtilsBean();
+        int i = conversion.indexOf('=');
+        type = toClass(conversion.substring(0, i));
+        String input = conversion.substring(i + 1);
+        // java.util.Date and Calendar have no default String patterns
+        value = input.startsWith("#") ? (Object) new Long(input.substring(1)) : input;
+    }
+
+    @Benchmark
+    public Object convert() {
+        return convertUtils.convert(value, type);
+    }
+
+    @Benchmark
+    public String convertToString() {
+        return convertUtils.convert(value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object convertContended() {
+        return convertUtils.convert(value, type);
+    }
+
+    private static Class toClass(String name) throws ClassNotFoundException {
+        if ("boolean".equals(name)) {
+            return Boolean.TYPE;
+        } else if ("byte".equals(name)) {
+            return Byte.TYPE;
+        } else if ("char".equals(name)) {
+            return Character.TYPE;
+        } else if ("double".equals(name)) {
+            return Double.TYPE;
+        } else if ("float".equals(name)) {
+            return Float.TYPE;
+        } else if ("int".equals(name)) {
+            return Integer.TYPE;
+        } else if ("long".equals(name)) {
+            return Long.TYPE;
+        } else if ("short".equals(name)) {
+            return Short.TYPE;
+        }
+        return Class.forName(name);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.bench;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.BasicDynaClass;
+import org.apache.commons.beanutils.BeanMap;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.DynaProperty;
+import org.apache.commons.beanutils.LazyDynaBean;
+import org.apache.commons.beanutils.WrapDynaBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for <code>DynaBean</code> property access and for
+ * iterating over a <code>BeanMap</code>.
+ *
+ * @version $Revision$ $Date$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DynaBeanBenchmark {
+
+    BasicDynaClass dynaClass;
+    DynaBean basicBean;
+    LazyDynaBean lazyBean;
+    WrapDynaBean wrapBean;
+    BenchBean bean;
+    BeanMap beanMap;
+    Integer intValue = new Integer(789);
+
+    @Setup
+    public void setUp() throws Exception {
+        dynaClass = new BasicDynaClass("BenchDynaBean", null, new DynaProperty[] {
+            new DynaProperty("intProperty", Integer.TYPE),
+            new DynaProperty("stringProperty", String.class),
+            new DynaProperty("intArray", int[].class),
+            new DynaProperty("mappedProperty", Map.class)
+        });
+        basicBean = dynaClass.newInstance();
+        basicBean.set("intProperty", new Integer(123));
+        basicBean.set("stringProperty", "BasicDynaBean");
+        basicBean.set("intArray", new int[] {0, 10, 20, 30, 40});
+        basicBean.set("mappedProperty", new java.util.HashMap());
+        basicBean.set("mappedProperty", "First Key", "First Value");
+
+        lazyBean = new LazyDynaBean();
+        lazyBean.set("intProperty", new Integer(123));
+        lazyBean.set("stringProperty", "LazyDynaBean");
+        lazyBean.set("intArray", 2, new Integer(20));
+        lazyBean.set("mappedProperty", "First Key", "First Value");
+
+        bean = new BenchBean();
+        wrapBean = new WrapDynaBean(bean);
+        beanMap = new BeanMap(bean);
+    }
+
+    @Benchmark
+    public Object basicGet() {
+        return basicBean.get("intProperty");
+    }
+
+    @Benchmark
+    public DynaBean basicSet() {
+        basicBean.set("intProperty", intValue);
+        return basicBean;
+    }
+
+    @Benchmark
+    public Object basicGetIndexed() {
+        return basicBean.get("intArray", 2);
+    }
+
+    @Benchmark
+    public Object basicGetMapped() {
+        return basicBean.get("mappedProperty", "First Key");
+    }
+
+    @Benchmark
+    public Object lazyGet() {
+        return lazyBean.get("intProperty");
+    }
+
+    @Benchmark
+    public DynaBean lazySet() {
+        lazyBean.set("intProperty", intValue);
+        return lazyBean;
+    }
+
+    @Benchmark
+    public Object lazyGetIndexed() {
+        return lazyBean.get("intArray", 2);
+    }
+
+    @Benchmark
+    public Object lazyGetMapped() {
+        return lazyBean.get("mappedProperty", "First Key");
+    }
+
+    @Benchmark
+    public Object wrapGet() {
+        return wrapBean.get("intProperty");
+    }
+
+    @Benchmark
+    public DynaBean wrapSet() {
+        wrapBean.set("intProperty", intValue);
+        return wrapBean;
+    }
+
+    @Benchmark
+    public void beanMapEntries(Blackhole blackhole) {
+        Iterator entries = beanMap.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry entry = (Map.Entry) entries.next();
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public Object beanMapGet() {
+        return beanMap.get("stringProperty");
+    }
+
+    @Benchmark
+    public BeanMap newBeanMap() {
+        return new BeanMap(bean);
+    }
+
+    /**
+     * Property access on a DynaBean class shared by several threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        LazyDynaBean lazyBean;
+
+        @Setup
+        public void setUp() {
+            lazyBean = new LazyDynaBean();
+            lazyBean.set("intProperty", new Integer(123));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object lazyGetContended(Shared shared) {
+        return shared.lazyBean.get("intProperty");
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.BeanAccessor;
+import org.apache.commons.beanutils.PropertyPath;
+import org.apache.commons.beanutils.PropertyUtilsBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for getting and setting simple, nested, indexed and mapped
+ * properties with <code>PropertyUtilsBean</code>.
+ *
+ * <p>The <code>PropertyUtilsBean</code> is shared by all threads, as the
+ * default instance is, while each thread has its own beans.</p>
+ *
+ * @version $Revision$ $Date$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyUtilsBenchmark {
+
+    private static final String[] NAMES = new String[] {
+        "booleanProperty", "intProperty", "stringProperty", "nested.longProperty",
+        "intArray[2]", "stringList[1]", "mappedProperty(First Key)"
+    };
+
+    /**
+     * State shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        PropertyUtilsBean propertyUtils;
+        BeanAccessor accessor;
+        int intSlot;
+        int stringSlot;
+        PropertyPath[] paths;
+
+        @Setup
+        public void setUp() {
+            propertyUtils = new PropertyUtilsBean();
+            accessor = propertyUtils.getBeanAccessor(BenchBean.class);
+            intSlot = accessor.indexOf("intProperty");
+            stringSlot = accessor.indexOf("stringProperty");
+            paths = propertyUtils.getPropertyPaths(NAMES);
+        }
+    }
+
+    /**
+     * State of each thread.
+     */
+    @State(Scope.Thread)
+    public static class Beans {
+        BenchBean bean;
+        Integer intValue = new Integer(789);
+        Object[] values = new Object[NAMES.length];
+
+        @Setup
+        public void setUp() {
+            bean = new BenchBean();
+        }
+    }
+
+    // -------------------------------------------------------------- get
+
+    @Benchmark
+    public Object getSimple(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getSimpleProperty(beans.bean, "intProperty");
+    }
+
+    @Benchmark
+    public Object getProperty(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getProperty(beans.bean, "intProperty");
+    }
+
+    @Benchmark
+    public Object getNested(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getNestedProperty(beans.bean, "nested.nested.stringProperty");
+    }
+
+    @Benchmark
+    public Object getIndexedArray(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getIndexedProperty(beans.bean, "intArray[2]");
+    }
+
+    @Benchmark
+    public Object getIndexedList(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getIndexedProperty(beans.bean, "stringList", 1);
+    }
+
+    @Benchmark
+    public Object getMapped(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getMappedProperty(beans.bean, "mappedProperty(First Key)");
+    }
+
+    @Benchmark
+    public Object getMissing(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.tryGetProperty(beans.bean, "unknownProperty");
+    }
+
+    @Benchmark
+    public Object getBySlot(Shared shared, Beans beans) throws Exception {
+        return shared.accessor.get(beans.bean, shared.intSlot);
+    }
+
+    @Benchmark
+    public Object[] getPropertiesByName(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.getProperties(beans.bean, NAMES, beans.values);
+        return beans.values;
+    }
+
+    @Benchmark
+    public Object[] getPropertiesByPath(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.getProperties(beans.bean, shared.paths, beans.values);
+        return beans.values;
+    }
+
+    // -------------------------------------------------------------- set
+
+    @Benchmark
+    public BenchBean setSimple(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.setSimpleProperty(beans.bean, "intProperty", beans.intValue);
+        return beans.bean;
+    }
+
+    @Benchmark
+    public BenchBean setNested(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.setNestedProperty(beans.bean, "nested.nested.stringProperty", "value");
+        return beans.bean;
+    }
+
+    @Benchmark
+    public BenchBean setIndexed(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.setIndexedProperty(beans.bean, "intArray[2]", beans.intValue);
+        return beans.bean;
+    }
+
+    @Benchmark
+    public BenchBean setMapped(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.setMappedProperty(beans.bean, "mappedProperty(First Key)", "value");
+        return beans.bean;
+    }
+
+    @Benchmark
+    public BenchBean setBySlot(Shared shared, Beans beans) throws Exception {
+        shared.accessor.set(beans.bean, shared.stringSlot, "value");
+        return beans.bean;
+    }
+
+    // -------------------------------------------------------------- contended
+
+    @Benchmark
+    @Threads(4)
+    public Object getSimpleContended(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getSimpleProperty(beans.bean, "intProperty");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object getNestedContended(Shared shared, Beans beans) throws Exception {
+        return shared.propertyUtils.getNestedProperty(beans.bean, "nested.nested.stringProperty");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchBean setSimpleContended(Shared shared, Beans beans) throws Exception {
+        shared.propertyUtils.setSimpleProperty(beans.bean, "intProperty", beans.intValue);
+        return beans.bean;
+    }
+}
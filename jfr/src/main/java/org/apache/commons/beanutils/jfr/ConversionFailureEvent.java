@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A converter failed to convert a value, and either returned its default
+ * value or threw a <code>ConversionException</code>. The value itself is
+ * not recorded, only its type, as it may be sensitive.
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+@Name("org.apache.commons.beanutils.ConversionFailure")
+@Label("Conversion Failure")
+@Category({"Commons BeanUtils"})
+@Description("A converter failed to convert a value")
+public class ConversionFailureEvent extends Event {
+
+    @Label("Target Type")
+    Class<?> targetType;
+
+    @Label("Value Type")
+    Class<?> valueType;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+
+    @Label("Default Used")
+    @Description("Whether the converter returned its default value instead of throwing an exception")
+    boolean defaultUsed;
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.jfr;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.EventType;
+
+import org.apache.commons.beanutils.PerformanceListener;
+import org.apache.commons.beanutils.PerformanceMonitor;
+
+/**
+ * <p>A {@link PerformanceListener} which records Java Flight Recorder
+ * events.</p>
+ *
+ * <p>Install it when the application starts:</p>
+ * <pre>
+ * FlightRecorderListener.install();
+ * </pre>
+ *
+ * <p>Which operations are reported is decided by the thresholds of
+ * {@link PerformanceMonitor}; the events are then only created if they
+ * are enabled in the current recording, so nothing is allocated when
+ * they are not. The times are recorded in the events' own fields, as the
+ * operation has finished by the time it is reported.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class FlightRecorderListener implements PerformanceListener {
+
+    private static final EventType INTROSPECTION =
+        EventType.getEventType(IntrospectionEvent.class);
+    private static final EventType CONVERSION =
+        EventType.getEventType(ConversionEvent.class);
+    private static final EventType CONVERSION_FAILURE =
+        EventType.getEventType(ConversionFailureEvent.class);
+    private static final EventType INVOCATION =
+        EventType.getEventType(InvocationEvent.class);
+
+    /**
+     * Install a new listener with {@link PerformanceMonitor#setListener}.
+     *
+     * @return The listener
+     */
+    public static FlightRecorderListener install() {
+        FlightRecorderListener listener = new FlightRecorderListener();
+        PerformanceMonitor.setListener(listener);
+        return listener;
+    }
+
+    @Override
+    public void introspected(Class beanClass, int propertyCount, long duration) {
+        if (INTROSPECTION.isEnabled()) {
+            IntrospectionEvent event = new IntrospectionEvent();
+            event.beanClass = beanClass;
+            event.propertyCount = propertyCount;
+            event.introspectionTime = duration;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void converted(Class sourceType, Class targetType, long duration) {
+        if (CONVERSION.isEnabled()) {
+            ConversionEvent event = new ConversionEvent();
+            event.sourceType = sourceType;
+            event.targetType = targetType;
+            event.conversionTime = duration;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void conversionFailed(Class targetType, Object value, Throwable cause,
+            boolean defaultUsed) {
+        if (CONVERSION_FAILURE.isEnabled()) {
+            ConversionFailureEvent event = new ConversionFailureEvent();
+            event.targetType = targetType;
+            event.valueType = (value == null) ? null : value.getClass();
+            event.exceptionClass = (cause == null) ? null : cause.getClass();
+            event.message = (cause == null) ? null : cause.getMessage();
+            event.defaultUsed = defaultUsed;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void invoked(Method method, long duration) {
+        if (INVOCATION.isEnabled()) {
+            InvocationEvent event = new InvocationEvent();
+            event.declaringClass = method.getDeclaringClass();
+            event.methodName = method.getName();
+            event.invocationTime = duration;
+            event.commit();
+        }
+    }
+}
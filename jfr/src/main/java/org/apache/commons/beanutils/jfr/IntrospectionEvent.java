@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A bean class was introspected by <code>PropertyUtilsBean</code>, i.e.
+ * its property descriptors were not cached.
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+@Name("org.apache.commons.beanutils.Introspection")
+@Label("Bean Introspection")
+@Category({"Commons BeanUtils"})
+@Description("A bean class was introspected")
+public class IntrospectionEvent extends Event {
+
+    @Label("Bean Class")
+    Class<?> beanClass;
+
+    @Label("Property Count")
+    int propertyCount;
+
+    @Label("Introspection Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long introspectionTime;
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A method invoked by reflection through <code>MethodUtils</code> or
+ * <code>PropertyUtilsBean</code> took longer than the invocation threshold
+ * of <code>PerformanceMonitor</code>.
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+@Name("org.apache.commons.beanutils.Invocation")
+@Label("Slow Method Invocation")
+@Category({"Commons BeanUtils"})
+@Description("A method invoked by reflection was slow")
+public class InvocationEvent extends Event {
+
+    @Label("Declaring Class")
+    Class<?> declaringClass;
+
+    @Label("Method Name")
+    String methodName;
+
+    @Label("Invocation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long invocationTime;
+}
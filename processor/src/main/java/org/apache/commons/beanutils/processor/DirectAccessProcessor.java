@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * <p>Annotation processor which generates a
+ * <code>org.apache.commons.beanutils.DirectAccessor</code> for each class
+ * annotated with {@link DirectAccess}.</p>
+ *
+ * <p>The accessor for a class <code>com.acme.Order</code> is generated as
+ * <code>com.acme.OrderDirectAccessor</code> (for a nested class, the
+ * binary name is used, e.g. <code>Outer$InnerDirectAccessor</code>), which
+ * is where <code>PropertyUtilsBean</code> looks for it. It covers the
+ * simple properties defined by the class's public, non static
+ * <code>getXxx()</code>, <code>isXxx()</code> and <code>setXxx(value)</code>
+ * methods, including inherited ones, following the same rules as the
+ * <code>Introspector</code>: an <code>isXxx()</code> getter must return
+ * <code>boolean</code>, and a setter must take the getter's type.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+@SupportedAnnotationTypes("org.apache.commons.beanutils.processor.DirectAccess")
+public class DirectAccessProcessor extends AbstractProcessor {
+
+    /** Suffix of the generated class names */
+    private static final String SUFFIX = "DirectAccessor";
+
+    /**
+     * The getter and setter of a property.
+     */
+    private static class Property {
+        String name;
+        ExecutableElement getter;
+        TypeMirror getterType;
+        List<ExecutableElement> setters = new ArrayList<ExecutableElement>();
+        List<TypeMirror> setterTypes = new ArrayList<TypeMirror>();
+        ExecutableElement setter;
+        TypeMirror type;
+    }
+
+    /**
+     * Support whichever source version the compiler is using.
+     *
+     * @return The latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Generate the accessors for the annotated classes.
+     *
+     * @param annotations The annotation types requested
+     * @param roundEnv The environment for this round
+     * @return <code>true</code>, as the annotation is claimed
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@DirectAccess can only be used on classes");
+                    continue;
+                }
+                TypeElement beanClass = (TypeElement) element;
+                if (!isAccessible(beanClass)) {
+                    error(element, "@DirectAccess classes must not be private");
+                    continue;
+                }
+                try {
+                    generate(beanClass);
+                } catch (IOException e) {
+                    error(element, "Cannot write the DirectAccessor: " + e);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that a class and the classes containing it can be used from
+     * another class in its package, i.e. that none of them is private.
+     *
+     * @param type The class
+     * @return <code>true</code> if the class can be accessed
+     */
+    private boolean isAccessible(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Find the simple properties of a class, by name.
+     *
+     * @param beanClass The class
+     * @return The properties which have a getter or setter
+     */
+    private Map<String, Property> findProperties(TypeElement beanClass) {
+        Map<String, Property> properties = new TreeMap<String, Property>();
+        DeclaredType beanType = (DeclaredType) erasure(beanClass.asType());
+        List<ExecutableElement> methods = ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(beanClass));
+        for (ExecutableElement method : methods) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || !isAccessible((TypeElement) method.getEnclosingElement())) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            int params = method.getParameters().size();
+            TypeMirror returnType = method.getReturnType();
+            ExecutableType methodType = (ExecutableType)
+                    processingEnv.getTypeUtils().asMemberOf(beanType, method);
+            if (params == 0 && methodName.startsWith("get") && methodName.length() > 3
+                    && returnType.getKind() != TypeKind.VOID) {
+                Property property = getProperty(properties, methodName.substring(3));
+                // An "is" getter takes precedence, as with the Introspector
+                if (property.getter == null
+                        || !property.getter.getSimpleName().toString().startsWith("is")) {
+                    property.getter = method;
+                    property.getterType = methodType.getReturnType();
+                }
+            } else if (params == 0 && methodName.startsWith("is") && methodName.length() > 2
+                    && returnType.getKind() == TypeKind.BOOLEAN) {
+                Property property = getProperty(properties, methodName.substring(2));
+                property.getter = method;
+                property.getterType = methodType.getReturnType();
+            } else if (params == 1 && methodName.startsWith("set") && methodName.length() > 3
+                    && returnType.getKind() == TypeKind.VOID) {
+                Property property = getProperty(properties, methodName.substring(3));
+                property.setters.add(method);
+                property.setterTypes.add(methodType.getParameterTypes().get(0));
+            }
+        }
+
+        // Match the setters to the getters' types, and drop properties
+        // with neither a getter nor a unique setter
+        for (Iterator<Property> i = properties.values().iterator(); i.hasNext();) {
+            Property property = i.next();
+            if (property.getter != null) {
+                property.type = erasure(property.getterType);
+                for (int j = 0; j < property.setters.size(); j++) {
+                    if (isSameType(erasure(property.setterTypes.get(j)), property.type)) {
+                        property.setter = property.setters.get(j);
+                    }
+                }
+            } else if (property.setters.size() == 1) {
+                property.setter = property.setters.get(0);
+                property.type = erasure(property.setterTypes.get(0));
+            }
+            if (property.getter == null && property.setter == null) {
+                i.remove();
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Return the property with the specified capitalized name, creating it
+     * if necessary.
+     *
+     * @param properties The properties found so far
+     * @param capitalized The name, as it appears in the method names
+     * @return The property
+     */
+    private Property getProperty(Map<String, Property> properties, String capitalized) {
+        String name = decapitalize(capitalized);
+        Property property = properties.get(name);
+        if (property == null) {
+            property = new Property();
+            property.name = name;
+            properties.put(name, property);
+        }
+        return property;
+    }
+
+    /**
+     * Convert a name to a property name, as
+     * <code>java.beans.Introspector.decapitalize()</code> does.
+     *
+     * @param name The name
+     * @return The property name
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+                && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Generate the accessor source for a class.
+     *
+     * @param beanClass The annotated class
+     * @exception IOException if the source file can't be written
+     */
+    private void generate(TypeElement beanClass) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(beanClass);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(beanClass).toString();
+        String simpleName = (packageName.length() == 0)
+                ? binaryName + SUFFIX
+                : binaryName.substring(packageName.length() + 1) + SUFFIX;
+        String beanType = erasure(beanClass.asType()).toString();
+
+        List<Property> properties = new ArrayList<Property>(findProperties(beanClass).values());
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                (packageName.length() == 0 ? "" : packageName + ".") + simpleName, beanClass);
+        PrintWriter out = new PrintWriter(file.openWriter());
+        try {
+            if (packageName.length() > 0) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * DirectAccessor for {@link " + beanType + "}.");
+            out.println(" * Generated by " + getClass().getName() + ", do not edit.");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleName
+                    + " implements org.apache.commons.beanutils.DirectAccessor {");
+            out.println();
+            out.println("    private static final String[] NAMES = new String[] {");
+            for (Property property : properties) {
+                out.println("        \"" + property.name + "\",");
+            }
+            out.println("    };");
+            out.println();
+            out.println("    public Class getBeanClass() {");
+            out.println("        return " + beanType + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    public String[] getPropertyNames() {");
+            out.println("        return (String[]) NAMES.clone();");
+            out.println("    }");
+            out.println();
+            out.println("    public boolean isReadable(int property) {");
+            writeCases(out, properties, true);
+            out.println("    }");
+            out.println();
+            out.println("    public boolean isWriteable(int property) {");
+            writeCases(out, properties, false);
+            out.println("    }");
+            out.println();
+            out.println("    public Object get(Object bean, int property)");
+            out.println("            throws java.lang.reflect.InvocationTargetException {");
+            out.println("        " + beanType + " target = (" + beanType + ") bean;");
+            out.println("        try {");
+            out.println("            switch (property) {");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                if (property.getter == null) {
+                    continue;
+                }
+                String call = "target." + property.getter.getSimpleName() + "()";
+                out.println("                case " + i + ":");
+                out.println("                    return " + box(property.type, call) + ";");
+            }
+            out.println("            }");
+            out.println("        } catch (Throwable t) {");
+            out.println("            throw new java.lang.reflect.InvocationTargetException(t);");
+            out.println("        }");
+            out.println("        throw new IllegalArgumentException(\"Property \" + property"
+                    + " + \" is not readable\");");
+            out.println("    }");
+            out.println();
+            out.println("    public boolean set(Object bean, int property, Object value)");
+            out.println("            throws java.lang.reflect.InvocationTargetException {");
+            out.println("        " + beanType + " target = (" + beanType + ") bean;");
+            out.println("        switch (property) {");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                if (property.setter == null) {
+                    continue;
+                }
+                String wrapper = wrapperType(property.type);
+                boolean primitive = property.type.getKind().isPrimitive();
+                out.println("            case " + i + ":");
+                out.println("                if (" + (primitive ? "" : "value != null && ")
+                        + "!(value instanceof " + wrapper + ")) {");
+                out.println("                    return false;");
+                out.println("                }");
+                out.println("                try {");
+                out.println("                    target." + property.setter.getSimpleName() + "("
+                        + unbox(property.type, wrapper) + ");");
+                out.println("                } catch (Throwable t) {");
+                out.println("                    throw new java.lang.reflect.InvocationTargetException(t);");
+                out.println("                }");
+                out.println("                return true;");
+            }
+            out.println("        }");
+            out.println("        throw new IllegalArgumentException(\"Property \" + property"
+                    + " + \" is not writeable\");");
+            out.println("    }");
+            out.println("}");
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Write the body of <code>isReadable()</code> or <code>isWriteable()</code>.
+     *
+     * @param out The generated source
+     * @param properties The properties
+     * @param read <code>true</code> for getters, <code>false</code> for setters
+     */
+    private void writeCases(PrintWriter out, List<Property> properties, boolean read) {
+        out.println("        switch (property) {");
+        boolean any = false;
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if ((read ? property.getter : property.setter) != null) {
+                out.println("            case " + i + ":");
+                any = true;
+            }
+        }
+        if (any) {
+            out.println("                return true;");
+        }
+        out.println("            default:");
+        out.println("                return false;");
+        out.println("        }");
+    }
+
+    /**
+     * Return the expression which wraps a getter's result.
+     *
+     * @param type The property type
+     * @param call The getter call
+     * @return The wrapped value
+     */
+    private String box(TypeMirror type, String call) {
+        if (type.getKind().isPrimitive()) {
+            return wrapperType(type) + ".valueOf(" + call + ")";
+        }
+        return call;
+    }
+
+    /**
+     * Return the expression which casts (and unwraps) the value for a setter.
+     *
+     * @param type The property type
+     * @param wrapper The wrapper type name
+     * @return The setter argument
+     */
+    private String unbox(TypeMirror type, String wrapper) {
+        if (type.getKind().isPrimitive()) {
+            return "((" + wrapper + ") value)." + type.toString() + "Value()";
+        }
+        return "(" + wrapper + ") value";
+    }
+
+    /**
+     * Return the name of the type a value must be an instance of, i.e. the
+     * wrapper type for primitives and the erased type otherwise.
+     *
+     * @param type The property type
+     * @return The type name
+     */
+    private String wrapperType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(
+                    processingEnv.getTypeUtils().getPrimitiveType(type.getKind()))
+                    .getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Return the erasure of a type.
+     *
+     * @param type The type
+     * @return The erased type
+     */
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    /**
+     * Compare two types.
+     *
+     * @param type1 The first type
+     * @param type2 The second type
+     * @return <code>true</code> if they are the same
+     */
+    private boolean isSameType(TypeMirror type1, TypeMirror type2) {
+        return processingEnv.getTypeUtils().isSameType(type1, type2);
+    }
+
+    /**
+     * Report an error.
+     *
+     * @param element The element the error is reported against
+     * @param message The error message
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
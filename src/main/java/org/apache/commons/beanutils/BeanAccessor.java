@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Access to the properties of a particular bean class by
+ * <i>slot</i> number rather than by name.</p>
+ *
+ * <p>Each property reported by
+ * {@link PropertyUtilsBean#getPropertyDescriptors(Class)} is assigned a
+ * slot, in the same order. Code which accesses the same properties of
+ * many beans (e.g. a serializer) can look up the slot of each property
+ * once with {@link #indexOf(String)} and then use {@link #get(Object, int)}
+ * and {@link #set(Object, int, Object)}, which go straight to the
+ * property's getter or setter method without parsing the name, searching
+ * the descriptors or checking for <code>DynaBean</code>s and
+ * <code>Map</code>s. If the bean class has a {@link DirectAccessor} the
+ * properties are accessed through it rather than by reflection.</p>
+ *
+ * <p>Instances are obtained from
+ * {@link PropertyUtilsBean#getBeanAccessor(Class)}, are thread safe and
+ * may be used with instances of the bean class and its subclasses.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public final class BeanAccessor {
+
+    /** An empty object array */
+    private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
+
+    /** The PropertyUtilsBean that created this accessor */
+    private final PropertyUtilsBean propertyUtils;
+
+    /** The property names, indexed by slot */
+    private final String[] names;
+
+    /** The property accessors, indexed by slot */
+    private final PropertyAccessor[] accessors;
+
+    /** The slot numbers (Integer), keyed by property name */
+    private final Map slots;
+
+    /**
+     * Create an accessor for the specified property descriptors.
+     *
+     * @param propertyUtils The PropertyUtilsBean used to invoke methods
+     * @param beanClass The bean class
+     * @param descriptors The descriptors of the bean class
+     */
+    BeanAccessor(PropertyUtilsBean propertyUtils, Class beanClass,
+            PropertyDescriptor[] descriptors) {
+        this.propertyUtils = propertyUtils;
+        this.names = new String[descriptors.length];
+        this.accessors = new PropertyAccessor[descriptors.length];
+        this.slots = new HashMap(descriptors.length * 2);
+        for (int i = 0; i < descriptors.length; i++) {
+            names[i] = descriptors[i].getName();
+            accessors[i] = propertyUtils.createPropertyAccessor(beanClass, descriptors[i]);
+            slots.put(names[i], new Integer(i));
+        }
+    }
+
+    /**
+     * Return the number of properties, and so of slots.
+     *
+     * @return The number of properties
+     */
+    public int getPropertyCount() {
+        return names.length;
+    }
+
+    /**
+     * Return the slot of the specified property.
+     *
+     * @param name The simple property name
+     * @return The slot, or -1 if the bean class has no such property
+     */
+    public int indexOf(String name) {
+        Integer slot = (Integer) slots.get(name);
+        return (slot == null) ? -1 : slot.intValue();
+    }
+
+    /**
+     * Return the name of the property in the specified slot.
+     *
+     * @param slot The property slot
+     * @return The property name
+     * @exception IllegalArgumentException if the slot is out of range
+     */
+    public String getPropertyName(int slot) {
+        checkSlot(slot);
+        return names[slot];
+    }
+
+    /**
+     * Return the type of the property in the specified slot.
+     *
+     * @param slot The property slot
+     * @return The property type, or <code>null</code> for an indexed
+     *  property which only has indexed accessor methods
+     * @exception IllegalArgumentException if the slot is out of range
+     */
+    public Class getPropertyType(int slot) {
+        checkSlot(slot);
+        return accessors[slot].getDescriptor().getPropertyType();
+    }
+
+    /**
+     * Indicate whether the property in the specified slot has an
+     * accessible getter method.
+     *
+     * @param beanClass The class the getter will be invoked on
+     * @param slot The property slot
+     * @return <code>true</code> if the property is readable
+     */
+    boolean isReadable(Class beanClass, int slot) {
+        return (accessors[slot].getMethod(beanClass, PropertyAccessor.READ) != null);
+    }
+
+    /**
+     * Indicate whether the property in the specified slot has an
+     * accessible setter method.
+     *
+     * @param beanClass The class the setter will be invoked on
+     * @param slot The property slot
+     * @return <code>true</code> if the property is writeable
+     */
+    boolean isWriteable(Class beanClass, int slot) {
+        return (accessors[slot].getMethod(beanClass, PropertyAccessor.WRITE) != null);
+    }
+
+    /**
+     * Return the value of the property in the specified slot.
+     *
+     * @param bean The bean whose property is to be extracted
+     * @param slot The property slot
+     * @return The property value
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property getter method
+     * @exception IllegalArgumentException if <code>bean</code> is
+     *  <code>null</code> or the slot is out of range
+     * @exception InvocationTargetException if the property getter method
+     *  throws an exception
+     * @exception NoSuchMethodException if the property has no getter method
+     */
+    public Object get(Object bean, int slot)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        checkSlot(slot);
+        Method readMethod = accessors[slot].getMethod(bean.getClass(), PropertyAccessor.READ);
+        if (readMethod == null) {
+            throw new NoSuchMethodException("Property '" + names[slot] +
+                    "' has no getter method in class '" + bean.getClass() + "'");
+        }
+        DirectAccessor direct = accessors[slot].getDirectAccessor(bean.getClass(),
+                PropertyAccessor.READ);
+        if (direct != null) {
+            return (direct.get(bean, accessors[slot].getDirectIndex()));
+        }
+        return (propertyUtils.invokeMethod(readMethod, bean, EMPTY_OBJECT_ARRAY));
+
+    }
+
+    /**
+     * Set the value of the property in the specified slot, with no
+     * type conversions.
+     *
+     * @param bean The bean whose property is to be modified
+     * @param slot The property slot
+     * @param value The value to which this property is to be set
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property setter method
+     * @exception IllegalArgumentException if <code>bean</code> is
+     *  <code>null</code> or the slot is out of range
+     * @exception InvocationTargetException if the property setter method
+     *  throws an exception
+     * @exception NoSuchMethodException if the property has no setter method
+     */
+    public void set(Object bean, int slot, Object value)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        checkSlot(slot);
+        Method writeMethod = accessors[slot].getMethod(bean.getClass(), PropertyAccessor.WRITE);
+        if (writeMethod == null) {
+            throw new NoSuchMethodException("Property '" + names[slot] +
+                    "' has no setter method in class '" + bean.getClass() + "'");
+        }
+        DirectAccessor direct = accessors[slot].getDirectAccessor(bean.getClass(),
+                PropertyAccessor.WRITE);
+        if (direct != null && direct.set(bean, accessors[slot].getDirectIndex(), value)) {
+            return;
+        }
+        propertyUtils.invokeMethod(writeMethod, bean, new Object[] {value});
+
+    }
+
+    /**
+     * Check that a slot is in range.
+     *
+     * @param slot The property slot
+     * @exception IllegalArgumentException if the slot is out of range
+     */
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= names.length) {
+            throw new IllegalArgumentException("Invalid property slot " + slot +
+                    ", there are " + names.length + " properties");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * <p>A plan for copying the properties of one JavaBean class to another,
+ * worked out once and then reused by
+ * {@link BeanUtilsBean#copyProperties(Object, Object)}.</p>
+ *
+ * <p>For every readable property of the origin class (other than
+ * <code>class</code>) that is writeable in the destination class, the
+ * copier records the property's slot in the {@link BeanAccessor} of each
+ * class and the {@link Converter} registered for the destination property
+ * type. Copying a bean then only needs to call the getter, the converter
+ * and the setter of each property.</p>
+ *
+ * <p>A copier is only valid while the property descriptors of both classes
+ * and the registered converters stay the same. If either changes (e.g.
+ * because {@link PropertyUtilsBean#clearDescriptors()} or
+ * {@link ConvertUtilsBean#register(Converter, Class)} was called), or if it
+ * is used with beans of other classes, {@link #copy(Object, Object)}
+ * simply falls back to {@link BeanUtilsBean#copyProperties(Object, Object)}.</p>
+ *
+ * @version $Revision$ $Date$
+ * @see BeanUtilsBean#getBeanCopier(Class, Class)
+ * @since 1.8.4
+ */
+public final class BeanCopier {
+
+    /** The BeanUtilsBean that created this copier */
+    private final BeanUtilsBean beanUtils;
+
+    /** The accessor of the origin class this copier was created from */
+    private final Reference origAccessorRef;
+
+    /** The accessor of the destination class this copier was created from */
+    private final Reference destAccessorRef;
+
+    /** The converter modification count this copier was created with */
+    private final int convertersVersion;
+
+    /** The names of the copied properties */
+    private final String[] names;
+
+    /** The slots of the copied properties in the origin class */
+    private final int[] origSlots;
+
+    /** The slots of the copied properties in the destination class */
+    private final int[] destSlots;
+
+    /** The converters for the copied properties, or <code>null</code> */
+    private final Converter[] converters;
+
+    /**
+     * Create a copier for the specified classes.
+     *
+     * @param beanUtils The BeanUtilsBean which will use this copier
+     * @param origClass The origin bean class
+     * @param destClass The destination bean class
+     */
+    BeanCopier(BeanUtilsBean beanUtils, Class origClass, Class destClass) {
+        this.beanUtils = beanUtils;
+        this.convertersVersion = beanUtils.getConvertUtils().getModificationCount();
+
+        PropertyUtilsBean propertyUtils = beanUtils.getPropertyUtils();
+        BeanAccessor origAccessor = propertyUtils.getBeanAccessor(origClass);
+        BeanAccessor destAccessor = propertyUtils.getBeanAccessor(destClass);
+        this.origAccessorRef = new WeakReference(origAccessor);
+        this.destAccessorRef = new WeakReference(destAccessor);
+
+        int count = origAccessor.getPropertyCount();
+        String[] copiedNames = new String[count];
+        int[] copiedOrigSlots = new int[count];
+        int[] copiedDestSlots = new int[count];
+        Converter[] copiedConverters = new Converter[count];
+        int copied = 0;
+        for (int origSlot = 0; origSlot < count; origSlot++) {
+            String name = origAccessor.getPropertyName(origSlot);
+            if ("class".equals(name)) {
+                continue; // No point in trying to set an object's class
+            }
+            if (!origAccessor.isReadable(origClass, origSlot)) {
+                continue;
+            }
+            int destSlot = destAccessor.indexOf(name);
+            if (destSlot < 0 || !destAccessor.isWriteable(destClass, destSlot)) {
+                continue;
+            }
+            Class type = destAccessor.getPropertyType(destSlot);
+            if (type == null) {
+                continue; // Most likely an indexed setter on a POJB only
+            }
+            copiedNames[copied] = name;
+            copiedOrigSlots[copied] = origSlot;
+            copiedDestSlots[copied] = destSlot;
+            copiedConverters[copied] = beanUtils.getConvertUtils().lookup(type);
+            copied++;
+        }
+
+        this.names = new String[copied];
+        this.origSlots = new int[copied];
+        this.destSlots = new int[copied];
+        this.converters = new Converter[copied];
+        System.arraycopy(copiedNames, 0, names, 0, copied);
+        System.arraycopy(copiedOrigSlots, 0, origSlots, 0, copied);
+        System.arraycopy(copiedDestSlots, 0, destSlots, 0, copied);
+        System.arraycopy(copiedConverters, 0, converters, 0, copied);
+    }
+
+    /**
+     * Copy property values from the origin bean to the destination bean,
+     * with the same results as
+     * {@link BeanUtilsBean#copyProperties(Object, Object)}.
+     *
+     * @param dest Destination bean whose properties are modified
+     * @param orig Origin bean whose properties are retrieved
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if the <code>dest</code> or
+     *  <code>orig</code> argument is null or if the <code>dest</code>
+     *  property type is different from the source type and the relevant
+     *  converter has not been registered.
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     */
+    public void copy(Object dest, Object orig)
+        throws IllegalAccessException, InvocationTargetException {
+
+        if (dest == null) {
+            throw new IllegalArgumentException
+                    ("No destination bean specified");
+        }
+        if (orig == null) {
+            throw new IllegalArgumentException("No origin bean specified");
+        }
+        PropertyUtilsBean propertyUtils = beanUtils.getPropertyUtils();
+        BeanAccessor origAccessor = propertyUtils.getBeanAccessor(orig.getClass());
+        BeanAccessor destAccessor = propertyUtils.getBeanAccessor(dest.getClass());
+        if (isCurrent(origAccessor, destAccessor)) {
+            copy(dest, orig, origAccessor, destAccessor);
+        } else {
+            beanUtils.copyProperties(dest, orig);
+        }
+
+    }
+
+    /**
+     * Indicate whether this copier was created from the specified
+     * accessors and the currently registered converters.
+     *
+     * @param origAccessor The accessor of the origin class
+     * @param destAccessor The accessor of the destination class
+     * @return <code>true</code> if the copier can be used
+     */
+    boolean isCurrent(BeanAccessor origAccessor, BeanAccessor destAccessor) {
+        return (origAccessorRef.get() == origAccessor &&
+                destAccessorRef.get() == destAccessor &&
+                convertersVersion == beanUtils.getConvertUtils().getModificationCount());
+    }
+
+    /**
+     * Copy the properties, assuming the accessors are current.
+     *
+     * @param dest Destination bean whose properties are modified
+     * @param orig Origin bean whose properties are retrieved
+     * @param origAccessor The accessor of the origin class
+     * @param destAccessor The accessor of the destination class
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     */
+    void copy(Object dest, Object orig, BeanAccessor origAccessor, BeanAccessor destAccessor)
+        throws IllegalAccessException, InvocationTargetException {
+
+        for (int i = 0; i < names.length; i++) {
+            Object value;
+            try {
+                value = origAccessor.get(orig, origSlots[i]);
+            } catch (NoSuchMethodException e) {
+                continue; // Should not happen
+            }
+            if (converters[i] != null) {
+                value = converters[i].convert(destAccessor.getPropertyType(destSlots[i]), value);
+            }
+            try {
+                destAccessor.set(dest, destSlots[i], value);
+            } catch (NoSuchMethodException e) {
+                throw new InvocationTargetException
+                    (e, "Cannot set " + names[i]);
+            }
+        }
+
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+
+/**
+ * <p>Strategy used by {@link PropertyUtilsBean} to find the properties of
+ * a bean class.</p>
+ *
+ * <p>The {@link DefaultBeanIntrospector} uses
+ * <code>java.beans.Introspector</code>, and so honours explicit
+ * <code>BeanInfo</code> classes. The {@link ScanningBeanIntrospector}
+ * finds the properties from the public getter and setter methods
+ * directly, which is considerably cheaper for applications which
+ * introspect many classes. An implementation is selected with
+ * {@link PropertyUtilsBean#setBeanIntrospector(BeanIntrospector)}.</p>
+ *
+ * <p>The results are cached by <code>PropertyUtilsBean</code>, so
+ * implementations don't need to cache them. Implementations must be
+ * safe for use by multiple threads.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public interface BeanIntrospector {
+
+    /**
+     * Return the descriptors of all the properties of the specified
+     * class.
+     *
+     * @param beanClass The bean class
+     * @return The property descriptors
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+            throws IntrospectionException;
+
+    /**
+     * Return the descriptor of a single property of the specified class,
+     * without introspecting the whole class, if this implementation can.
+     * The descriptor must be the same as the one which
+     * {@link #getPropertyDescriptors(Class)} returns for the property.
+     * <p>
+     * <code>null</code> is returned if the property can't be resolved
+     * on its own, in which case <code>PropertyUtilsBean</code> uses the
+     * descriptors of the whole class instead.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return The property descriptor, or <code>null</code>
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    PropertyDescriptor getPropertyDescriptor(Class beanClass, String name)
+            throws IntrospectionException;
+
+}
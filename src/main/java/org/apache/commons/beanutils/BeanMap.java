@@ -44,6 +44,9 @@ import org.apache.commons.collections.Transformer;
  * <p>
  * If an exception occurs during attempts to get or set a property then the
  * property is considered non existent in the Map
+ * <p>
+ * If the bean class has a {@link DirectAccessor} the properties are
+ * accessed through it rather than by reflection.
  *
  * @version $Revision: 995768 $ $Date: 2010-09-10 14:19:08 +0200 (Fri, 10 Sep 2010) $
  * 
@@ -58,6 +61,11 @@ public class BeanMap extends AbstractMap implements Cloneable {
     private transient HashMap writeMethods = new HashMap();
     private transient HashMap types = new HashMap();
 
+    /** The DirectAccessor of the bean class, if it has one */
+    private transient DirectAccessor directAccessor;
+    /** The property numbers (Integer) in the DirectAccessor, keyed by name */
+    private transient HashMap directIndexes = new HashMap();
+
     /**
      * An empty array.  Used to invoke accessors via reflection.
      */
@@ -396,6 +404,10 @@ public class BeanMap extends AbstractMap implements Cloneable {
             Method method = getReadMethod( name );
             if ( method != null ) {
                 try {
+                    int index = getDirectIndex( name );
+                    if ( index >= 0 && directAccessor.isReadable( index ) ) {
+                        return directAccessor.get( bean, index );
+                    }
                     return method.invoke( bean, NULL_ARGUMENTS );
                 }
                 catch (  IllegalAccessException e ) {
@@ -437,7 +449,11 @@ public class BeanMap extends AbstractMap implements Cloneable {
             }
             try {
                 Object[] arguments = createWriteMethodArguments( method, value );
-                method.invoke( bean, arguments );
+                int index = getDirectIndex( name );
+                if ( index < 0 || !directAccessor.isWriteable( index ) ||
+                        !directAccessor.set( bean, index, arguments[0] ) ) {
+                    method.invoke( bean, arguments );
+                }
 
                 Object newValue = get( name );
                 firePropertyChange( name, oldValue, newValue );
@@ -667,6 +683,8 @@ public class BeanMap extends AbstractMap implements Cloneable {
         readMethods.clear();
         writeMethods.clear();
         types.clear();
+        directAccessor = null;
+        directIndexes.clear();
         initialise();
     }
 
@@ -703,6 +721,30 @@ public class BeanMap extends AbstractMap implements Cloneable {
         catch ( IntrospectionException e ) {
             logWarn(  e );
         }
+
+        directAccessor = PropertyUtilsBean.getInstance().getDirectAccessor( beanClass );
+        if ( directAccessor != null ) {
+            String[] names = directAccessor.getPropertyNames();
+            for ( int i = 0; i < names.length; i++ ) {
+                directIndexes.put( names[i], new Integer( i ) );
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the named property in the bean's
+     * {@link DirectAccessor}.
+     *
+     * @param name  the name of the property
+     * @return the property number, or -1 if the property has to be
+     *  accessed by reflection
+     */
+    private int getDirectIndex( Object name ) {
+        if ( directAccessor == null ) {
+            return -1;
+        }
+        Integer index = (Integer) directIndexes.get( name );
+        return ( index != null ) ? index.intValue() : -1;
     }
 
     /**
@@ -384,6 +384,64 @@ public class BeanUtils {
     }
 
 
+    /**
+     * <p>Return the value of the specified property of the specified bean,
+     * converted to a String, or <code>null</code> if the property can't
+     * be read.</p>
+     *
+     * <p>For more details see <code>BeanUtilsBean</code>.</p>
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Possibly indexed and/or nested name of the property
+     *  to be extracted
+     * @return The property's value, converted to a String, or
+     *  <code>null</code>
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @see BeanUtilsBean#tryGetProperty
+     * @since 1.8.4
+     */
+    public static String tryGetProperty(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException {
+
+        return BeanUtilsBean.getInstance().tryGetProperty(bean, name);
+
+    }
+
+
+    /**
+     * <p>Return the values of several properties of the specified bean,
+     * converted to Strings.</p>
+     *
+     * <p>For more details see <code>BeanUtilsBean</code>.</p>
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be extracted
+     * @param values Array to store the converted values in, in the same
+     *  order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see BeanUtilsBean#getProperties
+     * @since 1.8.4
+     */
+    public static void getProperties(Object bean, String[] names, String[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        BeanUtilsBean.getInstance().getProperties(bean, names, values);
+
+    }
+
+
     /**
      * <p>Return the value of the specified simple property of the specified
      * bean, converted to a String.</p>
@@ -456,6 +514,32 @@ public class BeanUtils {
         BeanUtilsBean.getInstance().setProperty(bean, name, value);
     }
 
+
+    /**
+     * <p>Set the values of several properties of the specified bean,
+     * performing type conversions as required.</p>
+     *
+     * <p>For more details see <code>BeanUtilsBean</code>.</p>
+     *
+     * @param bean Bean on which setting is to be performed
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be set
+     * @param values Values to be set, in the same order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @see BeanUtilsBean#setProperties
+     * @since 1.8.4
+     */
+    public static void setProperties(Object bean, String[] names, Object[] values)
+        throws IllegalAccessException, InvocationTargetException {
+
+        BeanUtilsBean.getInstance().setProperties(bean, names, values);
+
+    }
+
     /** 
      * If we're running on JDK 1.4 or later, initialize the cause for the given throwable.
      * 
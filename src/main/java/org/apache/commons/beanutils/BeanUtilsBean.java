@@ -107,6 +107,19 @@ public class BeanUtilsBean {
     /** A reference to Throwable's initCause method, or null if it's not there in this JVM */
     private static final Method INIT_CAUSE_METHOD = getInitCauseMethod();
 
+    /**
+     * The cache of {@link BeanCopier}s, keyed by the origin class and
+     * then (in a nested {@link IntrospectionCache}) by the destination class.
+     */
+    private final IntrospectionCache copiersCache = new WeakIntrospectionCache();
+
+    /**
+     * Whether <code>copyProperties()</code> can use a {@link BeanCopier},
+     * i.e. whether neither a subclass nor the {@link PropertyUtilsBean}
+     * has overridden the methods it would bypass.
+     */
+    private final boolean copiersEnabled;
+
     // --------------------------------------------------------- Constuctors
 
     /** 
@@ -144,6 +157,11 @@ public class BeanUtilsBean {
                             
         this.convertUtilsBean = convertUtilsBean;
         this.propertyUtilsBean = propertyUtilsBean;
+        this.copiersEnabled = !isOverridden(getClass(), BeanUtilsBean.class, "copyProperty",
+                    new Class[] {Object.class, String.class, Object.class}) &&
+                !isOverridden(getClass(), BeanUtilsBean.class, "convert",
+                    new Class[] {Object.class, Class.class}) &&
+                !isPropertyAccessOverridden(propertyUtilsBean);
     }
 
     // --------------------------------------------------------- Public Methods
@@ -215,6 +233,11 @@ public class BeanUtilsBean {
      * <code>copyProperties()</code> method in {@link PropertyUtils} will
      * execute faster than this method.</p>
      *
+     * <p>Copies between two standard JavaBeans use the {@link BeanCopier}
+     * returned by {@link #getBeanCopier(Class, Class)}, so the work of
+     * matching the properties of the two classes and looking up their
+     * converters is only done once for each pair of classes.</p>
+     *
      * <p><strong>FIXME</strong> - Indexed and mapped properties that do not
      * have getter and setter methods for the underlying array or Map are not
      * copied by this method.</p>
@@ -270,6 +293,17 @@ public class BeanUtilsBean {
                     copyProperty(dest, name, entry.getValue());
                 }
             }
+        } else if (copiersEnabled && !(dest instanceof DynaBean) &&
+                !(dest instanceof Map) && !log.isTraceEnabled()) {
+            // Both standard JavaBeans, use the copier for this pair of classes
+            PropertyUtilsBean propertyUtils = getPropertyUtils();
+            BeanAccessor origAccessor = propertyUtils.getBeanAccessor(orig.getClass());
+            BeanAccessor destAccessor = propertyUtils.getBeanAccessor(dest.getClass());
+            BeanCopier copier = getCachedBeanCopier(orig.getClass(), dest.getClass());
+            if (copier == null || !copier.isCurrent(origAccessor, destAccessor)) {
+                copier = getBeanCopier(orig.getClass(), dest.getClass());
+            }
+            copier.copy(dest, orig, origAccessor, destAccessor);
         } else /* if (orig is a standard JavaBean) */ {
             PropertyDescriptor[] origDescriptors =
                 getPropertyUtils().getPropertyDescriptors(orig);
@@ -294,6 +328,66 @@ public class BeanUtilsBean {
     }
 
 
+    /**
+     * <p>Return the {@link BeanCopier} which copies the properties of
+     * standard JavaBeans of the specified origin class to beans of the
+     * specified destination class. The copier is created and cached the
+     * first time a particular pair of classes is encountered, and is
+     * recreated when the property descriptors or registered converters
+     * change.</p>
+     *
+     * <p><strong>FIXME</strong> - Does not work with DynaBeans.</p>
+     *
+     * @param origClass Class of the origin beans
+     * @param destClass Class of the destination beans
+     * @return The bean copier
+     *
+     * @exception IllegalArgumentException if either class is null
+     * @since 1.8.4
+     */
+    public BeanCopier getBeanCopier(Class origClass, Class destClass) {
+
+        if (origClass == null) {
+            throw new IllegalArgumentException("No origin class specified");
+        }
+        if (destClass == null) {
+            throw new IllegalArgumentException("No destination class specified");
+        }
+        PropertyUtilsBean propertyUtils = getPropertyUtils();
+        BeanCopier copier = getCachedBeanCopier(origClass, destClass);
+        if (copier != null && copier.isCurrent(propertyUtils.getBeanAccessor(origClass),
+                propertyUtils.getBeanAccessor(destClass))) {
+            return (copier);
+        }
+
+        copier = new BeanCopier(this, origClass, destClass);
+        IntrospectionCache copiers = (IntrospectionCache) copiersCache.get(origClass);
+        if (copiers == null) {
+            copiers = new WeakIntrospectionCache();
+            copiersCache.put(origClass, copiers);
+        }
+        copiers.put(destClass, copier);
+        return (copier);
+
+    }
+
+    /**
+     * Return the cached {@link BeanCopier} for the specified classes,
+     * which may no longer be current.
+     *
+     * @param origClass Class of the origin beans
+     * @param destClass Class of the destination beans
+     * @return The cached copier or <code>null</code>
+     */
+    private BeanCopier getCachedBeanCopier(Class origClass, Class destClass) {
+        IntrospectionCache copiers = (IntrospectionCache) copiersCache.get(origClass);
+        if (copiers == null) {
+            return (null);
+        }
+        return ((BeanCopier) copiers.get(destClass));
+    }
+
+
     /**
      * <p>Copy the specified property value to the specified destination bean,
      * performing any type conversion that is required.  If the specified
@@ -743,6 +837,133 @@ public class BeanUtilsBean {
     }
 
 
+    /**
+     * Return the value of the property identified by a pre-parsed
+     * {@link PropertyPath}, for the specified bean, as a String.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param path Parsed path of the property to be extracted
+     * @return The property's value, converted to a String
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  property cannot be found
+     * @see PropertyUtilsBean#getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public String getProperty(Object bean, PropertyPath path)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        Object value = getPropertyUtils().getNestedProperty(bean, path);
+        return (getConvertUtils().convert(value));
+
+    }
+
+
+    /**
+     * Return the values of several properties of the specified bean,
+     * converted to Strings, as {@link #getProperty(Object, String)} does
+     * for each of them.
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be extracted
+     * @param values Array to store the converted values in, in the same
+     *  order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see PropertyUtilsBean#getProperties(Object, String[], Object[])
+     * @since 1.8.4
+     */
+    public void getProperties(Object bean, String[] names, String[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        getProperties(bean, getPropertyUtils().getPropertyPaths(names), values);
+
+    }
+
+
+    /**
+     * Return the values of several properties of the specified bean,
+     * identified by pre-parsed {@link PropertyPath}s, converted to Strings.
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param paths Parsed paths of the properties to be extracted
+     * @param values Array to store the converted values in, in the same
+     *  order as the paths
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see PropertyUtilsBean#getProperties(Object, PropertyPath[], Object[])
+     * @since 1.8.4
+     */
+    public void getProperties(Object bean, PropertyPath[] paths, String[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (values == null) {
+            throw new IllegalArgumentException("No values array specified");
+        }
+        Object[] rawValues = new Object[values.length];
+        getPropertyUtils().getProperties(bean, paths, rawValues);
+        for (int i = 0; i < paths.length; i++) {
+            values[i] = getConvertUtils().convert(rawValues[i]);
+        }
+
+    }
+
+
+    /**
+     * Return the value of the specified property of the specified bean,
+     * converted to a String, or <code>null</code> if the property can't
+     * be read.
+     *
+     * <p>Unlike {@link #getProperty(Object, String)}, this doesn't throw
+     * (or create) an exception if the property doesn't exist, has no
+     * getter method or one of the nested properties leading to it is
+     * <code>null</code> - see {@link PropertyUtilsBean#tryGetProperty}.
+     * A <code>null</code> result is also returned if the property value
+     * itself is <code>null</code>; use <code>PropertyUtilsBean</code>
+     * directly if the two cases need to be told apart.</p>
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Possibly indexed and/or nested name of the property
+     *  to be extracted
+     * @return The property's value, converted to a String, or
+     *  <code>null</code>
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @since 1.8.4
+     */
+    public String tryGetProperty(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException {
+
+        Object value = getPropertyUtils().tryGetProperty(bean, name);
+        if (value == PropertyUtilsBean.NO_SUCH_PROPERTY) {
+            return (null);
+        }
+        return (getConvertUtils().convert(value));
+
+    }
+
+
     /**
      * Return the value of the specified simple property of the specified
      * bean, converted to a String.
@@ -911,11 +1132,141 @@ public class BeanUtilsBean {
             log.trace("    Target name = " + name);
         }
 
-        // Declare local variables we will require
+        // Identify the target property and set it
         String propName = resolver.getProperty(name); // Simple name of target property
-        Class type = null;                            // Java type of target property
         int index  = resolver.getIndex(name);         // Indexed subscript value (if any)
         String key = resolver.getKey(name);           // Mapped key value (if any)
+        setTargetProperty(target, name, propName, index, key, value);
+
+    }
+
+
+    /**
+     * <p>Set the property identified by a pre-parsed {@link PropertyPath},
+     * performing type conversions as required to conform to the type of the
+     * destination property.</p>
+     *
+     * <p>This behaves exactly like {@link #setProperty(Object, String, Object)},
+     * but does not need to parse the property expression again.</p>
+     *
+     * @param bean Bean on which setting is to be performed
+     * @param path Parsed property path (can be nested/indexed/mapped/combo)
+     * @param value Value to be set
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @see PropertyUtilsBean#getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public void setProperty(Object bean, PropertyPath path, Object value)
+        throws IllegalAccessException, InvocationTargetException {
+
+        if (path == null) {
+            throw new IllegalArgumentException("No property path specified");
+        }
+
+        // Resolve any nested expression to get the actual target bean
+        Object target = bean;
+        PropertyPath parent = path.getParent();
+        if (parent != null) {
+            try {
+                target = getPropertyUtils().getNestedProperty(bean, parent);
+            } catch (NoSuchMethodException e) {
+                return; // Skip this property setter
+            }
+        }
+        int last = path.getElementCount() - 1;
+        if (log.isTraceEnabled()) {
+            log.trace("    Target bean = " + target);
+            log.trace("    Target name = " + path.getElement(last));
+        }
+
+        setTargetProperty(target, path.getElement(last), path.getProperty(last),
+                path.getIndex(last), path.getKey(last), value);
+
+    }
+
+
+    /**
+     * Set the values of several properties of the specified bean,
+     * performing type conversions as required, as
+     * {@link #setProperty(Object, String, Object)} does for each of them.
+     *
+     * @param bean Bean on which setting is to be performed
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be set
+     * @param values Values to be set, in the same order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @since 1.8.4
+     */
+    public void setProperties(Object bean, String[] names, Object[] values)
+        throws IllegalAccessException, InvocationTargetException {
+
+        setProperties(bean, getPropertyUtils().getPropertyPaths(names), values);
+
+    }
+
+
+    /**
+     * Set the values of several properties of the specified bean,
+     * identified by pre-parsed {@link PropertyPath}s, performing type
+     * conversions as required.
+     *
+     * @param bean Bean on which setting is to be performed
+     * @param paths Parsed paths of the properties to be set
+     * @param values Values to be set, in the same order as the paths
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @since 1.8.4
+     */
+    public void setProperties(Object bean, PropertyPath[] paths, Object[] values)
+        throws IllegalAccessException, InvocationTargetException {
+
+        if (paths == null) {
+            throw new IllegalArgumentException("No property paths specified");
+        }
+        if (values == null || values.length < paths.length) {
+            throw new IllegalArgumentException("Values array must have at least " +
+                    paths.length + " elements");
+        }
+        for (int i = 0; i < paths.length; i++) {
+            setProperty(bean, paths[i], values[i]);
+        }
+
+    }
+
+
+    /**
+     * Set the specified (non-nested) property of the target bean,
+     * performing type conversions as required. This is the common part
+     * of the <code>setProperty()</code> methods.
+     *
+     * @param target The bean on which setting is to be performed
+     * @param name The (non-nested) property expression
+     * @param propName The simple name of the target property
+     * @param index The indexed subscript value or -1
+     * @param key The mapped key value or <code>null</code>
+     * @param value Value to be set
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     */
+    private void setTargetProperty(Object target, String name, String propName,
+            int index, String key, Object value)
+        throws IllegalAccessException, InvocationTargetException {
+
+        Class type = null;                            // Java type of target property
 
         // Calculate the property type
         if (target instanceof DynaBean) {
@@ -1081,6 +1432,57 @@ public class BeanUtilsBean {
         }
     }
 
+    /**
+     * Indicate whether a {@link PropertyUtilsBean} subclass overrides any
+     * of the methods <code>copyProperties()</code> uses to read and write
+     * the properties of standard JavaBeans, which a {@link BeanCopier}
+     * would bypass.
+     *
+     * @param propertyUtils The PropertyUtilsBean (may be null)
+     * @return <code>true</code> if it overrides one of the methods
+     */
+    private static boolean isPropertyAccessOverridden(PropertyUtilsBean propertyUtils) {
+        if (propertyUtils == null) {
+            return false;
+        }
+        Class type = propertyUtils.getClass();
+        Class base = PropertyUtilsBean.class;
+        Class[] beanName = new Class[] {Object.class, String.class};
+        return isOverridden(type, base, "isReadable", beanName) ||
+                isOverridden(type, base, "isWriteable", beanName) ||
+                isOverridden(type, base, "getSimpleProperty", beanName) ||
+                isOverridden(type, base, "setSimpleProperty",
+                        new Class[] {Object.class, String.class, Object.class}) ||
+                isOverridden(type, base, "getPropertyDescriptor", beanName) ||
+                isOverridden(type, base, "getPropertyDescriptors", new Class[] {Object.class});
+    }
+
+    /**
+     * Indicate whether a subclass overrides the specified method of a
+     * base class.
+     *
+     * @param type The subclass
+     * @param base The base class
+     * @param name The method name
+     * @param parameterTypes The method parameter types
+     * @return <code>true</code> if a class between the subclass and the
+     *  base class declares the method
+     */
+    private static boolean isOverridden(Class type, Class base, String name,
+            Class[] parameterTypes) {
+        for (Class c = type; c != base && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared by this class, try its superclass
+            } catch (SecurityException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns a <code>Method<code> allowing access to
      * {@link Throwable#initCause(Throwable)} method of {@link Throwable},
@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An {@link IntrospectionCache} which holds at most a fixed number of
+ * entries, evicting the least recently used ({@link #LRU}) or least
+ * frequently used ({@link #LFU}) one to make room for a new class.</p>
+ *
+ * <p>Like {@link WeakIntrospectionCache}, the bean classes are held
+ * weakly, so the cache doesn't prevent them from being garbage collected,
+ * but its size no longer depends on when that happens: this suits
+ * applications which create many short lived classes (e.g. scripting
+ * hosts), where a cache bounded only by the garbage collector can grow
+ * large. Use it by overriding
+ * {@link PropertyUtilsBean#createIntrospectionCache()}, or by calling
+ * {@link PropertyUtilsBean#setMaxCacheSize(int, int)}.</p>
+ *
+ * <p>Every operation is synchronized, as lookups have to record the use of
+ * the entry, so lookups are slower than those of the default cache.
+ * Choosing the entry to evict takes time proportional to the size of the
+ * cache, but only happens when a new class is introspected while the
+ * cache is full.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class BoundedIntrospectionCache implements IntrospectionCache {
+
+    /** Evict the least recently used entry */
+    public static final int LRU = 0;
+
+    /** Evict the least frequently used entry, or the least recently used of those */
+    public static final int LFU = 1;
+
+    /** The maximum number of entries */
+    private final int maxSize;
+
+    /** The eviction policy, {@link #LRU} or {@link #LFU} */
+    private final int policy;
+
+    /** The entries, keyed by {@link Key} */
+    private final Map entries = new HashMap();
+
+    /** Queue of keys whose class has been garbage collected */
+    private final ReferenceQueue queue = new ReferenceQueue();
+
+    /** The use counter, which orders the entries by their last use */
+    private long clock;
+
+    /** The number of entries evicted to make room for others */
+    private long evictions;
+
+    /**
+     * Construct an empty LRU cache.
+     *
+     * @param maxSize The maximum number of entries
+     * @exception IllegalArgumentException if the maximum size is less than 1
+     */
+    public BoundedIntrospectionCache(int maxSize) {
+        this(maxSize, LRU);
+    }
+
+    /**
+     * Construct an empty cache with the specified eviction policy.
+     *
+     * @param maxSize The maximum number of entries
+     * @param policy The eviction policy, {@link #LRU} or {@link #LFU}
+     * @exception IllegalArgumentException if the maximum size is less
+     *  than 1 or the policy is unknown
+     */
+    public BoundedIntrospectionCache(int maxSize, int policy) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maxSize);
+        }
+        if (policy != LRU && policy != LFU) {
+            throw new IllegalArgumentException("Invalid eviction policy: " + policy);
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+    }
+
+    /**
+     * Return the maximum number of entries.
+     *
+     * @return The maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Return the eviction policy.
+     *
+     * @return {@link #LRU} or {@link #LFU}
+     */
+    public int getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Return the number of entries which have been evicted to make room
+     * for others (entries removed because their class was garbage
+     * collected are not counted).
+     *
+     * @return The number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Return the value cached for the specified class, recording its use.
+     *
+     * @param beanClass The bean class
+     * @return The cached value, or <code>null</code> if there is none
+     */
+    public synchronized Object get(Class beanClass) {
+        if (beanClass == null) {
+            return null;
+        }
+        Entry entry = (Entry) entries.get(new Key(beanClass));
+        if (entry == null) {
+            return null;
+        }
+        entry.lastUse = ++clock;
+        entry.uses++;
+        return entry.value;
+    }
+
+    /**
+     * Cache a value for the specified class, replacing any existing value
+     * and evicting another entry if the cache is full.
+     *
+     * @param beanClass The bean class
+     * @param value The value to cache
+     * @exception IllegalArgumentException if the class or value
+     *  is <code>null</code>
+     */
+    public synchronized void put(Class beanClass, Object value) {
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("No value specified");
+        }
+        expungeStaleEntries();
+        Key key = new Key(beanClass, queue);
+        Entry entry = (Entry) entries.get(key);
+        if (entry != null) {
+            entry.value = value;
+            entry.lastUse = ++clock;
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entry = new Entry(value);
+        entry.lastUse = ++clock;
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove the value cached for the specified class.
+     *
+     * @param beanClass The bean class
+     */
+    public synchronized void remove(Class beanClass) {
+        if (beanClass == null) {
+            return;
+        }
+        expungeStaleEntries();
+        entries.remove(new Key(beanClass));
+    }
+
+    /**
+     * Remove the values cached for the classes loaded by the specified
+     * ClassLoader or any of its descendants.
+     *
+     * @param classLoader The ClassLoader
+     * @return The classes whose values were removed
+     */
+    public synchronized Class[] clear(ClassLoader classLoader) {
+        expungeStaleEntries();
+        List removed = new ArrayList();
+        for (Iterator i = entries.keySet().iterator(); i.hasNext();) {
+            Class beanClass = (Class) ((Key) i.next()).get();
+            if (ClassLoaderUtils.isLoadedBy(beanClass, classLoader)) {
+                removed.add(beanClass);
+                i.remove();
+            }
+        }
+        return (Class[]) removed.toArray(new Class[removed.size()]);
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public synchronized void clear() {
+        while (queue.poll() != null) {
+            // discard, all the entries are being removed
+        }
+        entries.clear();
+    }
+
+    /**
+     * Return the number of cached values, which is never more than the
+     * maximum size.
+     *
+     * @return The number of entries in the cache
+     */
+    public synchronized int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    /**
+     * Remove the entry chosen by the eviction policy.
+     */
+    private void evict() {
+        Key victim = null;
+        Entry victimEntry = null;
+        for (Iterator i = entries.entrySet().iterator(); i.hasNext();) {
+            Map.Entry mapEntry = (Map.Entry) i.next();
+            Entry entry = (Entry) mapEntry.getValue();
+            if (victimEntry == null ||
+                    (policy == LFU && entry.uses < victimEntry.uses) ||
+                    ((policy == LRU || entry.uses == victimEntry.uses) &&
+                     entry.lastUse < victimEntry.lastUse)) {
+                victim = (Key) mapEntry.getKey();
+                victimEntry = entry;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim);
+            evictions++;
+        }
+    }
+
+    /**
+     * Discard the entries for classes which have been garbage collected.
+     */
+    private void expungeStaleEntries() {
+        Key stale;
+        while ((stale = (Key) queue.poll()) != null) {
+            entries.remove(stale);
+        }
+    }
+
+    /**
+     * A key which holds its class weakly and compares classes by identity.
+     * A key whose class has been garbage collected is only equal to itself.
+     */
+    private static final class Key extends WeakReference {
+        private final int hash;
+
+        Key(Class beanClass) {
+            super(beanClass);
+            this.hash = System.identityHashCode(beanClass);
+        }
+
+        Key(Class beanClass, ReferenceQueue queue) {
+            super(beanClass, queue);
+            this.hash = System.identityHashCode(beanClass);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Object beanClass = get();
+            return beanClass != null && beanClass == ((Key) obj).get();
+        }
+    }
+
+    /**
+     * A cached value and its use.
+     */
+    private static final class Entry {
+        private Object value;
+        private long lastUse;
+        private int uses;
+
+        Entry(Object value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+/**
+ * <p>Hit, miss and load time statistics for one of the caches of
+ * {@link PropertyUtilsBean}, {@link MethodUtils} or
+ * {@link ConvertUtilsBean}.</p>
+ *
+ * <p>Instances are obtained from the <code>getCacheStatistics()</code>
+ * methods of those classes, and report the current values of the
+ * statistics rather than a snapshot. Statistics are only recorded while
+ * they are enabled, with <code>setStatisticsEnabled(true)</code> or
+ * {@link #setEnabled(boolean)}; when they are disabled (the default) the
+ * caches only check a flag. The counters are updated under a lock, so
+ * enabling them adds some overhead to every lookup.</p>
+ *
+ * <p>The load time is measured with <code>System.nanoTime()</code>, so
+ * statistics can only be enabled on Java 5 or later.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public abstract class CacheStatistics implements CacheStatisticsMBean {
+
+    /** The cache name */
+    private final String name;
+
+    /** The number of hits */
+    private long hits;
+
+    /** The number of misses */
+    private long misses;
+
+    /** The total load time, in nanoseconds */
+    private long loadTime;
+
+    /** The eviction count when the statistics were last reset */
+    private long evictionsAtReset;
+
+    /**
+     * Create the statistics for a cache.
+     *
+     * @param name The cache name
+     */
+    CacheStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Return the name of the cache.
+     *
+     * @return The cache name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return the number of lookups which found a cached value.
+     *
+     * @return The number of hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Return the number of lookups which didn't find a cached value.
+     *
+     * @return The number of misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Return the proportion of lookups which found a cached value.
+     *
+     * @return The hit ratio, between 0 and 1, or 0 if there have been
+     *  no lookups
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return (lookups == 0) ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Return the number of entries evicted to make room for others, since
+     * the statistics were last reset. Caches without a maximum size
+     * never evict entries (although they may discard those for classes
+     * which have been garbage collected).
+     *
+     * @return The number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return getTotalEvictionCount() - evictionsAtReset;
+    }
+
+    /**
+     * Return the total time spent creating the values which were not
+     * found in the cache, e.g. introspecting classes.
+     *
+     * @return The load time, in nanoseconds
+     */
+    public synchronized long getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * Reset the hit, miss and eviction counts and the load time to zero.
+     */
+    public synchronized void reset() {
+        hits = 0;
+        misses = 0;
+        loadTime = 0;
+        evictionsAtReset = getTotalEvictionCount();
+    }
+
+    /**
+     * Return a description of the statistics.
+     *
+     * @return The name and values of the statistics
+     */
+    public String toString() {
+        return name + "[hits=" + getHitCount() + ", misses=" + getMissCount() +
+            ", evictions=" + getEvictionCount() + ", size=" + getSize() +
+            ", loadTime=" + getLoadTime() + "ns]";
+    }
+
+    /**
+     * Return the total number of entries the cache has evicted. The
+     * default implementation returns zero, for caches which don't evict
+     * entries.
+     *
+     * @return The number of evictions
+     */
+    long getTotalEvictionCount() {
+        return 0;
+    }
+
+    /**
+     * Record a lookup which found a cached value.
+     */
+    synchronized void recordHit() {
+        hits++;
+    }
+
+    /**
+     * Record a lookup which didn't find a cached value.
+     */
+    synchronized void recordMiss() {
+        misses++;
+    }
+
+    /**
+     * Record the time taken to create a value which wasn't cached.
+     *
+     * @param time The time taken, in nanoseconds
+     */
+    synchronized void recordLoadTime(long time) {
+        loadTime += time;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+/**
+ * <p>Management interface of {@link CacheStatistics}, which allows them to
+ * be registered as standard MBeans (see {@link StatisticsMBeans}).</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public interface CacheStatisticsMBean {
+
+    /**
+     * Return the name of the cache.
+     *
+     * @return The cache name
+     */
+    String getName();
+
+    /**
+     * Return the number of lookups which found a cached value.
+     *
+     * @return The number of hits
+     */
+    long getHitCount();
+
+    /**
+     * Return the number of lookups which didn't find a cached value.
+     *
+     * @return The number of misses
+     */
+    long getMissCount();
+
+    /**
+     * Return the proportion of lookups which found a cached value.
+     *
+     * @return The hit ratio, between 0 and 1, or 0 if there have been
+     *  no lookups
+     */
+    double getHitRatio();
+
+    /**
+     * Return the number of entries evicted to make room for others.
+     *
+     * @return The number of evictions
+     */
+    long getEvictionCount();
+
+    /**
+     * Return the current number of entries in the cache.
+     *
+     * @return The cache size
+     */
+    int getSize();
+
+    /**
+     * Return the total time spent creating the values which were not
+     * found in the cache, e.g. introspecting classes.
+     *
+     * @return The load time, in nanoseconds
+     */
+    long getLoadTime();
+
+    /**
+     * Indicate whether statistics are being recorded for the cache.
+     *
+     * @return <code>true</code> if statistics are enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Enable or disable recording statistics for the cache.
+     *
+     * @param enabled <code>true</code> to record statistics
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Reset the hit, miss and eviction counts and the load time to zero.
+     */
+    void reset();
+
+}
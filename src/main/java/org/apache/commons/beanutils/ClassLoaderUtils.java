@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+/**
+ * <p>Utility methods for evicting cached data by <code>ClassLoader</code>.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+final class ClassLoaderUtils {
+
+    /**
+     * Prevent instantiation.
+     */
+    private ClassLoaderUtils() {
+    }
+
+    /**
+     * Indicate whether a class was loaded by the specified ClassLoader or
+     * one of its descendants, i.e. whether it is unloaded with it. The
+     * class of an array is that of its component type.
+     *
+     * @param type The class
+     * @param classLoader The ClassLoader
+     * @return <code>true</code> if the class was loaded by the ClassLoader
+     *  or a descendant of it
+     */
+    static boolean isLoadedBy(Class type, ClassLoader classLoader) {
+        if (type == null || classLoader == null) {
+            return false;
+        }
+        for (ClassLoader loader = type.getClassLoader(); loader != null;
+                loader = loader.getParent()) {
+            if (loader == classLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicate whether any of the specified classes was loaded by the
+     * specified ClassLoader or one of its descendants.
+     *
+     * @param types The classes
+     * @param classLoader The ClassLoader
+     * @return <code>true</code> if one of the classes is unloaded with
+     *  the ClassLoader
+     */
+    static boolean isLoadedBy(Class[] types, ClassLoader classLoader) {
+        for (int i = 0; i < types.length; i++) {
+            if (isLoadedBy(types[i], classLoader)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
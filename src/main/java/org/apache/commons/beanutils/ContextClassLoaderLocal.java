@@ -17,8 +17,8 @@
  
 package org.apache.commons.beanutils;
 
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 
 /**
  * An instance of this class represents a value that is provided per (thread)
@@ -90,8 +90,20 @@ import java.util.WeakHashMap;
  * there is no obvious reason for a user of the beanutils library to subclass
  * either of those classes.</p>
  *
- * <p><strong>Note:</strong> A WeakHashMap bug in several 1.3 JVMs results in 
- * a memory leak for those JVMs.</p>
+ * <p><strong>Note:</strong> {@link #get()} doesn't take a lock. The values
+ * are held in an array which is replaced rather than modified by
+ * {@link #set(Object)} and {@link #unset()}, so readers always see a
+ * consistent copy, and the entry most recently read is remembered so
+ * that the common case of a single context classloader doesn't even need
+ * to search the array. Only the methods which change values are
+ * synchronized, and they hold the lock just long enough to copy the
+ * array. The first access from a classloader adds a pending entry
+ * under the lock and then calls {@link #initialValue()} without holding
+ * it, so a slow initial value doesn't block (or pin the carrier of)
+ * threads using other classloaders; threads which want the value of the
+ * same classloader in the meantime wait for it, so it is still only
+ * created once. The array is searched linearly, which suits the handful
+ * of classloaders found even in a busy container.</p>
  *
  * <p><strong>Note:</strong> Of course all of this would be unnecessary if
  * containers required each component to load the full set of classes it
@@ -101,9 +113,20 @@ import java.util.WeakHashMap;
  * @author Eric Pabst
  */
 public class ContextClassLoaderLocal {
-    private Map valueByClassLoader = new WeakHashMap();
-    private boolean globalValueInitialized = false;
-    private Object globalValue;
+    /** An empty entry array */
+    private static final Entry[] EMPTY_ENTRIES = new Entry[0];
+
+    /** The values by classloader, replaced rather than modified */
+    private volatile Entry[] entries = EMPTY_ENTRIES;
+
+    /** The entry most recently read, or <code>null</code> */
+    private volatile Entry lastEntry;
+
+    /** Queue of entries whose classloader has been garbage collected */
+    private final ReferenceQueue queue = new ReferenceQueue();
+
+    /** The value used without a context classloader, or <code>null</code> */
+    private volatile Entry globalEntry;
 
     /**
      * Construct a context classloader instance
@@ -135,36 +158,44 @@ public class ContextClassLoaderLocal {
      * This mechanism provides isolation for web apps deployed in the same container. 
      * @return the object currently associated with the context-classloader of the current thread. 
      */
-    public synchronized Object get() {
-        // synchronizing the whole method is a bit slower 
-        // but guarantees no subtle threading problems, and there's no 
-        // need to synchronize valueByClassLoader
-        
-        // make sure that the map is given a change to purge itself
-        valueByClassLoader.isEmpty();
+    public Object get() {
+        // make sure that values of collected classloaders are released
+        if (queue.poll() != null) {
+            expungeStaleEntries();
+        }
+        ClassLoader contextClassLoader = null;
         try {
             
-            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-            if (contextClassLoader != null) {
-                
-                Object value = valueByClassLoader.get(contextClassLoader);
-                if ((value == null) 
-                && !valueByClassLoader.containsKey(contextClassLoader)) {
-                    value = initialValue();
-                    valueByClassLoader.put(contextClassLoader, value);
-                }
-                return value;
-                
-            }
+            contextClassLoader = Thread.currentThread().getContextClassLoader();
             
         } catch (SecurityException e) { /* SWALLOW - should we log this? */ }
         
-        // if none or exception, return the globalValue 
-        if (!globalValueInitialized) {
-            globalValue = initialValue();
-            globalValueInitialized = true;
-        }//else already set
-        return globalValue;
+        // fast path: the same classloader as last time
+        Entry entry = lastEntry;
+        if (contextClassLoader != null && entry != null && entry.get() == contextClassLoader &&
+                entry.initialized && !entry.removed) {
+            return entry.value;
+        }
+        
+        // if there is no context classloader, use the global value
+        while (true) {
+            entry = find(contextClassLoader);
+            if (entry == null) {
+                entry = addEntry(contextClassLoader);
+            }
+            if (entry.owner == Thread.currentThread()) {
+                initialize(entry);
+            } else {
+                entry.await();
+            }
+            // retry if the value couldn't be created or has been replaced
+            if (entry.initialized && !entry.removed) {
+                if (contextClassLoader != null) {
+                    lastEntry = entry;
+                }
+                return entry.value;
+            }
+        }
     }
 
     /** 
@@ -174,24 +205,22 @@ public class ContextClassLoaderLocal {
      * @param value the object to be associated with the entrant thread's context classloader
      */
     public synchronized void set(Object value) {
-        // synchronizing the whole method is a bit slower 
-        // but guarentees no subtle threading problems
-        
-        // make sure that the map is given a change to purge itself
-        valueByClassLoader.isEmpty();
         try {
             
             ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
             if (contextClassLoader != null) {
-                valueByClassLoader.put(contextClassLoader, value);
+                replace(contextClassLoader, new Entry(contextClassLoader, value, queue));
                 return;
             }
             
         } catch (SecurityException e) { /* SWALLOW - should we log this? */ }
         
         // if in doubt, set the global value
-        globalValue = value;
-        globalValueInitialized = true;
+        Entry old = globalEntry;
+        if (old != null) {
+            old.removed = true;
+        }
+        globalEntry = new Entry(null, value, null);
     }
     
     /** 
@@ -211,6 +240,213 @@ public class ContextClassLoaderLocal {
      * @param classLoader The classloader to <i>unset</i> for
      */
     public synchronized void unset(ClassLoader classLoader) {    
-        valueByClassLoader.remove(classLoader);
+        if (classLoader != null) {
+            replace(classLoader, null);
+        }
     }    
-}
\ No newline at end of file
+
+    /**
+     * Create the initial value of a pending entry, which the current
+     * thread has added. If <code>initialValue()</code> fails the entry is
+     * removed, so that the next access tries again.
+     *
+     * @param entry The pending entry
+     */
+    private void initialize(Entry entry) {
+        boolean initialized = false;
+        try {
+            entry.complete(initialValue());
+            initialized = true;
+        } finally {
+            if (!initialized) {
+                removeEntry(entry);
+                entry.abandon();
+            }
+        }
+    }
+
+    /**
+     * Find the entry of a classloader.
+     *
+     * @param classLoader The classloader, or <code>null</code> for the
+     *  global value
+     * @return The entry, or <code>null</code> if there is none
+     */
+    private Entry find(ClassLoader classLoader) {
+        return (classLoader == null ? globalEntry : find(entries, classLoader));
+    }
+
+    /**
+     * Add a pending entry for a classloader, whose initial value the
+     * current thread is to create, unless another thread (or
+     * <code>initialValue()</code> itself) has added one in the meantime,
+     * in which case that one is returned.
+     *
+     * @param classLoader The classloader, or <code>null</code> for the
+     *  global value
+     * @return The entry of the classloader
+     */
+    private synchronized Entry addEntry(ClassLoader classLoader) {
+        Entry entry = find(classLoader);
+        if (entry != null) {
+            return entry;
+        }
+        entry = new Entry(classLoader, classLoader == null ? null : queue);
+        if (classLoader == null) {
+            globalEntry = entry;
+        } else {
+            replace(classLoader, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Remove an entry, unless it has already been replaced.
+     *
+     * @param entry The entry
+     */
+    private synchronized void removeEntry(Entry entry) {
+        ClassLoader classLoader = (ClassLoader) entry.get();
+        if (find(classLoader) == entry) {
+            if (classLoader == null) {
+                globalEntry = null;
+            } else {
+                replace(classLoader, null);
+            }
+        }
+    }
+
+    /**
+     * Replace the entry of a classloader, and discard entries whose
+     * classloader has been garbage collected. The array is copied, and
+     * the old entry is marked as removed so that it is no longer used as
+     * the last entry read.
+     *
+     * @param classLoader The classloader, or <code>null</code> to only
+     *  discard entries
+     * @param entry The new entry, or <code>null</code> to remove the entry
+     */
+    private void replace(ClassLoader classLoader, Entry entry) {
+        Entry[] oldEntries = entries;
+        Entry[] newEntries = new Entry[oldEntries.length + 1];
+        int count = 0;
+        for (int i = 0; i < oldEntries.length; i++) {
+            Object key = oldEntries[i].get();
+            if (key == null) {
+                oldEntries[i].removed = true;
+            } else if (key == classLoader) {
+                oldEntries[i].removed = true;
+            } else {
+                newEntries[count++] = oldEntries[i];
+            }
+        }
+        if (entry != null) {
+            newEntries[count++] = entry;
+        }
+        if (count < newEntries.length) {
+            Entry[] trimmed = new Entry[count];
+            System.arraycopy(newEntries, 0, trimmed, 0, count);
+            newEntries = trimmed;
+        }
+        entries = newEntries;
+        Entry last = lastEntry;
+        if (last != null && last.removed) {
+            lastEntry = null;
+        }
+    }
+
+    /**
+     * Discard the entries whose classloader has been garbage collected.
+     */
+    private synchronized void expungeStaleEntries() {
+        while (queue.poll() != null) {
+            // discard, the array is rebuilt without them
+        }
+        replace(null, null);
+    }
+
+    /**
+     * Find the entry of a classloader.
+     *
+     * @param entries The entries to search
+     * @param classLoader The classloader
+     * @return The entry, or <code>null</code> if there is none
+     */
+    private static Entry find(Entry[] entries, ClassLoader classLoader) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].get() == classLoader) {
+                return entries[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The value of a classloader, which is held weakly (the value itself
+     * is held strongly, see the note above). A pending entry belongs to
+     * the thread creating its initial value, which other threads wait for.
+     */
+    private static final class Entry extends WeakReference {
+        /** The value, published by <code>initialized</code> */
+        private Object value;
+        private volatile boolean initialized;
+        private volatile boolean removed;
+        /** The thread creating the initial value, <code>null</code> once done */
+        private volatile Thread owner;
+
+        /**
+         * Create a pending entry, whose initial value the current thread
+         * is to create.
+         */
+        Entry(ClassLoader classLoader, ReferenceQueue queue) {
+            super(classLoader, queue);
+            this.owner = Thread.currentThread();
+        }
+
+        /**
+         * Create an entry with a value.
+         */
+        Entry(ClassLoader classLoader, Object value, ReferenceQueue queue) {
+            super(classLoader, queue);
+            this.value = value;
+            this.initialized = true;
+        }
+
+        /**
+         * Set the initial value, and wake up the threads waiting for it.
+         */
+        synchronized void complete(Object value) {
+            this.value = value;
+            this.initialized = true;
+            this.owner = null;
+            notifyAll();
+        }
+
+        /**
+         * Give up creating the initial value, and wake up the threads
+         * waiting for it.
+         */
+        synchronized void abandon() {
+            this.removed = true;
+            this.owner = null;
+            notifyAll();
+        }
+
+        /**
+         * Wait until the initial value has been created or given up.
+         */
+        synchronized void await() {
+            boolean interrupted = false;
+            while (owner != null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
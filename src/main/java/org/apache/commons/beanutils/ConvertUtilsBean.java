@@ -25,9 +25,14 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URL;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.beanutils.converters.AbstractConverter;
 import org.apache.commons.beanutils.converters.ArrayConverter;
 import org.apache.commons.beanutils.converters.BigDecimalConverter;
 import org.apache.commons.beanutils.converters.BigIntegerConverter;
@@ -119,6 +124,14 @@ import org.apache.commons.logging.LogFactory;
  * or invalid input, these return an empty array (not null). See class
  * AbstractArrayConverter for the supported input formats for these converters.
  * </p>
+ *
+ * <p>
+ * Many custom converters are best registered in one go, by building a
+ * {@link ConverterRegistry} (starting from {@link #getRegistry()}) and
+ * installing it with {@link #setRegistry(ConverterRegistry)}. The bean
+ * then keeps its converters in that immutable registry, and after
+ * {@link #freeze()} may be shared by any number of threads.
+ * </p>
  * 
  * @author Craig R. McClanahan
  * @author Ralph Schaer
@@ -151,11 +164,52 @@ public class ConvertUtilsBean {
      */
     private WeakFastHashMap converters = new WeakFastHashMap();
 
+    /**
+     * The immutable snapshot of the registered {@link Converter}s, which
+     * is used instead of <code>converters</code> once set, and replaced
+     * as a whole whenever they change.
+     */
+    private volatile ConverterRegistry registry;
+
+    /** Whether the registered Converters may no longer be changed */
+    private volatile boolean frozen = false;
+
+    /**
+     * The number of times the registered {@link Converter}s have been
+     * changed, so that code which caches the result of a lookup can
+     * tell whether it is still valid.
+     */
+    private volatile int modificationCount = 0;
+
+    /**
+     * The converters resolved by {@link #lookup(Class, Class)}, keyed by
+     * target type ({@link ResolvedConverters}). Replaced by a new, empty
+     * cache whenever the registered Converters change.
+     */
+    private volatile WeakIntrospectionCache resolvedConverters = new WeakIntrospectionCache();
+
     /**
      * The <code>Log</code> instance for this class.
      */
     private Log log = LogFactory.getLog(ConvertUtils.class);
 
+    /** Whether lookup statistics are recorded */
+    private volatile boolean statisticsEnabled = false;
+
+    /** The lookup statistics */
+    private final CacheStatistics statistics = new CacheStatistics("converters") {
+        public int getSize() {
+            ConverterRegistry current = registry;
+            return (current != null) ? current.size() : converters.size();
+        }
+        public boolean isEnabled() {
+            return isStatisticsEnabled();
+        }
+        public void setEnabled(boolean enabled) {
+            setStatisticsEnabled(enabled);
+        }
+    };
+
     // ------------------------------------------------------- Constructors
 
     /** Construct a bean with standard converters registered */
@@ -165,6 +219,20 @@ public class ConvertUtilsBean {
         converters.setFast(true);
     }
 
+    /**
+     * Construct a bean which uses the specified registry of
+     * {@link Converter}s. Registering or deregistering Converters
+     * replaces the registry with a new one, so lookups never take a lock.
+     *
+     * @param registry The registered Converters
+     * @exception IllegalArgumentException if the registry is
+     *  <code>null</code>
+     * @since 1.8.4
+     */
+    public ConvertUtilsBean(ConverterRegistry registry) {
+        setRegistry(registry);
+    }
+
     // --------------------------------------------------------- Public Methods
     
     /**
@@ -460,14 +528,14 @@ public class ConvertUtilsBean {
             log.debug("Convert string '" + value + "' to class '" +
                       clazz.getName() + "'");
         }
-        Converter converter = lookup(clazz);
+        Converter converter = lookup(String.class, clazz);
         if (converter == null) {
             converter = lookup(String.class);
         }
         if (log.isTraceEnabled()) {
             log.trace("  Using converter " + converter);
         }
-        return (converter.convert(clazz, value));
+        return (convert(converter, clazz, value));
 
     }
 
@@ -495,7 +563,7 @@ public class ConvertUtilsBean {
             log.debug("Convert String[" + values.length + "] to class '" +
                       type.getName() + "[]'");
         }
-        Converter converter = lookup(type);
+        Converter converter = lookup(String.class, type);
         if (converter == null) {
             converter = lookup(String.class);
         }
@@ -541,7 +609,7 @@ public class ConvertUtilsBean {
             if (log.isTraceEnabled()) {
                 log.trace("  Using converter " + converter);
             }
-            converted = converter.convert(targetType, value);
+            converted = convert(converter, targetType, value);
         }
         if (targetType == String.class && converted != null && 
                 !(converted instanceof String)) {
@@ -567,20 +635,44 @@ public class ConvertUtilsBean {
 
     }
 
+    /**
+     * Convert a value with a Converter, reporting the conversion to the
+     * {@link PerformanceListener} if there is one and it is slow.
+     *
+     * @param converter The Converter
+     * @param targetType Class of the value to be converted to
+     * @param value Value to be converted (may be null)
+     * @return The converted value
+     */
+    private Object convert(Converter converter, Class targetType, Object value) {
+
+        PerformanceListener listener = PerformanceMonitor.getListener();
+        if (listener == null) {
+            return (converter.convert(targetType, value));
+        }
+        long start = System.nanoTime();
+        try {
+            return (converter.convert(targetType, value));
+        } finally {
+            PerformanceMonitor.converted(listener, value, targetType, start);
+        }
+
+    }
+
     /**
      * Remove all registered {@link Converter}s, and re-establish the
      * standard Converters.
      */
     public void deregister() {
 
-        converters.clear();
-        
-        registerPrimitives(false);
-        registerStandard(false, false);
-        registerOther(true);
-        registerArrays(false, 0);
-        register(BigDecimal.class, new BigDecimalConverter());
-        register(BigInteger.class, new BigIntegerConverter());
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder();
+        registerPrimitives(builder, false);
+        registerStandard(builder, false, false);
+        registerOther(builder, true);
+        registerArrays(builder, false, 0);
+        register(builder, BigDecimal.class, new BigDecimalConverter());
+        register(builder, BigInteger.class, new BigIntegerConverter());
+        registerAll(builder, true);
     }
 
     /**
@@ -590,7 +682,7 @@ public class ConvertUtilsBean {
      * throw an exception when a conversion error occurs, otherwise <code>
      * <code>false</code> if a default value should be used.
      * @param defaultNull <code>true</code>if the <i>standard</i> converters
-     * (see {@link ConvertUtilsBean#registerStandard(boolean, boolean)})
+     * (see {@link ConvertUtilsBean#registerStandard(ConverterRegistry.Builder, boolean, boolean)})
      * should use a default value of <code>null</code>, otherwise <code>false</code>.
      * N.B. This values is ignored if <code>throwException</code> is <code>true</code>
      * @param defaultArraySize The size of the default array value for array converters
@@ -599,10 +691,41 @@ public class ConvertUtilsBean {
      * the default.
      */
     public void register(boolean throwException, boolean defaultNull, int defaultArraySize) {
-        registerPrimitives(throwException);
-        registerStandard(throwException, defaultNull);
-        registerOther(throwException);
-        registerArrays(throwException, defaultArraySize);
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder();
+        registerPrimitives(builder, throwException);
+        registerStandard(builder, throwException, defaultNull);
+        registerOther(builder, throwException);
+        registerArrays(builder, throwException, defaultArraySize);
+        registerAll(builder, false);
+    }
+
+    /**
+     * Register the Converters collected by a builder in one go, which
+     * replaces the registry (or copies the map of Converters) only once.
+     *
+     * @param builder The Converters to register
+     * @param replace <code>true</code> to remove all the other Converters
+     */
+    private void registerAll(ConverterRegistry.Builder builder, boolean replace) {
+
+        checkNotFrozen();
+        if (registry != null) {
+            synchronized (this) {
+                if (!replace) {
+                    ConverterRegistry.Builder merged = new ConverterRegistry.Builder(registry);
+                    merged.registerAll(builder);
+                    builder = merged;
+                }
+                registry = builder.build();
+            }
+        } else {
+            if (replace) {
+                converters.clear();
+            }
+            converters.putAll(builder.getConverters());
+        }
+        convertersChanged();
+
     }
 
     /**
@@ -619,19 +742,20 @@ public class ConvertUtilsBean {
      *     <li><code>Long.TYPE</code> - {@link LongConverter}</li>
      *     <li><code>Short.TYPE</code> - {@link ShortConverter}</li>
      * </ul>
+     * @param builder The builder to register the converters with
      * @param throwException <code>true</code> if the converters should
      * throw an exception when a conversion error occurs, otherwise <code>
      * <code>false</code> if a default value should be used.
      */
-    private void registerPrimitives(boolean throwException) {
-        register(Boolean.TYPE,   throwException ? new BooleanConverter()    : new BooleanConverter(Boolean.FALSE));
-        register(Byte.TYPE,      throwException ? new ByteConverter()       : new ByteConverter(ZERO));
-        register(Character.TYPE, throwException ? new CharacterConverter()  : new CharacterConverter(SPACE));
-        register(Double.TYPE,    throwException ? new DoubleConverter()     : new DoubleConverter(ZERO));
-        register(Float.TYPE,     throwException ? new FloatConverter()      : new FloatConverter(ZERO));
-        register(Integer.TYPE,   throwException ? new IntegerConverter()    : new IntegerConverter(ZERO));
-        register(Long.TYPE,      throwException ? new LongConverter()       : new LongConverter(ZERO));
-        register(Short.TYPE,     throwException ? new ShortConverter()      : new ShortConverter(ZERO));
+    private void registerPrimitives(ConverterRegistry.Builder builder, boolean throwException) {
+        register(builder, Boolean.TYPE,   throwException ? new BooleanConverter()    : new BooleanConverter(Boolean.FALSE));
+        register(builder, Byte.TYPE,      throwException ? new ByteConverter()       : new ByteConverter(ZERO));
+        register(builder, Character.TYPE, throwException ? new CharacterConverter()  : new CharacterConverter(SPACE));
+        register(builder, Double.TYPE,    throwException ? new DoubleConverter()     : new DoubleConverter(ZERO));
+        register(builder, Float.TYPE,     throwException ? new FloatConverter()      : new FloatConverter(ZERO));
+        register(builder, Integer.TYPE,   throwException ? new IntegerConverter()    : new IntegerConverter(ZERO));
+        register(builder, Long.TYPE,      throwException ? new LongConverter()       : new LongConverter(ZERO));
+        register(builder, Short.TYPE,     throwException ? new ShortConverter()      : new ShortConverter(ZERO));
     }
 
     /**
@@ -651,15 +775,16 @@ public class ConvertUtilsBean {
      *     <li><code>Short.class</code> - {@link ShortConverter}</li>
      *     <li><code>String.class</code> - {@link StringConverter}</li>
      * </ul>
+     * @param builder The builder to register the converters with
      * @param throwException <code>true</code> if the converters should
      * throw an exception when a conversion error occurs, otherwise <code>
      * <code>false</code> if a default value should be used.
      * @param defaultNull <code>true</code>if the <i>standard</i> converters
-     * (see {@link ConvertUtilsBean#registerStandard(boolean, boolean)})
+     * (see {@link ConvertUtilsBean#registerStandard(ConverterRegistry.Builder, boolean, boolean)})
      * should use a default value of <code>null</code>, otherwise <code>false</code>.
      * N.B. This values is ignored if <code>throwException</code> is <code>true</code>
      */
-    private void registerStandard(boolean throwException, boolean defaultNull) {
+    private void registerStandard(ConverterRegistry.Builder builder, boolean throwException, boolean defaultNull) {
 
         Number     defaultNumber     = defaultNull ? null : ZERO;
         BigDecimal bigDecDeflt       = defaultNull ? null : new BigDecimal("0.0");
@@ -668,17 +793,17 @@ public class ConvertUtilsBean {
         Character  charDefault       = defaultNull ? null : SPACE;
         String     stringDefault     = defaultNull ? null : "";
 
-        register(BigDecimal.class, throwException ? new BigDecimalConverter() : new BigDecimalConverter(bigDecDeflt));
-        register(BigInteger.class, throwException ? new BigIntegerConverter() : new BigIntegerConverter(bigIntDeflt));
-        register(Boolean.class,    throwException ? new BooleanConverter()    : new BooleanConverter(booleanDefault));
-        register(Byte.class,       throwException ? new ByteConverter()       : new ByteConverter(defaultNumber));
-        register(Character.class,  throwException ? new CharacterConverter()  : new CharacterConverter(charDefault));
-        register(Double.class,     throwException ? new DoubleConverter()     : new DoubleConverter(defaultNumber));
-        register(Float.class,      throwException ? new FloatConverter()      : new FloatConverter(defaultNumber));
-        register(Integer.class,    throwException ? new IntegerConverter()    : new IntegerConverter(defaultNumber));
-        register(Long.class,       throwException ? new LongConverter()       : new LongConverter(defaultNumber));
-        register(Short.class,      throwException ? new ShortConverter()      : new ShortConverter(defaultNumber));
-        register(String.class,     throwException ? new StringConverter()     : new StringConverter(stringDefault));
+        register(builder, BigDecimal.class, throwException ? new BigDecimalConverter() : new BigDecimalConverter(bigDecDeflt));
+        register(builder, BigInteger.class, throwException ? new BigIntegerConverter() : new BigIntegerConverter(bigIntDeflt));
+        register(builder, Boolean.class,    throwException ? new BooleanConverter()    : new BooleanConverter(booleanDefault));
+        register(builder, Byte.class,       throwException ? new ByteConverter()       : new ByteConverter(defaultNumber));
+        register(builder, Character.class,  throwException ? new CharacterConverter()  : new CharacterConverter(charDefault));
+        register(builder, Double.class,     throwException ? new DoubleConverter()     : new DoubleConverter(defaultNumber));
+        register(builder, Float.class,      throwException ? new FloatConverter()      : new FloatConverter(defaultNumber));
+        register(builder, Integer.class,    throwException ? new IntegerConverter()    : new IntegerConverter(defaultNumber));
+        register(builder, Long.class,       throwException ? new LongConverter()       : new LongConverter(defaultNumber));
+        register(builder, Short.class,      throwException ? new ShortConverter()      : new ShortConverter(defaultNumber));
+        register(builder, String.class,     throwException ? new StringConverter()     : new StringConverter(stringDefault));
         
     }
 
@@ -696,24 +821,26 @@ public class ConvertUtilsBean {
      *     <li><code>java.sql.Timestamp.class</code> - {@link SqlTimestampConverter}</li>
      *     <li><code>URL.class</code> - {@link URLConverter}</li>
      * </ul>
+     * @param builder The builder to register the converters with
      * @param throwException <code>true</code> if the converters should
      * throw an exception when a conversion error occurs, otherwise <code>
      * <code>false</code> if a default value should be used.
      */
-    private void registerOther(boolean throwException) {
-        register(Class.class,         throwException ? new ClassConverter()        : new ClassConverter(null));
-        register(java.util.Date.class, throwException ? new DateConverter()        : new DateConverter(null));
-        register(Calendar.class,      throwException ? new CalendarConverter()     : new CalendarConverter(null));
-        register(File.class,          throwException ? new FileConverter()         : new FileConverter(null));
-        register(java.sql.Date.class, throwException ? new SqlDateConverter()      : new SqlDateConverter(null));
-        register(java.sql.Time.class, throwException ? new SqlTimeConverter()      : new SqlTimeConverter(null));
-        register(Timestamp.class,     throwException ? new SqlTimestampConverter() : new SqlTimestampConverter(null));
-        register(URL.class,           throwException ? new URLConverter()          : new URLConverter(null));
+    private void registerOther(ConverterRegistry.Builder builder, boolean throwException) {
+        register(builder, Class.class,         throwException ? new ClassConverter()        : new ClassConverter(null));
+        register(builder, java.util.Date.class, throwException ? new DateConverter()        : new DateConverter(null));
+        register(builder, Calendar.class,      throwException ? new CalendarConverter()     : new CalendarConverter(null));
+        register(builder, File.class,          throwException ? new FileConverter()         : new FileConverter(null));
+        register(builder, java.sql.Date.class, throwException ? new SqlDateConverter()      : new SqlDateConverter(null));
+        register(builder, java.sql.Time.class, throwException ? new SqlTimeConverter()      : new SqlTimeConverter(null));
+        register(builder, Timestamp.class,     throwException ? new SqlTimestampConverter() : new SqlTimestampConverter(null));
+        register(builder, URL.class,           throwException ? new URLConverter()          : new URLConverter(null));
     }
 
     /**
      * Register array converters.
      *
+     * @param builder The builder to register the converters with
      * @param throwException <code>true</code> if the converters should
      * throw an exception when a conversion error occurs, otherwise <code>
      * <code>false</code> if a default value should be used.
@@ -722,40 +849,40 @@ public class ConvertUtilsBean {
      * Specifying a value less than zero causes a <code>null<code> value to be used for
      * the default.
      */
-    private void registerArrays(boolean throwException, int defaultArraySize) {
+    private void registerArrays(ConverterRegistry.Builder builder, boolean throwException, int defaultArraySize) {
 
         // Primitives
-        registerArrayConverter(Boolean.TYPE,   new BooleanConverter(),   throwException, defaultArraySize);
-        registerArrayConverter(Byte.TYPE,      new ByteConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(Character.TYPE, new CharacterConverter(), throwException, defaultArraySize);
-        registerArrayConverter(Double.TYPE,    new DoubleConverter(),    throwException, defaultArraySize);
-        registerArrayConverter(Float.TYPE,     new FloatConverter(),     throwException, defaultArraySize);
-        registerArrayConverter(Integer.TYPE,   new IntegerConverter(),   throwException, defaultArraySize);
-        registerArrayConverter(Long.TYPE,      new LongConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(Short.TYPE,     new ShortConverter(),     throwException, defaultArraySize);
+        registerArrayConverter(builder, Boolean.TYPE,   new BooleanConverter(),   throwException, defaultArraySize);
+        registerArrayConverter(builder, Byte.TYPE,      new ByteConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, Character.TYPE, new CharacterConverter(), throwException, defaultArraySize);
+        registerArrayConverter(builder, Double.TYPE,    new DoubleConverter(),    throwException, defaultArraySize);
+        registerArrayConverter(builder, Float.TYPE,     new FloatConverter(),     throwException, defaultArraySize);
+        registerArrayConverter(builder, Integer.TYPE,   new IntegerConverter(),   throwException, defaultArraySize);
+        registerArrayConverter(builder, Long.TYPE,      new LongConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, Short.TYPE,     new ShortConverter(),     throwException, defaultArraySize);
 
         // Standard
-        registerArrayConverter(BigDecimal.class, new BigDecimalConverter(), throwException, defaultArraySize);
-        registerArrayConverter(BigInteger.class, new BigIntegerConverter(), throwException, defaultArraySize);
-        registerArrayConverter(Boolean.class,    new BooleanConverter(),    throwException, defaultArraySize);
-        registerArrayConverter(Byte.class,       new ByteConverter(),       throwException, defaultArraySize);
-        registerArrayConverter(Character.class,  new CharacterConverter(),  throwException, defaultArraySize);
-        registerArrayConverter(Double.class,     new DoubleConverter(),     throwException, defaultArraySize);
-        registerArrayConverter(Float.class,      new FloatConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(Integer.class,    new IntegerConverter(),    throwException, defaultArraySize);
-        registerArrayConverter(Long.class,       new LongConverter(),       throwException, defaultArraySize);
-        registerArrayConverter(Short.class,      new ShortConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(String.class,     new StringConverter(),     throwException, defaultArraySize);
+        registerArrayConverter(builder, BigDecimal.class, new BigDecimalConverter(), throwException, defaultArraySize);
+        registerArrayConverter(builder, BigInteger.class, new BigIntegerConverter(), throwException, defaultArraySize);
+        registerArrayConverter(builder, Boolean.class,    new BooleanConverter(),    throwException, defaultArraySize);
+        registerArrayConverter(builder, Byte.class,       new ByteConverter(),       throwException, defaultArraySize);
+        registerArrayConverter(builder, Character.class,  new CharacterConverter(),  throwException, defaultArraySize);
+        registerArrayConverter(builder, Double.class,     new DoubleConverter(),     throwException, defaultArraySize);
+        registerArrayConverter(builder, Float.class,      new FloatConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, Integer.class,    new IntegerConverter(),    throwException, defaultArraySize);
+        registerArrayConverter(builder, Long.class,       new LongConverter(),       throwException, defaultArraySize);
+        registerArrayConverter(builder, Short.class,      new ShortConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, String.class,     new StringConverter(),     throwException, defaultArraySize);
 
         // Other
-        registerArrayConverter(Class.class,          new ClassConverter(),        throwException, defaultArraySize);
-        registerArrayConverter(java.util.Date.class, new DateConverter(),         throwException, defaultArraySize);
-        registerArrayConverter(Calendar.class,       new DateConverter(),         throwException, defaultArraySize);
-        registerArrayConverter(File.class,           new FileConverter(),         throwException, defaultArraySize);
-        registerArrayConverter(java.sql.Date.class,  new SqlDateConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(java.sql.Time.class,  new SqlTimeConverter(),      throwException, defaultArraySize);
-        registerArrayConverter(Timestamp.class,      new SqlTimestampConverter(), throwException, defaultArraySize);
-        registerArrayConverter(URL.class,            new URLConverter(),          throwException, defaultArraySize);
+        registerArrayConverter(builder, Class.class,          new ClassConverter(),        throwException, defaultArraySize);
+        registerArrayConverter(builder, java.util.Date.class, new DateConverter(),         throwException, defaultArraySize);
+        registerArrayConverter(builder, Calendar.class,       new DateConverter(),         throwException, defaultArraySize);
+        registerArrayConverter(builder, File.class,           new FileConverter(),         throwException, defaultArraySize);
+        registerArrayConverter(builder, java.sql.Date.class,  new SqlDateConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, java.sql.Time.class,  new SqlTimeConverter(),      throwException, defaultArraySize);
+        registerArrayConverter(builder, Timestamp.class,      new SqlTimestampConverter(), throwException, defaultArraySize);
+        registerArrayConverter(builder, URL.class,            new URLConverter(),          throwException, defaultArraySize);
 
     }
 
@@ -763,14 +890,15 @@ public class ConvertUtilsBean {
      * Register a new ArrayConverter with the specified element delegate converter
      * that returns a default array of the specified size in the event of conversion errors.
      *
+     * @param builder The builder to register the converter with
      * @param componentType The component type of the array
      * @param componentConverter The converter to delegate to for the array elements
      * @param throwException Whether a conversion exception should be thrown or a default
      * value used in the event of a conversion error
      * @param defaultArraySize The size of the default array
      */
-    private void registerArrayConverter(Class componentType, Converter componentConverter,
-            boolean throwException, int defaultArraySize) {
+    private void registerArrayConverter(ConverterRegistry.Builder builder, Class componentType,
+            Converter componentConverter, boolean throwException, int defaultArraySize) {
         Class arrayType = Array.newInstance(componentType, 0).getClass();
         Converter arrayConverter = null;
         if (throwException) {
@@ -778,12 +906,12 @@ public class ConvertUtilsBean {
         } else {
             arrayConverter = new ArrayConverter(arrayType, componentConverter, defaultArraySize);
         }
-        register(arrayType, arrayConverter);
+        register(builder, arrayType, arrayConverter);
     }
 
     /** strictly for convenience since it has same parameter order as Map.put */
-    private void register(Class clazz, Converter converter) {
-        register(new ConverterFacade(converter), clazz);
+    private void register(ConverterRegistry.Builder builder, Class clazz, Converter converter) {
+        builder.register(new ConverterFacade(converter), clazz);
     }
 
     /**
@@ -794,7 +922,66 @@ public class ConvertUtilsBean {
      */
     public void deregister(Class clazz) {
 
-        converters.remove(clazz);
+        checkNotFrozen();
+        if (registry != null) {
+            synchronized (this) {
+                ConverterRegistry.Builder builder = new ConverterRegistry.Builder(registry);
+                builder.deregister(clazz);
+                registry = builder.build();
+            }
+        } else {
+            converters.remove(clazz);
+        }
+        convertersChanged();
+
+    }
+
+    /**
+     * Remove any registered {@link Converter}s which were loaded by the
+     * specified <code>ClassLoader</code>, or any of its descendants, or
+     * which are registered for a destination class loaded by it. The
+     * other Converters are left intact.
+     *
+     * @param classLoader The ClassLoader
+     * @return The number of Converters removed
+     * @since 1.8.4
+     */
+    public int deregister(ClassLoader classLoader) {
+
+        checkNotFrozen();
+        if (registry != null) {
+            int count;
+            synchronized (this) {
+                ConverterRegistry.Builder builder = new ConverterRegistry.Builder(registry);
+                count = builder.deregister(classLoader);
+                if (count > 0) {
+                    registry = builder.build();
+                }
+            }
+            if (count > 0) {
+                convertersChanged();
+            }
+            return (count);
+        }
+
+        List removed = new ArrayList();
+        for (Iterator i = converters.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            Class clazz = (Class) entry.getKey();
+            Object converter = entry.getValue();
+            if (ClassLoaderUtils.isLoadedBy(clazz, classLoader) ||
+                    (converter != null &&
+                     ClassLoaderUtils.isLoadedBy(converter.getClass(), classLoader))) {
+                removed.add(clazz);
+            }
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            converters.remove(removed.get(i));
+        }
+        if (!removed.isEmpty()) {
+            convertersChanged();
+        }
+        return (removed.size());
 
     }
 
@@ -809,14 +996,91 @@ public class ConvertUtilsBean {
      */
     public Converter lookup(Class clazz) {
 
-        return ((Converter) converters.get(clazz));
+        Converter converter = find(clazz);
+        recordLookup(converter);
+        return (converter);
+
+    }
+
+    /**
+     * Return the {@link Converter} registered for the specified class,
+     * without recording a lookup in the statistics.
+     *
+     * @param clazz Class for which to return a registered Converter
+     * @return The registered {@link Converter} or <code>null</code> if not found
+     */
+    private Converter find(Class clazz) {
+
+        ConverterRegistry current = registry;
+        return (current != null) ? current.lookup(clazz)
+                : (Converter) converters.get(clazz);
+
+    }
+
+    /**
+     * Record a lookup in the statistics, if they are enabled.
+     *
+     * @param converter The Converter found, or <code>null</code>
+     */
+    private void recordLookup(Converter converter) {
+
+        if (statisticsEnabled) {
+            if (converter != null) {
+                statistics.recordHit();
+            } else {
+                statistics.recordMiss();
+            }
+        }
+
+    }
+
+    /**
+     * Indicate whether lookup statistics are being recorded.
+     *
+     * @return <code>true</code> if statistics are enabled
+     * @see #getCacheStatistics()
+     * @since 1.8.4
+     */
+    public boolean isStatisticsEnabled() {
+        return (statisticsEnabled);
+    }
+
+    /**
+     * Enable or disable recording lookup statistics, which are disabled
+     * by default.
+     *
+     * @param enabled <code>true</code> to record statistics
+     * @see #getCacheStatistics()
+     * @since 1.8.4
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        this.statisticsEnabled = enabled;
+    }
 
+    /**
+     * Return the statistics of the registered {@link Converter}s, named
+     * <code>converters</code>. A hit is a {@link #lookup(Class)}, or a
+     * resolution by {@link #lookup(Class, Class)} of a pair of classes it
+     * has not resolved before, which found a Converter and a miss one
+     * which didn't; the size is the number of registered Converters.
+     *
+     * @return The converter lookup statistics
+     * @see #setStatisticsEnabled(boolean)
+     * @since 1.8.4
+     */
+    public CacheStatistics[] getCacheStatistics() {
+        return (new CacheStatistics[] {statistics});
     }
 
     /**
      * Look up and return any registered {@link Converter} for the specified
      * source and destination class; if there is no registered Converter,
      * return <code>null</code>.
+     * <p>
+     * If no Converter is registered for the destination class itself,
+     * the one registered for the nearest of its superclasses or
+     * interfaces is used. The result is cached for each pair of classes
+     * until the registered Converters change.
      *
      * @param sourceType Class of the value being converted
      * @param targetType Class of the value to be converted to
@@ -827,20 +1091,56 @@ public class ConvertUtilsBean {
         if (targetType == null) {
             throw new IllegalArgumentException("Target type is missing");
         }
+
+        WeakIntrospectionCache resolved = resolvedConverters;
+        ResolvedConverters forTarget = (ResolvedConverters) resolved.get(targetType);
+        if (forTarget == null) {
+            forTarget = new ResolvedConverters();
+            resolved.put(targetType, forTarget);
+        }
+        Object converter = forTarget.get(sourceType);
+        if (converter == null) {
+            converter = resolve(sourceType, targetType);
+            recordLookup((Converter) converter);
+            if (converter == null) {
+                converter = NO_CONVERTER;
+            }
+            forTarget.put(sourceType, converter);
+        }
+        return (converter == NO_CONVERTER) ? null : (Converter) converter;
+
+    }
+
+    /**
+     * Find the {@link Converter} for the specified source and destination
+     * class, for {@link #lookup(Class, Class)} to cache.
+     * <p>
+     * Conversions to <code>String</code> and <code>String[]</code> use the
+     * Converter registered for the source class, if there is one. Other
+     * conversions use the Converter registered for the destination class
+     * or, failing that, for the nearest of its superclasses (other than
+     * <code>Object</code>) or interfaces.
+     *
+     * @param sourceType Class of the value being converted
+     * @param targetType Class of the value to be converted to
+     * @return The registered {@link Converter} or <code>null</code> if not found
+     */
+    private Converter resolve(Class sourceType, Class targetType) {
+
         if (sourceType == null) {
-            return lookup(targetType);
+            return lookupHierarchy(targetType);
         }
 
         Converter converter = null;
         // Convert --> String 
         if (targetType == String.class) {
-            converter = lookup(sourceType);
+            converter = find(sourceType);
             if (converter == null && (sourceType.isArray() ||
                         Collection.class.isAssignableFrom(sourceType))) {
-                converter = lookup(String[].class);
+                converter = find(String[].class);
             }
             if (converter == null) {
-                converter = lookup(String.class);
+                converter = find(String.class);
             }
             return converter;
         }
@@ -848,15 +1148,85 @@ public class ConvertUtilsBean {
         // Convert --> String array 
         if (targetType == String[].class) {
             if (sourceType.isArray() || Collection.class.isAssignableFrom(sourceType)) {
-                converter = lookup(sourceType);
+                converter = find(sourceType);
             }
             if (converter == null) {
-                converter = lookup(String[].class);
+                converter = find(String[].class);
             }
             return converter;
         }
 
-        return lookup(targetType);
+        return lookupHierarchy(targetType);
+
+    }
+
+    /**
+     * Look up the {@link Converter} registered for a destination class or,
+     * failing that, for the nearest of its superclasses (other than
+     * <code>Object</code>) or, failing that, for one of the interfaces it
+     * implements, searching breadth first.
+     * <p>
+     * Converters found for a supertype are only used if they can produce
+     * the subtype, see {@link #isHierarchyConverter(Converter)}.
+     *
+     * @param targetType Class of the value to be converted to
+     * @return The registered {@link Converter} or <code>null</code> if not found
+     */
+    private Converter lookupHierarchy(Class targetType) {
+
+        Converter converter = find(targetType);
+        if (converter != null || targetType.isPrimitive()) {
+            return converter;
+        }
+        List interfaces = new ArrayList();
+        for (Class type = targetType; type != null && type != Object.class;
+                type = type.getSuperclass()) {
+            if (type != targetType) {
+                converter = find(type);
+                if (isHierarchyConverter(converter)) {
+                    return converter;
+                }
+            }
+            Class[] declared = type.getInterfaces();
+            for (int i = 0; i < declared.length; i++) {
+                interfaces.add(declared[i]);
+            }
+        }
+        for (int i = 0; i < interfaces.size(); i++) {
+            Class type = (Class) interfaces.get(i);
+            converter = find(type);
+            if (isHierarchyConverter(converter)) {
+                return converter;
+            }
+            Class[] extended = type.getInterfaces();
+            for (int j = 0; j < extended.length; j++) {
+                if (!interfaces.contains(extended[j])) {
+                    interfaces.add(extended[j]);
+                }
+            }
+        }
+        return null;
+
+    }
+
+    /**
+     * Indicate whether a {@link Converter} registered for a supertype may
+     * be used to convert to one of its subtypes.
+     * <p>
+     * The standard converters (registered wrapped in a
+     * {@link ConverterFacade}) and other {@link AbstractConverter}
+     * implementations only produce the exact types they support, so
+     * they are skipped and a subtype without its own Converter is left
+     * unconverted, as before the hierarchy was searched.
+     *
+     * @param converter The Converter found, may be <code>null</code>
+     * @return <code>true</code> if the Converter can be used for subtypes
+     */
+    private static boolean isHierarchyConverter(Converter converter) {
+
+        return (converter != null &&
+                !(converter instanceof ConverterFacade) &&
+                !(converter instanceof AbstractConverter));
 
     }
 
@@ -870,7 +1240,168 @@ public class ConvertUtilsBean {
      */
     public void register(Converter converter, Class clazz) {
 
-        converters.put(clazz, converter);
+        checkNotFrozen();
+        if (registry != null) {
+            synchronized (this) {
+                ConverterRegistry.Builder builder = new ConverterRegistry.Builder(registry);
+                builder.register(converter, clazz);
+                registry = builder.build();
+            }
+        } else {
+            converters.put(clazz, converter);
+        }
+        convertersChanged();
+
+    }
 
+    /**
+     * Return an immutable snapshot of the registered {@link Converter}s.
+     * <p>
+     * The snapshot can be used as the starting point of a
+     * {@link ConverterRegistry.Builder}, e.g. to add custom Converters
+     * to the standard ones and then install them all at once with
+     * {@link #setRegistry(ConverterRegistry)}.
+     *
+     * @return The registered Converters
+     * @since 1.8.4
+     */
+    public ConverterRegistry getRegistry() {
+
+        ConverterRegistry current = registry;
+        if (current != null) {
+            return (current);
+        }
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder();
+        for (Iterator i = converters.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            if (entry.getKey() != null && entry.getValue() != null) {
+                builder.register((Converter) entry.getValue(), (Class) entry.getKey());
+            }
+        }
+        return (builder.build());
+
+    }
+
+    /**
+     * Replace all the registered {@link Converter}s with those of the
+     * specified registry, in a single step: concurrent conversions use
+     * either the old Converters or the new ones, never a mixture.
+     * <p>
+     * From then on the bean keeps its Converters in an immutable
+     * registry, which <code>register()</code> and
+     * <code>deregister()</code> replace rather than modify.
+     *
+     * @param registry The new registered Converters
+     * @exception IllegalArgumentException if the registry is
+     *  <code>null</code>
+     * @exception UnsupportedOperationException if this bean is frozen
+     * @since 1.8.4
+     */
+    public void setRegistry(ConverterRegistry registry) {
+
+        if (registry == null) {
+            throw new IllegalArgumentException("No registry specified");
+        }
+        checkNotFrozen();
+        synchronized (this) {
+            this.registry = registry;
+        }
+        convertersChanged();
+
+    }
+
+    /**
+     * Prevent any further change to the registered {@link Converter}s,
+     * so that this bean may be shared freely: lookups read an immutable
+     * registry without taking a lock, and <code>register()</code>,
+     * <code>deregister()</code> and {@link #setRegistry(ConverterRegistry)}
+     * throw an <code>UnsupportedOperationException</code>.
+     *
+     * @since 1.8.4
+     */
+    public synchronized void freeze() {
+
+        if (registry == null) {
+            registry = getRegistry();
+            convertersChanged();
+        }
+        frozen = true;
+
+    }
+
+    /**
+     * Indicate whether this bean has been frozen.
+     *
+     * @return <code>true</code> if the registered Converters may no longer
+     *  be changed
+     * @see #freeze()
+     * @since 1.8.4
+     */
+    public boolean isFrozen() {
+        return (frozen);
+    }
+
+    /**
+     * Check that the registered Converters may still be changed.
+     *
+     * @exception UnsupportedOperationException if this bean is frozen
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("The registered converters are frozen");
+        }
+    }
+
+    /**
+     * Record a change to the registered Converters, discarding the
+     * resolved Converters. This must be called after the change, so that
+     * a concurrent lookup which resolved a Converter from the old ones
+     * adds it to the discarded cache.
+     */
+    private void convertersChanged() {
+
+        modificationCount++;
+        resolvedConverters = new WeakIntrospectionCache();
+
+    }
+
+    /**
+     * Return the number of times the registered {@link Converter}s have
+     * been changed. The count is incremented by every call to
+     * <code>register()</code> or <code>deregister()</code>.
+     *
+     * @return The modification count
+     * @since 1.8.4
+     */
+    int getModificationCount() {
+        return (modificationCount);
+    }
+
+    /** Marks a resolved lookup which found no Converter */
+    private static final Object NO_CONVERTER = new Object();
+
+    /**
+     * The Converters resolved for one destination class, keyed by source
+     * class (which is held weakly). Lookups don't take a lock.
+     */
+    private static final class ResolvedConverters {
+
+        /** Converter or NO_CONVERTER, keyed by source class */
+        private final WeakIntrospectionCache bySourceType = new WeakIntrospectionCache();
+
+        /** The Converter or NO_CONVERTER for null values, if resolved */
+        private volatile Object nullSourceType;
+
+        Object get(Class sourceType) {
+            return (sourceType == null) ? nullSourceType : bySourceType.get(sourceType);
+        }
+
+        void put(Class sourceType, Object converter) {
+            if (sourceType == null) {
+                nullSourceType = converter;
+            } else {
+                bySourceType.put(sourceType, converter);
+            }
+        }
     }
 }
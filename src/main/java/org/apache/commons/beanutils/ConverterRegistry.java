@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An immutable set of {@link Converter}s, keyed by destination class.</p>
+ *
+ * <p>A registry is created with a {@link ConverterRegistry.Builder} and
+ * never changes afterwards, so it may be shared by any number of threads
+ * and looking up a Converter takes no lock. A {@link ConvertUtilsBean}
+ * constructed with a registry (or given one with
+ * {@link ConvertUtilsBean#setRegistry(ConverterRegistry)}) replaces it
+ * as a whole whenever its Converters change, rather than updating a map
+ * entry by entry - which makes registering many Converters in one go
+ * much cheaper.</p>
+ *
+ * <p>The destination classes are held weakly, so a registry does not
+ * prevent them from being unloaded.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public final class ConverterRegistry {
+
+    /** The destination classes (weakly held), in an open addressed table */
+    private final WeakReference[] types;
+
+    /** The Converters, at the same position as their destination class */
+    private final Converter[] converters;
+
+    /** The number of registered Converters */
+    private final int size;
+
+    /**
+     * Create a registry with the specified Converters.
+     *
+     * @param map The Converters, keyed by destination class
+     */
+    private ConverterRegistry(Map map) {
+        int capacity = 2;
+        while (capacity < map.size() * 2) {
+            capacity <<= 1;
+        }
+        types = new WeakReference[capacity];
+        converters = new Converter[capacity];
+        size = map.size();
+        for (Iterator i = map.entrySet().iterator(); i.hasNext();) {
+            Map.Entry entry = (Map.Entry) i.next();
+            Class type = (Class) entry.getKey();
+            int index = hash(type) & (capacity - 1);
+            while (types[index] != null) {
+                index = (index + 1) & (capacity - 1);
+            }
+            types[index] = new WeakReference(type);
+            converters[index] = (Converter) entry.getValue();
+        }
+    }
+
+    /**
+     * Look up and return the {@link Converter} registered for the
+     * specified destination class.
+     *
+     * @param type Class for which to return the registered Converter
+     * @return The registered Converter or <code>null</code> if not found
+     */
+    public Converter lookup(Class type) {
+        if (type == null) {
+            return null;
+        }
+        int mask = types.length - 1;
+        for (int index = hash(type) & mask; types[index] != null; index = (index + 1) & mask) {
+            if (types[index].get() == type) {
+                return converters[index];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the number of registered Converters, including any for
+     * destination classes which have been garbage collected.
+     *
+     * @return The number of Converters
+     */
+    public int size() {
+        return (size);
+    }
+
+    /**
+     * Return the hash for a class, based on its identity.
+     *
+     * @param type The class
+     * @return The spread identity hash
+     */
+    private static int hash(Class type) {
+        int h = System.identityHashCode(type);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * <p>Collects {@link Converter}s for a new {@link ConverterRegistry}.</p>
+     *
+     * <p>A builder is meant to be used by a single thread; it is not
+     * thread safe.</p>
+     */
+    public static final class Builder {
+
+        /** The Converters, keyed by destination class */
+        private final Map converters = new HashMap();
+
+        /**
+         * Create a builder with no Converters.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Create a builder with the Converters of an existing registry.
+         *
+         * @param registry The registry to copy
+         * @exception IllegalArgumentException if the registry is
+         *  <code>null</code>
+         */
+        public Builder(ConverterRegistry registry) {
+            if (registry == null) {
+                throw new IllegalArgumentException("No registry specified");
+            }
+            for (int i = 0; i < registry.types.length; i++) {
+                Class type = (registry.types[i] == null) ? null : (Class) registry.types[i].get();
+                if (type != null) {
+                    converters.put(type, registry.converters[i]);
+                }
+            }
+        }
+
+        /**
+         * Register a {@link Converter} for the specified destination
+         * class, replacing any previously registered Converter.
+         *
+         * @param converter Converter to be registered
+         * @param type Destination class for conversions performed by this
+         *  Converter
+         * @exception IllegalArgumentException if either argument is
+         *  <code>null</code>
+         */
+        public void register(Converter converter, Class type) {
+            if (converter == null) {
+                throw new IllegalArgumentException("No converter specified");
+            }
+            if (type == null) {
+                throw new IllegalArgumentException("No destination class specified");
+            }
+            converters.put(type, converter);
+        }
+
+        /**
+         * Register all the {@link Converter}s of another builder,
+         * replacing any registered for the same destination classes.
+         *
+         * @param builder The builder whose Converters are to be registered
+         */
+        public void registerAll(Builder builder) {
+            converters.putAll(builder.converters);
+        }
+
+        /**
+         * Remove any {@link Converter} registered for the specified
+         * destination class.
+         *
+         * @param type Class for which to remove the registered Converter
+         */
+        public void deregister(Class type) {
+            converters.remove(type);
+        }
+
+        /**
+         * Remove any registered {@link Converter}s which were loaded by
+         * the specified <code>ClassLoader</code>, or any of its
+         * descendants, or which are registered for a destination class
+         * loaded by it.
+         *
+         * @param classLoader The ClassLoader
+         * @return The number of Converters removed
+         */
+        public int deregister(ClassLoader classLoader) {
+            List removed = new ArrayList();
+            for (Iterator i = converters.entrySet().iterator(); i.hasNext();) {
+                Map.Entry entry = (Map.Entry) i.next();
+                Class type = (Class) entry.getKey();
+                if (ClassLoaderUtils.isLoadedBy(type, classLoader) ||
+                        ClassLoaderUtils.isLoadedBy(entry.getValue().getClass(), classLoader)) {
+                    removed.add(type);
+                }
+            }
+            for (int i = 0; i < removed.size(); i++) {
+                converters.remove(removed.get(i));
+            }
+            return (removed.size());
+        }
+
+        /**
+         * Look up the {@link Converter} registered so far for the
+         * specified destination class.
+         *
+         * @param type Class for which to return the registered Converter
+         * @return The registered Converter or <code>null</code> if not found
+         */
+        public Converter lookup(Class type) {
+            return ((Converter) converters.get(type));
+        }
+
+        /**
+         * Return the registered Converters, keyed by destination class.
+         *
+         * @return The builder's own map of Converters
+         */
+        Map getConverters() {
+            return (converters);
+        }
+
+        /**
+         * Create a registry with the Converters registered so far. The
+         * builder may still be used afterwards; it doesn't affect the
+         * registries it has already built.
+         *
+         * @return The new registry
+         */
+        public ConverterRegistry build() {
+            return (new ConverterRegistry(converters));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+
+/**
+ * <p>The default {@link BeanIntrospector}, which uses
+ * <code>java.beans.Introspector</code>.</p>
+ *
+ * <p>This implementation always introspects the whole class, so
+ * {@link #getPropertyDescriptor(Class, String)} returns
+ * <code>null</code>.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class DefaultBeanIntrospector implements BeanIntrospector {
+
+    /**
+     * Return the descriptors of all the properties of the specified
+     * class, from its <code>BeanInfo</code>.
+     *
+     * @param beanClass The bean class
+     * @return The property descriptors
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    public PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+            throws IntrospectionException {
+        BeanInfo beanInfo = Introspector.getBeanInfo(beanClass);
+        PropertyDescriptor[] descriptors = beanInfo.getPropertyDescriptors();
+        return (descriptors != null ? descriptors : new PropertyDescriptor[0]);
+    }
+
+    /**
+     * Always returns <code>null</code>, since the
+     * <code>Introspector</code> can't resolve a single property.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return <code>null</code>
+     */
+    public PropertyDescriptor getPropertyDescriptor(Class beanClass, String name) {
+        return (null);
+    }
+
+}
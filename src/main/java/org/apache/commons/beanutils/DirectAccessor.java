@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * <p>Access to the simple properties of a bean class by direct method
+ * calls rather than reflection.</p>
+ *
+ * <p>Implementations are normally generated at compile time, by the
+ * annotation processor in the <code>processor</code> module, but may be
+ * written by hand. {@link PropertyUtilsBean} finds the implementation for
+ * a bean class by name, in the same way as the <code>Introspector</code>
+ * finds <code>BeanInfo</code> classes: for a bean class
+ * <code>com.acme.Order</code> it loads <code>com.acme.OrderDirectAccessor</code>
+ * with the bean's ClassLoader. The implementation must be public and have
+ * a public no-argument constructor.</p>
+ *
+ * <p>When one is found it is used in preference to <code>Method.invoke()</code>
+ * by <code>PropertyUtilsBean</code>'s simple property methods,
+ * {@link BeanAccessor}, <code>BeanUtilsBean.copyProperties()</code>,
+ * {@link BeanMap} and {@link WrapDynaBean}. It is only used for the
+ * properties which also have a <code>PropertyDescriptor</code>, so it must
+ * call the same getter and setter methods as the descriptors.</p>
+ *
+ * <p>Properties are identified by their index in
+ * {@link #getPropertyNames()}. Implementations must be thread safe.</p>
+ *
+ * @version $Revision$ $Date$
+ * @see PropertyUtilsBean#getDirectAccessor(Class)
+ * @since 1.8.4
+ */
+public interface DirectAccessor {
+
+    /**
+     * Return the class whose properties this accessor accesses. The
+     * accessor may also be used with instances of its subclasses.
+     *
+     * @return The bean class
+     */
+    Class getBeanClass();
+
+    /**
+     * Return the names of the properties, indexed by property number.
+     *
+     * @return The property names
+     */
+    String[] getPropertyNames();
+
+    /**
+     * Indicate whether the specified property can be read.
+     *
+     * @param property The property number
+     * @return <code>true</code> if the property has a getter method
+     */
+    boolean isReadable(int property);
+
+    /**
+     * Indicate whether the specified property can be written.
+     *
+     * @param property The property number
+     * @return <code>true</code> if the property has a setter method
+     */
+    boolean isWriteable(int property);
+
+    /**
+     * Return the value of the specified property, by calling its getter.
+     *
+     * @param bean The bean, an instance of the bean class
+     * @param property The number of a readable property
+     * @return The property value, with primitives wrapped
+     * @exception InvocationTargetException wrapping any exception thrown
+     *  by the getter method
+     */
+    Object get(Object bean, int property) throws InvocationTargetException;
+
+    /**
+     * Set the value of the specified property, by calling its setter,
+     * if the value is of the setter's parameter type (or its wrapper
+     * type). Otherwise, <code>false</code> is returned and the setter is
+     * invoked by reflection instead, so that the same conversions and
+     * errors apply.
+     *
+     * @param bean The bean, an instance of the bean class
+     * @param property The number of a writeable property
+     * @param value The new value
+     * @return <code>true</code> if the setter was called
+     * @exception InvocationTargetException wrapping any exception thrown
+     *  by the setter method
+     */
+    boolean set(Object bean, int property, Object value) throws InvocationTargetException;
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+/**
+ * <p>A cache of introspection results, keyed by bean class.</p>
+ *
+ * <p>{@link PropertyUtilsBean} keeps its property descriptors and other
+ * per-class data in instances of this interface, which are created by
+ * {@link PropertyUtilsBean#createIntrospectionCache()}. Subclasses can
+ * override that method to plug in a different implementation.</p>
+ *
+ * <p>Implementations must be safe for use by multiple threads, and must
+ * not prevent the bean classes (and so their ClassLoaders) from being
+ * garbage collected. Note that the cached values are always created from
+ * the key class, so a cache which holds its keys weakly but its values
+ * strongly is only safe if the values don't strongly reference the class
+ * (see BEANUTILS-291).</p>
+ *
+ * @version $Revision$ $Date$
+ * @see WeakIntrospectionCache
+ * @since 1.8.4
+ */
+public interface IntrospectionCache {
+
+    /**
+     * Return the value cached for the specified class.
+     *
+     * @param beanClass The bean class
+     * @return The cached value, or <code>null</code> if there is none
+     */
+    Object get(Class beanClass);
+
+    /**
+     * Cache a value for the specified class, replacing any existing value.
+     *
+     * @param beanClass The bean class
+     * @param value The value to cache
+     */
+    void put(Class beanClass, Object value);
+
+    /**
+     * Remove the value cached for the specified class.
+     *
+     * @param beanClass The bean class
+     */
+    void remove(Class beanClass);
+
+    /**
+     * Remove the values cached for the classes loaded by the specified
+     * ClassLoader or any of its descendants.
+     *
+     * @param classLoader The ClassLoader
+     * @return The classes whose values were removed
+     */
+    Class[] clear(ClassLoader classLoader);
+
+    /**
+     * Remove all cached values.
+     */
+    void clear();
+
+    /**
+     * Return the number of cached values.
+     *
+     * @return The number of entries in the cache
+     */
+    int size();
+
+}
@@ -23,10 +23,14 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
+import org.apache.commons.collections.map.LRUMap;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -80,7 +84,7 @@ public class MethodUtils {
      * configurable per webapp would mean having a map keyed by context classloader
      * which may introduce memory-leak problems.
      */
-    private static boolean CACHE_METHODS = true;
+    private static volatile boolean CACHE_METHODS = true;
 
     /** An empty class array */
     private static final Class[] EMPTY_CLASS_PARAMETERS = new Class[0];
@@ -88,26 +92,63 @@ public class MethodUtils {
     private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
 
     /**
-     * Stores a cache of MethodDescriptor -> Method in a WeakHashMap.
+     * Stores the cached methods of each class ({@link ClassMethods}), keyed
+     * by the class they were looked up on.
      * <p>
-     * The keys into this map only ever exist as temporary variables within
-     * methods of this class, and are never exposed to users of this class.
-     * This means that the WeakHashMap is used only as a mechanism for 
-     * limiting the size of the cache, ie a way to tell the garbage collector
-     * that the contents of the cache can be completely garbage-collected 
-     * whenever it needs the memory. Whether this is a good approach to
-     * this problem is doubtful; something like the commons-collections
-     * LRUMap may be more appropriate (though of course selecting an
-     * appropriate size is an issue).
+     * Lookups don't take any lock: the classes are held in a
+     * {@link WeakIntrospectionCache}, and the methods of each class in a map
+     * which is replaced rather than modified when a method is added. The
+     * methods are held by {@link CachedMethod}s, which hold everything
+     * weakly but can find a method again after it has been garbage
+     * collected, so methods stay cached for as long as their classes and
+     * the cache never prevents a class (or its classloader) from being
+     * garbage collected (see BEANUTILS-291).
      * <p>
      * This static variable is safe even when this code is deployed via a
-     * shared classloader because it is keyed via a MethodDescriptor object
-     * which has a Class as one of its members and that member is used in
-     * the MethodDescriptor.equals method. So two components that load the same
-     * class via different classloaders will generate non-equal MethodDescriptor
-     * objects and hence end up with different entries in the map.
+     * shared classloader because it is keyed by Class. So two components
+     * that load the same class via different classloaders end up with
+     * different entries.
      */
-    private static final Map cache = Collections.synchronizedMap(new WeakHashMap());
+    private static final WeakIntrospectionCache CLASS_METHODS = new WeakIntrospectionCache();
+
+    /**
+     * Weak references to every {@link ClassMethods} in the cache, so that
+     * they can be counted and cleared. Modified while synchronized on itself.
+     */
+    private static final List CLASS_METHODS_REFS = new ArrayList();
+
+    /**
+     * When a maximum size is set with {@link #setMaxCacheSize(int)}, a
+     * synchronized <code>LRUMap</code> of MethodDescriptor -> CachedMethod which
+     * is used instead of the per class cache. Its keys hold their classes
+     * weakly (see {@link MethodDescriptor#weakCopy()}).
+     */
+    private static volatile Map boundedCache = null;
+
+    /** The maximum number of cached methods, or zero for no limit */
+    private static volatile int maxCacheSize = 0;
+
+    /** The number of methods evicted from bounded caches */
+    private static volatile long evictionCount = 0;
+
+    /** Whether cache statistics are recorded */
+    private static volatile boolean statisticsEnabled = false;
+
+    /** The method cache statistics */
+    private static final CacheStatistics STATISTICS = new CacheStatistics("methods") {
+        public int getSize() {
+            return getCacheSize();
+        }
+        long getTotalEvictionCount() {
+            return evictionCount;
+        }
+        public boolean isEnabled() {
+            return isStatisticsEnabled();
+        }
+        public void setEnabled(boolean enabled) {
+            setStatisticsEnabled(enabled);
+        }
+    };
     
     // --------------------------------------------------------- Public Methods
 
@@ -119,7 +160,7 @@ public class MethodUtils {
      * cached for greater performance, otherwise <code>false</code>
      * @since 1.8.0
      */
-    public static synchronized void setCacheMethods(boolean cacheMethods) {
+    public static void setCacheMethods(boolean cacheMethods) {
         CACHE_METHODS = cacheMethods;
         if (!CACHE_METHODS) {
             clearCache();
@@ -131,11 +172,202 @@ public class MethodUtils {
      * @return the number of cached methods cleared
      * @since 1.8.0
      */
-    public static synchronized int clearCache() {
-        int size = cache.size();
-        cache.clear();
+    public static int clearCache() {
+        int size = 0;
+        synchronized (CLASS_METHODS_REFS) {
+            size = getCacheSize();
+            CLASS_METHODS.clear();
+            CLASS_METHODS_REFS.clear();
+        }
+        Map bounded = boundedCache;
+        if (bounded != null) {
+            bounded.clear();
+        }
+        return size;
+    }
+
+    /**
+     * Return the number of cached methods. The hit and miss counts of the
+     * cache are available from {@link #getCacheStatistics()}.
+     * @return the number of cached methods
+     * @since 1.8.4
+     */
+    public static int getCacheSize() {
+        Map bounded = boundedCache;
+        if (bounded != null) {
+            return bounded.size();
+        }
+        int size = 0;
+        synchronized (CLASS_METHODS_REFS) {
+            for (Iterator i = CLASS_METHODS_REFS.iterator(); i.hasNext();) {
+                ClassMethods methods = (ClassMethods) ((Reference) i.next()).get();
+                if (methods == null) {
+                    i.remove();
+                } else {
+                    size += methods.size();
+                }
+            }
+        }
         return size;
     }
+
+    /**
+     * Return the maximum number of cached methods.
+     * @return the maximum size, or zero if the cache is only limited by
+     * garbage collection
+     * @since 1.8.4
+     */
+    public static int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    /**
+     * Limit the method cache to the specified number of methods, evicting
+     * the least recently used ones.
+     * <p>
+     * By default the methods of each class are cached without locking,
+     * until the class is garbage collected. With a
+     * maximum size, a single synchronized <code>LRUMap</code> is used
+     * instead, which puts a fixed bound on the size of the cache at the
+     * cost of locking on every lookup. The cache is cleared.
+     *
+     * @param maxSize the maximum size, or zero for no limit
+     * @throws IllegalArgumentException if the size is negative
+     * @since 1.8.4
+     */
+    public static synchronized void setMaxCacheSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maxSize);
+        }
+        maxCacheSize = maxSize;
+        clearCache();
+        if (maxSize == 0) {
+            boundedCache = null;
+        } else {
+            boundedCache = Collections.synchronizedMap(new LRUMap(maxSize) {
+                protected boolean removeLRU(LinkEntry entry) {
+                    evictionCount++;
+                    return true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Indicate whether method cache statistics are being recorded.
+     * @return <code>true</code> if statistics are enabled
+     * @since 1.8.4
+     */
+    public static boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Enable or disable recording method cache statistics, which are
+     * disabled by default.
+     * @param enabled <code>true</code> to record statistics
+     * @since 1.8.4
+     */
+    public static void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+    }
+
+    /**
+     * Return the statistics of the method cache, named <code>methods</code>.
+     * The load time is the time spent looking up the methods which were
+     * not cached, and evictions are only counted while there is a
+     * maximum size (see {@link #setMaxCacheSize(int)}).
+     * @return The method cache statistics
+     * @since 1.8.4
+     */
+    public static CacheStatistics[] getCacheStatistics() {
+        return new CacheStatistics[] {STATISTICS};
+    }
+
+    /**
+     * Clear the cached methods of the specified class, i.e. those looked
+     * up on it.
+     * @param cls The class
+     * @return the number of cached methods cleared
+     * @since 1.8.4
+     */
+    public static int clearCache(Class cls) {
+        int removed = 0;
+        synchronized (CLASS_METHODS_REFS) {
+            ClassMethods methods = (ClassMethods) CLASS_METHODS.get(cls);
+            if (methods != null) {
+                removed += methods.size();
+                CLASS_METHODS.remove(cls);
+                removeClassMethodsRef(methods);
+            }
+        }
+        Map bounded = boundedCache;
+        if (bounded != null) {
+            synchronized (bounded) {
+                for (Iterator i = bounded.keySet().iterator(); i.hasNext();) {
+                    MethodDescriptor md = (MethodDescriptor) i.next();
+                    if (md.getCls() == cls) {
+                        i.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Clear the cached methods which refer to classes loaded by the
+     * specified class loader or any of its descendants, i.e. those looked
+     * up on such a class or with such a parameter type.
+     * @param classLoader The class loader
+     * @return the number of cached methods cleared
+     * @since 1.8.4
+     */
+    public static int clearCache(ClassLoader classLoader) {
+        int removed = 0;
+        synchronized (CLASS_METHODS_REFS) {
+            for (Iterator i = CLASS_METHODS_REFS.iterator(); i.hasNext();) {
+                ClassMethods methods = (ClassMethods) ((Reference) i.next()).get();
+                if (methods == null) {
+                    i.remove();
+                } else if (ClassLoaderUtils.isLoadedBy(methods.getCls(), classLoader)) {
+                    removed += methods.size();
+                    i.remove();
+                } else {
+                    removed += methods.clear(classLoader);
+                }
+            }
+            CLASS_METHODS.clear(classLoader);
+        }
+        Map bounded = boundedCache;
+        if (bounded != null) {
+            synchronized (bounded) {
+                for (Iterator i = bounded.keySet().iterator(); i.hasNext();) {
+                    MethodDescriptor md = (MethodDescriptor) i.next();
+                    if (ClassLoaderUtils.isLoadedBy(md.getCls(), classLoader)
+                            || ClassLoaderUtils.isLoadedBy(md.getParamTypes(), classLoader)) {
+                        i.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove the reference to a class's cached methods.
+     * @param methods The cached methods of a class
+     */
+    private static void removeClassMethodsRef(ClassMethods methods) {
+        for (Iterator i = CLASS_METHODS_REFS.iterator(); i.hasNext();) {
+            Object ref = ((Reference) i.next()).get();
+            if (ref == null || ref == methods) {
+                i.remove();
+            }
+        }
+    }
     
     /**
      * <p>Invoke a named method whose parameter type matches the object type.</p>
@@ -279,7 +511,7 @@ public class MethodUtils {
             throw new NoSuchMethodException("No such accessible method: " +
                     methodName + "() on object: " + object.getClass().getName());
         }
-        return method.invoke(object, args);
+        return invoke(method, object, args);
     }
 
 
@@ -401,7 +633,7 @@ public class MethodUtils {
             throw new NoSuchMethodException("No such accessible method: " +
                     methodName + "() on object: " + object.getClass().getName());
         }
-        return method.invoke(object, args);
+        return invoke(method, object, args);
 
     }
 
@@ -451,7 +683,7 @@ public class MethodUtils {
             throw new NoSuchMethodException("No such accessible method: " +
                     methodName + "() on class: " + objectClass.getName());
         }
-        return method.invoke(null, args);
+        return invoke(method, null, args);
 
     }
 
@@ -600,7 +832,7 @@ public class MethodUtils {
             throw new NoSuchMethodException("No such accessible method: " +
                     methodName + "() on class: " + objectClass.getName());
         }
-        return method.invoke(null, args);
+        return invoke(method, null, args);
     }
 
 
@@ -726,10 +958,11 @@ public class MethodUtils {
             if (method != null) {
                 return method;
             }
+            long start = startTime();
             
             method =  getAccessibleMethod
                     (clazz, clazz.getMethod(methodName, parameterTypes));
-            cacheMethod(md, method);
+            cacheMethod(md, method, start);
             return method;
         } catch (NoSuchMethodException e) {
             return (null);
@@ -944,6 +1177,7 @@ public class MethodUtils {
             log.trace("Matching name=" + methodName + " on " + clazz);
         }
         MethodDescriptor md = new MethodDescriptor(clazz, methodName, parameterTypes, false);
+        long start = 0;
         
         // see if we can find the method directly
         // most of the time this works and it's much faster
@@ -953,6 +1187,7 @@ public class MethodUtils {
             if (method != null) {
                 return method;
             }
+            start = startTime();
 
             method = clazz.getMethod(methodName, parameterTypes);
             if (log.isTraceEnabled()) {
@@ -962,7 +1197,7 @@ public class MethodUtils {
             
             setMethodAccessible(method); // Default access superclass workaround
 
-            cacheMethod(md, method);
+            cacheMethod(md, method, start);
             return method;
             
         } catch (NoSuchMethodException e) { /* SWALLOW */ }
@@ -1023,7 +1258,7 @@ public class MethodUtils {
             }
         }
         if ( bestMatch != null ){
-                 cacheMethod(md, bestMatch);
+                 cacheMethod(md, bestMatch, start);
         } else {
         // didn't find a match
                log.trace("No match found.");
@@ -1271,6 +1506,54 @@ public class MethodUtils {
     }
     
 
+    /**
+     * Return the cached methods of a class, adding an empty set of cached
+     * methods if there are none.
+     *
+     * @param cls The class
+     * @return The cached methods of the class
+     */
+    private static ClassMethods getClassMethods(Class cls) {
+        ClassMethods methods = (ClassMethods) CLASS_METHODS.get(cls);
+        if (methods == null) {
+            synchronized (CLASS_METHODS_REFS) {
+                methods = (ClassMethods) CLASS_METHODS.get(cls);
+                if (methods == null) {
+                    methods = new ClassMethods(cls);
+                    CLASS_METHODS.put(cls, methods);
+                    CLASS_METHODS_REFS.add(new WeakReference(methods));
+                }
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Invoke a method, reporting it to the {@link PerformanceListener} if
+     * there is one and the invocation is slow.
+     *
+     * @param method The method to invoke
+     * @param object The object to invoke it on, or <code>null</code> for
+     *  a static method
+     * @param args The arguments
+     * @return The value returned by the method
+     * @throws IllegalAccessException if the method is not accessible
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    private static Object invoke(Method method, Object object, Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        PerformanceListener listener = PerformanceMonitor.getListener();
+        if (listener == null) {
+            return method.invoke(object, args);
+        }
+        long start = System.nanoTime();
+        try {
+            return method.invoke(object, args);
+        } finally {
+            PerformanceMonitor.invoked(listener, method, start);
+        }
+    }
+
     /**
      * Return the method from the cache, if present.
      *
@@ -1279,24 +1562,214 @@ public class MethodUtils {
      */
     private static Method getCachedMethod(MethodDescriptor md) {
         if (CACHE_METHODS) {
-            Reference methodRef = (Reference)cache.get(md);
-            if (methodRef != null) {
-                return (Method)methodRef.get();
+            Method method = null;
+            Map bounded = boundedCache;
+            if (bounded != null) {
+                CachedMethod cached = (CachedMethod)bounded.get(md);
+                method = (cached == null) ? null : cached.get();
+            } else {
+                ClassMethods methods = (ClassMethods)CLASS_METHODS.get(md.getCls());
+                method = (methods == null) ? null : methods.get(md);
             }
+            if (statisticsEnabled) {
+                if (method != null) {
+                    STATISTICS.recordHit();
+                } else {
+                    STATISTICS.recordMiss();
+                }
+            }
+            return method;
         }
         return null;
     }
 
+    /**
+     * Return the time a lookup started, when statistics are enabled.
+     *
+     * @return The time in nanoseconds, or zero if statistics are disabled
+     */
+    private static long startTime() {
+        return statisticsEnabled ? System.nanoTime() : 0;
+    }
+
     /**
      * Add a method to the cache.
      *
      * @param md The method descriptor
      * @param method The method to cache
+     * @param start The time the lookup started, from {@link #startTime()}
      */
-    private static void cacheMethod(MethodDescriptor md, Method method) {
+    private static void cacheMethod(MethodDescriptor md, Method method, long start) {
         if (CACHE_METHODS) {
+            if (start != 0 && statisticsEnabled) {
+                STATISTICS.recordLoadTime(System.nanoTime() - start);
+            }
             if (method != null) {
-                cache.put(md, new WeakReference(method));
+                Map bounded = boundedCache;
+                if (bounded != null) {
+                    bounded.put(md.weakCopy(), new CachedMethod(method));
+                } else {
+                    getClassMethods(md.getCls()).put(md, method);
+                }
+            }
+        }
+    }
+
+    /**
+     * The cached methods of one class. Lookups read the current map
+     * without locking; adding a method replaces the map with a copy.
+     */
+    private static final class ClassMethods {
+        /** The class, held weakly */
+        private final Reference clsRef;
+        /** MethodDescriptor (weak copies) -> CachedMethod */
+        private volatile Map methods = Collections.EMPTY_MAP;
+
+        /**
+         * Create the cache of a class.
+         * @param cls The class
+         */
+        ClassMethods(Class cls) {
+            this.clsRef = new WeakReference(cls);
+        }
+
+        /**
+         * Return the class.
+         * @return the class, or <code>null</code> if it has been garbage collected
+         */
+        Class getCls() {
+            return (Class) clsRef.get();
+        }
+
+        /**
+         * Return a cached method.
+         * @param md The method descriptor
+         * @return the method, or <code>null</code> if it isn't cached
+         */
+        Method get(MethodDescriptor md) {
+            CachedMethod cached = (CachedMethod) methods.get(md);
+            return (cached == null) ? null : cached.get();
+        }
+
+        /**
+         * Cache a method.
+         * @param md The method descriptor
+         * @param method The method
+         */
+        synchronized void put(MethodDescriptor md, Method method) {
+            Map copy = new HashMap(methods);
+            copy.put(md.weakCopy(), new CachedMethod(method));
+            methods = copy;
+        }
+
+        /**
+         * Remove the methods looked up with parameter types loaded by the
+         * specified class loader or any of its descendants.
+         * @param classLoader The class loader
+         * @return the number of methods removed
+         */
+        synchronized int clear(ClassLoader classLoader) {
+            Map copy = new HashMap(methods);
+            int removed = 0;
+            for (Iterator i = copy.keySet().iterator(); i.hasNext();) {
+                MethodDescriptor md = (MethodDescriptor) i.next();
+                if (ClassLoaderUtils.isLoadedBy(md.getParamTypes(), classLoader)) {
+                    i.remove();
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                methods = copy;
+            }
+            return removed;
+        }
+
+        /**
+         * Return the number of cached methods.
+         * @return the number of cached methods
+         */
+        int size() {
+            return methods.size();
+        }
+    }
+
+    /**
+     * A cached method, which doesn't prevent its class from being garbage
+     * collected. A <code>Method</code> refers to its declaring class, so it
+     * is held weakly; once it has been garbage collected it is found again
+     * from its declaring class, name and parameter types, which are also
+     * held weakly, and made accessible again if it was.
+     */
+    private static final class CachedMethod {
+        /** The method, held weakly */
+        private volatile Reference methodRef;
+        /** The declaring class, held weakly */
+        private final Reference classRef;
+        /** The method name */
+        private final String name;
+        /** The parameter types, held weakly */
+        private final Reference[] paramTypeRefs;
+        /** Whether the method was made accessible */
+        private final boolean accessible;
+
+        /**
+         * Create a cached method.
+         * @param method The method
+         */
+        CachedMethod(Method method) {
+            this.methodRef = new WeakReference(method);
+            this.classRef = new WeakReference(method.getDeclaringClass());
+            this.name = method.getName();
+            Class[] paramTypes = method.getParameterTypes();
+            this.paramTypeRefs = new Reference[paramTypes.length];
+            for (int i = 0; i < paramTypes.length; i++) {
+                paramTypeRefs[i] = new WeakReference(paramTypes[i]);
+            }
+            this.accessible = method.isAccessible();
+        }
+
+        /**
+         * Return the method, finding it again if it has been garbage collected.
+         * @return the method, or <code>null</code> if its declaring class or
+         * one of its parameter types has been garbage collected
+         */
+        Method get() {
+            Method method = (Method) methodRef.get();
+            if (method == null) {
+                method = resolve();
+                if (method != null) {
+                    methodRef = new WeakReference(method);
+                }
+            }
+            return method;
+        }
+
+        /**
+         * Find the method from its declaring class, name and parameter types.
+         * @return the method, or <code>null</code> if it can't be found
+         */
+        private Method resolve() {
+            Class cls = (Class) classRef.get();
+            if (cls == null) {
+                return null;
+            }
+            Class[] paramTypes = new Class[paramTypeRefs.length];
+            for (int i = 0; i < paramTypes.length; i++) {
+                paramTypes[i] = (Class) paramTypeRefs[i].get();
+                if (paramTypes[i] == null) {
+                    return null;
+                }
+            }
+            try {
+                Method method = cls.getDeclaredMethod(name, paramTypes);
+                if (accessible) {
+                    setMethodAccessible(method);
+                }
+                return method;
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (SecurityException e) {
+                return null;
             }
         }
     }
@@ -1310,6 +1783,10 @@ public class MethodUtils {
         private Class[] paramTypes;
         private boolean exact;
         private int hashCode;
+        /** The class, held weakly, in place of cls in a weak copy */
+        private Reference clsRef;
+        /** The parameter types, held weakly, in place of paramTypes in a weak copy */
+        private Reference[] paramTypeRefs;
 
         /**
          * The sole constructor.
@@ -1335,7 +1812,63 @@ public class MethodUtils {
             this.paramTypes = paramTypes;
             this.exact= exact;
 
-            this.hashCode = methodName.length();
+            this.hashCode = methodName.hashCode() * 31 + paramTypes.length;
+        }
+        /**
+         * Return a copy of this descriptor which holds its classes weakly,
+         * for use as a key in a map which holds its keys strongly. Once
+         * any of its classes has been garbage collected, the copy is
+         * only equal to itself.
+         * @return the weak copy
+         */
+        MethodDescriptor weakCopy() {
+            MethodDescriptor copy = new MethodDescriptor(cls, methodName, paramTypes, exact);
+            copy.cls = null;
+            copy.paramTypes = null;
+            copy.clsRef = new WeakReference(cls);
+            copy.paramTypeRefs = new Reference[paramTypes.length];
+            for (int i = 0; i < paramTypes.length; i++) {
+                copy.paramTypeRefs[i] = new WeakReference(paramTypes[i]);
+            }
+            return copy;
+        }
+        /**
+         * Return the class to reflect.
+         * @return the class, or <code>null</code> if it has been garbage collected
+         */
+        Class getCls() {
+            return (clsRef == null) ? cls : (Class) clsRef.get();
+        }
+        /**
+         * Return the parameter types.
+         * @return the parameter types, some of which may be <code>null</code>
+         * if they have been garbage collected
+         */
+        Class[] getParamTypes() {
+            if (paramTypeRefs == null) {
+                return paramTypes;
+            }
+            Class[] types = new Class[paramTypeRefs.length];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = (Class) paramTypeRefs[i].get();
+            }
+            return types;
+        }
+        /**
+         * Return one of the parameter types, without copying them.
+         * @param index The parameter index
+         * @return the parameter type, or <code>null</code> if it has been
+         * garbage collected
+         */
+        private Class getParamType(int index) {
+            return (paramTypeRefs == null) ? paramTypes[index] : (Class) paramTypeRefs[index].get();
+        }
+        /**
+         * Return the number of parameters.
+         * @return the number of parameters
+         */
+        private int getParamCount() {
+            return (paramTypeRefs == null) ? paramTypes.length : paramTypeRefs.length;
         }
         /**
          * Checks for equality.
@@ -1343,24 +1876,36 @@ public class MethodUtils {
          * @return true, if the object describes the same Method.
          */
         public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
             if (!(obj instanceof MethodDescriptor)) {
                 return false;
             }
             MethodDescriptor md = (MethodDescriptor)obj;
-
-            return (
-                exact == md.exact &&
-                methodName.equals(md.methodName) &&
-                cls.equals(md.cls) &&
-                java.util.Arrays.equals(paramTypes, md.paramTypes)
-            );
+            Class thisCls = getCls();
+            if (exact != md.exact || hashCode != md.hashCode ||
+                    !methodName.equals(md.methodName) ||
+                    thisCls == null || thisCls != md.getCls()) {
+                return false;
+            }
+            int count = getParamCount();
+            if (count != md.getParamCount()) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                Class type = getParamType(i);
+                if (type == null || type != md.getParamType(i)) {
+                    return false;
+                }
+            }
+            return true;
         }
         /**
-         * Returns the string length of method name. I.e. if the
-         * hashcodes are different, the objects are different. If the
-         * hashcodes are the same, need to use the equals method to
-         * determine equality.
-         * @return the string length of method name.
+         * Returns the hash code, based on the method name and the number
+         * of parameters (which unlike the classes can't be garbage
+         * collected).
+         * @return the hash code
          */
         public int hashCode() {
             return hashCode;
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Receives notifications of potentially slow or failed operations,
+ * for example to record them with a profiler.</p>
+ *
+ * <p>A listener is installed with
+ * {@link PerformanceMonitor#setListener(PerformanceListener)}. Only
+ * operations which take at least the threshold configured in
+ * {@link PerformanceMonitor} are reported, and the times are only
+ * measured while a listener is installed.</p>
+ *
+ * <p>Listeners are called on the thread which performed the operation,
+ * so they should be thread safe and return quickly.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ * @see PerformanceMonitor
+ */
+public interface PerformanceListener {
+
+    /**
+     * A bean class has been introspected, i.e. its property descriptors
+     * were not found in the cache of {@link PropertyUtilsBean}.
+     *
+     * @param beanClass The bean class
+     * @param propertyCount The number of properties found
+     * @param duration The time taken, in nanoseconds
+     */
+    void introspected(Class beanClass, int propertyCount, long duration);
+
+    /**
+     * A value has been converted by {@link ConvertUtilsBean}.
+     *
+     * @param sourceType The type of the value, or <code>null</code> if
+     *  it was <code>null</code>
+     * @param targetType The type it was converted to
+     * @param duration The time taken, in nanoseconds
+     */
+    void converted(Class sourceType, Class targetType, long duration);
+
+    /**
+     * A {@link Converter} failed to convert a value. Failures are always
+     * reported, whatever the time taken.
+     *
+     * @param targetType The type the value was being converted to
+     * @param value The value
+     * @param cause The exception thrown by the conversion
+     * @param defaultUsed <code>true</code> if the converter's default value
+     *  was returned instead, <code>false</code> if a
+     *  <code>ConversionException</code> is thrown
+     */
+    void conversionFailed(Class targetType, Object value, Throwable cause,
+            boolean defaultUsed);
+
+    /**
+     * A method has been invoked by reflection, through
+     * {@link MethodUtils} or {@link PropertyUtilsBean}.
+     *
+     * @param method The method
+     * @param duration The time taken, in nanoseconds, including the time
+     *  taken by the method itself
+     */
+    void invoked(Method method, long duration);
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Holds the {@link PerformanceListener} which is notified of slow
+ * introspection, conversions and reflective method invocations, and the
+ * thresholds below which they are not reported.</p>
+ *
+ * <p>There is no listener by default, when the instrumented operations
+ * only check whether one has been installed; they don't measure times or
+ * allocate anything. The listener is global (like the {@link MethodUtils}
+ * cache) rather than per {@link BeanUtilsBean}, so that it sees the
+ * operations of every instance.</p>
+ *
+ * <p>Times are measured with <code>System.nanoTime()</code>, so a
+ * listener can only be installed on Java 5 or later.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class PerformanceMonitor {
+
+    /** The default threshold of conversions and invocations: 1 millisecond */
+    public static final long DEFAULT_THRESHOLD = 1000000L;
+
+    /** The installed listener, or <code>null</code> */
+    private static volatile PerformanceListener listener;
+
+    /** The minimum time of reported introspections, in nanoseconds */
+    private static volatile long introspectionThreshold = 0;
+
+    /** The minimum time of reported conversions, in nanoseconds */
+    private static volatile long conversionThreshold = DEFAULT_THRESHOLD;
+
+    /** The minimum time of reported invocations, in nanoseconds */
+    private static volatile long invocationThreshold = DEFAULT_THRESHOLD;
+
+    /**
+     * Return the installed listener.
+     *
+     * @return The listener, or <code>null</code> if there is none
+     */
+    public static PerformanceListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Install a listener, replacing any existing one.
+     *
+     * @param newListener The listener, or <code>null</code> to stop
+     *  monitoring
+     */
+    public static void setListener(PerformanceListener newListener) {
+        listener = newListener;
+    }
+
+    /**
+     * Return the minimum time of the introspections which are reported.
+     *
+     * @return The threshold in nanoseconds, zero by default so that every
+     *  introspected class is reported
+     */
+    public static long getIntrospectionThreshold() {
+        return introspectionThreshold;
+    }
+
+    /**
+     * Set the minimum time of the introspections which are reported.
+     *
+     * @param threshold The threshold in nanoseconds
+     */
+    public static void setIntrospectionThreshold(long threshold) {
+        introspectionThreshold = threshold;
+    }
+
+    /**
+     * Return the minimum time of the conversions which are reported.
+     *
+     * @return The threshold in nanoseconds, {@link #DEFAULT_THRESHOLD}
+     *  by default
+     */
+    public static long getConversionThreshold() {
+        return conversionThreshold;
+    }
+
+    /**
+     * Set the minimum time of the conversions which are reported.
+     * Failed conversions are always reported.
+     *
+     * @param threshold The threshold in nanoseconds
+     */
+    public static void setConversionThreshold(long threshold) {
+        conversionThreshold = threshold;
+    }
+
+    /**
+     * Return the minimum time of the method invocations which are reported.
+     *
+     * @return The threshold in nanoseconds, {@link #DEFAULT_THRESHOLD}
+     *  by default
+     */
+    public static long getInvocationThreshold() {
+        return invocationThreshold;
+    }
+
+    /**
+     * Set the minimum time of the method invocations which are reported.
+     *
+     * @param threshold The threshold in nanoseconds
+     */
+    public static void setInvocationThreshold(long threshold) {
+        invocationThreshold = threshold;
+    }
+
+    /**
+     * Report an introspection if it took at least the threshold.
+     *
+     * @param listener The listener
+     * @param beanClass The bean class
+     * @param propertyCount The number of properties found
+     * @param start The start time, from <code>System.nanoTime()</code>
+     */
+    static void introspected(PerformanceListener listener, Class beanClass,
+            int propertyCount, long start) {
+        long duration = System.nanoTime() - start;
+        if (duration >= introspectionThreshold) {
+            listener.introspected(beanClass, propertyCount, duration);
+        }
+    }
+
+    /**
+     * Report a conversion if it took at least the threshold.
+     *
+     * @param listener The listener
+     * @param value The value which was converted
+     * @param targetType The type it was converted to
+     * @param start The start time, from <code>System.nanoTime()</code>
+     */
+    static void converted(PerformanceListener listener, Object value,
+            Class targetType, long start) {
+        long duration = System.nanoTime() - start;
+        if (duration >= conversionThreshold) {
+            listener.converted(value == null ? null : value.getClass(), targetType, duration);
+        }
+    }
+
+    /**
+     * Report a method invocation if it took at least the threshold.
+     *
+     * @param listener The listener
+     * @param method The method
+     * @param start The start time, from <code>System.nanoTime()</code>
+     */
+    static void invoked(PerformanceListener listener, Method method, long start) {
+        long duration = System.nanoTime() - start;
+        if (duration >= invocationThreshold) {
+            listener.invoked(method, duration);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+
+/**
+ * <p>The resolved accessor methods of a single property of a bean class.</p>
+ *
+ * <p>A <code>PropertyAccessor</code> is created once per (bean class,
+ * property name) by {@link PropertyUtilsBean} from the cached
+ * <code>PropertyDescriptor</code>, so that repeated simple, indexed and
+ * mapped accesses do not need to scan the descriptors or work out the
+ * accessible version of the getter and setter methods every time.</p>
+ *
+ * <p>The accessible methods are held in a <code>SoftReference</code> so
+ * that the accessor doesn't prevent the bean's ClassLoader from being
+ * garbage collected (see BEANUTILS-291); they are simply resolved again
+ * from the descriptor if the reference has been released.</p>
+ *
+ * <p>If the bean class has a {@link DirectAccessor} for the property it is
+ * held in the same way, and the property is simply accessed by reflection
+ * if the reference has been released.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+class PropertyAccessor {
+
+    /** Accessor kind for the property getter method */
+    static final int READ = 0;
+
+    /** Accessor kind for the property setter method */
+    static final int WRITE = 1;
+
+    /** Accessor kind for the indexed getter method */
+    static final int INDEXED_READ = 2;
+
+    /** Accessor kind for the indexed setter method */
+    static final int INDEXED_WRITE = 3;
+
+    /** Accessor kind for the mapped getter method */
+    static final int MAPPED_READ = 4;
+
+    /** Accessor kind for the mapped setter method */
+    static final int MAPPED_WRITE = 5;
+
+    /** The number of accessor kinds */
+    private static final int KINDS = 6;
+
+    /** The descriptor the accessor methods are resolved from */
+    private final PropertyDescriptor descriptor;
+
+    /** References to the accessible methods, indexed by accessor kind */
+    private final Reference[] methodRefs = new Reference[KINDS];
+
+    /** Whether the descriptor declares a method, indexed by accessor kind */
+    private final boolean[] declared = new boolean[KINDS];
+
+    /** Reference to the direct accessor of the property, if there is one */
+    private Reference directRef;
+
+    /** The property number in the direct accessor */
+    private int directIndex = -1;
+
+    /**
+     * Create an accessor for the specified property descriptor.
+     *
+     * @param descriptor The property descriptor
+     */
+    PropertyAccessor(PropertyDescriptor descriptor) {
+        this.descriptor = descriptor;
+        for (int kind = 0; kind < KINDS; kind++) {
+            declared[kind] = (getDeclaredMethod(kind) != null);
+        }
+    }
+
+    /**
+     * Return the property descriptor this accessor was created from.
+     *
+     * @return The property descriptor
+     */
+    PropertyDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Return the accessible method of the specified kind for the
+     * specified bean class, or <code>null</code> if there is none.
+     *
+     * @param beanClass The class the method will be invoked on
+     * @param kind The accessor kind, e.g. {@link #READ}
+     * @return The accessible method
+     */
+    Method getMethod(Class beanClass, int kind) {
+        if (!declared[kind]) {
+            return null;
+        }
+        Reference methodRef = methodRefs[kind];
+        Method method = (methodRef == null) ? null : (Method) methodRef.get();
+        if (method == null) {
+            method = MethodUtils.getAccessibleMethod(beanClass, getDeclaredMethod(kind));
+            if (method == null) {
+                declared[kind] = false;
+            } else {
+                methodRefs[kind] = new SoftReference(method);
+            }
+        }
+        return method;
+    }
+
+    /**
+     * Set the direct accessor of the property.
+     *
+     * @param direct The direct accessor
+     * @param index The property number in the direct accessor
+     */
+    void setDirectAccessor(DirectAccessor direct, int index) {
+        this.directIndex = index;
+        this.directRef = new SoftReference(direct);
+    }
+
+    /**
+     * Return the direct accessor which can read or write the property of
+     * an instance of the specified bean class, or <code>null</code> if the
+     * property has to be accessed by reflection.
+     *
+     * @param beanClass The class of the bean which will be accessed
+     * @param kind The accessor kind, {@link #READ} or {@link #WRITE}
+     * @return The direct accessor
+     */
+    DirectAccessor getDirectAccessor(Class beanClass, int kind) {
+        Reference ref = directRef;
+        if (ref == null) {
+            return null;
+        }
+        DirectAccessor direct = (DirectAccessor) ref.get();
+        if (direct == null) {
+            directRef = null;
+            return null;
+        }
+        if (kind == READ ? !direct.isReadable(directIndex) : !direct.isWriteable(directIndex)) {
+            return null;
+        }
+        Class directClass = direct.getBeanClass();
+        if (directClass != beanClass && !directClass.isAssignableFrom(beanClass)) {
+            return null;
+        }
+        return direct;
+    }
+
+    /**
+     * Return the property number in the direct accessor.
+     *
+     * @return The property number, or -1 if there is no direct accessor
+     */
+    int getDirectIndex() {
+        return directIndex;
+    }
+
+    /**
+     * Return the method of the specified kind as declared by the
+     * descriptor, which may not be accessible.
+     *
+     * @param kind The accessor kind
+     * @return The declared method or <code>null</code>
+     */
+    private Method getDeclaredMethod(int kind) {
+        switch (kind) {
+            case READ:
+                return descriptor.getReadMethod();
+            case WRITE:
+                return descriptor.getWriteMethod();
+            case INDEXED_READ:
+                if (descriptor instanceof IndexedPropertyDescriptor) {
+                    return ((IndexedPropertyDescriptor) descriptor).getIndexedReadMethod();
+                }
+                return null;
+            case INDEXED_WRITE:
+                if (descriptor instanceof IndexedPropertyDescriptor) {
+                    return ((IndexedPropertyDescriptor) descriptor).getIndexedWriteMethod();
+                }
+                return null;
+            case MAPPED_READ:
+                if (descriptor instanceof MappedPropertyDescriptor) {
+                    return ((MappedPropertyDescriptor) descriptor).getMappedReadMethod();
+                }
+                return null;
+            case MAPPED_WRITE:
+                if (descriptor instanceof MappedPropertyDescriptor) {
+                    return ((MappedPropertyDescriptor) descriptor).getMappedWriteMethod();
+                }
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown accessor kind " + kind);
+        }
+    }
+}
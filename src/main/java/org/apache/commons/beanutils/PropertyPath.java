@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.beanutils.expression.Resolver;
+
+/**
+ * <p>A property name expression, such as <code>order.lines[3].attrs(color)</code>,
+ * that has been parsed once into its individual elements.</p>
+ *
+ * <p>The <code>String</code> based methods of {@link PropertyUtilsBean}
+ * and {@link BeanUtilsBean} ask the {@link Resolver} to take the expression
+ * apart again on every call. Code which evaluates the same expressions
+ * many times can instead obtain a <code>PropertyPath</code> from
+ * {@link PropertyUtilsBean#getPropertyPath(String)} (which caches them) or
+ * create one directly, and pass it to the <code>PropertyPath</code>
+ * overloads of those classes.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * @version $Revision$ $Date$
+ * @see PropertyUtilsBean#getNestedProperty(Object, PropertyPath)
+ * @see PropertyUtilsBean#setNestedProperty(Object, PropertyPath, Object)
+ * @since 1.8.4
+ */
+public final class PropertyPath {
+
+    /** The original expression */
+    private final String expression;
+
+    /** The unparsed elements, e.g. <code>lines[3]</code> */
+    private final String[] elements;
+
+    /** The property names of the elements, e.g. <code>lines</code> */
+    private final String[] properties;
+
+    /** The indexes of the elements, or -1 */
+    private final int[] indexes;
+
+    /** The keys of the elements, or <code>null</code> */
+    private final String[] keys;
+
+    /** The offsets of the elements within the expression */
+    private final int[] offsets;
+
+    /** The path of all but the last element (lazily created) */
+    private PropertyPath parent;
+
+    /**
+     * Parse a property expression using the specified {@link Resolver}.
+     *
+     * @param expression The property expression
+     * @param resolver The resolver which defines the expression syntax
+     *
+     * @exception IllegalArgumentException if the expression or resolver
+     *  is <code>null</code>, or if an indexed or mapped element of the
+     *  expression is not well formed
+     */
+    public PropertyPath(String expression, Resolver resolver) {
+        if (expression == null) {
+            throw new IllegalArgumentException("No property expression specified");
+        }
+        if (resolver == null) {
+            throw new IllegalArgumentException("No resolver specified");
+        }
+
+        List parsed = new ArrayList();
+        List starts = new ArrayList();
+        String name = expression;
+        while (resolver.hasNested(name)) {
+            starts.add(new Integer(expression.length() - name.length()));
+            parsed.add(resolver.next(name));
+            name = resolver.remove(name);
+        }
+        starts.add(new Integer(expression.length() - name.length()));
+        parsed.add(name);
+
+        this.expression = expression;
+        this.elements   = (String[]) parsed.toArray(new String[parsed.size()]);
+        this.offsets    = new int[elements.length];
+        this.properties = new String[elements.length];
+        this.indexes    = new int[elements.length];
+        this.keys       = new String[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            String element = elements[i];
+            indexes[i] = -1;
+            try {
+                if (resolver.isMapped(element)) {
+                    keys[i] = resolver.getKey(element);
+                    if (keys[i] == null) {
+                        throw new IllegalArgumentException("No key specified");
+                    }
+                } else if (resolver.isIndexed(element)) {
+                    indexes[i] = resolver.getIndex(element);
+                    if (indexes[i] < 0) {
+                        throw new IllegalArgumentException("Negative index");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid property expression '" +
+                        expression + "' at element '" + element + "' " + e.getMessage());
+            }
+            properties[i] = resolver.getProperty(element);
+            offsets[i] = ((Integer) starts.get(i)).intValue();
+        }
+    }
+
+    /**
+     * Private constructor for the parent path.
+     *
+     * @param path The path to take the elements from
+     * @param count The number of leading elements to take
+     */
+    private PropertyPath(PropertyPath path, int count) {
+        String text = path.expression.substring(0, path.offsets[count]);
+        if (text.endsWith(".")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        this.expression = text;
+        this.elements   = new String[count];
+        this.offsets    = new int[count];
+        this.properties = new String[count];
+        this.indexes    = new int[count];
+        this.keys       = new String[count];
+        System.arraycopy(path.elements, 0, elements, 0, count);
+        System.arraycopy(path.offsets, 0, offsets, 0, count);
+        System.arraycopy(path.properties, 0, properties, 0, count);
+        System.arraycopy(path.indexes, 0, indexes, 0, count);
+        System.arraycopy(path.keys, 0, keys, 0, count);
+    }
+
+    /**
+     * Return the expression this path was parsed from.
+     *
+     * @return The property expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Return the number of elements in this path.
+     *
+     * @return The number of elements, always at least one
+     */
+    public int getElementCount() {
+        return elements.length;
+    }
+
+    /**
+     * Return the unparsed text of an element, e.g. <code>lines[3]</code>.
+     *
+     * @param element The zero-relative element index
+     * @return The element text
+     */
+    public String getElement(int element) {
+        return elements[element];
+    }
+
+    /**
+     * Return the property name of an element, e.g. <code>lines</code>.
+     *
+     * @param element The zero-relative element index
+     * @return The property name (may be empty)
+     */
+    public String getProperty(int element) {
+        return properties[element];
+    }
+
+    /**
+     * Return the index of an indexed element.
+     *
+     * @param element The zero-relative element index
+     * @return The index, or -1 if the element is not indexed
+     */
+    public int getIndex(int element) {
+        return indexes[element];
+    }
+
+    /**
+     * Return the key of a mapped element.
+     *
+     * @param element The zero-relative element index
+     * @return The key, or <code>null</code> if the element is not mapped
+     */
+    public String getKey(int element) {
+        return keys[element];
+    }
+
+    /**
+     * Indicate whether an element is indexed.
+     *
+     * @param element The zero-relative element index
+     * @return <code>true</code> if the element is indexed
+     */
+    public boolean isIndexed(int element) {
+        return indexes[element] >= 0;
+    }
+
+    /**
+     * Indicate whether an element is mapped.
+     *
+     * @param element The zero-relative element index
+     * @return <code>true</code> if the element is mapped
+     */
+    public boolean isMapped(int element) {
+        return keys[element] != null;
+    }
+
+    /**
+     * Return the path made of all but the last element of this path.
+     *
+     * @return The parent path, or <code>null</code> if this path
+     *  has a single element
+     */
+    public PropertyPath getParent() {
+        if (elements.length == 1) {
+            return null;
+        }
+        if (parent == null) {
+            parent = new PropertyPath(this, elements.length - 1);
+        }
+        return parent;
+    }
+
+    /**
+     * Return the expression this path was parsed from.
+     *
+     * @return The property expression
+     */
+    public String toString() {
+        return expression;
+    }
+}
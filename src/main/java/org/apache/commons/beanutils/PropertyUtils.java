@@ -19,8 +19,10 @@
 package org.apache.commons.beanutils;
 
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.Map;
 
 import org.apache.commons.collections.FastHashMap;
@@ -428,6 +430,114 @@ public class PropertyUtils {
     }
 
 
+    /**
+     * <p>Introspect the specified classes in advance, so that the first
+     * accesses to their properties don't pay for it.</p>
+     *
+     * <p>For more details see <code>PropertyUtilsBean</code>.</p>
+     *
+     * @param classes The bean classes (<code>Class</code> instances)
+     * @return The time taken to preload each class, in milliseconds
+     *  (<code>Long</code> values keyed by <code>Class</code>)
+     *
+     * @exception IllegalArgumentException if <code>classes</code> is null
+     * @see PropertyUtilsBean#preload(Collection)
+     * @since 1.8.4
+     */
+    public static Map preload(Collection classes) {
+
+        return (PropertyUtilsBean.getInstance().preload(classes));
+
+    }
+
+
+    /**
+     * <p>Introspect the classes in the specified package, and its
+     * subpackages, in advance.</p>
+     *
+     * <p>For more details see <code>PropertyUtilsBean</code>.</p>
+     *
+     * @param packageName The package name, e.g. <code>com.acme.model</code>
+     * @param classLoader The ClassLoader to load the classes with, or
+     *  <code>null</code> for the context ClassLoader
+     * @return The time taken to preload each class, in milliseconds
+     *  (<code>Long</code> values keyed by <code>Class</code>)
+     *
+     * @exception IOException if the package's resources can't be listed
+     * @exception IllegalArgumentException if <code>packageName</code> is null
+     * @see PropertyUtilsBean#preload(String, ClassLoader)
+     * @since 1.8.4
+     */
+    public static Map preload(String packageName, ClassLoader classLoader)
+            throws IOException {
+
+        return (PropertyUtilsBean.getInstance().preload(packageName, classLoader));
+
+    }
+
+
+    /**
+     * <p>Return the value of the specified property of the specified bean,
+     * or {@link PropertyUtilsBean#NO_SUCH_PROPERTY} if it can't be read,
+     * without throwing an exception.</p>
+     *
+     * <p>For more details see <code>PropertyUtilsBean</code>.</p>
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Possibly indexed and/or nested name of the property
+     *  to be extracted
+     * @return the property value, or {@link PropertyUtilsBean#NO_SUCH_PROPERTY}
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>name</code> is null
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @see PropertyUtilsBean#tryGetProperty
+     * @since 1.8.4
+     */
+    public static Object tryGetProperty(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException {
+
+        return (PropertyUtilsBean.getInstance().tryGetProperty(bean, name));
+
+    }
+
+
+    /**
+     * <p>Return the values of several properties of the specified bean,
+     * with no type conversions.</p>
+     *
+     * <p>For more details see <code>PropertyUtilsBean</code>.</p>
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be extracted
+     * @param values Array to store the property values in, in the same
+     *  order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>names</code> or any of the names is null, or if
+     *  <code>values</code> is null or shorter than <code>names</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see PropertyUtilsBean#getProperties
+     * @since 1.8.4
+     */
+    public static void getProperties(Object bean, String[] names, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        PropertyUtilsBean.getInstance().getProperties(bean, names, values);
+
+    }
+
+
     /**
      * <p>Retrieve the property descriptor for the specified property of the
      * specified bean, or return <code>null</code> if there is no such
@@ -860,6 +970,39 @@ public class PropertyUtils {
     }
 
 
+    /**
+     * <p>Set the values of several properties of the specified bean,
+     * with no type conversions.</p>
+     *
+     * <p>For more details see <code>PropertyUtilsBean</code>.</p>
+     *
+     * @param bean Bean whose properties are to be modified
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be modified
+     * @param values Values to which the properties are to be set, in the
+     *  same order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>names</code> or any of the names is null, or if
+     *  <code>values</code> is null or shorter than <code>names</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see PropertyUtilsBean#setProperties
+     * @since 1.8.4
+     */
+    public static void setProperties(Object bean, String[] names, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        PropertyUtilsBean.getInstance().setProperties(bean, names, values);
+
+    }
+
+
     /**
      * <p>Set the value of the specified simple property of the specified bean,
      * with no type conversions.</p>
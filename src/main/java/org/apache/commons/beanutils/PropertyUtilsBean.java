@@ -18,18 +18,34 @@
 package org.apache.commons.beanutils;
 
 
-import java.beans.BeanInfo;
 import java.beans.IndexedPropertyDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import org.apache.commons.beanutils.expression.DefaultResolver;
 import org.apache.commons.beanutils.expression.Resolver;
@@ -104,6 +120,8 @@ public class PropertyUtilsBean {
 
     private Resolver resolver = new DefaultResolver();
 
+    private BeanIntrospector beanIntrospector = new DefaultBeanIntrospector();
+
     // --------------------------------------------------------- Class Methods
 
     /**
@@ -116,12 +134,105 @@ public class PropertyUtilsBean {
 
     // --------------------------------------------------------- Variables
 
+    /**
+     * The value returned by {@link #tryGetProperty(Object, String)} when
+     * the property doesn't exist, has no getter method or one of the
+     * nested properties leading to it is <code>null</code>.
+     *
+     * @since 1.8.4
+     */
+    public static final Object NO_SUCH_PROPERTY = new Object() {
+        public String toString() {
+            return ("NO_SUCH_PROPERTY");
+        }
+    };
+
     /**
      * The cache of PropertyDescriptor arrays for beans we have already
      * introspected, keyed by the java.lang.Class of this object.
      */
-    private WeakFastHashMap descriptorsCache = null;
-    private WeakFastHashMap mappedDescriptorsCache = null;
+    private IntrospectionCache descriptorsCache = null;
+    private IntrospectionCache mappedDescriptorsCache = null;
+
+    /**
+     * The cache of PropertyDescriptors resolved one at a time by the
+     * {@link BeanIntrospector}, keyed by the java.lang.Class of the bean.
+     * The values are FastHashMaps keyed by property name.
+     */
+    private IntrospectionCache lazyDescriptorsCache = null;
+
+    /**
+     * The cache of resolved {@link PropertyAccessor}s for simple property
+     * names, keyed by the java.lang.Class of the bean and then by the
+     * property name.
+     */
+    private IntrospectionCache accessorsCache = null;
+
+    /**
+     * Whether resolved accessors are cached. A cached accessor bypasses
+     * {@link #getPropertyDescriptor(Object, String)}, so they are not
+     * cached if a subclass overrides it (or the method it uses to find
+     * the descriptors).
+     */
+    private final boolean accessorsCacheEnabled;
+
+    /**
+     * The cache of {@link BeanAccessor}s, keyed by the java.lang.Class
+     * of the bean.
+     */
+    private IntrospectionCache beanAccessorsCache = null;
+
+    /**
+     * The cache of {@link DirectAccessor}s, keyed by the java.lang.Class
+     * of the bean. The values are SoftReferences to the accessors, or
+     * Boolean.FALSE if the class has none.
+     */
+    private IntrospectionCache directAccessorsCache = null;
+
+    /**
+     * The cache of property names known not to exist, keyed by the
+     * java.lang.Class of the bean. The values are FastHashMaps whose
+     * keys are the missing names.
+     */
+    private IntrospectionCache missingPropertiesCache = null;
+
+    /** Whether cache statistics are recorded */
+    private volatile boolean statisticsEnabled = false;
+
+    /** The statistics of the property descriptors cache */
+    private final CacheStatistics descriptorsStatistics =
+            new IntrospectionCacheStatistics("descriptors", 0);
+
+    /** The statistics of the mapped property descriptors cache */
+    private final CacheStatistics mappedDescriptorsStatistics =
+            new IntrospectionCacheStatistics("mappedDescriptors", 1);
+
+    /** The statistics of the property accessors cache */
+    private final CacheStatistics accessorsStatistics =
+            new IntrospectionCacheStatistics("accessors", 2);
+
+    /** The maximum number of classes in each cache, or zero for no limit */
+    private int maxCacheSize = 0;
+
+    /** The eviction policy of the caches, if they have a maximum size */
+    private int cachePolicy = BoundedIntrospectionCache.LRU;
+
+    /** The maximum number of missing property names cached per class */
+    private static final int MAX_MISSING_PROPERTIES = 1000;
+
+    /**
+     * The maximum number of parsed {@link PropertyPath}s that are cached,
+     * a power of two
+     */
+    private static final int PROPERTY_PATH_CACHE_SIZE = 1024;
+
+    /**
+     * The cache of parsed {@link PropertyPath}s, a direct mapped table
+     * indexed by the hash of the expression. Slots are read and replaced
+     * without locking: the entries are immutable, and a slot which is
+     * overwritten by another expression just means parsing it again.
+     */
+    private volatile PathEntry[] propertyPathCache = new PathEntry[PROPERTY_PATH_CACHE_SIZE];
     private static final Class[] EMPTY_CLASS_PARAMETERS = new Class[0];
     private static final Class[] LIST_CLASS_PARAMETER = new Class[] {java.util.List.class};
     
@@ -135,10 +246,188 @@ public class PropertyUtilsBean {
     
     /** Base constructor */
     public PropertyUtilsBean() {
-        descriptorsCache = new WeakFastHashMap();
-        descriptorsCache.setFast(true);
-        mappedDescriptorsCache = new WeakFastHashMap();
-        mappedDescriptorsCache.setFast(true);
+        Class[] beanName = new Class[] {Object.class, String.class};
+        accessorsCacheEnabled =
+                !isOverridden(getClass(), "getPropertyDescriptor", beanName) &&
+                !isOverridden(getClass(), "getPropertyDescriptors", new Class[] {Object.class});
+        createCaches();
+    }
+
+    /**
+     * Indicate whether a subclass overrides the specified method of this
+     * class.
+     *
+     * @param type The subclass
+     * @param name The method name
+     * @param parameterTypes The method parameter types
+     * @return <code>true</code> if a class between the subclass and this
+     *  class declares the method
+     */
+    private static boolean isOverridden(Class type, String name, Class[] parameterTypes) {
+        for (Class c = type; c != PropertyUtilsBean.class && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Not declared by this class, try its superclass
+            } catch (SecurityException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create (or replace) all the caches keyed by bean class.
+     */
+    private void createCaches() {
+        descriptorsCache = createIntrospectionCache();
+        mappedDescriptorsCache = createIntrospectionCache();
+        lazyDescriptorsCache = createIntrospectionCache();
+        accessorsCache = createIntrospectionCache();
+        beanAccessorsCache = createIntrospectionCache();
+        directAccessorsCache = createIntrospectionCache();
+        missingPropertiesCache = createIntrospectionCache();
+    }
+
+    /**
+     * Create one of the caches used to hold introspection results
+     * keyed by bean class.
+     * <p>
+     * This method is called from the constructor, so implementations
+     * should not rely on any subclass state. The default implementation
+     * returns a {@link WeakIntrospectionCache}, whose lookups don't
+     * require any locking, or a {@link BoundedIntrospectionCache} if a
+     * maximum size has been set with {@link #setMaxCacheSize(int, int)}.
+     *
+     * @return A new, empty introspection cache
+     * @since 1.8.4
+     */
+    protected IntrospectionCache createIntrospectionCache() {
+        if (maxCacheSize > 0) {
+            return (new BoundedIntrospectionCache(maxCacheSize, cachePolicy));
+        }
+        return (new WeakIntrospectionCache());
+    }
+
+    /**
+     * Return the maximum number of classes held by each of the caches
+     * keyed by bean class.
+     *
+     * @return The maximum size, or zero if the caches are only limited
+     *  by the garbage collection of the classes
+     * @since 1.8.4
+     */
+    public int getMaxCacheSize() {
+        return (maxCacheSize);
+    }
+
+    /**
+     * Return the eviction policy of the caches keyed by bean class, when
+     * they have a maximum size.
+     *
+     * @return {@link BoundedIntrospectionCache#LRU} or
+     *  {@link BoundedIntrospectionCache#LFU}
+     * @since 1.8.4
+     */
+    public int getCachePolicy() {
+        return (cachePolicy);
+    }
+
+    /**
+     * Limit each of the caches keyed by bean class to the specified number
+     * of classes, evicting the least recently used ones.
+     *
+     * @param maxSize The maximum size, or zero for no limit
+     * @exception IllegalArgumentException if the size is negative
+     * @see #setMaxCacheSize(int, int)
+     * @since 1.8.4
+     */
+    public void setMaxCacheSize(int maxSize) {
+        setMaxCacheSize(maxSize, BoundedIntrospectionCache.LRU);
+    }
+
+    /**
+     * <p>Limit each of the caches keyed by bean class to the specified
+     * number of classes, evicting entries according to the specified
+     * policy when a cache is full.</p>
+     *
+     * <p>By default the caches hold their classes weakly and are only
+     * limited by the garbage collection of the classes. When many short
+     * lived classes are introspected a fixed limit keeps the caches small;
+     * the classes are still held weakly. The limit applies to each cache
+     * separately, and should be larger than the number of classes in
+     * regular use, as classes which are evicted have to be introspected
+     * again.</p>
+     *
+     * <p>The caches are replaced, so all cached information is discarded.
+     * This has no effect if a subclass overrides
+     * {@link #createIntrospectionCache()}.</p>
+     *
+     * @param maxSize The maximum size, or zero for no limit
+     * @param policy {@link BoundedIntrospectionCache#LRU} or
+     *  {@link BoundedIntrospectionCache#LFU}
+     * @exception IllegalArgumentException if the size is negative or the
+     *  policy is unknown
+     * @since 1.8.4
+     */
+    public void setMaxCacheSize(int maxSize, int policy) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid maximum size: " + maxSize);
+        }
+        if (policy != BoundedIntrospectionCache.LRU && policy != BoundedIntrospectionCache.LFU) {
+            throw new IllegalArgumentException("Invalid eviction policy: " + policy);
+        }
+        this.maxCacheSize = maxSize;
+        this.cachePolicy = policy;
+        createCaches();
+    }
+
+    /**
+     * Indicate whether cache statistics are being recorded.
+     *
+     * @return <code>true</code> if statistics are enabled
+     * @see #getCacheStatistics()
+     * @since 1.8.4
+     */
+    public boolean isStatisticsEnabled() {
+        return (statisticsEnabled);
+    }
+
+    /**
+     * Enable or disable recording cache statistics. They are disabled by
+     * default, when the only overhead is checking this flag.
+     *
+     * @param enabled <code>true</code> to record statistics
+     * @see #getCacheStatistics()
+     * @since 1.8.4
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        this.statisticsEnabled = enabled;
+    }
+
+    /**
+     * <p>Return the statistics of the main caches, which report their
+     * current values:</p>
+     * <ul>
+     *   <li><code>descriptors</code> - the property descriptors of each
+     *       class, and the time taken to introspect classes</li>
+     *   <li><code>mappedDescriptors</code> - the mapped property
+     *       descriptors, which are resolved one property at a time</li>
+     *   <li><code>accessors</code> - the resolved getter and setter
+     *       methods of simple property names</li>
+     * </ul>
+     * <p>The sizes are numbers of classes. Hits and misses are only
+     * counted while statistics are enabled.</p>
+     *
+     * @return The cache statistics
+     * @see #setStatisticsEnabled(boolean)
+     * @since 1.8.4
+     */
+    public CacheStatistics[] getCacheStatistics() {
+        return (new CacheStatistics[] {
+            descriptorsStatistics, mappedDescriptorsStatistics, accessorsStatistics
+        });
     }
 
 
@@ -181,6 +470,106 @@ public class PropertyUtilsBean {
         } else {
             this.resolver = resolver;
         }
+        // Cached accessors and paths were parsed with the old resolver
+        accessorsCache.clear();
+        propertyPathCache = new PathEntry[PROPERTY_PATH_CACHE_SIZE];
+    }
+
+    /**
+     * Return the {@link BeanIntrospector} used to find the properties
+     * of bean classes.
+     * <p>
+     * {@link DefaultBeanIntrospector} is the default implementation used.
+     *
+     * @return The bean introspector
+     * @since 1.8.4
+     */
+    public BeanIntrospector getBeanIntrospector() {
+        return beanIntrospector;
+    }
+
+    /**
+     * Configure the {@link BeanIntrospector} used to find the properties
+     * of bean classes, for example a {@link ScanningBeanIntrospector}
+     * to avoid the cost of <code>java.beans.Introspector</code>.
+     * <p>
+     * {@link DefaultBeanIntrospector} is the default implementation used.
+     * Any cached property descriptors are discarded.
+     *
+     * @param beanIntrospector The bean introspector, or <code>null</code>
+     *  to use the default
+     * @since 1.8.4
+     */
+    public void setBeanIntrospector(BeanIntrospector beanIntrospector) {
+        if (beanIntrospector == null) {
+            this.beanIntrospector = new DefaultBeanIntrospector();
+        } else {
+            this.beanIntrospector = beanIntrospector;
+        }
+        descriptorsCache.clear();
+        lazyDescriptorsCache.clear();
+        accessorsCache.clear();
+        beanAccessorsCache.clear();
+        missingPropertiesCache.clear();
+    }
+
+    /**
+     * Return the {@link PropertyPath} for the specified property expression,
+     * parsed with the configured {@link Resolver}.
+     * <p>
+     * Parsed paths are cached (up to a fixed number of expressions), so
+     * repeated calls for the same expression normally return the same
+     * instance.
+     *
+     * @param expression The property expression
+     * @return The parsed property path
+     *
+     * @exception IllegalArgumentException if <code>expression</code>
+     *  is <code>null</code> or is not well formed
+     * @since 1.8.4
+     */
+    public PropertyPath getPropertyPath(String expression) {
+
+        if (expression == null) {
+            throw new IllegalArgumentException("No property expression specified");
+        }
+        PathEntry[] paths = propertyPathCache;
+        int slot = expression.hashCode() & (paths.length - 1);
+        PathEntry entry = paths[slot];
+        if (entry != null && entry.expression.equals(expression)) {
+            return (entry.path);
+        }
+        PropertyPath path = new PropertyPath(expression, resolver);
+        paths[slot] = new PathEntry(expression, path);
+        return (path);
+
+    }
+
+    /**
+     * Return the {@link PropertyPath}s for the specified property
+     * expressions, as {@link #getPropertyPath(String)} does. The result
+     * is a precompiled set of names which can be passed to
+     * {@link #getProperties(Object, PropertyPath[], Object[])} and
+     * {@link #setProperties(Object, PropertyPath[], Object[])} many times.
+     *
+     * @param expressions The property expressions
+     * @return The parsed property paths, in the same order
+     *
+     * @exception IllegalArgumentException if <code>expressions</code>
+     *  or any of its elements is <code>null</code> or is not well formed
+     * @since 1.8.4
+     */
+    public PropertyPath[] getPropertyPaths(String[] expressions) {
+
+        if (expressions == null) {
+            throw new IllegalArgumentException("No property expressions specified");
+        }
+        PropertyPath[] paths = new PropertyPath[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            paths[i] = getPropertyPath(expressions[i]);
+        }
+        return (paths);
+
     }
 
     /**
@@ -192,11 +581,72 @@ public class PropertyUtilsBean {
 
         descriptorsCache.clear();
         mappedDescriptorsCache.clear();
+        lazyDescriptorsCache.clear();
+        accessorsCache.clear();
+        beanAccessorsCache.clear();
+        directAccessorsCache.clear();
+        missingPropertiesCache.clear();
         Introspector.flushCaches();
 
     }
 
 
+    /**
+     * Clear any cached property descriptors information for the specified
+     * class, leaving that of other classes intact.
+     *
+     * @param beanClass The bean class
+     * @exception IllegalArgumentException if <code>beanClass</code> is null
+     * @since 1.8.4
+     */
+    public void clearDescriptors(Class beanClass) {
+
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        descriptorsCache.remove(beanClass);
+        mappedDescriptorsCache.remove(beanClass);
+        lazyDescriptorsCache.remove(beanClass);
+        accessorsCache.remove(beanClass);
+        beanAccessorsCache.remove(beanClass);
+        directAccessorsCache.remove(beanClass);
+        missingPropertiesCache.remove(beanClass);
+        Introspector.flushFromCaches(beanClass);
+
+    }
+
+
+    /**
+     * Clear any cached property descriptors information for the classes
+     * loaded by the specified class loader, or any of its descendants,
+     * leaving that of other classes intact. This is useful when a single
+     * class loader is thrown away, e.g. to redeploy one application or
+     * plugin, as only the classes it loaded need to be introspected again.
+     *
+     * @param classLoader The class loader
+     * @exception IllegalArgumentException if <code>classLoader</code> is null
+     * @since 1.8.4
+     */
+    public void clearDescriptors(ClassLoader classLoader) {
+
+        if (classLoader == null) {
+            throw new IllegalArgumentException("No class loader specified");
+        }
+        Set removed = new HashSet();
+        removed.addAll(Arrays.asList(descriptorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(mappedDescriptorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(lazyDescriptorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(accessorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(beanAccessorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(directAccessorsCache.clear(classLoader)));
+        removed.addAll(Arrays.asList(missingPropertiesCache.clear(classLoader)));
+        for (Iterator i = removed.iterator(); i.hasNext();) {
+            Introspector.flushFromCaches((Class) i.next());
+        }
+
+    }
+
+
     /**
      * <p>Copy property values from the "origin" bean to the "destination" bean
      * for all cases where the property names are the same (even though the
@@ -439,6 +889,27 @@ public class PropertyUtilsBean {
             throws IllegalAccessException, InvocationTargetException,
             NoSuchMethodException {
 
+        return (getIndexedProperty(bean, name, index, false));
+
+    }
+
+
+    /**
+     * Return the value of the specified indexed property, as
+     * {@link #getIndexedProperty(Object, String, int)} does.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Simple property name of the property value to be extracted
+     * @param index Index of the property value to be extracted
+     * @param quiet Return {@link #NO_SUCH_PROPERTY} instead of throwing
+     *  <code>NoSuchMethodException</code> if the property can't be read
+     * @return the indexed property value
+     */
+    private Object getIndexedProperty(Object bean, String name, int index,
+            boolean quiet)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
         if (bean == null) {
             throw new IllegalArgumentException("No bean specified");
         }
@@ -459,45 +930,50 @@ public class PropertyUtilsBean {
             DynaProperty descriptor =
                     ((DynaBean) bean).getDynaClass().getDynaProperty(name);
             if (descriptor == null) {
+                if (quiet) {
+                    return (NO_SUCH_PROPERTY);
+                }
                 throw new NoSuchMethodException("Unknown property '" +
                     name + "' on bean class '" + bean.getClass() + "'");
             }
             return (((DynaBean) bean).get(name, index));
         }
 
-        // Retrieve the property descriptor for the specified property
-        PropertyDescriptor descriptor =
-                getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
+        // Retrieve the accessor for the specified property
+        PropertyAccessor accessor = getPropertyAccessor(bean, name);
+        if (accessor == null) {
+            if (quiet) {
+                return (NO_SUCH_PROPERTY);
+            }
             throw new NoSuchMethodException("Unknown property '" +
                     name + "' on bean class '" + bean.getClass() + "'");
         }
 
         // Call the indexed getter method if there is one
-        if (descriptor instanceof IndexedPropertyDescriptor) {
-            Method readMethod = ((IndexedPropertyDescriptor) descriptor).
-                    getIndexedReadMethod();
-            readMethod = MethodUtils.getAccessibleMethod(bean.getClass(), readMethod);
-            if (readMethod != null) {
-                Object[] subscript = new Object[1];
-                subscript[0] = new Integer(index);
-                try {
-                    return (invokeMethod(readMethod,bean, subscript));
-                } catch (InvocationTargetException e) {
-                    if (e.getTargetException() instanceof
-                            IndexOutOfBoundsException) {
-                        throw (IndexOutOfBoundsException)
-                                e.getTargetException();
-                    } else {
-                        throw e;
-                    }
+        Method readMethod = accessor.getMethod(bean.getClass(),
+                PropertyAccessor.INDEXED_READ);
+        if (readMethod != null) {
+            Object[] subscript = new Object[1];
+            subscript[0] = new Integer(index);
+            try {
+                return (invokeMethod(readMethod,bean, subscript));
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof
+                        IndexOutOfBoundsException) {
+                    throw (IndexOutOfBoundsException)
+                            e.getTargetException();
+                } else {
+                    throw e;
                 }
             }
         }
 
         // Otherwise, the underlying property must be an array
-        Method readMethod = getReadMethod(bean.getClass(), descriptor);
+        readMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.READ);
         if (readMethod == null) {
+            if (quiet) {
+                return (NO_SUCH_PROPERTY);
+            }
             throw new NoSuchMethodException("Property '" + name + "' has no " +
                     "getter method on bean class '" + bean.getClass() + "'");
         }
@@ -601,6 +1077,27 @@ public class PropertyUtilsBean {
             throws IllegalAccessException, InvocationTargetException,
             NoSuchMethodException {
 
+        return (getMappedProperty(bean, name, key, false));
+
+    }
+
+
+    /**
+     * Return the value of the specified mapped property, as
+     * {@link #getMappedProperty(Object, String, String)} does.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Mapped property name of the property value to be extracted
+     * @param key Key of the property value to be extracted
+     * @param quiet Return {@link #NO_SUCH_PROPERTY} instead of throwing
+     *  <code>NoSuchMethodException</code> if the property can't be read
+     * @return the mapped property value
+     */
+    private Object getMappedProperty(Object bean, String name, String key,
+            boolean quiet)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
         if (bean == null) {
             throw new IllegalArgumentException("No bean specified");
         }
@@ -618,6 +1115,9 @@ public class PropertyUtilsBean {
             DynaProperty descriptor =
                     ((DynaBean) bean).getDynaClass().getDynaProperty(name);
             if (descriptor == null) {
+                if (quiet) {
+                    return (NO_SUCH_PROPERTY);
+                }
                 throw new NoSuchMethodException("Unknown property '" +
                         name + "'+ on bean class '" + bean.getClass() + "'");
             }
@@ -626,30 +1126,35 @@ public class PropertyUtilsBean {
 
         Object result = null;
 
-        // Retrieve the property descriptor for the specified property
-        PropertyDescriptor descriptor = getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
+        // Retrieve the accessor for the specified property
+        PropertyAccessor accessor = getPropertyAccessor(bean, name);
+        if (accessor == null) {
+            if (quiet) {
+                return (NO_SUCH_PROPERTY);
+            }
             throw new NoSuchMethodException("Unknown property '" +
                     name + "'+ on bean class '" + bean.getClass() + "'");
         }
 
-        if (descriptor instanceof MappedPropertyDescriptor) {
+        if (accessor.getDescriptor() instanceof MappedPropertyDescriptor) {
             // Call the keyed getter method if there is one
-            Method readMethod = ((MappedPropertyDescriptor) descriptor).
-                    getMappedReadMethod();
-            readMethod = MethodUtils.getAccessibleMethod(bean.getClass(), readMethod);
+            Method readMethod = accessor.getMethod(bean.getClass(),
+                    PropertyAccessor.MAPPED_READ);
             if (readMethod != null) {
                 Object[] keyArray = new Object[1];
                 keyArray[0] = key;
                 result = invokeMethod(readMethod, bean, keyArray);
             } else {
+                if (quiet) {
+                    return (NO_SUCH_PROPERTY);
+                }
                 throw new NoSuchMethodException("Property '" + name +
                         "' has no mapped getter method on bean class '" +
                         bean.getClass() + "'");
             }
         } else {
           /* means that the result has to be retrieved from a map */
-          Method readMethod = getReadMethod(bean.getClass(), descriptor);
+          Method readMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.READ);
           if (readMethod != null) {
             Object invokeResult = invokeMethod(readMethod, bean, EMPTY_OBJECT_ARRAY);
             /* test and fetch from the map */
@@ -657,6 +1162,9 @@ public class PropertyUtilsBean {
               result = ((java.util.Map)invokeResult).get(key);
             }
           } else {
+            if (quiet) {
+                return (NO_SUCH_PROPERTY);
+            }
             throw new NoSuchMethodException("Property '" + name +
                     "' has no mapped getter method on bean class '" +
                     bean.getClass() + "'");
@@ -738,20 +1246,36 @@ public class PropertyUtilsBean {
                     bean.getClass() + "'");
         }
 
+        return (getNestedProperty(bean, name, false));
+
+    }
+
+    /**
+     * Return the value of the (possibly nested) property of the specified
+     * name, as {@link #getNestedProperty(Object, String)} does.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Possibly nested name of the property to be extracted
+     * @param quiet Return {@link #NO_SUCH_PROPERTY} instead of throwing
+     *  <code>NoSuchMethodException</code> or <code>NestedNullException</code>
+     *  if the property can't be read
+     * @return the nested property value
+     */
+    private Object getNestedProperty(Object bean, String name, boolean quiet)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
         // Resolve nested references
         while (resolver.hasNested(name)) {
             String next = resolver.next(name);
-            Object nestedBean = null;
-            if (bean instanceof Map) {
-                nestedBean = getPropertyOfMapBean((Map) bean, next);
-            } else if (resolver.isMapped(next)) {
-                nestedBean = getMappedProperty(bean, next);
-            } else if (resolver.isIndexed(next)) {
-                nestedBean = getIndexedProperty(bean, next);
-            } else {
-                nestedBean = getSimpleProperty(bean, next);
+            Object nestedBean = getPropertyElement(bean, next, quiet);
+            if (nestedBean == NO_SUCH_PROPERTY) {
+                return (NO_SUCH_PROPERTY);
             }
             if (nestedBean == null) {
+                if (quiet) {
+                    return (NO_SUCH_PROPERTY);
+                }
                 throw new NestedNullException
                         ("Null property value for '" + name +
                         "' on bean class '" + bean.getClass() + "'");
@@ -760,43 +1284,148 @@ public class PropertyUtilsBean {
             name = resolver.remove(name);
         }
 
+        return (getPropertyElement(bean, name, quiet));
+
+    }
+
+    /**
+     * Return the value of one (not nested) element of a property
+     * expression, which may be indexed or mapped.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Name of the property element to be extracted
+     * @param quiet Return {@link #NO_SUCH_PROPERTY} instead of throwing
+     *  <code>NoSuchMethodException</code> if the property can't be read
+     * @return the property value
+     */
+    private Object getPropertyElement(Object bean, String name, boolean quiet)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
         if (bean instanceof Map) {
-            bean = getPropertyOfMapBean((Map) bean, name);
+            return (getPropertyOfMapBean((Map) bean, name));
         } else if (resolver.isMapped(name)) {
-            bean = getMappedProperty(bean, name);
+            if (quiet) {
+                return (getMappedProperty(bean, resolver.getProperty(name),
+                        resolver.getKey(name), true));
+            }
+            return (getMappedProperty(bean, name));
         } else if (resolver.isIndexed(name)) {
-            bean = getIndexedProperty(bean, name);
+            if (quiet) {
+                return (getIndexedProperty(bean, resolver.getProperty(name),
+                        resolver.getIndex(name), true));
+            }
+            return (getIndexedProperty(bean, name));
         } else {
-            bean = getSimpleProperty(bean, name);
+            if (quiet) {
+                return (getSimpleProperty(bean, name, true));
+            }
+            return (getSimpleProperty(bean, name));
         }
-        return bean;
 
     }
 
     /**
-     * This method is called by getNestedProperty and setNestedProperty to
-     * define what it means to get a property from an object which implements
-     * Map. See setPropertyOfMapBean for more information.
+     * Return the value of the (possibly nested) property identified by
+     * a pre-parsed {@link PropertyPath}, for the specified bean, with no
+     * type conversions.
      *
-     * @param bean Map bean
-     * @param propertyName The property name
-     * @return the property value
-     * 
-     * @throws IllegalArgumentException when the propertyName is regarded as
-     * being invalid.
-     * 
-     * @throws IllegalAccessException just in case subclasses override this
-     * method to try to access real getter methods and find permission is denied.
-     * 
-     * @throws InvocationTargetException just in case subclasses override this
-     * method to try to access real getter methods, and find it throws an
-     * exception when invoked.
-     * 
-     * @throws NoSuchMethodException just in case subclasses override this
-     * method to try to access real getter methods, and want to fail if
-     * no simple method is available.
-     * @since 1.8.0
-     */
+     * @param bean Bean whose property is to be extracted
+     * @param path Parsed path of the property to be extracted
+     * @return the nested property value
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>path</code> is null
+     * @exception NestedNullException if a nested reference to a
+     *  property returns null
+     * @exception InvocationTargetException 
+     * if the property accessor method throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  propety cannot be found
+     * @see #getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public Object getNestedProperty(Object bean, PropertyPath path)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("No property path specified for bean class '" +
+                    bean.getClass() + "'");
+        }
+
+        // Resolve nested references
+        int last = path.getElementCount() - 1;
+        for (int i = 0; i < last; i++) {
+            Object nestedBean = getPathElement(bean, path, i);
+            if (nestedBean == null) {
+                throw new NestedNullException
+                        ("Null property value for '" + path.getElement(i) +
+                        "' of '" + path + "' on bean class '" + bean.getClass() + "'");
+            }
+            bean = nestedBean;
+        }
+
+        return (getPathElement(bean, path, last));
+
+    }
+
+    /**
+     * Return the value of one element of a {@link PropertyPath}, using
+     * the same rules as {@link #getNestedProperty(Object, String)}.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param path Parsed property path
+     * @param element Index of the element within the path
+     * @return the property value
+     */
+    private Object getPathElement(Object bean, PropertyPath path, int element)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (bean instanceof Map) {
+            return (getPropertyOfMapBean((Map) bean, path.getElement(element)));
+        } else if (path.isMapped(element)) {
+            return (getMappedProperty(bean, path.getProperty(element),
+                    path.getKey(element)));
+        } else if (path.isIndexed(element)) {
+            return (getIndexedProperty(bean, path.getProperty(element),
+                    path.getIndex(element)));
+        } else {
+            return (getSimpleProperty(bean, path.getElement(element)));
+        }
+
+    }
+
+    /**
+     * This method is called by getNestedProperty and setNestedProperty to
+     * define what it means to get a property from an object which implements
+     * Map. See setPropertyOfMapBean for more information.
+     *
+     * @param bean Map bean
+     * @param propertyName The property name
+     * @return the property value
+     * 
+     * @throws IllegalArgumentException when the propertyName is regarded as
+     * being invalid.
+     * 
+     * @throws IllegalAccessException just in case subclasses override this
+     * method to try to access real getter methods and find permission is denied.
+     * 
+     * @throws InvocationTargetException just in case subclasses override this
+     * method to try to access real getter methods, and find it throws an
+     * exception when invoked.
+     * 
+     * @throws NoSuchMethodException just in case subclasses override this
+     * method to try to access real getter methods, and want to fail if
+     * no simple method is available.
+     * @since 1.8.0
+     */
     protected Object getPropertyOfMapBean(Map bean, String propertyName) 
         throws IllegalArgumentException, IllegalAccessException, 
         InvocationTargetException, NoSuchMethodException {
@@ -848,6 +1477,208 @@ public class PropertyUtilsBean {
     }
 
 
+    /**
+     * Return the value of the property identified by a pre-parsed
+     * {@link PropertyPath}, for the specified bean, with no type conversions.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param path Parsed path of the property to be extracted
+     * @return the property value
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>path</code> is null
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  propety cannot be found
+     * @see #getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public Object getProperty(Object bean, PropertyPath path)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        return (getNestedProperty(bean, path));
+
+    }
+
+
+    /**
+     * Return the values of several properties of the specified bean, with
+     * no type conversions, as {@link #getProperty(Object, String)} does
+     * for each of them.
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be extracted
+     * @param values Array to store the property values in, in the same
+     *  order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>names</code> or any of the names is null, or if
+     *  <code>values</code> is null or shorter than <code>names</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @since 1.8.4
+     */
+    public void getProperties(Object bean, String[] names, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        getProperties(bean, getPropertyPaths(names), values);
+
+    }
+
+
+    /**
+     * Return the values of several properties of the specified bean,
+     * identified by pre-parsed {@link PropertyPath}s, with no type
+     * conversions.
+     * <p>
+     * The bean class's metadata is looked up once for all of the
+     * properties, so simple properties of a standard JavaBean cost
+     * little more than calling their getter methods.
+     *
+     * @param bean Bean whose properties are to be extracted
+     * @param paths Parsed paths of the properties to be extracted
+     * @param values Array to store the property values in, in the same
+     *  order as the paths
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>paths</code> or any of the paths is null, or if
+     *  <code>values</code> is null or shorter than <code>paths</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see #getPropertyPaths(String[])
+     * @since 1.8.4
+     */
+    public void getProperties(Object bean, PropertyPath[] paths, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        BeanAccessor accessor = getBatchAccessor(bean, paths, values);
+        for (int i = 0; i < paths.length; i++) {
+            int slot = getBatchSlot(accessor, paths[i]);
+            if (slot >= 0 && accessor.isReadable(bean.getClass(), slot)) {
+                values[i] = accessor.get(bean, slot);
+            } else {
+                values[i] = getNestedProperty(bean, paths[i]);
+            }
+        }
+
+    }
+
+
+    /**
+     * Validate the arguments of a batch get or set, and return the
+     * {@link BeanAccessor} to use for simple properties of the bean.
+     *
+     * @param bean The bean
+     * @param paths The property paths
+     * @param values The property values
+     * @return The accessor, or <code>null</code> if the bean is a
+     *  <code>DynaBean</code> or <code>Map</code>
+     */
+    private BeanAccessor getBatchAccessor(Object bean, PropertyPath[] paths, Object[] values) {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        if (paths == null) {
+            throw new IllegalArgumentException("No property paths specified for bean class '" +
+                    bean.getClass() + "'");
+        }
+        if (values == null || values.length < paths.length) {
+            throw new IllegalArgumentException("Values array must have at least " +
+                    paths.length + " elements");
+        }
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i] == null) {
+                throw new IllegalArgumentException("No property path specified at index " + i);
+            }
+        }
+        if (bean instanceof DynaBean || bean instanceof Map) {
+            return (null);
+        }
+        return (getBeanAccessor(bean.getClass()));
+
+    }
+
+
+    /**
+     * Return the slot of a simple property path in a {@link BeanAccessor}.
+     *
+     * @param accessor The accessor, or <code>null</code>
+     * @param path The property path
+     * @return The slot, or -1 if the path must be resolved the long way
+     */
+    private int getBatchSlot(BeanAccessor accessor, PropertyPath path) {
+
+        if (accessor == null || path.getElementCount() != 1 ||
+                path.isIndexed(0) || path.isMapped(0)) {
+            return (-1);
+        }
+        return (accessor.indexOf(path.getElement(0)));
+
+    }
+
+
+    /**
+     * <p>Return the value of the specified property of the specified bean,
+     * like {@link #getProperty(Object, String)}, or
+     * {@link #NO_SUCH_PROPERTY} if it can't be read.</p>
+     *
+     * <p>This is intended for probing properties which may not exist: it
+     * uses the same code to resolve the property as
+     * <code>getProperty()</code>, but returns {@link #NO_SUCH_PROPERTY}
+     * where that would throw <code>NoSuchMethodException</code> or
+     * <code>NestedNullException</code>, without creating an exception.
+     * Malformed names and exceptions thrown by the property getter methods
+     * are still reported as exceptions.</p>
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Possibly indexed and/or nested name of the property
+     *  to be extracted
+     * @return the property value, or {@link #NO_SUCH_PROPERTY}
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>name</code> is null
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @since 1.8.4
+     */
+    public Object tryGetProperty(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        if (name == null) {
+            throw new IllegalArgumentException("No name specified for bean class '" +
+                    bean.getClass() + "'");
+        }
+        try {
+            return (getNestedProperty(bean, name, true));
+        } catch (NoSuchMethodException e) {
+            // Only thrown by a subclass's getPropertyOfMapBean()
+            return (NO_SUCH_PROPERTY);
+        }
+
+    }
+
+
     /**
      * <p>Retrieve the property descriptor for the specified property of the
      * specified bean, or return <code>null</code> if there is no such
@@ -908,6 +1739,21 @@ public class PropertyUtilsBean {
         if (name == null) {
             return (null);
         }
+
+        // Names already known not to exist cost a single lookup
+        FastHashMap missing = (FastHashMap) missingPropertiesCache.get(bean.getClass());
+        if (missing != null && missing.containsKey(name)) {
+            return (null);
+        }
+
+        // Avoid introspecting the whole class if the property can be
+        // resolved on its own
+        if (descriptorsCache.get(bean.getClass()) == null) {
+            PropertyDescriptor descriptor = getLazyPropertyDescriptor(bean.getClass(), name);
+            if (descriptor != null) {
+                return (descriptor);
+            }
+        }
         
         PropertyDescriptor[] descriptors = getPropertyDescriptors(bean);
         if (descriptors != null) {
@@ -920,16 +1766,15 @@ public class PropertyUtilsBean {
         }
 
         PropertyDescriptor result = null;
-        FastHashMap mappedDescriptors =
-                getMappedPropertyDescriptors(bean);
-        if (mappedDescriptors == null) {
-            mappedDescriptors = new FastHashMap();
-            mappedDescriptors.setFast(true);
-            mappedDescriptorsCache.put(bean.getClass(), mappedDescriptors);
-        }
+        FastHashMap mappedDescriptors = getMappedDescriptorsMap(bean.getClass());
         result = (PropertyDescriptor) mappedDescriptors.get(name);
+        boolean recording = statisticsEnabled;
+        if (result != null && recording) {
+            mappedDescriptorsStatistics.recordHit();
+        }
         if (result == null) {
             // not found, try to create it
+            long start = recording ? System.nanoTime() : 0;
             try {
                 result = new MappedPropertyDescriptor(name, bean.getClass());
             } catch (IntrospectionException ie) {
@@ -937,8 +1782,14 @@ public class PropertyUtilsBean {
                  * TODO: Why?
                  */
             }
+            if (recording) {
+                mappedDescriptorsStatistics.recordMiss();
+                mappedDescriptorsStatistics.recordLoadTime(System.nanoTime() - start);
+            }
             if (result != null) {
                 mappedDescriptors.put(name, result);
+            } else {
+                addMissingProperty(bean.getClass(), name);
             }
         }
         
@@ -947,6 +1798,506 @@ public class PropertyUtilsBean {
     }
 
 
+    /**
+     * Remember that the specified class has no property of the specified
+     * name, so that later lookups don't have to search for it again. Only
+     * a limited number of names are cached for each class, since they
+     * may come from untrusted input.
+     *
+     * @param beanClass The bean class
+     * @param name The missing property name
+     */
+    private void addMissingProperty(Class beanClass, String name) {
+        FastHashMap missing = (FastHashMap) missingPropertiesCache.get(beanClass);
+        if (missing == null) {
+            missing = new FastHashMap();
+            missing.setFast(true);
+            missingPropertiesCache.put(beanClass, missing);
+        }
+        if (missing.size() < MAX_MISSING_PROPERTIES) {
+            missing.put(name, Boolean.TRUE);
+        }
+    }
+
+
+    /**
+     * Return the descriptor of a single property, resolved on its own by
+     * the {@link BeanIntrospector} and cached.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return The property descriptor, or <code>null</code> if the
+     *  introspector could not resolve it on its own
+     */
+    private PropertyDescriptor getLazyPropertyDescriptor(Class beanClass, String name) {
+        FastHashMap descriptors = (FastHashMap) lazyDescriptorsCache.get(beanClass);
+        if (descriptors != null) {
+            PropertyDescriptor descriptor = (PropertyDescriptor) descriptors.get(name);
+            if (descriptor != null) {
+                return (descriptor);
+            }
+        }
+
+        PropertyDescriptor descriptor = null;
+        try {
+            descriptor = beanIntrospector.getPropertyDescriptor(beanClass, name);
+        } catch (IntrospectionException e) {
+            return (null);
+        }
+        if (descriptor == null) {
+            return (null);
+        }
+        if (descriptor instanceof IndexedPropertyDescriptor) {
+            fixIndexedDescriptor(beanClass, (IndexedPropertyDescriptor) descriptor);
+        }
+        if (descriptors == null) {
+            descriptors = new FastHashMap();
+            descriptors.setFast(true);
+            lazyDescriptorsCache.put(beanClass, descriptors);
+        }
+        descriptors.put(name, descriptor);
+        return (descriptor);
+    }
+
+
+    /**
+     * <p>Return a {@link BeanAccessor} for the specified class, which
+     * accesses its properties by slot number rather than by name. The
+     * accessor is created and cached the first time a particular bean
+     * class is encountered.</p>
+     *
+     * <p><strong>FIXME</strong> - Does not work with DynaBeans.</p>
+     *
+     * @param beanClass Bean class for which an accessor is requested
+     * @return the bean accessor
+     *
+     * @exception IllegalArgumentException if <code>beanClass</code> is null
+     * @since 1.8.4
+     */
+    public BeanAccessor getBeanAccessor(Class beanClass) {
+
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        BeanAccessor accessor = (BeanAccessor) beanAccessorsCache.get(beanClass);
+        if (accessor == null) {
+            accessor = new BeanAccessor(this, beanClass, getPropertyDescriptors(beanClass));
+            beanAccessorsCache.put(beanClass, accessor);
+        }
+        return (accessor);
+
+    }
+
+
+    /**
+     * <p>Return the {@link DirectAccessor} for the specified class, if it
+     * has one. The accessor is found with {@link #findDirectAccessor(Class)}
+     * and cached the first time a particular bean class is encountered.</p>
+     *
+     * @param beanClass Bean class for which an accessor is requested
+     * @return the direct accessor, or <code>null</code> if there is none
+     *
+     * @exception IllegalArgumentException if <code>beanClass</code> is null
+     * @since 1.8.4
+     */
+    public DirectAccessor getDirectAccessor(Class beanClass) {
+
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        Object cached = directAccessorsCache.get(beanClass);
+        if (cached == Boolean.FALSE) {
+            return (null);
+        }
+        DirectAccessor accessor = null;
+        if (cached != null) {
+            accessor = (DirectAccessor) ((Reference) cached).get();
+        }
+        if (accessor == null) {
+            accessor = findDirectAccessor(beanClass);
+            if (accessor == null) {
+                directAccessorsCache.put(beanClass, Boolean.FALSE);
+            } else {
+                // Held softly, as the accessor's class references the
+                // bean's ClassLoader (see BEANUTILS-291)
+                directAccessorsCache.put(beanClass, new SoftReference(accessor));
+            }
+        }
+        return (accessor);
+
+    }
+
+
+    /**
+     * <p>Find the {@link DirectAccessor} for the specified class.</p>
+     *
+     * <p>The default implementation loads the class named after the bean
+     * class with a <code>DirectAccessor</code> suffix, using the bean's
+     * ClassLoader, as the <code>Introspector</code> does for
+     * <code>BeanInfo</code> classes. Subclasses can override this method
+     * to find accessors some other way.</p>
+     *
+     * @param beanClass The bean class
+     * @return A new direct accessor, or <code>null</code> if there is none
+     * @since 1.8.4
+     */
+    protected DirectAccessor findDirectAccessor(Class beanClass) {
+
+        ClassLoader classLoader = beanClass.getClassLoader();
+        if (classLoader == null || beanClass.isArray()) {
+            return (null);
+        }
+        String name = beanClass.getName() + "DirectAccessor";
+        try {
+            Class accessorClass = Class.forName(name, true, classLoader);
+            if (!DirectAccessor.class.isAssignableFrom(accessorClass)) {
+                log.warn("Class '" + name + "' is not a DirectAccessor");
+                return (null);
+            }
+            DirectAccessor accessor = (DirectAccessor) accessorClass.newInstance();
+            if (accessor.getBeanClass() != beanClass) {
+                log.warn("DirectAccessor '" + name + "' is for class '" +
+                        accessor.getBeanClass() + "'");
+                return (null);
+            }
+            return (accessor);
+        } catch (ClassNotFoundException e) {
+            return (null);
+        } catch (Exception e) {
+            log.warn("Error creating DirectAccessor '" + name + "'", e);
+            return (null);
+        } catch (LinkageError e) {
+            log.warn("Error loading DirectAccessor '" + name + "'", e);
+            return (null);
+        }
+
+    }
+
+
+    /**
+     * Create the {@link PropertyAccessor} for a property of the specified
+     * class, using the class's {@link DirectAccessor} if it has one for the
+     * property.
+     *
+     * @param beanClass The bean class
+     * @param descriptor The property descriptor
+     * @return The property accessor
+     */
+    PropertyAccessor createPropertyAccessor(Class beanClass, PropertyDescriptor descriptor) {
+
+        PropertyAccessor accessor = new PropertyAccessor(descriptor);
+        if (descriptor instanceof MappedPropertyDescriptor) {
+            return (accessor);
+        }
+        DirectAccessor direct = getDirectAccessor(beanClass);
+        if (direct != null) {
+            String[] names = direct.getPropertyNames();
+            for (int i = 0; i < names.length; i++) {
+                if (descriptor.getName().equals(names[i])) {
+                    accessor.setDirectAccessor(direct, i);
+                    break;
+                }
+            }
+        }
+        return (accessor);
+
+    }
+
+
+    /**
+     * Return the cached mapped property descriptors of a class, creating
+     * the cache entry if necessary.
+     *
+     * @param beanClass The bean class
+     * @return The mapped property descriptors, keyed by name
+     */
+    private FastHashMap getMappedDescriptorsMap(Class beanClass) {
+        FastHashMap mappedDescriptors = getMappedPropertyDescriptors(beanClass);
+        if (mappedDescriptors == null) {
+            mappedDescriptors = new FastHashMap();
+            mappedDescriptors.setFast(true);
+            mappedDescriptorsCache.put(beanClass, mappedDescriptors);
+        }
+        return (mappedDescriptors);
+    }
+
+
+    /**
+     * <p>Introspect the specified classes in advance, so that the first
+     * accesses to their properties don't pay for it.</p>
+     *
+     * <p>This is the same as {@link #preload(Collection, int)} with one
+     * thread per available processor.</p>
+     *
+     * @param classes The bean classes (<code>Class</code> instances)
+     * @return The time taken to preload each class, in milliseconds
+     *  (<code>Long</code> values keyed by <code>Class</code>)
+     *
+     * @exception IllegalArgumentException if <code>classes</code> is null
+     * @since 1.8.4
+     */
+    public Map preload(Collection classes) {
+
+        return (preload(classes, Runtime.getRuntime().availableProcessors()));
+
+    }
+
+
+    /**
+     * <p>Introspect the specified classes in advance, so that the first
+     * accesses to their properties don't pay for it.</p>
+     *
+     * <p>The classes are shared between the specified number of threads,
+     * each of which calls {@link #preloadClass(Class)} in turn for the
+     * classes it takes, and this method returns when all the classes have
+     * been preloaded. Classes which can't be introspected (e.g. because a
+     * class they refer to is missing) are logged and left out of the
+     * result.</p>
+     *
+     * @param classes The bean classes (<code>Class</code> instances)
+     * @param threads The number of threads to use; if it is 1 or less, the
+     *  classes are preloaded by the calling thread
+     * @return The time taken to preload each class, in milliseconds
+     *  (<code>Long</code> values keyed by <code>Class</code>)
+     *
+     * @exception IllegalArgumentException if <code>classes</code> is null
+     * @since 1.8.4
+     */
+    public Map preload(Collection classes, int threads) {
+
+        if (classes == null) {
+            throw new IllegalArgumentException("No classes specified");
+        }
+        final Iterator pending = new ArrayList(classes).iterator();
+        final Map times = new HashMap();
+        Runnable preloader = new Runnable() {
+            public void run() {
+                while (true) {
+                    Class beanClass;
+                    synchronized (pending) {
+                        if (!pending.hasNext()) {
+                            return;
+                        }
+                        beanClass = (Class) pending.next();
+                    }
+                    if (beanClass == null) {
+                        continue;
+                    }
+                    long start = System.currentTimeMillis();
+                    try {
+                        preloadClass(beanClass);
+                    } catch (RuntimeException e) {
+                        log.warn("Error preloading class '" + beanClass.getName() + "'", e);
+                        continue;
+                    } catch (LinkageError e) {
+                        log.warn("Error preloading class '" + beanClass.getName() + "'", e);
+                        continue;
+                    }
+                    Long time = new Long(System.currentTimeMillis() - start);
+                    synchronized (times) {
+                        times.put(beanClass, time);
+                    }
+                }
+            }
+        };
+
+        if (threads <= 1) {
+            preloader.run();
+            return (times);
+        }
+        Thread[] workers = new Thread[Math.min(threads, classes.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(preloader, "BeanUtils preload " + (i + 1));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        for (int i = 0; i < workers.length; i++) {
+            try {
+                workers[i].join();
+            } catch (InterruptedException e) {
+                // Leave the remaining classes to the workers
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        synchronized (times) {
+            return (new HashMap(times));
+        }
+
+    }
+
+
+    /**
+     * <p>Introspect the classes in the specified package, and its
+     * subpackages, in advance. The classes are found by listing the
+     * package's directories and jar files on the specified ClassLoader's
+     * class path, and are preloaded as by {@link #preload(Collection)}.
+     * Interfaces and classes which fail to load are skipped.</p>
+     *
+     * @param packageName The package name, e.g. <code>com.acme.model</code>
+     * @param classLoader The ClassLoader to load the classes with, or
+     *  <code>null</code> for the context ClassLoader
+     * @return The time taken to preload each class, in milliseconds
+     *  (<code>Long</code> values keyed by <code>Class</code>)
+     *
+     * @exception IOException if the package's resources can't be listed
+     * @exception IllegalArgumentException if <code>packageName</code> is null
+     * @since 1.8.4
+     */
+    public Map preload(String packageName, ClassLoader classLoader) throws IOException {
+
+        if (packageName == null) {
+            throw new IllegalArgumentException("No package specified");
+        }
+        if (classLoader == null) {
+            classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = PropertyUtilsBean.class.getClassLoader();
+            }
+        }
+
+        // Find the class names
+        String path = packageName.replace('.', '/');
+        Set names = new TreeSet();
+        Enumeration urls = classLoader.getResources(path);
+        while (urls.hasMoreElements()) {
+            URL url = (URL) urls.nextElement();
+            if ("file".equals(url.getProtocol())) {
+                findClassNames(new File(URLDecoder.decode(url.getPath(), "UTF-8")),
+                        packageName, names);
+            } else if ("jar".equals(url.getProtocol())) {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    JarFile jar = ((JarURLConnection) connection).getJarFile();
+                    Enumeration entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String entry = ((JarEntry) entries.nextElement()).getName();
+                        if (entry.startsWith(path + "/") && entry.endsWith(".class")) {
+                            names.add(entry.substring(0, entry.length() - 6).replace('/', '.'));
+                        }
+                    }
+                }
+            } else {
+                log.debug("Cannot list classes in '" + url + "'");
+            }
+        }
+
+        // Load them
+        List classes = new ArrayList(names.size());
+        for (Iterator i = names.iterator(); i.hasNext();) {
+            String name = (String) i.next();
+            try {
+                Class beanClass = Class.forName(name, false, classLoader);
+                if (!beanClass.isInterface()) {
+                    classes.add(beanClass);
+                }
+            } catch (ClassNotFoundException e) {
+                log.debug("Cannot load class '" + name + "'", e);
+            } catch (LinkageError e) {
+                log.debug("Cannot load class '" + name + "'", e);
+            }
+        }
+        return (preload(classes));
+
+    }
+
+
+    /**
+     * Add the names of the classes in a directory, and its subdirectories.
+     *
+     * @param directory The directory of the package
+     * @param packageName The package name
+     * @param names The class names found so far
+     */
+    private void findClassNames(File directory, String packageName, Set names) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (int i = 0; i < files.length; i++) {
+            String name = files[i].getName();
+            if (files[i].isDirectory()) {
+                findClassNames(files[i], packageName + "." + name, names);
+            } else if (name.endsWith(".class")) {
+                names.add(packageName + "." + name.substring(0, name.length() - 6));
+            }
+        }
+    }
+
+
+    /**
+     * <p>Introspect a class in advance, filling the caches which the first
+     * accesses to its properties would otherwise fill. This is called by
+     * the <code>preload()</code> methods for each class.</p>
+     *
+     * <p>The default implementation caches the class's:</p>
+     * <ul>
+     *   <li>property descriptors, and the accessible getter and setter
+     *       methods of each property</li>
+     *   <li>mapped property descriptors, for each <code>getXxx(String)</code>
+     *       or <code>setXxx(String, value)</code> method</li>
+     *   <li>{@link DirectAccessor} and {@link BeanAccessor}</li>
+     *   <li>{@link WrapDynaClass}</li>
+     * </ul>
+     * <p>Subclasses can override this method to preload other state,
+     * e.g. the property paths the application uses.</p>
+     *
+     * @param beanClass The bean class
+     * @since 1.8.4
+     */
+    protected void preloadClass(Class beanClass) {
+
+        // Regular properties, and their accessible methods
+        PropertyDescriptor[] descriptors = getPropertyDescriptors(beanClass);
+        Set names = new HashSet();
+        for (int i = 0; i < descriptors.length; i++) {
+            String name = descriptors[i].getName();
+            names.add(name);
+            PropertyAccessor accessor = createPropertyAccessor(beanClass, descriptors[i]);
+            accessor.getMethod(beanClass, PropertyAccessor.READ);
+            accessor.getMethod(beanClass, PropertyAccessor.WRITE);
+            if (descriptors[i] instanceof IndexedPropertyDescriptor) {
+                accessor.getMethod(beanClass, PropertyAccessor.INDEXED_READ);
+                accessor.getMethod(beanClass, PropertyAccessor.INDEXED_WRITE);
+            }
+            cachePropertyAccessor(beanClass, name, accessor);
+        }
+
+        // Mapped properties
+        Method[] methods = beanClass.getMethods();
+        FastHashMap mappedDescriptors = null;
+        for (int i = 0; i < methods.length; i++) {
+            String methodName = methods[i].getName();
+            Class[] params = methods[i].getParameterTypes();
+            if (methodName.length() <= 3 || params.length == 0 || params[0] != String.class ||
+                    !((methodName.startsWith("get") && params.length == 1) ||
+                      (methodName.startsWith("set") && params.length == 2))) {
+                continue;
+            }
+            String name = Introspector.decapitalize(methodName.substring(3));
+            if (names.contains(name)) {
+                continue;
+            }
+            names.add(name);
+            if (mappedDescriptors == null) {
+                mappedDescriptors = getMappedDescriptorsMap(beanClass);
+            }
+            if (mappedDescriptors.get(name) == null) {
+                try {
+                    mappedDescriptors.put(name, new MappedPropertyDescriptor(name, beanClass));
+                } catch (IntrospectionException e) {
+                    log.debug("Cannot describe mapped property '" + name + "' of '" +
+                            beanClass.getName() + "'", e);
+                }
+            }
+        }
+
+        getBeanAccessor(beanClass);
+        WrapDynaClass.createDynaClass(beanClass);
+
+    }
+
+
     /**
      * <p>Retrieve the property descriptors for the specified class,
      * introspecting and caching them the first time a particular bean class
@@ -970,22 +2321,57 @@ public class PropertyUtilsBean {
         PropertyDescriptor[] descriptors = null;
         descriptors =
                 (PropertyDescriptor[]) descriptorsCache.get(beanClass);
+        boolean recording = statisticsEnabled;
         if (descriptors != null) {
+            if (recording) {
+                descriptorsStatistics.recordHit();
+            }
             return (descriptors);
         }
 
         // Introspect the bean and cache the generated descriptors
-        BeanInfo beanInfo = null;
+        PerformanceListener listener = PerformanceMonitor.getListener();
+        long start = (recording || listener != null) ? System.nanoTime() : 0;
         try {
-            beanInfo = Introspector.getBeanInfo(beanClass);
+            descriptors = beanIntrospector.getPropertyDescriptors(beanClass);
         } catch (IntrospectionException e) {
             return (new PropertyDescriptor[0]);
+        } finally {
+            if (recording) {
+                descriptorsStatistics.recordMiss();
+                descriptorsStatistics.recordLoadTime(System.nanoTime() - start);
+            }
+            if (listener != null) {
+                PerformanceMonitor.introspected(listener, beanClass,
+                        (descriptors == null) ? 0 : descriptors.length, start);
+            }
         }
-        descriptors = beanInfo.getPropertyDescriptors();
         if (descriptors == null) {
             descriptors = new PropertyDescriptor[0];
         }
 
+        for (int i = 0; i < descriptors.length; i++) {
+            if (descriptors[i] instanceof IndexedPropertyDescriptor) {
+                fixIndexedDescriptor(beanClass, (IndexedPropertyDescriptor) descriptors[i]);
+            }
+        }
+
+        descriptorsCache.put(beanClass, descriptors);
+        return (descriptors);
+
+    }
+
+
+    /**
+     * Set the plain read and write methods of an indexed property which
+     * uses a <code>java.util.List</code>, which the
+     * <code>Introspector</code> leaves unset in some versions of the JDK.
+     *
+     * @param beanClass The bean class
+     * @param descriptor The indexed property descriptor
+     */
+    private void fixIndexedDescriptor(Class beanClass, IndexedPropertyDescriptor descriptor) {
+
         // ----------------- Workaround for Bug 28358 --------- START ------------------
         //
         // The following code fixes an issue where IndexedPropertyDescriptor behaves
@@ -1005,62 +2391,54 @@ public class PropertyUtilsBean {
         //     JDK 1.3.1_04: returns valid Method objects from these methods.
         //     JDK 1.4.2_05: returns null from these methods.
         //
-        for (int i = 0; i < descriptors.length; i++) {
-            if (descriptors[i] instanceof IndexedPropertyDescriptor) {
-                IndexedPropertyDescriptor descriptor =  (IndexedPropertyDescriptor)descriptors[i];
-                String propName = descriptor.getName().substring(0, 1).toUpperCase() +
-                                  descriptor.getName().substring(1);
-
-                if (descriptor.getReadMethod() == null) {
-                    String methodName = descriptor.getIndexedReadMethod() != null
-                                        ? descriptor.getIndexedReadMethod().getName()
-                                        : "get" + propName;
-                    Method readMethod = MethodUtils.getMatchingAccessibleMethod(beanClass,
-                                                            methodName,
-                                                            EMPTY_CLASS_PARAMETERS);
-                    if (readMethod != null) {
-                        try {
-                            descriptor.setReadMethod(readMethod);
-                        } catch(Exception e) {
-                            log.error("Error setting indexed property read method", e);
-                        }
-                    }
+        String propName = descriptor.getName().substring(0, 1).toUpperCase() +
+                          descriptor.getName().substring(1);
+
+        if (descriptor.getReadMethod() == null) {
+            String methodName = descriptor.getIndexedReadMethod() != null
+                                ? descriptor.getIndexedReadMethod().getName()
+                                : "get" + propName;
+            Method readMethod = MethodUtils.getMatchingAccessibleMethod(beanClass,
+                                                    methodName,
+                                                    EMPTY_CLASS_PARAMETERS);
+            if (readMethod != null) {
+                try {
+                    descriptor.setReadMethod(readMethod);
+                } catch(Exception e) {
+                    log.error("Error setting indexed property read method", e);
                 }
-                if (descriptor.getWriteMethod() == null) {
-                    String methodName = descriptor.getIndexedWriteMethod() != null
-                                      ? descriptor.getIndexedWriteMethod().getName()
-                                      : "set" + propName;
-                    Method writeMethod = MethodUtils.getMatchingAccessibleMethod(beanClass,
-                                                            methodName,
-                                                            LIST_CLASS_PARAMETER);
-                    if (writeMethod == null) {
-                        Method[] methods = beanClass.getMethods();
-                        for (int j = 0; j < methods.length; j++) {
-                            if (methods[j].getName().equals(methodName)) {
-                                Class[] parameterTypes = methods[j].getParameterTypes();
-                                if (parameterTypes.length == 1 &&
-                                    List.class.isAssignableFrom(parameterTypes[0])) {
-                                    writeMethod = methods[j];
-                                    break; 
-                                }
-                            }
-                        }
-                    }
-                    if (writeMethod != null) {
-                        try {
-                            descriptor.setWriteMethod(writeMethod);
-                        } catch(Exception e) {
-                            log.error("Error setting indexed property write method", e);
+            }
+        }
+        if (descriptor.getWriteMethod() == null) {
+            String methodName = descriptor.getIndexedWriteMethod() != null
+                              ? descriptor.getIndexedWriteMethod().getName()
+                              : "set" + propName;
+            Method writeMethod = MethodUtils.getMatchingAccessibleMethod(beanClass,
+                                                    methodName,
+                                                    LIST_CLASS_PARAMETER);
+            if (writeMethod == null) {
+                Method[] methods = beanClass.getMethods();
+                for (int j = 0; j < methods.length; j++) {
+                    if (methods[j].getName().equals(methodName)) {
+                        Class[] parameterTypes = methods[j].getParameterTypes();
+                        if (parameterTypes.length == 1 &&
+                            List.class.isAssignableFrom(parameterTypes[0])) {
+                            writeMethod = methods[j];
+                            break; 
                         }
                     }
                 }
             }
+            if (writeMethod != null) {
+                try {
+                    descriptor.setWriteMethod(writeMethod);
+                } catch(Exception e) {
+                    log.error("Error setting indexed property write method", e);
+                }
+            }
         }
         // ----------------- Workaround for Bug 28358 ---------- END -------------------
 
-        descriptorsCache.put(beanClass, descriptors);
-        return (descriptors);
-
     }
 
 
@@ -1276,7 +2654,26 @@ public class PropertyUtilsBean {
      * @exception NoSuchMethodException if an accessor method for this
      *  propety cannot be found
      */
-    public Object getSimpleProperty(Object bean, String name)
+    public Object getSimpleProperty(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        return (getSimpleProperty(bean, name, false));
+
+    }
+
+
+    /**
+     * Return the value of the specified simple property, as
+     * {@link #getSimpleProperty(Object, String)} does.
+     *
+     * @param bean Bean whose property is to be extracted
+     * @param name Name of the property to be extracted
+     * @param quiet Return {@link #NO_SUCH_PROPERTY} instead of throwing
+     *  <code>NoSuchMethodException</code> if the property can't be read
+     * @return The property value
+     */
+    private Object getSimpleProperty(Object bean, String name, boolean quiet)
             throws IllegalAccessException, InvocationTargetException,
             NoSuchMethodException {
 
@@ -1288,47 +2685,64 @@ public class PropertyUtilsBean {
                     bean.getClass() + "'");
         }
 
-        // Validate the syntax of the property name
-        if (resolver.hasNested(name)) {
-            throw new IllegalArgumentException
-                    ("Nested property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        } else if (resolver.isIndexed(name)) {
-            throw new IllegalArgumentException
-                    ("Indexed property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        } else if (resolver.isMapped(name)) {
-            throw new IllegalArgumentException
-                    ("Mapped property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        }
+        // A cached accessor means the name has already been validated
+        PropertyAccessor accessor = getCachedPropertyAccessor(bean.getClass(), name);
+        if (accessor == null) {
 
-        // Handle DynaBean instances specially
-        if (bean instanceof DynaBean) {
-            DynaProperty descriptor =
-                    ((DynaBean) bean).getDynaClass().getDynaProperty(name);
-            if (descriptor == null) {
-                throw new NoSuchMethodException("Unknown property '" +
-                        name + "' on dynaclass '" + 
-                        ((DynaBean) bean).getDynaClass() + "'" );
+            // Validate the syntax of the property name
+            if (resolver.hasNested(name)) {
+                throw new IllegalArgumentException
+                        ("Nested property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
+            } else if (resolver.isIndexed(name)) {
+                throw new IllegalArgumentException
+                        ("Indexed property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
+            } else if (resolver.isMapped(name)) {
+                throw new IllegalArgumentException
+                        ("Mapped property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
             }
-            return (((DynaBean) bean).get(name));
-        }
 
-        // Retrieve the property getter method for the specified property
-        PropertyDescriptor descriptor =
-                getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
-            throw new NoSuchMethodException("Unknown property '" +
-                    name + "' on class '" + bean.getClass() + "'" );
+            // Handle DynaBean instances specially
+            if (bean instanceof DynaBean) {
+                DynaProperty descriptor =
+                        ((DynaBean) bean).getDynaClass().getDynaProperty(name);
+                if (descriptor == null) {
+                    if (quiet) {
+                        return (NO_SUCH_PROPERTY);
+                    }
+                    throw new NoSuchMethodException("Unknown property '" +
+                            name + "' on dynaclass '" +
+                            ((DynaBean) bean).getDynaClass() + "'" );
+                }
+                return (((DynaBean) bean).get(name));
+            }
+
+            // Retrieve the accessor for the specified property
+            accessor = getPropertyAccessor(bean, name);
+            if (accessor == null) {
+                if (quiet) {
+                    return (NO_SUCH_PROPERTY);
+                }
+                throw new NoSuchMethodException("Unknown property '" +
+                        name + "' on class '" + bean.getClass() + "'" );
+            }
         }
-        Method readMethod = getReadMethod(bean.getClass(), descriptor);
+        Method readMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.READ);
         if (readMethod == null) {
+            if (quiet) {
+                return (NO_SUCH_PROPERTY);
+            }
             throw new NoSuchMethodException("Property '" + name +
                     "' has no getter method in class '" + bean.getClass() + "'");
         }
 
         // Call the property getter and return the value
+        DirectAccessor direct = accessor.getDirectAccessor(bean.getClass(), PropertyAccessor.READ);
+        if (direct != null) {
+            return (direct.get(bean, accessor.getDirectIndex()));
+        }
         Object value = invokeMethod(readMethod, bean, EMPTY_OBJECT_ARRAY);
         return (value);
 
@@ -1397,7 +2811,7 @@ public class PropertyUtilsBean {
             String next = resolver.next(name);
             Object nestedBean = null; 
             try {
-                nestedBean = getProperty(bean, next);
+                nestedBean = getNestedProperty(bean, next, true);
             } catch (IllegalAccessException e) {
                 return false;
             } catch (InvocationTargetException e) {
@@ -1405,6 +2819,9 @@ public class PropertyUtilsBean {
             } catch (NoSuchMethodException e) {
                 return false;
             }
+            if (nestedBean == NO_SUCH_PROPERTY) {
+                return false;
+            }
             if (nestedBean == null) {
                 throw new NestedNullException
                         ("Null property value for '" + next +
@@ -1488,7 +2905,7 @@ public class PropertyUtilsBean {
             String next = resolver.next(name);
             Object nestedBean = null; 
             try {
-                nestedBean = getProperty(bean, next);
+                nestedBean = getNestedProperty(bean, next, true);
             } catch (IllegalAccessException e) {
                 return false;
             } catch (InvocationTargetException e) {
@@ -1496,6 +2913,9 @@ public class PropertyUtilsBean {
             } catch (NoSuchMethodException e) {
                 return false;
             }
+            if (nestedBean == NO_SUCH_PROPERTY) {
+                return false;
+            }
             if (nestedBean == null) {
                 throw new NestedNullException
                         ("Null property value for '" + next +
@@ -1664,49 +3084,45 @@ public class PropertyUtilsBean {
             return;
         }
 
-        // Retrieve the property descriptor for the specified property
-        PropertyDescriptor descriptor =
-                getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
+        // Retrieve the accessor for the specified property
+        PropertyAccessor accessor = getPropertyAccessor(bean, name);
+        if (accessor == null) {
             throw new NoSuchMethodException("Unknown property '" +
                     name + "' on bean class '" + bean.getClass() + "'");
         }
 
         // Call the indexed setter method if there is one
-        if (descriptor instanceof IndexedPropertyDescriptor) {
-            Method writeMethod = ((IndexedPropertyDescriptor) descriptor).
-                    getIndexedWriteMethod();
-            writeMethod = MethodUtils.getAccessibleMethod(bean.getClass(), writeMethod);
-            if (writeMethod != null) {
-                Object[] subscript = new Object[2];
-                subscript[0] = new Integer(index);
-                subscript[1] = value;
-                try {
-                    if (log.isTraceEnabled()) {
-                        String valueClassName =
-                            value == null ? "<null>" 
-                                          : value.getClass().getName();
-                        log.trace("setSimpleProperty: Invoking method "
-                                  + writeMethod +" with index=" + index
-                                  + ", value=" + value
-                                  + " (class " + valueClassName+ ")");
-                    }
-                    invokeMethod(writeMethod, bean, subscript);
-                } catch (InvocationTargetException e) {
-                    if (e.getTargetException() instanceof
-                            IndexOutOfBoundsException) {
-                        throw (IndexOutOfBoundsException)
-                                e.getTargetException();
-                    } else {
-                        throw e;
-                    }
+        Method writeMethod = accessor.getMethod(bean.getClass(),
+                PropertyAccessor.INDEXED_WRITE);
+        if (writeMethod != null) {
+            Object[] subscript = new Object[2];
+            subscript[0] = new Integer(index);
+            subscript[1] = value;
+            try {
+                if (log.isTraceEnabled()) {
+                    String valueClassName =
+                        value == null ? "<null>"
+                                      : value.getClass().getName();
+                    log.trace("setSimpleProperty: Invoking method "
+                              + writeMethod +" with index=" + index
+                              + ", value=" + value
+                              + " (class " + valueClassName+ ")");
+                }
+                invokeMethod(writeMethod, bean, subscript);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof
+                        IndexOutOfBoundsException) {
+                    throw (IndexOutOfBoundsException)
+                            e.getTargetException();
+                } else {
+                    throw e;
                 }
-                return;
             }
+            return;
         }
 
         // Otherwise, the underlying property must be an array or a list
-        Method readMethod = getReadMethod(bean.getClass(), descriptor);
+        Method readMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.READ);
         if (readMethod == null) {
             throw new NoSuchMethodException("Property '" + name +
                     "' has no getter method on bean class '" + bean.getClass() + "'");
@@ -1831,20 +3247,17 @@ public class PropertyUtilsBean {
             return;
         }
 
-        // Retrieve the property descriptor for the specified property
-        PropertyDescriptor descriptor =
-                getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
+        // Retrieve the accessor for the specified property
+        PropertyAccessor accessor = getPropertyAccessor(bean, name);
+        if (accessor == null) {
             throw new NoSuchMethodException("Unknown property '" +
                     name + "' on bean class '" + bean.getClass() + "'");
         }
 
-        if (descriptor instanceof MappedPropertyDescriptor) {
+        if (accessor.getDescriptor() instanceof MappedPropertyDescriptor) {
             // Call the keyed setter method if there is one
-            Method mappedWriteMethod =
-                    ((MappedPropertyDescriptor) descriptor).
-                    getMappedWriteMethod();
-            mappedWriteMethod = MethodUtils.getAccessibleMethod(bean.getClass(), mappedWriteMethod);
+            Method mappedWriteMethod = accessor.getMethod(bean.getClass(),
+                    PropertyAccessor.MAPPED_WRITE);
             if (mappedWriteMethod != null) {
                 Object[] params = new Object[2];
                 params[0] = key;
@@ -1865,7 +3278,7 @@ public class PropertyUtilsBean {
             }
         } else {
           /* means that the result has to be retrieved from a map */
-          Method readMethod = getReadMethod(bean.getClass(), descriptor);
+          Method readMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.READ);
           if (readMethod != null) {
             Object invokeResult = invokeMethod(readMethod, bean, EMPTY_OBJECT_ARRAY);
             /* test and fetch from the map */
@@ -1959,6 +3372,65 @@ public class PropertyUtilsBean {
 
     }
 
+    /**
+     * Set the value of the (possibly nested) property identified by
+     * a pre-parsed {@link PropertyPath}, for the specified bean, with no
+     * type conversions.
+     *
+     * @param bean Bean whose property is to be modified
+     * @param path Parsed path of the property to be modified
+     * @param value Value to which the property is to be set
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>path</code> is null
+     * @exception IllegalArgumentException if a nested reference to a
+     *  property returns null
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  propety cannot be found
+     * @see #getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public void setNestedProperty(Object bean,
+                                         PropertyPath path, Object value)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        if (bean == null) {
+            throw new IllegalArgumentException("No bean specified");
+        }
+        if (path == null) {
+            throw new IllegalArgumentException("No property path specified for bean class '" +
+                    bean.getClass() + "'");
+        }
+
+        // Resolve nested references
+        int last = path.getElementCount() - 1;
+        for (int i = 0; i < last; i++) {
+            Object nestedBean = getPathElement(bean, path, i);
+            if (nestedBean == null) {
+                throw new NestedNullException
+                        ("Null property value for '" + path.getElement(i) +
+                        "' of '" + path + "' on bean class '" + bean.getClass() + "'");
+            }
+            bean = nestedBean;
+        }
+
+        if (bean instanceof Map) {
+            setPropertyOfMapBean((Map) bean, path.getElement(last), value);
+        } else if (path.isMapped(last)) {
+            setMappedProperty(bean, path.getProperty(last), path.getKey(last), value);
+        } else if (path.isIndexed(last)) {
+            setIndexedProperty(bean, path.getProperty(last), path.getIndex(last), value);
+        } else {
+            setSimpleProperty(bean, path.getElement(last), value);
+        }
+
+    }
+
     /**
      * This method is called by method setNestedProperty when the current bean
      * is found to be a Map object, and defines how to deal with setting
@@ -2066,6 +3538,108 @@ public class PropertyUtilsBean {
     }
 
 
+    /**
+     * Set the value of the property identified by a pre-parsed
+     * {@link PropertyPath}, for the specified bean, with no type conversions.
+     *
+     * @param bean Bean whose property is to be modified
+     * @param path Parsed path of the property to be modified
+     * @param value Value to which this property is to be set
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code> or
+     *  <code>path</code> is null
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  propety cannot be found
+     * @see #getPropertyPath(String)
+     * @since 1.8.4
+     */
+    public void setProperty(Object bean, PropertyPath path, Object value)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        setNestedProperty(bean, path, value);
+
+    }
+
+
+    /**
+     * Set the values of several properties of the specified bean, with
+     * no type conversions, as {@link #setProperty(Object, String, Object)}
+     * does for each of them.
+     *
+     * @param bean Bean whose properties are to be modified
+     * @param names Possibly indexed and/or nested names of the properties
+     *  to be modified
+     * @param values Values to which the properties are to be set, in the
+     *  same order as the names
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>names</code> or any of the names is null, or if
+     *  <code>values</code> is null or shorter than <code>names</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @since 1.8.4
+     */
+    public void setProperties(Object bean, String[] names, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        setProperties(bean, getPropertyPaths(names), values);
+
+    }
+
+
+    /**
+     * Set the values of several properties of the specified bean,
+     * identified by pre-parsed {@link PropertyPath}s, with no type
+     * conversions.
+     * <p>
+     * The bean class's metadata is looked up once for all of the
+     * properties, so simple properties of a standard JavaBean cost
+     * little more than calling their setter methods.
+     *
+     * @param bean Bean whose properties are to be modified
+     * @param paths Parsed paths of the properties to be modified
+     * @param values Values to which the properties are to be set, in the
+     *  same order as the paths
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception IllegalArgumentException if <code>bean</code>,
+     *  <code>paths</code> or any of the paths is null, or if
+     *  <code>values</code> is null or shorter than <code>paths</code>
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for one of
+     *  the properties cannot be found
+     * @see #getPropertyPaths(String[])
+     * @since 1.8.4
+     */
+    public void setProperties(Object bean, PropertyPath[] paths, Object[] values)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        BeanAccessor accessor = getBatchAccessor(bean, paths, values);
+        for (int i = 0; i < paths.length; i++) {
+            int slot = getBatchSlot(accessor, paths[i]);
+            if (slot >= 0 && accessor.isWriteable(bean.getClass(), slot)) {
+                accessor.set(bean, slot, values[i]);
+            } else {
+                setNestedProperty(bean, paths[i], values[i]);
+            }
+        }
+
+    }
+
+
     /**
      * Set the value of the specified simple property of the specified bean,
      * with no type conversions.
@@ -2098,42 +3672,46 @@ public class PropertyUtilsBean {
                     bean.getClass() + "'");
         }
 
-        // Validate the syntax of the property name
-        if (resolver.hasNested(name)) {
-            throw new IllegalArgumentException
-                    ("Nested property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        } else if (resolver.isIndexed(name)) {
-            throw new IllegalArgumentException
-                    ("Indexed property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        } else if (resolver.isMapped(name)) {
-            throw new IllegalArgumentException
-                    ("Mapped property names are not allowed: Property '" +
-                    name + "' on bean class '" + bean.getClass() + "'");
-        }
+        // A cached accessor means the name has already been validated
+        PropertyAccessor accessor = getCachedPropertyAccessor(bean.getClass(), name);
+        if (accessor == null) {
 
-        // Handle DynaBean instances specially
-        if (bean instanceof DynaBean) {
-            DynaProperty descriptor =
-                    ((DynaBean) bean).getDynaClass().getDynaProperty(name);
-            if (descriptor == null) {
-                throw new NoSuchMethodException("Unknown property '" +
-                        name + "' on dynaclass '" + 
-                        ((DynaBean) bean).getDynaClass() + "'" );
+            // Validate the syntax of the property name
+            if (resolver.hasNested(name)) {
+                throw new IllegalArgumentException
+                        ("Nested property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
+            } else if (resolver.isIndexed(name)) {
+                throw new IllegalArgumentException
+                        ("Indexed property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
+            } else if (resolver.isMapped(name)) {
+                throw new IllegalArgumentException
+                        ("Mapped property names are not allowed: Property '" +
+                        name + "' on bean class '" + bean.getClass() + "'");
             }
-            ((DynaBean) bean).set(name, value);
-            return;
-        }
 
-        // Retrieve the property setter method for the specified property
-        PropertyDescriptor descriptor =
-                getPropertyDescriptor(bean, name);
-        if (descriptor == null) {
-            throw new NoSuchMethodException("Unknown property '" +
-                    name + "' on class '" + bean.getClass() + "'" );
+            // Handle DynaBean instances specially
+            if (bean instanceof DynaBean) {
+                DynaProperty descriptor =
+                        ((DynaBean) bean).getDynaClass().getDynaProperty(name);
+                if (descriptor == null) {
+                    throw new NoSuchMethodException("Unknown property '" +
+                            name + "' on dynaclass '" +
+                            ((DynaBean) bean).getDynaClass() + "'" );
+                }
+                ((DynaBean) bean).set(name, value);
+                return;
+            }
+
+            // Retrieve the accessor for the specified property
+            accessor = getPropertyAccessor(bean, name);
+            if (accessor == null) {
+                throw new NoSuchMethodException("Unknown property '" +
+                        name + "' on class '" + bean.getClass() + "'" );
+            }
         }
-        Method writeMethod = getWriteMethod(bean.getClass(), descriptor);
+        Method writeMethod = accessor.getMethod(bean.getClass(), PropertyAccessor.WRITE);
         if (writeMethod == null) {
             throw new NoSuchMethodException("Property '" + name +
                     "' has no setter method in class '" + bean.getClass() + "'");
@@ -2148,12 +3726,108 @@ public class PropertyUtilsBean {
             log.trace("setSimpleProperty: Invoking method " + writeMethod
                       + " with value " + value + " (class " + valueClassName + ")");
         }
+        DirectAccessor direct = accessor.getDirectAccessor(bean.getClass(), PropertyAccessor.WRITE);
+        if (direct != null && direct.set(bean, accessor.getDirectIndex(), value)) {
+            return;
+        }
         invokeMethod(writeMethod, bean, values);
 
     }
     
+    /**
+     * Return the cached {@link PropertyAccessor} for the specified simple
+     * property of the specified bean class, or <code>null</code> if the
+     * property has not been resolved yet or accessors are not cached.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return The cached accessor or <code>null</code>
+     */
+    private PropertyAccessor getCachedPropertyAccessor(Class beanClass, String name) {
+        if (!accessorsCacheEnabled) {
+            return (null);
+        }
+        FastHashMap accessors = (FastHashMap) accessorsCache.get(beanClass);
+        if (accessors == null) {
+            return (null);
+        }
+        PropertyAccessor accessor = (PropertyAccessor) accessors.get(name);
+        if (accessor != null && statisticsEnabled) {
+            accessorsStatistics.recordHit();
+        }
+        return (accessor);
+    }
+
+    /**
+     * Return the {@link PropertyAccessor} for the specified property of
+     * the specified bean, resolving it from the property descriptor and
+     * caching it the first time a particular simple property name is
+     * encountered.
+     *
+     * @param bean Bean for which an accessor is requested
+     * @param name Name of the property
+     * @return The accessor or <code>null</code> if there is no such property
+     *
+     * @exception IllegalAccessException if the caller does not have
+     *  access to the property accessor method
+     * @exception InvocationTargetException if the property accessor method
+     *  throws an exception
+     * @exception NoSuchMethodException if an accessor method for this
+     *  propety cannot be found
+     */
+    private PropertyAccessor getPropertyAccessor(Object bean, String name)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+
+        Class beanClass = bean.getClass();
+        PropertyAccessor accessor = getCachedPropertyAccessor(beanClass, name);
+        if (accessor != null) {
+            return (accessor);
+        }
+
+        // Only simple names identify the same property on every instance
+        boolean cacheable = !resolver.hasNested(name) && !resolver.isIndexed(name) &&
+                !resolver.isMapped(name);
+        boolean recording = cacheable && statisticsEnabled;
+        long start = recording ? System.nanoTime() : 0;
+
+        PropertyDescriptor descriptor = getPropertyDescriptor(bean, name);
+        if (descriptor != null) {
+            accessor = createPropertyAccessor(bean.getClass(), descriptor);
+            if (cacheable) {
+                cachePropertyAccessor(beanClass, name, accessor);
+            }
+        }
+        if (recording) {
+            accessorsStatistics.recordMiss();
+            accessorsStatistics.recordLoadTime(System.nanoTime() - start);
+        }
+        return (accessor);
+
+    }
+
+    /**
+     * Cache the accessor for a simple property name.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @param accessor The accessor
+     */
+    private void cachePropertyAccessor(Class beanClass, String name, PropertyAccessor accessor) {
+        if (!accessorsCacheEnabled) {
+            return;
+        }
+        FastHashMap accessors = (FastHashMap) accessorsCache.get(beanClass);
+        if (accessors == null) {
+            accessors = new FastHashMap();
+            accessors.setFast(true);
+            accessorsCache.put(beanClass, accessors);
+        }
+        accessors.put(name, accessor);
+    }
+
     /** This just catches and wraps IllegalArgumentException. */
-    private Object invokeMethod(
+    Object invokeMethod(
                         Method method, 
                         Object bean, 
                         Object[] values) 
@@ -2165,6 +3839,8 @@ public class PropertyUtilsBean {
                 "- this should have been checked before reaching this method");
         }
 
+        PerformanceListener listener = PerformanceMonitor.getListener();
+        long start = (listener == null) ? 0 : System.nanoTime();
         try {
             
             return method.invoke(bean, values);
@@ -2246,6 +3922,70 @@ public class PropertyUtilsBean {
             }
             throw e;
             
+        } finally {
+            if (listener != null) {
+                PerformanceMonitor.invoked(listener, method, start);
+            }
+        }
+    }
+
+    /**
+     * A cached {@link PropertyPath} and its expression.
+     */
+    private static final class PathEntry {
+        private final String expression;
+        private final PropertyPath path;
+
+        PathEntry(String expression, PropertyPath path) {
+            this.expression = expression;
+            this.path = path;
+        }
+    }
+
+    /**
+     * The statistics of one of the caches keyed by bean class, which
+     * reads the size and eviction count from the cache itself (the cache
+     * instances are replaced by {@link PropertyUtilsBean#setMaxCacheSize(int, int)}).
+     */
+    private final class IntrospectionCacheStatistics extends CacheStatistics {
+
+        /** Which cache: 0 for descriptors, 1 for mapped descriptors, 2 for accessors */
+        private final int cacheId;
+
+        IntrospectionCacheStatistics(String name, int cacheId) {
+            super(name);
+            this.cacheId = cacheId;
+        }
+
+        private IntrospectionCache getCache() {
+            switch (cacheId) {
+                case 0:
+                    return descriptorsCache;
+                case 1:
+                    return mappedDescriptorsCache;
+                default:
+                    return accessorsCache;
+            }
+        }
+
+        public int getSize() {
+            return getCache().size();
+        }
+
+        long getTotalEvictionCount() {
+            IntrospectionCache cache = getCache();
+            if (cache instanceof BoundedIntrospectionCache) {
+                return ((BoundedIntrospectionCache) cache).getEvictionCount();
+            }
+            return 0;
+        }
+
+        public boolean isEnabled() {
+            return isStatisticsEnabled();
+        }
+
+        public void setEnabled(boolean enabled) {
+            setStatisticsEnabled(enabled);
         }
     }
 }
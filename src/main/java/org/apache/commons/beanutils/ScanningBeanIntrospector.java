@@ -0,0 +1,445 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>A {@link BeanIntrospector} which finds the properties of a class by
+ * scanning its public methods for getters and setters, rather than with
+ * <code>java.beans.Introspector</code>.</p>
+ *
+ * <p>The methods are matched with the same naming patterns as the
+ * <code>Introspector</code> uses:</p>
+ * <ul>
+ *   <li><code>PropertyType getFoo()</code> or <code>boolean isFoo()</code>
+ *       and <code>void setFoo(PropertyType)</code> for simple
+ *       properties</li>
+ *   <li><code>ElementType getFoo(int)</code> and
+ *       <code>void setFoo(int, ElementType)</code> for indexed
+ *       properties</li>
+ * </ul>
+ *
+ * <p>and the resulting descriptors are sorted by name, so for ordinary
+ * beans they are the same as the <code>Introspector</code>'s. The
+ * differences are that explicit <code>BeanInfo</code> classes are ignored,
+ * that no method, bean or event set descriptors are created and that no
+ * global lock is held. Accessor methods which are only inherited from
+ * interfaces (such as the methods of an interface's superinterfaces)
+ * are included, while the <code>Introspector</code> leaves them out.
+ * Beans which mix indexed and non-indexed accessors of inconsistent
+ * types may be described differently.</p>
+ *
+ * <p>A single property which has a getter method can also be resolved on
+ * its own with {@link #getPropertyDescriptor(Class, String)}, by looking
+ * up just its accessor methods.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class ScanningBeanIntrospector implements BeanIntrospector {
+
+    private static final Class[] EMPTY_CLASS_PARAMETERS = new Class[0];
+    private static final Class[] INT_CLASS_PARAMETER = new Class[] {Integer.TYPE};
+
+    /**
+     * Return the descriptors of all the properties of the specified
+     * class.
+     *
+     * @param beanClass The bean class
+     * @return The property descriptors, sorted by name
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    public PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+            throws IntrospectionException {
+
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+
+        // Group the accessor methods by property name
+        Map properties = new TreeMap();
+        Method[] methods = beanClass.getMethods();
+        for (int i = 0; i < methods.length; i++) {
+            Method method = methods[i];
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String methodName = method.getName();
+            Class[] parameterTypes = method.getParameterTypes();
+            Class returnType = method.getReturnType();
+            if (methodName.startsWith("get") && methodName.length() > 3) {
+                if (returnType == Void.TYPE) {
+                    continue;
+                }
+                if (parameterTypes.length == 0) {
+                    getAccessors(properties, methodName.substring(3)).addRead(method);
+                } else if (parameterTypes.length == 1 && parameterTypes[0] == Integer.TYPE) {
+                    getAccessors(properties, methodName.substring(3)).addIndexedRead(method);
+                }
+            } else if (methodName.startsWith("is") && methodName.length() > 2) {
+                if (parameterTypes.length == 0 && returnType == Boolean.TYPE) {
+                    getAccessors(properties, methodName.substring(2)).is = method;
+                }
+            } else if (methodName.startsWith("set") && methodName.length() > 3) {
+                if (returnType != Void.TYPE) {
+                    continue;
+                }
+                if (parameterTypes.length == 1) {
+                    getAccessors(properties, methodName.substring(3)).writes.add(method);
+                } else if (parameterTypes.length == 2 && parameterTypes[0] == Integer.TYPE) {
+                    getAccessors(properties, methodName.substring(3)).indexedWrites.add(method);
+                }
+            }
+        }
+
+        // Create a descriptor for each property
+        List descriptors = new ArrayList(properties.size());
+        Iterator entries = properties.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry entry = (Map.Entry) entries.next();
+            PropertyDescriptor descriptor = createDescriptor(beanClass,
+                    (String) entry.getKey(), (Accessors) entry.getValue());
+            if (descriptor != null) {
+                descriptors.add(descriptor);
+            }
+        }
+        return ((PropertyDescriptor[]) descriptors.toArray(new PropertyDescriptor[descriptors.size()]));
+
+    }
+
+    /**
+     * Return the descriptor of the specified property, if it has a getter
+     * (or indexed getter) method, by looking up just its accessor methods.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return The property descriptor, or <code>null</code> if the
+     *  property has no getter method
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    public PropertyDescriptor getPropertyDescriptor(Class beanClass, String name)
+            throws IntrospectionException {
+
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        if (name == null || name.length() == 0) {
+            return (null);
+        }
+
+        // The method names are usually the capitalized property name,
+        // but for names like "xFoo" the Introspector expects "getxFoo()"
+        String capitalized = name.substring(0, 1).toUpperCase() + name.substring(1);
+        String suffix = null;
+        if (name.equals(Introspector.decapitalize(capitalized))) {
+            suffix = capitalized;
+        } else if (name.equals(Introspector.decapitalize(name))) {
+            suffix = name;
+        } else {
+            return (null);
+        }
+
+        Accessors accessors = new Accessors();
+        Method read = getMethod(beanClass, "get" + suffix, EMPTY_CLASS_PARAMETERS);
+        if (read != null && read.getReturnType() != Void.TYPE) {
+            accessors.addRead(read);
+        }
+        Method is = getMethod(beanClass, "is" + suffix, EMPTY_CLASS_PARAMETERS);
+        if (is != null && is.getReturnType() == Boolean.TYPE) {
+            accessors.is = is;
+        }
+        Method indexedRead = getMethod(beanClass, "get" + suffix, INT_CLASS_PARAMETER);
+        if (indexedRead != null && indexedRead.getReturnType() != Void.TYPE) {
+            accessors.addIndexedRead(indexedRead);
+        }
+        Method readMethod = accessors.getReadMethod();
+        if (readMethod == null && accessors.indexedRead == null) {
+            return (null);
+        }
+
+        // Look up the setters which createDescriptor() could choose
+        String writeName = "set" + suffix;
+        if (accessors.indexedRead != null) {
+            addWrite(accessors.indexedWrites, beanClass, writeName,
+                    new Class[] {Integer.TYPE, accessors.indexedRead.getReturnType()});
+        } else if (readMethod.getReturnType().isArray()) {
+            addWrite(accessors.indexedWrites, beanClass, writeName,
+                    new Class[] {Integer.TYPE, readMethod.getReturnType().getComponentType()});
+        }
+        if (readMethod != null) {
+            addWrite(accessors.writes, beanClass, writeName,
+                    new Class[] {readMethod.getReturnType()});
+        } else {
+            addWrite(accessors.writes, beanClass, writeName,
+                    new Class[] {Array.newInstance(accessors.getIndexedType(), 0).getClass()});
+        }
+        return (createDescriptor(beanClass, name, accessors));
+
+    }
+
+    /**
+     * Create the descriptor of a property from its candidate accessor
+     * methods.
+     *
+     * @param beanClass The bean class
+     * @param name The property name
+     * @param accessors The candidate accessor methods
+     * @return The property descriptor, or <code>null</code> if the
+     *  methods don't describe a property
+     */
+    private PropertyDescriptor createDescriptor(Class beanClass, String name,
+            Accessors accessors) {
+
+        Method read = accessors.getReadMethod();
+        Class indexedType = accessors.getIndexedType();
+
+        // A property is only indexed if any plain getter returns an array
+        // of the indexed type, as the Introspector decides
+        Class arrayType = null;
+        if (indexedType != null) {
+            arrayType = Array.newInstance(indexedType, 0).getClass();
+            if (read != null && read.getReturnType() != arrayType) {
+                indexedType = null;
+            }
+        }
+
+        try {
+            if (indexedType == null) {
+                Class type = (read != null) ? read.getReturnType() : null;
+                Method write = findWrite(accessors.writes, type);
+                if (read == null && write == null) {
+                    return (null);
+                }
+                return (new PropertyDescriptor(name,
+                        getAccessibleMethod(beanClass, read),
+                        getAccessibleMethod(beanClass, write)));
+            }
+
+            Method write = findWrite(accessors.writes, arrayType);
+            Method indexedWrite = null;
+            for (int i = 0; i < accessors.indexedWrites.size(); i++) {
+                Method method = (Method) accessors.indexedWrites.get(i);
+                if (method.getParameterTypes()[1] == indexedType) {
+                    indexedWrite = method;
+                    break;
+                }
+            }
+            return (new IndexedPropertyDescriptor(name,
+                    getAccessibleMethod(beanClass, read),
+                    getAccessibleMethod(beanClass, write),
+                    getAccessibleMethod(beanClass, accessors.indexedRead),
+                    getAccessibleMethod(beanClass, indexedWrite)));
+        } catch (IntrospectionException e) {
+            return (null);
+        }
+
+    }
+
+    /**
+     * Return the version of a method declared by a public class or
+     * interface, as the Introspector does, if the method is declared by
+     * a class which isn't public.
+     *
+     * @param beanClass The bean class
+     * @param method The method, or <code>null</code>
+     * @return The accessible method, or the method itself if there is none
+     */
+    static Method getAccessibleMethod(Class beanClass, Method method) {
+        if (method == null || Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return (method);
+        }
+        Method accessible = MethodUtils.getAccessibleMethod(beanClass, method);
+        return (accessible != null ? accessible : method);
+    }
+
+    /**
+     * Return the accessors of the property with the specified method
+     * name suffix, creating them if necessary.
+     *
+     * @param properties The accessors, keyed by property name
+     * @param suffix The method name without its prefix
+     * @return The property's accessors
+     */
+    private static Accessors getAccessors(Map properties, String suffix) {
+        String name = Introspector.decapitalize(suffix);
+        Accessors accessors = (Accessors) properties.get(name);
+        if (accessors == null) {
+            accessors = new Accessors();
+            properties.put(name, accessors);
+        }
+        return (accessors);
+    }
+
+    /**
+     * Return the setter which takes the specified type, or if the type is
+     * <code>null</code> the one whose parameter type has the first name
+     * (so that the choice doesn't depend on the order of the methods).
+     *
+     * @param writes The candidate setter methods
+     * @param type The property type, or <code>null</code>
+     * @return The setter method, or <code>null</code>
+     */
+    private static Method findWrite(List writes, Class type) {
+        Method write = null;
+        for (int i = 0; i < writes.size(); i++) {
+            Method method = (Method) writes.get(i);
+            Class parameterType = method.getParameterTypes()[0];
+            if (type != null) {
+                if (parameterType == type) {
+                    return (method);
+                }
+            } else if (write == null || parameterType.getName().compareTo(
+                    write.getParameterTypes()[0].getName()) < 0) {
+                write = method;
+            }
+        }
+        return (write);
+    }
+
+    /**
+     * Add the specified setter method to a list, if it exists.
+     *
+     * @param writes The list of setter methods
+     * @param beanClass The bean class
+     * @param methodName The method name
+     * @param parameterTypes The parameter types
+     */
+    private static void addWrite(List writes, Class beanClass, String methodName,
+            Class[] parameterTypes) {
+        Method write = getMethod(beanClass, methodName, parameterTypes);
+        if (write != null && write.getReturnType() == Void.TYPE) {
+            writes.add(write);
+        }
+    }
+
+    /**
+     * Return the public, non-static method with the specified signature.
+     *
+     * @param beanClass The bean class
+     * @param methodName The method name
+     * @param parameterTypes The parameter types
+     * @return The method, or <code>null</code> if there is none
+     */
+    private static Method getMethod(Class beanClass, String methodName, Class[] parameterTypes) {
+        try {
+            Method method = beanClass.getMethod(methodName, parameterTypes);
+            return (Modifier.isStatic(method.getModifiers()) ? null : method);
+        } catch (NoSuchMethodException e) {
+            return (null);
+        } catch (SecurityException e) {
+            return (null);
+        }
+    }
+
+    /**
+     * The candidate accessor methods of a property.
+     */
+    private static class Accessors {
+
+        /** The getter, with the most specific return type */
+        private Method read;
+
+        /** The boolean "is" getter */
+        private Method is;
+
+        /** The indexed getter, with the most specific return type */
+        private Method indexedRead;
+
+        /** The setters */
+        private final List writes = new ArrayList(1);
+
+        /** The indexed setters */
+        private final List indexedWrites = new ArrayList(1);
+
+        void addRead(Method method) {
+            read = mostSpecific(read, method);
+        }
+
+        void addIndexedRead(Method method) {
+            indexedRead = mostSpecific(indexedRead, method);
+        }
+
+        /**
+         * Return the getter, preferring an "is" method as the
+         * Introspector does.
+         */
+        Method getReadMethod() {
+            return (is != null ? is : read);
+        }
+
+        /**
+         * Return the element type of an indexed property, or
+         * <code>null</code> if the property is not indexed.
+         */
+        Class getIndexedType() {
+            if (indexedRead != null) {
+                return (indexedRead.getReturnType());
+            }
+            if (indexedWrites.isEmpty()) {
+                return (null);
+            }
+            Method read = getReadMethod();
+            if (read == null) {
+                // Choose independently of the order of the methods
+                Class type = null;
+                for (int i = 0; i < indexedWrites.size(); i++) {
+                    Class parameterType = ((Method) indexedWrites.get(i)).getParameterTypes()[1];
+                    if (type == null || parameterType.getName().compareTo(type.getName()) < 0) {
+                        type = parameterType;
+                    }
+                }
+                return (type);
+            }
+            // Indexed setters only make the property indexed if they
+            // match the getter's array type
+            Class componentType = read.getReturnType().getComponentType();
+            for (int i = 0; i < indexedWrites.size(); i++) {
+                Method method = (Method) indexedWrites.get(i);
+                if (method.getParameterTypes()[1] == componentType) {
+                    return (componentType);
+                }
+            }
+            return (null);
+        }
+
+        /**
+         * Return whichever method has the more specific return type, to
+         * ignore the bridge methods of covariant overrides.
+         */
+        private static Method mostSpecific(Method current, Method method) {
+            if (current == null ||
+                    current.getReturnType().isAssignableFrom(method.getReturnType())) {
+                return (method);
+            }
+            return (current);
+        }
+    }
+
+}
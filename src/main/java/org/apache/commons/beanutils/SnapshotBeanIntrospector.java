@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * <p>A {@link BeanIntrospector} which describes classes from a snapshot
+ * of their properties generated at build time, so that they don't have
+ * to be introspected when an application starts.</p>
+ *
+ * <p>A snapshot lists the property names, types and accessor method
+ * names of a set of classes. It is created with
+ * {@link #writeSnapshot(Writer, Class[], BeanIntrospector)}, or by running
+ * this class from the build, for example:</p>
+ *
+ * <pre>
+ *   java -cp ... org.apache.commons.beanutils.SnapshotBeanIntrospector \
+ *       target/classes/META-INF/beanutils-snapshot.txt com.acme.Order com.acme.Item
+ * </pre>
+ *
+ * <p>and enabled with:</p>
+ *
+ * <pre>
+ *   propertyUtils.setBeanIntrospector(new SnapshotBeanIntrospector());
+ * </pre>
+ *
+ * <p>The snapshots are read the first time a class is introspected, from
+ * all the {@link #DEFAULT_RESOURCE} resources visible to the context class
+ * loader, or from the URLs passed to the constructor. Each class is
+ * checked against its snapshot before it is used: if it has a different
+ * number of public methods or one of the accessor methods no longer
+ * exists, the snapshot of the class is stale and the class is described
+ * by the fallback introspector instead, as are classes which aren't in
+ * any snapshot.</p>
+ *
+ * <p>The descriptors only record the accessor methods, so any other
+ * attributes set by explicit <code>BeanInfo</code> classes (such as
+ * property editors) are lost.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class SnapshotBeanIntrospector implements BeanIntrospector {
+
+    /** The name of the snapshot resources read by the default constructor */
+    public static final String DEFAULT_RESOURCE = "META-INF/beanutils-snapshot.txt";
+
+    private static final String CLASS = "class";
+    private static final String PROPERTY = "property";
+    private static final String INDEXED = "indexed";
+    private static final String NONE = "-";
+
+    private static final Class[] EMPTY_CLASS_PARAMETERS = new Class[0];
+    private static final Class[] INT_CLASS_PARAMETER = new Class[] {Integer.TYPE};
+
+    /** The primitive types, keyed by name */
+    private static final Map PRIMITIVE_TYPES = new HashMap();
+    static {
+        PRIMITIVE_TYPES.put("boolean", Boolean.TYPE);
+        PRIMITIVE_TYPES.put("byte", Byte.TYPE);
+        PRIMITIVE_TYPES.put("char", Character.TYPE);
+        PRIMITIVE_TYPES.put("double", Double.TYPE);
+        PRIMITIVE_TYPES.put("float", Float.TYPE);
+        PRIMITIVE_TYPES.put("int", Integer.TYPE);
+        PRIMITIVE_TYPES.put("long", Long.TYPE);
+        PRIMITIVE_TYPES.put("short", Short.TYPE);
+    }
+
+    private final Log log = LogFactory.getLog(SnapshotBeanIntrospector.class);
+
+    /** The snapshot URLs, or <code>null</code> to use the default resources */
+    private final URL[] snapshots;
+
+    /** The introspector for classes not in the snapshots */
+    private final BeanIntrospector fallback;
+
+    /**
+     * The snapshot lines (String[]) of each class, keyed by class name.
+     * Created the first time a class is introspected.
+     */
+    private volatile Map classes;
+
+    /**
+     * Create an introspector which reads the {@link #DEFAULT_RESOURCE}
+     * snapshots, and uses a {@link DefaultBeanIntrospector} for classes
+     * not in a snapshot.
+     */
+    public SnapshotBeanIntrospector() {
+        this(null, null);
+    }
+
+    /**
+     * Create an introspector which reads the specified snapshots.
+     *
+     * @param snapshots The snapshot URLs, or <code>null</code> to read the
+     *  {@link #DEFAULT_RESOURCE} resources
+     * @param fallback The introspector for classes not in a snapshot, or
+     *  <code>null</code> for a {@link DefaultBeanIntrospector}
+     */
+    public SnapshotBeanIntrospector(URL[] snapshots, BeanIntrospector fallback) {
+        this.snapshots = snapshots;
+        this.fallback = (fallback != null) ? fallback : new DefaultBeanIntrospector();
+    }
+
+    /**
+     * Return the fallback introspector.
+     *
+     * @return The introspector for classes not in a snapshot
+     */
+    public BeanIntrospector getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Indicate whether the specified class has a current snapshot.
+     *
+     * @param beanClass The bean class
+     * @return <code>true</code> if the class is described by a snapshot
+     */
+    public boolean isSnapshot(Class beanClass) {
+        return (createDescriptors(beanClass) != null);
+    }
+
+    /**
+     * Return the descriptors of all the properties of the specified
+     * class, from its snapshot if it has a current one.
+     *
+     * @param beanClass The bean class
+     * @return The property descriptors
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    public PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+            throws IntrospectionException {
+        PropertyDescriptor[] descriptors = createDescriptors(beanClass);
+        if (descriptors == null) {
+            return (fallback.getPropertyDescriptors(beanClass));
+        }
+        return (descriptors);
+    }
+
+    /**
+     * Return the descriptor of a single property of a class which isn't
+     * in a snapshot, if the fallback introspector can resolve it on its
+     * own. Returns <code>null</code> for classes which are in a snapshot,
+     * since their descriptors can be created together just as cheaply.
+     *
+     * @param beanClass The bean class
+     * @param name The simple property name
+     * @return The property descriptor, or <code>null</code>
+     * @exception IntrospectionException if the class can't be introspected
+     */
+    public PropertyDescriptor getPropertyDescriptor(Class beanClass, String name)
+            throws IntrospectionException {
+        if (getSnapshot(beanClass) != null) {
+            return (null);
+        }
+        return (fallback.getPropertyDescriptor(beanClass, name));
+    }
+
+    /**
+     * Create the descriptors of a class from its snapshot.
+     *
+     * @param beanClass The bean class
+     * @return The property descriptors, or <code>null</code> if the class
+     *  has no snapshot or it is stale
+     */
+    private PropertyDescriptor[] createDescriptors(Class beanClass) {
+
+        String[] lines = getSnapshot(beanClass);
+        if (lines == null) {
+            return (null);
+        }
+        try {
+            StringTokenizer tokens = new StringTokenizer(lines[0]);
+            tokens.nextToken();
+            tokens.nextToken();
+            int methodCount = Integer.parseInt(tokens.nextToken());
+            if (beanClass.getMethods().length != methodCount) {
+                log.debug("Stale snapshot of " + beanClass + ", public methods have changed");
+                return (null);
+            }
+
+            PropertyDescriptor[] descriptors = new PropertyDescriptor[lines.length - 1];
+            for (int i = 1; i < lines.length; i++) {
+                descriptors[i - 1] = createDescriptor(beanClass, lines[i]);
+                if (descriptors[i - 1] == null) {
+                    log.debug("Stale snapshot of " + beanClass + " at '" + lines[i] + "'");
+                    return (null);
+                }
+            }
+            return (descriptors);
+        } catch (Exception e) {
+            log.debug("Invalid snapshot of " + beanClass, e);
+            return (null);
+        }
+
+    }
+
+    /**
+     * Create the descriptor of a property from its snapshot line.
+     *
+     * @param beanClass The bean class
+     * @param line The snapshot of the property
+     * @return The property descriptor, or <code>null</code> if the
+     *  accessor methods don't match
+     * @exception Exception if the snapshot is invalid
+     */
+    private PropertyDescriptor createDescriptor(Class beanClass, String line)
+            throws Exception {
+
+        StringTokenizer tokens = new StringTokenizer(line);
+        String kind = tokens.nextToken();
+        String name = tokens.nextToken();
+        Class type = toClass(beanClass, tokens.nextToken());
+        String readName = tokens.nextToken();
+        String writeName = tokens.nextToken();
+
+        if (PROPERTY.equals(kind)) {
+            Method read = getMethod(beanClass, readName, EMPTY_CLASS_PARAMETERS, type);
+            Method write = getMethod(beanClass, writeName, new Class[] {type}, Void.TYPE);
+            if ((read == null && !NONE.equals(readName)) ||
+                    (write == null && !NONE.equals(writeName))) {
+                return (null);
+            }
+            return (new PropertyDescriptor(name, read, write));
+        }
+        if (!INDEXED.equals(kind)) {
+            throw new IllegalArgumentException("Unknown property kind '" + kind + "'");
+        }
+
+        Class indexedType = toClass(beanClass, tokens.nextToken());
+        String indexedReadName = tokens.nextToken();
+        String indexedWriteName = tokens.nextToken();
+        Method read = (type == null) ? null :
+                getMethod(beanClass, readName, EMPTY_CLASS_PARAMETERS, type);
+        Method write = (type == null) ? null :
+                getMethod(beanClass, writeName, new Class[] {type}, Void.TYPE);
+        Method indexedRead = getMethod(beanClass, indexedReadName,
+                INT_CLASS_PARAMETER, indexedType);
+        Method indexedWrite = getMethod(beanClass, indexedWriteName,
+                new Class[] {Integer.TYPE, indexedType}, Void.TYPE);
+        if ((read == null && !NONE.equals(readName)) ||
+                (write == null && !NONE.equals(writeName)) ||
+                (indexedRead == null && !NONE.equals(indexedReadName)) ||
+                (indexedWrite == null && !NONE.equals(indexedWriteName))) {
+            return (null);
+        }
+        return (new IndexedPropertyDescriptor(name, read, write, indexedRead, indexedWrite));
+
+    }
+
+    /**
+     * Return the snapshot lines of a class, reading the snapshots the
+     * first time this is called.
+     *
+     * @param beanClass The bean class
+     * @return The lines, or <code>null</code> if the class isn't in a snapshot
+     */
+    private String[] getSnapshot(Class beanClass) {
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        Map snapshot = classes;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = classes;
+                if (snapshot == null) {
+                    snapshot = readSnapshots();
+                    classes = snapshot;
+                }
+            }
+        }
+        return ((String[]) snapshot.get(beanClass.getName()));
+    }
+
+    /**
+     * Read all the snapshots.
+     *
+     * @return The snapshot lines (String[]) of each class, keyed by class name
+     */
+    private Map readSnapshots() {
+        Map snapshot = new HashMap();
+        List urls = new ArrayList();
+        if (snapshots != null) {
+            for (int i = 0; i < snapshots.length; i++) {
+                urls.add(snapshots[i]);
+            }
+        } else {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = SnapshotBeanIntrospector.class.getClassLoader();
+            }
+            try {
+                Enumeration resources = (classLoader != null)
+                        ? classLoader.getResources(DEFAULT_RESOURCE)
+                        : ClassLoader.getSystemResources(DEFAULT_RESOURCE);
+                while (resources.hasMoreElements()) {
+                    urls.add(resources.nextElement());
+                }
+            } catch (IOException e) {
+                log.warn("Error finding snapshots " + DEFAULT_RESOURCE, e);
+            }
+        }
+        for (int i = 0; i < urls.size(); i++) {
+            URL url = (URL) urls.get(i);
+            try {
+                readSnapshot(url, snapshot);
+            } catch (IOException e) {
+                log.warn("Error reading snapshot " + url, e);
+            }
+        }
+        return (snapshot);
+    }
+
+    /**
+     * Read the lines of each class in a snapshot.
+     *
+     * @param url The snapshot URL
+     * @param snapshot The snapshot lines (String[]) of each class, keyed
+     *  by class name
+     * @exception IOException if the snapshot can't be read
+     */
+    private void readSnapshot(URL url, Map snapshot) throws IOException {
+        InputStream in = url.openStream();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            String className = null;
+            List lines = new ArrayList();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith(CLASS + " ")) {
+                    if (className != null) {
+                        snapshot.put(className, lines.toArray(new String[lines.size()]));
+                    }
+                    StringTokenizer tokens = new StringTokenizer(line);
+                    tokens.nextToken();
+                    className = tokens.nextToken();
+                    lines.clear();
+                }
+                if (className != null) {
+                    lines.add(line);
+                }
+            }
+            if (className != null) {
+                snapshot.put(className, lines.toArray(new String[lines.size()]));
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Return the public method with the specified signature and return
+     * type.
+     *
+     * @param beanClass The bean class
+     * @param methodName The method name, or {@link #NONE}
+     * @param parameterTypes The parameter types
+     * @param returnType The return type
+     * @return The method, or <code>null</code> if there is no such method
+     */
+    private static Method getMethod(Class beanClass, String methodName,
+            Class[] parameterTypes, Class returnType) {
+        if (NONE.equals(methodName)) {
+            return (null);
+        }
+        try {
+            Method method = beanClass.getMethod(methodName, parameterTypes);
+            if (method.getReturnType() != returnType) {
+                return (null);
+            }
+            return (ScanningBeanIntrospector.getAccessibleMethod(beanClass, method));
+        } catch (NoSuchMethodException e) {
+            return (null);
+        }
+    }
+
+    /**
+     * Return the class with the specified name, as seen by a bean class.
+     *
+     * @param beanClass The bean class
+     * @param name The class name, or {@link #NONE}
+     * @return The class, or <code>null</code> for {@link #NONE}
+     * @exception ClassNotFoundException if there is no such class
+     */
+    private static Class toClass(Class beanClass, String name) throws ClassNotFoundException {
+        if (NONE.equals(name)) {
+            return (null);
+        }
+        Class type = (Class) PRIMITIVE_TYPES.get(name);
+        if (type != null) {
+            return (type);
+        }
+        return (Class.forName(name, false, beanClass.getClassLoader()));
+    }
+
+    /**
+     * Return the snapshot name of a class.
+     *
+     * @param type The class, or <code>null</code>
+     * @return The class name, or {@link #NONE}
+     */
+    private static String toName(Class type) {
+        return (type != null ? type.getName() : NONE);
+    }
+
+    /**
+     * Return the snapshot name of a method.
+     *
+     * @param method The method, or <code>null</code>
+     * @return The method name, or {@link #NONE}
+     */
+    private static String toName(Method method) {
+        return (method != null ? method.getName() : NONE);
+    }
+
+    // --------------------------------------------------------- Generator
+
+    /**
+     * Write a snapshot of the properties of the specified classes.
+     *
+     * @param out The writer for the snapshot
+     * @param beanClasses The bean classes
+     * @param introspector The introspector used to describe the classes,
+     *  which should be the same as the fallback at runtime
+     * @exception IOException if the snapshot can't be written
+     * @exception IntrospectionException if a class can't be introspected
+     */
+    public static void writeSnapshot(Writer out, Class[] beanClasses,
+            BeanIntrospector introspector)
+            throws IOException, IntrospectionException {
+
+        PrintWriter writer = new PrintWriter(out);
+        writer.println("# Commons BeanUtils introspection snapshot");
+        writer.println("# " + CLASS + " <name> <public method count>");
+        writer.println("# " + PROPERTY + " <name> <type> <read> <write>");
+        writer.println("# " + INDEXED + " <name> <type> <read> <write>"
+                + " <indexed type> <indexed read> <indexed write>");
+        for (int i = 0; i < beanClasses.length; i++) {
+            Class beanClass = beanClasses[i];
+            PropertyDescriptor[] descriptors = introspector.getPropertyDescriptors(beanClass);
+            writer.println(CLASS + " " + beanClass.getName() + " " + beanClass.getMethods().length);
+            for (int j = 0; j < descriptors.length; j++) {
+                PropertyDescriptor descriptor = descriptors[j];
+                StringBuffer line = new StringBuffer();
+                if (descriptor instanceof IndexedPropertyDescriptor) {
+                    line.append(INDEXED);
+                } else {
+                    line.append(PROPERTY);
+                }
+                line.append(' ').append(descriptor.getName());
+                line.append(' ').append(toName(descriptor.getPropertyType()));
+                line.append(' ').append(toName(descriptor.getReadMethod()));
+                line.append(' ').append(toName(descriptor.getWriteMethod()));
+                if (descriptor instanceof IndexedPropertyDescriptor) {
+                    IndexedPropertyDescriptor indexed = (IndexedPropertyDescriptor) descriptor;
+                    line.append(' ').append(toName(indexed.getIndexedPropertyType()));
+                    line.append(' ').append(toName(indexed.getIndexedReadMethod()));
+                    line.append(' ').append(toName(indexed.getIndexedWriteMethod()));
+                }
+                writer.println(line);
+            }
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Error writing snapshot");
+        }
+
+    }
+
+    /**
+     * Write a snapshot of the specified classes, described by a
+     * {@link DefaultBeanIntrospector}, to a file.
+     *
+     * @param args The snapshot file name followed by the class names
+     * @exception Exception if the snapshot can't be written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: SnapshotBeanIntrospector <snapshot file> <class name>...");
+            System.exit(1);
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = SnapshotBeanIntrospector.class.getClassLoader();
+        }
+        Class[] beanClasses = new Class[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            beanClasses[i - 1] = Class.forName(args[i], false, classLoader);
+        }
+        Writer out = new OutputStreamWriter(new FileOutputStream(args[0]), "UTF-8");
+        try {
+            writeSnapshot(out, beanClasses, new DefaultBeanIntrospector());
+        } finally {
+            out.close();
+        }
+    }
+
+}
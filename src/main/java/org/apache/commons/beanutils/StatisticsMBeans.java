@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * <p>Registers {@link CacheStatistics} as JMX MBeans.</p>
+ *
+ * <p>The statistics are plain Java objects which can be used without JMX;
+ * this class is the only one which refers to <code>javax.management</code>,
+ * so it needs Java 5 or later (or a JMX implementation) but the rest of
+ * BeanUtils doesn't. Each cache is registered under the name
+ * <code><i>domain</i>:type=Cache,name=<i>cache name</i></code>, with the
+ * attributes and operations of {@link CacheStatisticsMBean}.</p>
+ *
+ * <p>For example, to monitor the caches used by the static utility
+ * methods through the platform MBean server:</p>
+ * <pre>
+ * StatisticsMBeans.registerDefaults(
+ *         ManagementFactory.getPlatformMBeanServer(), "org.apache.commons.beanutils");
+ * </pre>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class StatisticsMBeans {
+
+    /**
+     * Register the statistics of the caches of the current
+     * {@link BeanUtilsBean} instance (i.e. those used by the static
+     * utility classes) and of {@link MethodUtils}, and enable them.
+     *
+     * @param server The MBean server
+     * @param domain The domain of the MBean names
+     * @return The names the MBeans were registered under
+     * @exception JMException if an MBean can't be registered
+     */
+    public static ObjectName[] registerDefaults(MBeanServer server, String domain)
+            throws JMException {
+
+        BeanUtilsBean beanUtils = BeanUtilsBean.getInstance();
+        PropertyUtilsBean propertyUtils = beanUtils.getPropertyUtils();
+        ConvertUtilsBean convertUtils = beanUtils.getConvertUtils();
+        propertyUtils.setStatisticsEnabled(true);
+        MethodUtils.setStatisticsEnabled(true);
+        convertUtils.setStatisticsEnabled(true);
+
+        CacheStatistics[] properties = propertyUtils.getCacheStatistics();
+        CacheStatistics[] methods = MethodUtils.getCacheStatistics();
+        CacheStatistics[] converters = convertUtils.getCacheStatistics();
+        CacheStatistics[] statistics =
+            new CacheStatistics[properties.length + methods.length + converters.length];
+        System.arraycopy(properties, 0, statistics, 0, properties.length);
+        System.arraycopy(methods, 0, statistics, properties.length, methods.length);
+        System.arraycopy(converters, 0, statistics, properties.length + methods.length,
+                converters.length);
+        return (register(server, domain, statistics));
+
+    }
+
+    /**
+     * Register cache statistics as MBeans. If one of them can't be
+     * registered those already registered are unregistered again.
+     *
+     * @param server The MBean server
+     * @param domain The domain of the MBean names
+     * @param statistics The statistics to register
+     * @return The names the MBeans were registered under
+     * @exception JMException if an MBean can't be registered
+     */
+    public static ObjectName[] register(MBeanServer server, String domain,
+            CacheStatistics[] statistics) throws JMException {
+
+        ObjectName[] names = new ObjectName[statistics.length];
+        int registered = 0;
+        try {
+            for (; registered < statistics.length; registered++) {
+                ObjectName name = getObjectName(domain, statistics[registered]);
+                server.registerMBean(
+                        new StandardMBean(statistics[registered], CacheStatisticsMBean.class),
+                        name);
+                names[registered] = name;
+            }
+        } catch (JMException e) {
+            ObjectName[] partial = new ObjectName[registered];
+            System.arraycopy(names, 0, partial, 0, registered);
+            unregister(server, partial);
+            throw e;
+        }
+        return (names);
+
+    }
+
+    /**
+     * Unregister MBeans, ignoring those which are no longer registered.
+     *
+     * @param server The MBean server
+     * @param names The names of the MBeans
+     * @exception JMException if an MBean can't be unregistered
+     */
+    public static void unregister(MBeanServer server, ObjectName[] names)
+            throws JMException {
+
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null && server.isRegistered(names[i])) {
+                server.unregisterMBean(names[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Return the MBean name of cache statistics.
+     *
+     * @param domain The domain of the MBean name
+     * @param statistics The cache statistics
+     * @return The MBean name
+     * @exception JMException if the name is invalid
+     */
+    public static ObjectName getObjectName(String domain, CacheStatistics statistics)
+            throws JMException {
+
+        return (new ObjectName(domain + ":type=Cache,name=" + statistics.getName()));
+
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.beanutils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Default {@link IntrospectionCache} implementation, a hash table
+ * which holds its bean class keys weakly.</p>
+ *
+ * <p>The cache is read far more often than it is written, so lookups
+ * take no lock at all: the table and the entry chains are never modified
+ * in place once published, and a lookup simply walks whatever table the
+ * volatile <code>table</code> field refers to. Updates are serialized on
+ * the cache and replace the affected chain (or the whole table when it is
+ * resized), which makes them slower than the equivalent
+ * <code>WeakHashMap</code> operations - but they only happen the first
+ * time a class is introspected.</p>
+ *
+ * <p>Classes are compared by identity. Entries for classes which have been
+ * garbage collected are discarded on the next update.</p>
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+public class WeakIntrospectionCache implements IntrospectionCache {
+
+    /** The default initial capacity */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The hash table, replaced rather than modified when resized */
+    private volatile Entry[] table;
+
+    /** The number of entries (including stale ones) */
+    private int count;
+
+    /** Queue of entries whose class has been garbage collected */
+    private final ReferenceQueue queue = new ReferenceQueue();
+
+    /**
+     * Construct an empty cache with the default capacity.
+     */
+    public WeakIntrospectionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct an empty cache with the specified initial capacity.
+     *
+     * @param capacity The initial capacity
+     * @exception IllegalArgumentException if the capacity is negative
+     */
+    public WeakIntrospectionCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        table = new Entry[size];
+    }
+
+    /**
+     * Return the value cached for the specified class.
+     *
+     * @param beanClass The bean class
+     * @return The cached value, or <code>null</code> if there is none
+     */
+    public Object get(Class beanClass) {
+        if (beanClass == null) {
+            return null;
+        }
+        int hash = hash(beanClass);
+        Entry[] tab = table;
+        for (Entry e = tab[hash & (tab.length - 1)]; e != null; e = e.next) {
+            if (e.hash == hash && e.get() == beanClass) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache a value for the specified class, replacing any existing value.
+     *
+     * @param beanClass The bean class
+     * @param value The value to cache
+     * @exception IllegalArgumentException if the class or value
+     *  is <code>null</code>
+     */
+    public synchronized void put(Class beanClass, Object value) {
+        if (beanClass == null) {
+            throw new IllegalArgumentException("No bean class specified");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("No value specified");
+        }
+        expungeStaleEntries();
+        int hash = hash(beanClass);
+        Entry[] tab = table;
+        int i = hash & (tab.length - 1);
+        Entry head = removeFromChain(tab[i], beanClass, hash);
+        if (head == tab[i]) {
+            count++;
+        }
+        tab[i] = new Entry(beanClass, hash, value, head, queue);
+        if (count > tab.length - (tab.length >> 2)) {
+            resize();
+        } else {
+            table = tab; // publish the new chain
+        }
+    }
+
+    /**
+     * Remove the value cached for the specified class.
+     *
+     * @param beanClass The bean class
+     */
+    public synchronized void remove(Class beanClass) {
+        if (beanClass == null) {
+            return;
+        }
+        expungeStaleEntries();
+        int hash = hash(beanClass);
+        Entry[] tab = table;
+        int i = hash & (tab.length - 1);
+        Entry head = removeFromChain(tab[i], beanClass, hash);
+        if (head != tab[i]) {
+            count--;
+            tab[i] = head;
+            table = tab; // publish the new chain
+        }
+    }
+
+    /**
+     * Remove the values cached for the classes loaded by the specified
+     * ClassLoader or any of its descendants. The remaining entries are
+     * copied to a new table.
+     *
+     * @param classLoader The ClassLoader
+     * @return The classes whose values were removed
+     */
+    public synchronized Class[] clear(ClassLoader classLoader) {
+        expungeStaleEntries();
+        List removed = new ArrayList();
+        Entry[] tab = table;
+        Entry[] newTab = new Entry[tab.length];
+        int live = 0;
+        for (int i = 0; i < tab.length; i++) {
+            for (Entry e = tab[i]; e != null; e = e.next) {
+                Class key = (Class) e.get();
+                if (key == null) {
+                    continue;
+                }
+                if (ClassLoaderUtils.isLoadedBy(key, classLoader)) {
+                    removed.add(key);
+                } else {
+                    newTab[i] = new Entry(key, e.hash, e.value, newTab[i], queue);
+                    live++;
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            count = live;
+            table = newTab;
+        }
+        return (Class[]) removed.toArray(new Class[removed.size()]);
+    }
+
+    /**
+     * Remove all cached values.
+     */
+    public synchronized void clear() {
+        while (queue.poll() != null) {
+            // discard, the whole table is being replaced
+        }
+        table = new Entry[table.length];
+        count = 0;
+    }
+
+    /**
+     * Return the number of cached values, including any for classes
+     * which have been garbage collected but not yet discarded.
+     *
+     * @return The number of entries in the cache
+     */
+    public synchronized int size() {
+        expungeStaleEntries();
+        return count;
+    }
+
+    /**
+     * Return a copy of a chain without the entry for the specified class.
+     *
+     * @param head The first entry in the chain
+     * @param beanClass The class whose entry is to be removed
+     * @param hash The hash of the class
+     * @return The new head of the chain, which is <code>head</code>
+     *  itself if the chain has no entry for the class
+     */
+    private Entry removeFromChain(Entry head, Class beanClass, int hash) {
+        for (Entry e = head; e != null; e = e.next) {
+            if (e.hash == hash && e.get() == beanClass) {
+                return removeEntry(head, e);
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Return a copy of a chain without the specified entry. Entries after
+     * the removed one are shared, those before it are copied so that
+     * concurrent readers always see a consistent chain. Stale entries
+     * found among the copied ones are dropped.
+     *
+     * @param head The first entry in the chain
+     * @param removed The entry to remove
+     * @return The new head of the chain
+     */
+    private Entry removeEntry(Entry head, Entry removed) {
+        Entry result = removed.next;
+        for (Entry e = head; e != removed; e = e.next) {
+            Class key = (Class) e.get();
+            if (key != null) {
+                result = new Entry(key, e.hash, e.value, result, queue);
+            } else {
+                count--;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discard the entries for classes which have been garbage collected.
+     */
+    private void expungeStaleEntries() {
+        Entry[] tab = table;
+        boolean changed = false;
+        Entry stale;
+        while ((stale = (Entry) queue.poll()) != null) {
+            int i = stale.hash & (tab.length - 1);
+            for (Entry e = tab[i]; e != null; e = e.next) {
+                if (e == stale) {
+                    tab[i] = removeEntry(tab[i], stale);
+                    count--;
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (changed) {
+            table = tab; // publish the new chains
+        }
+    }
+
+    /**
+     * Double the size of the table. The new table is fully populated
+     * before it is published.
+     */
+    private void resize() {
+        Entry[] oldTab = table;
+        Entry[] newTab = new Entry[oldTab.length << 1];
+        int live = 0;
+        for (int i = 0; i < oldTab.length; i++) {
+            for (Entry e = oldTab[i]; e != null; e = e.next) {
+                Class key = (Class) e.get();
+                if (key != null) {
+                    int j = e.hash & (newTab.length - 1);
+                    newTab[j] = new Entry(key, e.hash, e.value, newTab[j], queue);
+                    live++;
+                }
+            }
+        }
+        count = live;
+        table = newTab;
+    }
+
+    /**
+     * Return the hash for a class, based on its identity.
+     *
+     * @param beanClass The bean class
+     * @return The spread identity hash
+     */
+    private static int hash(Class beanClass) {
+        int h = System.identityHashCode(beanClass);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A cache entry, which holds its class weakly and its value strongly.
+     */
+    private static final class Entry extends WeakReference {
+        private final int hash;
+        private final Object value;
+        private final Entry next;
+
+        Entry(Class key, int hash, Object value, Entry next, ReferenceQueue queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
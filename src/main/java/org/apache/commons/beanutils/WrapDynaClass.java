@@ -347,6 +347,42 @@ public class WrapDynaClass implements DynaClass {
     }
 
 
+    /**
+     * Remove the cached <code>WrapDynaClass</code> for the specified bean
+     * class, if any.
+     *
+     * @param beanClass The bean class
+     * @since 1.8.4
+     */
+    public static void clear(Class beanClass) {
+
+        getDynaClassesMap().remove(beanClass);
+
+    }
+
+
+    /**
+     * Remove the cached <code>WrapDynaClass</code> instances for the bean
+     * classes loaded by the specified ClassLoader, or any of its
+     * descendants, leaving the others intact. This clears the cache of the
+     * calling thread's context ClassLoader, and discards the cache of the
+     * specified ClassLoader if it has been used as a context ClassLoader.
+     *
+     * @param classLoader The ClassLoader
+     * @since 1.8.4
+     */
+    public static void clear(ClassLoader classLoader) {
+
+        for (Iterator i = getDynaClassesMap().keySet().iterator(); i.hasNext();) {
+            if (ClassLoaderUtils.isLoadedBy((Class) i.next(), classLoader)) {
+                i.remove();
+            }
+        }
+        CLASSLOADER_CACHE.unset(classLoader);
+
+    }
+
+
     /**
      * Create (if necessary) and return a new <code>WrapDynaClass</code>
      * instance for the specified bean class.
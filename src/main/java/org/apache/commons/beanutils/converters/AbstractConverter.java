@@ -23,6 +23,8 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.beanutils.ConversionException;
 import org.apache.commons.beanutils.Converter;
+import org.apache.commons.beanutils.PerformanceListener;
+import org.apache.commons.beanutils.PerformanceMonitor;
 
 /**
  * Base {@link Converter} implementation that provides the structure
@@ -242,6 +244,11 @@ public abstract class AbstractConverter implements Converter {
      * specified for this {@link Converter}.
      */
     protected Object handleError(Class type, Object value, Throwable cause) {
+        PerformanceListener listener = PerformanceMonitor.getListener();
+        if (listener != null) {
+            listener.conversionFailed(type, value, cause, useDefault);
+        }
+
         if (log().isDebugEnabled()) {
             if (cause instanceof ConversionException) {
                 log().debug("    Conversion threw ConversionException: " + cause.getMessage());
@@ -73,6 +73,16 @@ import org.apache.commons.beanutils.ConversionException;
  * The <b>Time Zone</b> to use with the date format can be specified
  * using the <code>setTimeZone()</code> method.
  *
+ * <p>
+ * The date formats are created once, the first time they are needed
+ * after the converter is configured, and each thread then uses its own
+ * copies of them - so a configured converter may be shared by several
+ * threads without creating a <code>DateFormat</code> for every value.
+ * Each thread which has used the converter retains its copies (which are
+ * only JDK objects, so they don't prevent a web application's classes
+ * from being unloaded) until the converter is reconfigured or garbage
+ * collected.
+ *
  * @version $Revision: 640131 $ $Date: 2008-03-23 03:10:31 +0100 (Sun, 23 Mar 2008) $
  * @since 1.8.0
  */
@@ -83,6 +93,27 @@ public abstract class DateTimeConverter extends AbstractConverter {
     private Locale locale;
     private TimeZone timeZone;
     private boolean useLocaleFormat;
+    private boolean adaptivePatternOrder;
+
+    /**
+     * The formats for the patterns (or the single format for the locale),
+     * created once and copied for each thread; <code>null</code> until
+     * they are needed or when the configuration has changed.
+     */
+    private volatile Prototypes prototypes;
+
+    /**
+     * Each thread's copies of the prototype formats, as an array of the
+     * prototype formats they were copied from, the copies, the order in
+     * which to try them and the number of values each has parsed. Only
+     * JDK types are held, see BEANUTILS-291.
+     */
+    private final ThreadLocal threadFormats = new ThreadLocal();
+
+    private static final int PROTOTYPES = 0;
+    private static final int FORMATS = 1;
+    private static final int ORDER = 2;
+    private static final int HITS = 3;
 
 
     // ----------------------------------------------------------- Constructors
@@ -120,6 +151,38 @@ public abstract class DateTimeConverter extends AbstractConverter {
         this.useLocaleFormat = useLocaleFormat;
     }
 
+    /**
+     * Indicate whether the patterns are tried in order of success.
+     *
+     * @return <code>true</code> if the pattern which has parsed the most
+     *  values is tried first, <code>false</code> if the patterns are
+     *  tried in the order they were specified
+     * @since 1.8.4
+     */
+    public boolean isAdaptivePatternOrder() {
+        return adaptivePatternOrder;
+    }
+
+    /**
+     * Set whether to try the patterns in order of success rather than
+     * the order they were specified in.
+     * <p>
+     * When most values match one of several patterns, trying that one
+     * first saves attempting the others. Each thread keeps its own count
+     * of the values each pattern has parsed, so no locking is involved.
+     * <p>
+     * <b>N.B.</b> If a value matches more than one of the patterns, the
+     * pattern which is used to parse it then depends on the values
+     * converted before; only use this with patterns which don't overlap.
+     *
+     * @param adaptivePatternOrder <code>true</code> to try the pattern
+     *  which has parsed the most values first
+     * @since 1.8.4
+     */
+    public void setAdaptivePatternOrder(boolean adaptivePatternOrder) {
+        this.adaptivePatternOrder = adaptivePatternOrder;
+    }
+
     /**
      * Return the Time Zone to use when converting dates
      * (or <code>null</code> if none specified.
@@ -137,6 +200,7 @@ public abstract class DateTimeConverter extends AbstractConverter {
      */
     public void setTimeZone(TimeZone timeZone) {
         this.timeZone = timeZone;
+        prototypes = null;
     }
 
     /**
@@ -156,6 +220,7 @@ public abstract class DateTimeConverter extends AbstractConverter {
      */
     public void setLocale(Locale locale) {
         this.locale = locale;
+        prototypes = null;
         setUseLocaleFormat(true);
     }
 
@@ -201,6 +266,7 @@ public abstract class DateTimeConverter extends AbstractConverter {
             }
             displayPatterns = buffer.toString();
         }
+        prototypes = null;
         setUseLocaleFormat(true);
     }
 
@@ -232,12 +298,7 @@ public abstract class DateTimeConverter extends AbstractConverter {
 
         String result = null;
         if (useLocaleFormat && date != null) {
-            DateFormat format = null;
-            if (patterns != null && patterns.length > 0) {
-                format = getFormat(patterns[0]);
-            } else {
-                format = getFormat(locale, timeZone);
-            }
+            DateFormat format = ((DateFormat[]) getFormats(getPrototypes())[FORMATS])[0];
             logFormat("Formatting", format);
             result = format.format(date);
             if (log().isDebugEnabled()) {
@@ -325,18 +386,7 @@ public abstract class DateTimeConverter extends AbstractConverter {
 
         // Parse the Date/Time
         if (useLocaleFormat) {
-            Calendar calendar = null;
-            if (patterns != null && patterns.length > 0) {
-                calendar = parse(sourceType, targetType, stringValue);
-            } else {
-                DateFormat format = getFormat(locale, timeZone);
-                calendar = parse(sourceType, targetType, stringValue, format);
-            }
-            if (Calendar.class.isAssignableFrom(targetType)) {
-                return calendar;
-            } else {
-                return toDate(targetType, calendar.getTime().getTime());
-            }
+            return parse(sourceType, targetType, stringValue);
         }
 
         // Default String conversion
@@ -422,6 +472,10 @@ public abstract class DateTimeConverter extends AbstractConverter {
      * <strong>N.B.</strong> No default String conversion
      * mechanism is provided for <code>java.util.Date</code>
      * and <code>java.util.Calendar</code> type.
+     * <p>
+     * Values in the usual JDBC escape formats are parsed by
+     * {@link DateTimeParser}; the <code>valueOf()</code> methods are only
+     * used for anything else.
      *
      * @param type The Number type to convert to
      * @param value The String value to convert.
@@ -430,6 +484,10 @@ public abstract class DateTimeConverter extends AbstractConverter {
     private Object toDate(Class type, String value) {
         // java.sql.Date
         if (type.equals(java.sql.Date.class)) {
+            java.sql.Date date = DateTimeParser.parseSqlDate(value);
+            if (date != null) {
+                return date;
+            }
             try {
                 return java.sql.Date.valueOf(value);
             } catch (IllegalArgumentException e) {
@@ -440,6 +498,10 @@ public abstract class DateTimeConverter extends AbstractConverter {
 
         // java.sql.Time
         if (type.equals(java.sql.Time.class)) {
+            java.sql.Time time = DateTimeParser.parseSqlTime(value);
+            if (time != null) {
+                return time;
+            }
             try {
                 return java.sql.Time.valueOf(value);
             } catch (IllegalArgumentException e) {
@@ -450,6 +512,10 @@ public abstract class DateTimeConverter extends AbstractConverter {
 
         // java.sql.Timestamp
         if (type.equals(java.sql.Timestamp.class)) {
+            java.sql.Timestamp timestamp = DateTimeParser.parseSqlTimestamp(value);
+            if (timestamp != null) {
+                return timestamp;
+            }
             try {
                 return java.sql.Timestamp.valueOf(value);
             } catch (IllegalArgumentException e) {
@@ -470,6 +536,10 @@ public abstract class DateTimeConverter extends AbstractConverter {
 
     /**
      * Return a <code>DateFormat<code> for the Locale.
+     * <p>
+     * The format is created once for each configuration of the converter
+     * and copied for each thread, so it must not be modified afterwards.
+     *
      * @param locale The Locale to create the Format with (may be null)
      * @param timeZone The Time Zone create the Format with (may be null)
      *
@@ -503,33 +573,121 @@ public abstract class DateTimeConverter extends AbstractConverter {
     }
 
     /**
-     * Parse a String date value using the set of patterns.
+     * Return the formats for the patterns or, if no patterns are
+     * configured, the format for the locale.
+     * <p>
+     * The formats are created (by {@link #getFormat(Locale, TimeZone)} in
+     * the case of the locale) the first time they are needed, together
+     * with a {@link DateTimeParser} for each format with a fixed layout.
+     *
+     * @return The prototype formats
+     */
+    private Prototypes getPrototypes() {
+        Prototypes shared = prototypes;
+        if (shared == null) {
+            DateFormat[] formats;
+            if (patterns != null && patterns.length > 0) {
+                formats = new DateFormat[patterns.length];
+                for (int i = 0; i < patterns.length; i++) {
+                    formats[i] = getFormat(patterns[i]);
+                }
+            } else {
+                formats = new DateFormat[] {getFormat(locale, timeZone)};
+            }
+            for (int i = 0; i < formats.length; i++) {
+                formats[i].setLenient(false);
+            }
+            shared = new Prototypes(formats);
+            prototypes = shared;
+        }
+        return shared;
+    }
+
+    /**
+     * Return the current thread's copies of the prototype formats, which
+     * are made the first time each thread needs them and only ever used
+     * by that thread.
+     *
+     * @param shared The prototype formats
+     * @return The current thread's formats, indexed by
+     *  <code>PROTOTYPES</code>, <code>FORMATS</code>, <code>ORDER</code>
+     *  and <code>HITS</code>
+     */
+    private Object[] getFormats(Prototypes shared) {
+        Object[] local = (Object[]) threadFormats.get();
+        if (local == null || local[PROTOTYPES] != shared.formats) {
+            int count = shared.formats.length;
+            DateFormat[] formats = new DateFormat[count];
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                formats[i] = (DateFormat) shared.formats[i].clone();
+                order[i] = i;
+            }
+            local = new Object[] {shared.formats, formats, order, new int[count]};
+            threadFormats.set(local);
+        }
+        return local;
+    }
+
+    /**
+     * Parse a String date value using the set of patterns, or the
+     * format for the locale if none are configured.
+     * <p>
+     * Unless a <code>Calendar</code> is required, a value which matches a
+     * fixed layout pattern such as <code>yyyy-MM-dd</code> is parsed by a
+     * {@link DateTimeParser} rather than by the <code>DateFormat</code>.
+     * Patterns whose literal characters the value doesn't contain are
+     * skipped, and in adaptive mode the most successful pattern is tried
+     * first.
      *
      * @param sourceType The type of the value being converted
      * @param targetType The type to convert the value to.
      * @param value The String date value.
      *
-     * @return The converted Date object.
+     * @return The converted Date or Calendar object.
      * @throws Exception if an error occurs parsing the date.
      */
-    private Calendar parse(Class sourceType, Class targetType, String value) throws Exception {
-        Exception firstEx = null;
-        for (int i = 0; i < patterns.length; i++) {
-            try {
-                DateFormat format = getFormat(patterns[i]);
-                Calendar calendar = parse(sourceType, targetType, value, format);
-                return calendar;
-            } catch (Exception ex) {
-                if (firstEx == null) {
-                    firstEx = ex;
+    private Object parse(Class sourceType, Class targetType, String value) throws Exception {
+        Prototypes shared = getPrototypes();
+        Object[] local = getFormats(shared);
+        DateFormat[] formats = (DateFormat[]) local[FORMATS];
+        int[] order = (int[]) local[ORDER];
+        boolean calendarType = Calendar.class.isAssignableFrom(targetType);
+        boolean adaptive = adaptivePatternOrder;
+        for (int n = 0; n < formats.length; n++) {
+            int i = adaptive ? order[n] : n;
+            if (shared.screens[i] != null && !shared.screens[i].accepts(value)) {
+                continue;
+            }
+            if (!calendarType && shared.parsers[i] != null) {
+                long time = shared.parsers[i].parse(value);
+                if (time != DateTimeParser.NO_MATCH) {
+                    if (adaptive) {
+                        hit(order, (int[]) local[HITS], n);
+                    }
+                    return toDate(targetType, time);
+                }
+            }
+            Calendar calendar = parse(value, formats[i]);
+            if (calendar != null) {
+                if (adaptive) {
+                    hit(order, (int[]) local[HITS], n);
                 }
+                if (calendarType) {
+                    // the format's own calendar is reused by the next parse
+                    return calendar.clone();
+                }
+                return toDate(targetType, calendar.getTime().getTime());
+            }
+            if (log().isDebugEnabled()) {
+                log().debug("    " + parseError(sourceType, targetType, formats[i]));
             }
         }
-        if (patterns.length > 1) {
+        if (formats.length > 1) {
             throw new ConversionException("Error converting '" + toString(sourceType) + "' to '" + toString(targetType)
                     + "' using  patterns '" + displayPatterns + "'");
         } else {
-            throw firstEx;
+            throw new ConversionException(parseError(sourceType, targetType, formats[0]));
         }
     }
 
@@ -537,33 +695,40 @@ public abstract class DateTimeConverter extends AbstractConverter {
      * Parse a String into a <code>Calendar</code> object
      * using the specified <code>DateFormat</code>.
      *
-     * @param sourceType The type of the value being converted
-     * @param targetType The type to convert the value to
      * @param value The String date value.
      * @param format The DateFormat to parse the String value.
      *
-     * @return The converted Calendar object.
-     * @throws ConversionException if the String cannot be converted.
+     * @return The format's Calendar, set to the parsed date, or
+     *  <code>null</code> if the String cannot be parsed.
      */
-    private Calendar parse(Class sourceType, Class targetType, String value, DateFormat format) {
+    private Calendar parse(String value, DateFormat format) {
         logFormat("Parsing", format);
-        format.setLenient(false);
         ParsePosition pos = new ParsePosition(0);
         Date parsedDate = format.parse(value, pos); // ignore the result (use the Calendar)
         if (pos.getErrorIndex() >= 0 || pos.getIndex() != value.length() || parsedDate == null) {
-            String msg = "Error converting '" + toString(sourceType) + "' to '" + toString(targetType) + "'";
-            if (format instanceof SimpleDateFormat) {
-                msg += " using pattern '" + ((SimpleDateFormat)format).toPattern() + "'";
-            }
-            if (log().isDebugEnabled()) {
-                log().debug("    " + msg);
-            }
-            throw new ConversionException(msg);
+            return null;
         }
         Calendar calendar = format.getCalendar();
         return calendar;
     }
 
+    /**
+     * Return the message for a String which can't be parsed with the
+     * specified <code>DateFormat</code>.
+     *
+     * @param sourceType The type of the value being converted
+     * @param targetType The type to convert the value to
+     * @param format The DateFormat used to parse the String value.
+     * @return The error message
+     */
+    private String parseError(Class sourceType, Class targetType, DateFormat format) {
+        String msg = "Error converting '" + toString(sourceType) + "' to '" + toString(targetType) + "'";
+        if (format instanceof SimpleDateFormat) {
+            msg += " using pattern '" + ((SimpleDateFormat)format).toPattern() + "'";
+        }
+        return msg;
+    }
+
     /**
      * Provide a String representation of this date/time converter.
      *
@@ -625,4 +790,53 @@ public abstract class DateTimeConverter extends AbstractConverter {
             log().debug(buffer.toString());
         }
     }
+
+    /**
+     * Record that a format has parsed a value, moving it one place closer
+     * to the front of the order if it has now parsed more values than the
+     * format before it.
+     *
+     * @param order The indexes of the formats, most successful first
+     * @param hits The number of values each format has parsed
+     * @param n The position of the format in the order
+     */
+    private static void hit(int[] order, int[] hits, int n) {
+        int i = order[n];
+        if (++hits[i] == Integer.MAX_VALUE) {
+            for (int j = 0; j < hits.length; j++) {
+                hits[j] >>= 1;
+            }
+        }
+        if (n > 0 && hits[i] > hits[order[n - 1]]) {
+            order[n] = order[n - 1];
+            order[n - 1] = i;
+        }
+    }
+
+    /**
+     * The prototype formats, which are never used themselves, and the
+     * immutable parsers and screens compiled from them, shared by all
+     * threads.
+     */
+    private static final class Prototypes {
+
+        /** The formats, copied for each thread */
+        private final DateFormat[] formats;
+
+        /** The parsers for the formats with a fixed layout, otherwise null */
+        private final DateTimeParser[] parsers;
+
+        /** The screens which reject values the formats can't parse */
+        private final DateTimeParser.Screen[] screens;
+
+        Prototypes(DateFormat[] formats) {
+            this.formats = formats;
+            this.parsers = new DateTimeParser[formats.length];
+            this.screens = new DateTimeParser.Screen[formats.length];
+            for (int i = 0; i < formats.length; i++) {
+                parsers[i] = DateTimeParser.compile(formats[i]);
+                screens[i] = DateTimeParser.screen(formats[i]);
+            }
+        }
+    }
 }
@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.converters;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Character level parser for the common fixed layout date/time formats,
+ * which {@link DateTimeConverter} tries before the slower general
+ * mechanisms.
+ * <p>
+ * The static methods handle the JDBC escape formats. They accept a
+ * subset of what <code>java.sql.Date.valueOf()</code>,
+ * <code>Time.valueOf()</code> and <code>Timestamp.valueOf()</code>
+ * accept, build the result the same way those methods do, and return
+ * <code>null</code> for anything else.
+ * <p>
+ * An instance is compiled from a <code>SimpleDateFormat</code> whose
+ * pattern consists only of fixed width numeric fields
+ * (<code>yyyy</code>, <code>MM</code>, <code>dd</code>, <code>HH</code>,
+ * <code>mm</code>, <code>ss</code> and <code>SSS</code>) and literal
+ * characters, e.g. <code>yyyy-MM-dd</code> or the ISO-8601 layout
+ * <code>yyyy-MM-dd'T'HH:mm:ss.SSS</code>. It only accepts values which
+ * match the layout exactly, represent a valid date and are not close to a
+ * time zone transition, for which its result is the same as the format's.
+ * It reports anything else as {@link #NO_MATCH} so that the format itself
+ * can be used.
+ * <p>
+ * A {@link Screen} can be created for any <code>SimpleDateFormat</code>,
+ * to reject values which the format can't parse without trying it.
+ * <p>
+ * None of the methods create any objects other than their result.
+ * Parsers and screens are immutable, and may be shared by threads.
+ *
+ * @version $Revision$ $Date$
+ * @since 1.8.4
+ */
+final class DateTimeParser {
+
+    /** Returned by {@link #parse(String)} for a value it can't handle */
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int MILLIS = 6;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /** Days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar */
+    private static final long EPOCH_DAYS = 719468;
+
+    /**
+     * Whether <code>TimeZone.getOffset(long)</code> (JDK 1.4) is available,
+     * without which patterns aren't compiled.
+     */
+    private static final boolean ZONE_OFFSETS = hasZoneOffsets();
+
+    /**
+     * The layout, with one element for each character of a matching value:
+     * the field whose digit it is or, if negative, the literal character
+     * <code>c</code> encoded as <code>-1 - c</code>.
+     */
+    private final int[] layout;
+
+    /** The fields present in the layout, as bits */
+    private final int fields;
+
+    /** The time zone of the format */
+    private final TimeZone zone;
+
+    /**
+     * Create a parser.
+     *
+     * @param layout The layout
+     * @param fields The fields present in the layout
+     * @param zone The time zone of the format
+     */
+    private DateTimeParser(int[] layout, int fields, TimeZone zone) {
+        this.layout = layout;
+        this.fields = fields;
+        this.zone = zone;
+    }
+
+    /**
+     * Compile a parser for the specified format.
+     *
+     * @param format The format
+     * @return The parser or <code>null</code> if the format's pattern
+     *  isn't a supported fixed layout or it doesn't use the Gregorian
+     *  calendar and ASCII digits
+     */
+    static DateTimeParser compile(DateFormat format) {
+        if (!ZONE_OFFSETS || !(format instanceof SimpleDateFormat) ||
+                !(format.getCalendar() instanceof GregorianCalendar) ||
+                !(format.getNumberFormat() instanceof DecimalFormat) ||
+                ((DecimalFormat) format.getNumberFormat()).getDecimalFormatSymbols().getZeroDigit() != '0') {
+            return null;
+        }
+        String pattern = ((SimpleDateFormat) format).toPattern();
+        int[] layout = new int[pattern.length()];
+        int length = 0;
+        int fields = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // only a single quoted literal character, e.g. 'T'
+                if (i + 2 >= pattern.length() || pattern.charAt(i + 2) != '\'' ||
+                        pattern.charAt(i + 1) == '\'' || isDigit(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                layout[length++] = -1 - pattern.charAt(i + 1);
+                i += 3;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i + 1;
+                while (end < pattern.length() && pattern.charAt(end) == c) {
+                    end++;
+                }
+                int field = toField(c, end - i);
+                if (field < 0 || (fields & (1 << field)) != 0) {
+                    return null;
+                }
+                fields |= (1 << field);
+                while (i < end) {
+                    layout[length++] = field;
+                    i++;
+                }
+            } else if (isDigit(c)) {
+                return null;
+            } else {
+                layout[length++] = -1 - c;
+                i++;
+            }
+        }
+        int[] trimmed = new int[length];
+        System.arraycopy(layout, 0, trimmed, 0, length);
+        // a copy, so that later changes to the format don't affect the parser
+        return new DateTimeParser(trimmed, fields, (TimeZone) format.getTimeZone().clone());
+    }
+
+    /**
+     * Create a screen for the specified format.
+     *
+     * @param format The format
+     * @return The screen, or <code>null</code> if the format isn't a
+     *  <code>SimpleDateFormat</code>
+     */
+    static Screen screen(DateFormat format) {
+        if (!(format instanceof SimpleDateFormat)) {
+            return null;
+        }
+        String pattern = ((SimpleDateFormat) format).toPattern();
+        StringBuffer literals = new StringBuffer();
+        int numericFields = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literals.append(c);
+                    i += 2;
+                    continue;
+                }
+                // quoted text, in which '' is a quote
+                for (i++; i < pattern.length(); i++) {
+                    c = pattern.charAt(i);
+                    if (c == '\'') {
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                    literals.append(c);
+                }
+                i++;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int start = i;
+                while (i < pattern.length() && pattern.charAt(i) == c) {
+                    i++;
+                }
+                // numeric fields take at least one digit, text fields may be empty
+                if ("ydHhkKmsSDFwWu".indexOf(c) >= 0 || (c == 'M' && i - start < 3)) {
+                    numericFields++;
+                }
+            } else {
+                literals.append(c);
+                i++;
+            }
+        }
+        return new Screen(literals.toString(), literals.length() + numericFields);
+    }
+
+    /**
+     * Return the field for a run of pattern letters.
+     *
+     * @param letter The pattern letter
+     * @param count The number of times it is repeated
+     * @return The field, or -1 if it isn't supported
+     */
+    private static int toField(char letter, int count) {
+        switch (letter) {
+            case 'y': return (count == 4) ? YEAR : -1;
+            case 'M': return (count == 2) ? MONTH : -1;
+            case 'd': return (count == 2) ? DAY : -1;
+            case 'H': return (count == 2) ? HOUR : -1;
+            case 'm': return (count == 2) ? MINUTE : -1;
+            case 's': return (count == 2) ? SECOND : -1;
+            case 'S': return (count == 3) ? MILLIS : -1;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Parse a value which matches the layout.
+     *
+     * @param value The value to parse
+     * @return The time in milliseconds, or {@link #NO_MATCH}
+     */
+    long parse(String value) {
+        if (value.length() != layout.length) {
+            return NO_MATCH;
+        }
+        // fields missing from the layout default to 1970-01-01 00:00:00.000
+        int year = ((fields & (1 << YEAR)) != 0) ? 0 : 1970;
+        int month = ((fields & (1 << MONTH)) != 0) ? 0 : 1;
+        int day = ((fields & (1 << DAY)) != 0) ? 0 : 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        for (int i = 0; i < layout.length; i++) {
+            char c = value.charAt(i);
+            int field = layout[i];
+            if (field < 0) {
+                if (c != (char) (-1 - field)) {
+                    return NO_MATCH;
+                }
+                continue;
+            }
+            if (!isDigit(c)) {
+                return NO_MATCH;
+            }
+            int digit = c - '0';
+            switch (field) {
+                case YEAR:   year   = year   * 10 + digit; break;
+                case MONTH:  month  = month  * 10 + digit; break;
+                case DAY:    day    = day    * 10 + digit; break;
+                case HOUR:   hour   = hour   * 10 + digit; break;
+                case MINUTE: minute = minute * 10 + digit; break;
+                case SECOND: second = second * 10 + digit; break;
+                default:     millis = millis * 10 + digit; break;
+            }
+        }
+        // leave the Julian calendar and invalid dates to the format
+        if (year < 1600 || month < 1 || month > 12 || day < 1 ||
+                day > daysInMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+            return NO_MATCH;
+        }
+        long local = toEpochDay(year, month, day) * MILLIS_PER_DAY +
+                hour * 3600000L + minute * 60000L + second * 1000L + millis;
+        int offset = zone.getOffset(local - zone.getRawOffset());
+        long time = local - offset;
+        // local times close to a transition may be ambiguous or invalid
+        if (zone.getOffset(time) != offset ||
+                zone.getOffset(time - MILLIS_PER_DAY) != offset ||
+                zone.getOffset(time + MILLIS_PER_DAY) != offset) {
+            return NO_MATCH;
+        }
+        return time;
+    }
+
+    /**
+     * Parse a value in JDBC date escape format
+     * (<code>yyyy-[m]m-[d]d</code>).
+     *
+     * @param value The value to parse
+     * @return The date or <code>null</code> if the value can't be
+     *  parsed by this method
+     */
+    static java.sql.Date parseSqlDate(String value) {
+        int date = parseDate(value, value.length());
+        if (date < 0) {
+            return null;
+        }
+        return new java.sql.Date(date / 10000 - 1900, (date / 100) % 100 - 1, date % 100);
+    }
+
+    /**
+     * Parse a value in JDBC time escape format (<code>hh:mm:ss</code>).
+     *
+     * @param value The value to parse
+     * @return The time or <code>null</code> if the value can't be
+     *  parsed by this method
+     */
+    static Time parseSqlTime(String value) {
+        int time = (value.length() == 8) ? parseTime(value, 0) : -1;
+        if (time < 0) {
+            return null;
+        }
+        return new Time(time / 10000, (time / 100) % 100, time % 100);
+    }
+
+    /**
+     * Parse a value in JDBC timestamp escape format
+     * (<code>yyyy-[m]m-[d]d hh:mm:ss[.f...]</code>).
+     *
+     * @param value The value to parse
+     * @return The timestamp or <code>null</code> if the value can't be
+     *  parsed by this method
+     */
+    static Timestamp parseSqlTimestamp(String value) {
+        int space = value.indexOf(' ');
+        if (space < 0 || value.length() < space + 9) {
+            return null;
+        }
+        int date = parseDate(value, space);
+        int time = parseTime(value, space + 1);
+        if (date < 0 || time < 0) {
+            return null;
+        }
+        int nanos = 0;
+        int end = space + 9;
+        if (value.length() > end) {
+            int precision = value.length() - end - 1;
+            if (value.charAt(end) != '.' || precision < 1 || precision > 9) {
+                return null;
+            }
+            nanos = digits(value, end + 1, value.length());
+            if (nanos < 0) {
+                return null;
+            }
+            for (; precision < 9; precision++) {
+                nanos *= 10;
+            }
+        }
+        return new Timestamp(date / 10000 - 1900, (date / 100) % 100 - 1, date % 100,
+                time / 10000, (time / 100) % 100, time % 100, nanos);
+    }
+
+    /**
+     * Parse a date at the start of a value, in the subset of the JDBC date
+     * escape format which <code>java.sql.Date.valueOf()</code> accepts.
+     *
+     * @param value The value
+     * @param end The end of the date
+     * @return The date as <code>yyyymmdd</code>, or -1
+     */
+    private static int parseDate(String value, int end) {
+        if (end < 8 || end > 10 || value.charAt(4) != '-') {
+            return -1;
+        }
+        int secondDash = value.indexOf('-', 5);
+        if (secondDash < 6 || secondDash > 7 || end - secondDash < 2 || end - secondDash > 3) {
+            return -1;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, secondDash);
+        int day = digits(value, secondDash + 1, end);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return -1;
+        }
+        return (year * 10000 + month * 100 + day);
+    }
+
+    /**
+     * Parse a time in <code>hh:mm:ss</code> format.
+     *
+     * @param value The value
+     * @param start The start of the time
+     * @return The time as <code>hhmmss</code>, or -1
+     */
+    private static int parseTime(String value, int start) {
+        if (value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':') {
+            return -1;
+        }
+        int hour = digits(value, start, start + 2);
+        int minute = digits(value, start + 3, start + 5);
+        int second = digits(value, start + 6, start + 8);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return (hour * 10000 + minute * 100 + second);
+    }
+
+    /**
+     * Parse a run of ASCII digits.
+     *
+     * @param value The value
+     * @param start The start of the digits
+     * @param end The end of the digits
+     * @return The number, or -1 if the run is empty or contains anything
+     *  other than digits
+     */
+    private static int digits(String value, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Indicate whether a character is an ASCII digit.
+     *
+     * @param c The character
+     * @return <code>true</code> if it is a digit
+     */
+    private static boolean isDigit(char c) {
+        return (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Return the number of days in a month of the Gregorian calendar.
+     *
+     * @param year The year
+     * @param month The month (1 to 12)
+     * @return The number of days
+     */
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+            return (leap ? 29 : 28);
+        }
+        return ((month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31);
+    }
+
+    /**
+     * Return the number of days from 1970-01-01 to a date of the
+     * Gregorian calendar (years from 1600).
+     *
+     * @param year The year
+     * @param month The month (1 to 12)
+     * @param day The day of the month
+     * @return The number of days
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        // count years from March, so that the leap day is the last one
+        int y = (month <= 2) ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (era * 146097L + dayOfEra - EPOCH_DAYS);
+    }
+
+    /**
+     * A cheap test for values which a <code>SimpleDateFormat</code>
+     * can't parse, so that it need not be tried. The format matches each
+     * of its literal characters exactly and each numeric field takes at
+     * least one digit, so a value it parses contains the literal
+     * characters in order and is at least as long as their number plus
+     * the number of numeric fields.
+     */
+    static final class Screen {
+
+        /** The pattern's literal characters, in order */
+        private final String literals;
+
+        /** The minimum length of a value */
+        private final int minLength;
+
+        /**
+         * Create a screen.
+         *
+         * @param literals The pattern's literal characters, in order
+         * @param minLength The minimum length of a value
+         */
+        Screen(String literals, int minLength) {
+            this.literals = literals;
+            this.minLength = minLength;
+        }
+
+        /**
+         * Indicate whether the format might parse the specified value.
+         *
+         * @param value The value
+         * @return <code>false</code> if the format certainly can't
+         *  parse it
+         */
+        boolean accepts(String value) {
+            if (value.length() < minLength) {
+                return false;
+            }
+            int from = 0;
+            for (int i = 0; i < literals.length(); i++) {
+                from = value.indexOf(literals.charAt(i), from) + 1;
+                if (from == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Indicate whether <code>TimeZone.getOffset(long)</code> is available.
+     *
+     * @return <code>true</code> if it is
+     */
+    private static boolean hasZoneOffsets() {
+        try {
+            TimeZone.class.getMethod("getOffset", new Class[] {Long.TYPE});
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.PropertyDescriptor;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link BeanAccessor}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class BeanAccessorTestCase extends TestCase {
+
+    private PropertyUtilsBean propertyUtils;
+    private BeanAccessor accessor;
+    private TestBean bean;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public BeanAccessorTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(BeanAccessorTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        propertyUtils = new PropertyUtilsBean();
+        accessor = propertyUtils.getBeanAccessor(TestBean.class);
+        bean = new TestBean();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        propertyUtils = null;
+        accessor = null;
+        bean = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test the slots match the property descriptors.
+     */
+    public void testSlots() {
+        PropertyDescriptor[] descriptors = propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("count", descriptors.length, accessor.getPropertyCount());
+        for (int i = 0; i < descriptors.length; i++) {
+            String name = descriptors[i].getName();
+            assertEquals("indexOf " + name, i, accessor.indexOf(name));
+            assertEquals("name " + i, name, accessor.getPropertyName(i));
+            assertEquals("type " + name, descriptors[i].getPropertyType(),
+                    accessor.getPropertyType(i));
+        }
+        assertEquals("unknown", -1, accessor.indexOf("unknown"));
+        assertEquals("null", -1, accessor.indexOf(null));
+    }
+
+    /**
+     * Test accessors are cached and cleared.
+     */
+    public void testCache() {
+        assertSame("cached", accessor, propertyUtils.getBeanAccessor(TestBean.class));
+        propertyUtils.clearDescriptors();
+        assertNotSame("cleared", accessor, propertyUtils.getBeanAccessor(TestBean.class));
+        try {
+            propertyUtils.getBeanAccessor(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test getting and setting properties by slot.
+     */
+    public void testGetSet() throws Exception {
+        int intSlot = accessor.indexOf("intProperty");
+        int stringSlot = accessor.indexOf("stringProperty");
+
+        assertEquals("get int", new Integer(bean.getIntProperty()), accessor.get(bean, intSlot));
+        assertEquals("get string", bean.getStringProperty(), accessor.get(bean, stringSlot));
+
+        accessor.set(bean, intSlot, new Integer(123));
+        accessor.set(bean, stringSlot, "New String");
+        assertEquals("set int", 123, bean.getIntProperty());
+        assertEquals("set string", "New String", bean.getStringProperty());
+    }
+
+    /**
+     * Test read only and write only properties.
+     */
+    public void testReadWriteOnly() throws Exception {
+        try {
+            accessor.set(bean, accessor.indexOf("readOnlyProperty"), "x");
+            fail("Expected NoSuchMethodException");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+        try {
+            accessor.get(bean, accessor.indexOf("writeOnlyProperty"));
+            fail("Expected NoSuchMethodException");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    public void testInvalid() throws Exception {
+        try {
+            accessor.get(null, 0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            accessor.get(bean, -1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            accessor.set(bean, accessor.getPropertyCount(), null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+}
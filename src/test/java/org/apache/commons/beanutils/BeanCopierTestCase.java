@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.InvocationTargetException;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link BeanCopier}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class BeanCopierTestCase extends TestCase {
+
+    private BeanUtilsBean beanUtils;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public BeanCopierTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(BeanCopierTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        beanUtils = new BeanUtilsBean();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        beanUtils = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test copying between beans of the same class.
+     */
+    public void testCopy() throws Exception {
+        StringHolder orig = new StringHolder();
+        orig.setIntProperty("42");
+        orig.setStringProperty(24);
+        StringHolder dest = new StringHolder();
+
+        BeanCopier copier = beanUtils.getBeanCopier(StringHolder.class, StringHolder.class);
+        copier.copy(dest, orig);
+        assertEquals("String", "42", dest.getIntProperty());
+        assertEquals("int", 24, dest.getStringProperty());
+    }
+
+    /**
+     * Test copyProperties() gives the same results as copying property
+     * by property, including conversions.
+     */
+    public void testCopyPropertiesConversion() throws Exception {
+        TestBean orig = new TestBean();
+        orig.setIntProperty(123);
+        orig.setStringProperty("456");
+        StringHolder dest = new StringHolder();
+        beanUtils.copyProperties(dest, orig);
+        assertEquals("int to String", "123", dest.getIntProperty());
+        assertEquals("String to int", 456, dest.getStringProperty());
+    }
+
+    /**
+     * Test copiers are cached and recreated when the converters change.
+     */
+    public void testCache() throws Exception {
+        BeanCopier copier = beanUtils.getBeanCopier(TestBean.class, StringHolder.class);
+        assertSame("cached", copier, beanUtils.getBeanCopier(TestBean.class, StringHolder.class));
+
+        beanUtils.getConvertUtils().register(new Converter() {
+            public Object convert(Class type, Object value) {
+                return "converted";
+            }
+        }, String.class);
+        BeanCopier newCopier = beanUtils.getBeanCopier(TestBean.class, StringHolder.class);
+        assertNotSame("converters changed", copier, newCopier);
+
+        TestBean orig = new TestBean();
+        StringHolder dest = new StringHolder();
+        copier.copy(dest, orig);
+        assertEquals("stale copier", "converted", dest.getIntProperty());
+
+        beanUtils.getPropertyUtils().clearDescriptors();
+        assertNotSame("descriptors cleared", newCopier,
+                beanUtils.getBeanCopier(TestBean.class, StringHolder.class));
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    public void testInvalid() throws Exception {
+        try {
+            beanUtils.getBeanCopier(null, TestBean.class);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            beanUtils.getBeanCopier(TestBean.class, TestBean.class).copy(null, new TestBean());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test that subclasses which override convert() still have it called.
+     */
+    public void testOverriddenConvert() throws Exception {
+        final int[] calls = new int[1];
+        BeanUtilsBean custom = new BeanUtilsBean() {
+            protected Object convert(Object value, Class type) {
+                calls[0]++;
+                return super.convert(value, type);
+            }
+        };
+        custom.copyProperties(new StringHolder(), new StringHolder());
+        assertTrue("convert() called", calls[0] > 0);
+    }
+
+    /**
+     * Test that a PropertyUtilsBean whose property access methods are
+     * overridden still has them called.
+     */
+    public void testOverriddenPropertyUtils() throws Exception {
+        final int[] calls = new int[1];
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean() {
+            public void setSimpleProperty(Object bean, String name, Object value)
+                    throws IllegalAccessException, InvocationTargetException,
+                    NoSuchMethodException {
+                calls[0]++;
+                super.setSimpleProperty(bean, name, value);
+            }
+        };
+        BeanUtilsBean custom = new BeanUtilsBean(new ConvertUtilsBean(), propertyUtils);
+        StringHolder orig = new StringHolder();
+        orig.setIntProperty("123");
+        StringHolder dest = new StringHolder();
+        custom.copyProperties(dest, orig);
+        assertEquals("copied", "123", dest.getIntProperty());
+        assertTrue("setSimpleProperty() called", calls[0] > 0);
+    }
+
+    /**
+     * A bean whose properties have the same names as some of
+     * {@link TestBean}'s, but different types.
+     */
+    public static class StringHolder {
+        private String intProperty;
+        private int stringProperty;
+
+        public String getIntProperty() {
+            return intProperty;
+        }
+        public void setIntProperty(String intProperty) {
+            this.intProperty = intProperty;
+        }
+        public int getStringProperty() {
+            return stringProperty;
+        }
+        public void setStringProperty(int stringProperty) {
+            this.stringProperty = stringProperty;
+        }
+    }
+}
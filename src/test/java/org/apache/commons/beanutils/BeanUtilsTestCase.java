@@ -585,6 +585,19 @@ public class BeanUtilsTestCase extends TestCase {
     }
 
 
+    /**
+     * tryGetProperty() returns converted values, or null for missing
+     * properties.
+     */
+    public void testTryGetProperty() throws Exception {
+        assertEquals("int", "123", BeanUtils.tryGetProperty(bean, "intProperty"));
+        assertEquals("nested", "This is a string",
+                BeanUtils.tryGetProperty(bean, "nested.stringProperty"));
+        assertNull("unknown", BeanUtils.tryGetProperty(bean, "unknown"));
+        assertNull("nested unknown", BeanUtils.tryGetProperty(bean, "unknown.stringProperty"));
+    }
+
+
     /**
      *  tests getting a 'whatever' property
      */
@@ -253,6 +253,35 @@ public class BeanificationTestCase extends TestCase {
         }
     }
     
+    /** Tests whether classloaders are released by the MethodUtils cache */
+    public void testMethodUtilsMemoryLeak() throws Exception {
+        DefiningClassLoader loader = new DefiningClassLoader("org.apache.commons.beanutils.BetaBean");
+        WeakReference loaderReference = new WeakReference(loader);
+        Class beanClass = loader.loadClass("org.apache.commons.beanutils.BetaBean");
+        assertSame("Defined by the test loader", loader, beanClass.getClassLoader());
+
+        MethodUtils.clearCache();
+        assertNotNull("Accessible", MethodUtils.getAccessibleMethod(beanClass, "getSecret", new Class[0]));
+        assertNotNull("Matching", MethodUtils.getMatchingAccessibleMethod(
+                beanClass, "setNoGetterProperty", new Class[] {String.class}));
+        assertEquals("Cached", 2, MethodUtils.getCacheSize());
+
+        // dereference class loader and class
+        loader = null;
+        beanClass = null;
+
+        // no garbage is created, as running short of memory would also
+        // release methods held in soft references
+        int iterations = 0;
+        while (loaderReference.get() != null) {
+            System.gc();
+            if (iterations++ > MAX_GC_ITERATIONS) {
+                fail("Max iterations reached before resource released.");
+            }
+            Thread.sleep(10);
+        }
+    }
+    
     /** 
      * Tests whether difference instances are loaded by different 
      * context classloaders.
@@ -458,8 +487,99 @@ public class BeanificationTestCase extends TestCase {
         assertTrue("Unset works", !beanOne.equals(ccll.get())); 
     }
     
+    /** Tests the values of concurrent threads with different classloaders */
+    public void testContextClassLoaderLocalConcurrent() throws Exception {
+        final int[] initialized = new int[1];
+        final ContextClassLoaderLocal ccll = new ContextClassLoaderLocal() {
+            protected Object initialValue() {
+                synchronized (initialized) {
+                    initialized[0]++;
+                }
+                try {
+                    // a slow initial value, which other threads wait for
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                return Thread.currentThread().getContextClassLoader().toString();
+            }
+        };
+        final ClassLoader[] loaders = {new TestClassLoader(), new ClassLoader() {
+            public String toString() {
+                return "OtherClassLoader";
+            }
+        }};
+        final Signal signal = new Signal();
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int n = 0; n < 10000; n++) {
+                        ClassLoader loader = loaders[n % loaders.length];
+                        setContextClassLoader(loader);
+                        if (!loader.toString().equals(ccll.get())) {
+                            signal.setMarkerObject(ccll.get());
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        assertNull("Wrong value", signal.getMarkerObject());
+        assertEquals("Initialized once per classloader", loaders.length, initialized[0]);
+
+        // a value which has been unset is initialized again
+        Thread.currentThread().setContextClassLoader(loaders[0]);
+        try {
+            ccll.unset();
+            assertEquals("Value after unset", "TestClassLoader", ccll.get());
+            assertEquals("Initialized again", loaders.length + 1, initialized[0]);
+        } finally {
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+        }
+    }
+
     // ---- Auxillary classes
     
+    /** Defines a class itself, rather than delegating to its parent */
+    class DefiningClassLoader extends ClassLoader {
+        private final String className;
+        DefiningClassLoader(String className) {
+            super(BeanificationTestCase.class.getClassLoader());
+            this.className = className;
+        }
+        protected synchronized Class loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            Class cls = findLoadedClass(name);
+            if (cls == null) {
+                String resource = name.replace('.', '/') + ".class";
+                try {
+                    java.io.InputStream in = getParent().getResourceAsStream(resource);
+                    java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+                    byte[] buffer = new byte[1024];
+                    for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                        out.write(buffer, 0, n);
+                    }
+                    in.close();
+                    byte[] bytes = out.toByteArray();
+                    cls = defineClass(name, bytes, 0, bytes.length);
+                } catch (java.io.IOException e) {
+                    throw new ClassNotFoundException(name);
+                }
+            }
+            if (resolve) {
+                resolveClass(cls);
+            }
+            return cls;
+        }
+    }
+    
     class TestClassLoader extends ClassLoader {
         public String toString() {
             return "TestClassLoader";
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.memoryleaktests.pojotests.SomePojo;
+
+/**
+ * Test case for {@link BoundedIntrospectionCache}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class BoundedIntrospectionCacheTestCase extends TestCase {
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public BoundedIntrospectionCacheTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(BoundedIntrospectionCacheTestCase.class));
+    }
+
+    /**
+     * Test put, get, remove and clear.
+     */
+    public void testPutGet() {
+        BoundedIntrospectionCache cache = new BoundedIntrospectionCache(10);
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        cache.put(String.class, "C");
+        assertEquals("String", "C", cache.get(String.class));
+        assertEquals("Integer", "B", cache.get(Integer.class));
+        assertNull("Long", cache.get(Long.class));
+        assertNull("null", cache.get(null));
+        assertEquals("size", 2, cache.size());
+
+        cache.remove(String.class);
+        assertNull("removed", cache.get(String.class));
+        assertEquals("size after remove", 1, cache.size());
+
+        cache.clear();
+        assertEquals("size after clear", 0, cache.size());
+        assertEquals("evictions", 0, cache.getEvictionCount());
+    }
+
+    /**
+     * Test the least recently used entry is evicted.
+     */
+    public void testLRU() {
+        BoundedIntrospectionCache cache = new BoundedIntrospectionCache(2);
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        cache.get(String.class);
+        cache.put(Long.class, "C");
+        assertEquals("size", 2, cache.size());
+        assertEquals("String", "A", cache.get(String.class));
+        assertNull("Integer evicted", cache.get(Integer.class));
+        assertEquals("Long", "C", cache.get(Long.class));
+        assertEquals("evictions", 1, cache.getEvictionCount());
+    }
+
+    /**
+     * Test the least frequently used entry is evicted.
+     */
+    public void testLFU() {
+        BoundedIntrospectionCache cache =
+                new BoundedIntrospectionCache(2, BoundedIntrospectionCache.LFU);
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        cache.get(String.class);
+        cache.get(String.class);
+        cache.get(Integer.class);
+        cache.put(Long.class, "C");
+        assertNull("Integer evicted", cache.get(Integer.class));
+        cache.get(Long.class);
+
+        // Equal use, so the least recently used goes
+        cache.put(Double.class, "D");
+        assertEquals("String", "A", cache.get(String.class));
+        assertNull("Long evicted", cache.get(Long.class));
+        assertEquals("Double", "D", cache.get(Double.class));
+        assertEquals("evictions", 2, cache.getEvictionCount());
+    }
+
+    /**
+     * Test clearing the classes of a ClassLoader.
+     */
+    public void testClearClassLoader() {
+        BoundedIntrospectionCache cache = new BoundedIntrospectionCache(10);
+        cache.put(String.class, "A");
+        cache.put(getClass(), "B");
+        Class[] removed = cache.clear(getClass().getClassLoader());
+        assertEquals("removed", 1, removed.length);
+        assertSame("removed class", getClass(), removed[0]);
+        assertEquals("kept", "A", cache.get(String.class));
+        assertEquals("size", 1, cache.size());
+    }
+
+    /**
+     * Test the classes are held weakly.
+     */
+    public void testWeakKeys() throws Exception {
+        BoundedIntrospectionCache cache = new BoundedIntrospectionCache(10);
+        URL classes = SomePojo.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[] {classes}, null);
+        Class pojoClass = loader.loadClass(SomePojo.class.getName());
+        cache.put(pojoClass, "value");
+        cache.put(String.class, "A");
+        WeakReference loaderRef = new WeakReference(loader);
+        loader = null;
+        pojoClass = null;
+
+        for (int i = 0; i < 20 && loaderRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull("ClassLoader collected", loaderRef.get());
+        assertEquals("stale entry discarded", 1, cache.size());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    public void testInvalid() {
+        try {
+            new BoundedIntrospectionCache(0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            new BoundedIntrospectionCache(10, 99);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            new BoundedIntrospectionCache(10).put(String.class, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test PropertyUtilsBean with bounded caches.
+     */
+    public void testPropertyUtilsBean() throws Exception {
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        assertEquals("default size", 0, propertyUtils.getMaxCacheSize());
+        propertyUtils.setMaxCacheSize(1, BoundedIntrospectionCache.LFU);
+        assertEquals("size", 1, propertyUtils.getMaxCacheSize());
+        assertEquals("policy", BoundedIntrospectionCache.LFU, propertyUtils.getCachePolicy());
+
+        final int[] introspected = new int[1];
+        propertyUtils.setBeanIntrospector(new DefaultBeanIntrospector() {
+            public PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+                    throws IntrospectionException {
+                introspected[0]++;
+                return super.getPropertyDescriptors(beanClass);
+            }
+        });
+
+        TestBean bean = new TestBean();
+        assertEquals("property", bean.getStringProperty(),
+                propertyUtils.getProperty(bean, "stringProperty"));
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("cached", 1, introspected[0]);
+        propertyUtils.getPropertyDescriptors(AlphaBean.class);
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("evicted", 3, introspected[0]);
+
+        try {
+            propertyUtils.setMaxCacheSize(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        propertyUtils.setMaxCacheSize(0);
+        assertEquals("unbounded", 0, propertyUtils.getMaxCacheSize());
+    }
+}
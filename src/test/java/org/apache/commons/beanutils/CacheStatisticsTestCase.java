@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link CacheStatistics} and {@link StatisticsMBeans}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class CacheStatisticsTestCase extends TestCase {
+
+    private PropertyUtilsBean propertyUtils;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public CacheStatisticsTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(CacheStatisticsTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        propertyUtils = new PropertyUtilsBean();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        propertyUtils = null;
+        MethodUtils.setStatisticsEnabled(false);
+        super.tearDown();
+    }
+
+    /**
+     * Return the named statistics.
+     */
+    private CacheStatistics find(CacheStatistics[] statistics, String name) {
+        for (int i = 0; i < statistics.length; i++) {
+            if (statistics[i].getName().equals(name)) {
+                return statistics[i];
+            }
+        }
+        fail("No statistics named " + name);
+        return null;
+    }
+
+    /**
+     * Test that nothing is recorded while statistics are disabled.
+     */
+    public void testDisabled() throws Exception {
+        assertFalse("disabled by default", propertyUtils.isStatisticsEnabled());
+        propertyUtils.getProperty(new TestBean(), "stringProperty");
+        CacheStatistics descriptors = find(propertyUtils.getCacheStatistics(), "descriptors");
+        assertFalse("enabled", descriptors.isEnabled());
+        assertEquals("hits", 0, descriptors.getHitCount());
+        assertEquals("misses", 0, descriptors.getMissCount());
+        assertEquals("load time", 0, descriptors.getLoadTime());
+        assertEquals("size", 1, descriptors.getSize());
+    }
+
+    /**
+     * Test the descriptor and accessor statistics.
+     */
+    public void testPropertyUtils() throws Exception {
+        propertyUtils.setStatisticsEnabled(true);
+        CacheStatistics descriptors = find(propertyUtils.getCacheStatistics(), "descriptors");
+        CacheStatistics accessors = find(propertyUtils.getCacheStatistics(), "accessors");
+        assertTrue("enabled", descriptors.isEnabled());
+
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("first miss", 1, descriptors.getMissCount());
+        assertEquals("first hits", 0, descriptors.getHitCount());
+        assertTrue("load time", descriptors.getLoadTime() > 0);
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("second miss", 1, descriptors.getMissCount());
+        assertEquals("second hits", 1, descriptors.getHitCount());
+        assertEquals("hit ratio", 0.5, descriptors.getHitRatio(), 0.0001);
+        assertEquals("size", 1, descriptors.getSize());
+
+        TestBean bean = new TestBean();
+        propertyUtils.getProperty(bean, "stringProperty");
+        propertyUtils.getProperty(bean, "stringProperty");
+        propertyUtils.getProperty(bean, "intProperty");
+        assertEquals("accessor misses", 2, accessors.getMissCount());
+        assertEquals("accessor hits", 1, accessors.getHitCount());
+
+        descriptors.reset();
+        assertEquals("reset hits", 0, descriptors.getHitCount());
+        assertEquals("reset misses", 0, descriptors.getMissCount());
+        assertEquals("reset load time", 0, descriptors.getLoadTime());
+        assertEquals("size after reset", 1, descriptors.getSize());
+
+        descriptors.setEnabled(false);
+        assertFalse("disabled", propertyUtils.isStatisticsEnabled());
+    }
+
+    /**
+     * Test the mapped descriptor statistics.
+     */
+    public void testMappedDescriptors() throws Exception {
+        propertyUtils.setStatisticsEnabled(true);
+        CacheStatistics mapped = find(propertyUtils.getCacheStatistics(), "mappedDescriptors");
+        TestBean bean = new TestBean();
+        propertyUtils.getPropertyDescriptor(bean, "mappedProperty");
+        propertyUtils.getPropertyDescriptor(bean, "mappedProperty");
+        assertEquals("misses", 1, mapped.getMissCount());
+        assertEquals("hits", 1, mapped.getHitCount());
+    }
+
+    /**
+     * Test eviction counts of a bounded cache.
+     */
+    public void testEvictions() throws Exception {
+        propertyUtils.setMaxCacheSize(1);
+        propertyUtils.setStatisticsEnabled(true);
+        CacheStatistics descriptors = find(propertyUtils.getCacheStatistics(), "descriptors");
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        propertyUtils.getPropertyDescriptors(AlphaBean.class);
+        propertyUtils.getPropertyDescriptors(BetaBean.class);
+        assertEquals("evictions", 2, descriptors.getEvictionCount());
+        assertEquals("size", 1, descriptors.getSize());
+        descriptors.reset();
+        assertEquals("evictions after reset", 0, descriptors.getEvictionCount());
+    }
+
+    /**
+     * Test the method cache statistics.
+     */
+    public void testMethodUtils() throws Exception {
+        MethodUtils.setStatisticsEnabled(true);
+        CacheStatistics methods = find(MethodUtils.getCacheStatistics(), "methods");
+        methods.reset();
+        MethodUtils.clearCache();
+        MethodUtils.getAccessibleMethod(String.class, "trim", new Class[0]);
+        MethodUtils.getAccessibleMethod(String.class, "trim", new Class[0]);
+        assertEquals("misses", 1, methods.getMissCount());
+        assertEquals("hits", 1, methods.getHitCount());
+        assertTrue("load time", methods.getLoadTime() > 0);
+    }
+
+    /**
+     * Test the converter lookup statistics.
+     */
+    public void testConvertUtils() {
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean();
+        convertUtils.setStatisticsEnabled(true);
+        CacheStatistics converters = find(convertUtils.getCacheStatistics(), "converters");
+        convertUtils.lookup(Integer.class);
+        convertUtils.lookup(getClass());
+        assertEquals("hits", 1, converters.getHitCount());
+        assertEquals("misses", 1, converters.getMissCount());
+        assertTrue("size", converters.getSize() > 0);
+    }
+
+    /**
+     * Test registering the statistics as MBeans.
+     */
+    public void testMBeans() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String domain = "org.apache.commons.beanutils.test";
+        propertyUtils.setStatisticsEnabled(true);
+        ObjectName[] names = StatisticsMBeans.register(server, domain,
+                propertyUtils.getCacheStatistics());
+        try {
+            assertEquals("registered", 3, names.length);
+            ObjectName name = new ObjectName(domain + ":type=Cache,name=descriptors");
+            assertTrue("descriptors registered", server.isRegistered(name));
+
+            propertyUtils.getPropertyDescriptors(TestBean.class);
+            assertEquals("MissCount", new Long(1), server.getAttribute(name, "MissCount"));
+            assertEquals("Size", new Integer(1), server.getAttribute(name, "Size"));
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals("MissCount after reset", new Long(0),
+                    server.getAttribute(name, "MissCount"));
+        } finally {
+            StatisticsMBeans.unregister(server, names);
+        }
+        for (int i = 0; i < names.length; i++) {
+            assertFalse("unregistered " + i, server.isRegistered(names[i]));
+        }
+    }
+}
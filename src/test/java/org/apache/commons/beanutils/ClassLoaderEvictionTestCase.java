@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.converters.IntegerConverter;
+import org.apache.commons.beanutils.memoryleaktests.pojotests.SomePojo;
+
+/**
+ * Test case for evicting the cached data of a single class or
+ * ClassLoader.
+ *
+ * @version $Revision$ $Date$
+ */
+public class ClassLoaderEvictionTestCase extends TestCase {
+
+    /** A ClassLoader for the test classes, which doesn't delegate to ours */
+    private ClassLoader loader;
+
+    /** SomePojo, loaded by the test ClassLoader */
+    private Class pojoClass;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public ClassLoaderEvictionTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(ClassLoaderEvictionTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        URL classes = SomePojo.class.getProtectionDomain().getCodeSource().getLocation();
+        loader = new URLClassLoader(new URL[] {classes}, null);
+        pojoClass = loader.loadClass(SomePojo.class.getName());
+        assertNotSame("separate class", SomePojo.class, pojoClass);
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        loader = null;
+        pojoClass = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test evicting the property descriptors of a ClassLoader.
+     */
+    public void testPropertyUtilsClassLoader() throws Exception {
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        PropertyDescriptor[] pojo = propertyUtils.getPropertyDescriptors(pojoClass);
+        PropertyDescriptor[] kept = propertyUtils.getPropertyDescriptors(SomePojo.class);
+        BeanAccessor keptAccessor = propertyUtils.getBeanAccessor(SomePojo.class);
+        propertyUtils.getProperty(pojoClass.newInstance(), "name");
+
+        propertyUtils.clearDescriptors(loader);
+        assertNotSame("evicted", pojo, propertyUtils.getPropertyDescriptors(pojoClass));
+        assertSame("kept", kept, propertyUtils.getPropertyDescriptors(SomePojo.class));
+        assertSame("kept accessor", keptAccessor, propertyUtils.getBeanAccessor(SomePojo.class));
+        assertEquals("still works", "initialValue",
+                propertyUtils.getProperty(pojoClass.newInstance(), "name"));
+    }
+
+    /**
+     * Test evicting the property descriptors of a single class.
+     */
+    public void testPropertyUtilsClass() throws Exception {
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        PropertyDescriptor[] pojo = propertyUtils.getPropertyDescriptors(pojoClass);
+        PropertyDescriptor[] kept = propertyUtils.getPropertyDescriptors(SomePojo.class);
+
+        propertyUtils.clearDescriptors(pojoClass);
+        assertNotSame("evicted", pojo, propertyUtils.getPropertyDescriptors(pojoClass));
+        assertSame("kept", kept, propertyUtils.getPropertyDescriptors(SomePojo.class));
+
+        try {
+            propertyUtils.clearDescriptors((Class) null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test evicting the cached methods of a ClassLoader and of a class.
+     */
+    public void testMethodUtils() throws Exception {
+        Method method = MethodUtils.getAccessibleMethod(pojoClass, "getName", new Class[0]);
+        assertNotNull("method", method);
+        MethodUtils.getAccessibleMethod(SomePojo.class, "getName", new Class[0]);
+
+        assertEquals("evicted", 1, MethodUtils.clearCache(loader));
+        assertEquals("already evicted", 0, MethodUtils.clearCache(loader));
+        assertTrue("kept", MethodUtils.clearCache(SomePojo.class) > 0);
+    }
+
+    /**
+     * Test evicting the WrapDynaClasses of a ClassLoader and of a class.
+     */
+    public void testWrapDynaClass() throws Exception {
+        WrapDynaClass pojo = WrapDynaClass.createDynaClass(pojoClass);
+        WrapDynaClass kept = WrapDynaClass.createDynaClass(SomePojo.class);
+
+        WrapDynaClass.clear(loader);
+        WrapDynaClass recreated = WrapDynaClass.createDynaClass(pojoClass);
+        assertNotSame("evicted", pojo, recreated);
+        assertSame("kept", kept, WrapDynaClass.createDynaClass(SomePojo.class));
+
+        WrapDynaClass.clear(pojoClass);
+        assertNotSame("evicted class", recreated, WrapDynaClass.createDynaClass(pojoClass));
+        assertSame("kept class", kept, WrapDynaClass.createDynaClass(SomePojo.class));
+    }
+
+    /**
+     * Test deregistering the Converters of a ClassLoader.
+     */
+    public void testConvertUtils() throws Exception {
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean();
+        Class customInteger = loader.loadClass(
+                "org.apache.commons.beanutils.memoryleaktests.pojotests.CustomInteger");
+        convertUtils.register(new IntegerConverter(), customInteger);
+        Converter kept = convertUtils.lookup(Integer.class);
+
+        assertEquals("evicted", 1, convertUtils.deregister(loader));
+        assertNull("evicted converter", convertUtils.lookup(customInteger));
+        assertSame("kept", kept, convertUtils.lookup(Integer.class));
+        assertEquals("already evicted", 0, convertUtils.deregister(loader));
+    }
+}
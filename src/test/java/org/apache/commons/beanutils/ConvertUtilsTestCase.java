@@ -24,6 +24,7 @@ import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Locale;
+import org.apache.commons.beanutils.converters.CalendarConverter;
 import org.apache.commons.beanutils.converters.DateConverter;
 import junit.framework.TestCase;
 import junit.framework.Test;
@@ -657,6 +658,92 @@ public class ConvertUtilsTestCase extends TestCase {
         
     }
 
+    /**
+     * Test converters registered for a superclass or an interface of the
+     * destination class are found, and that the resolved converters are
+     * discarded when converters are registered or deregistered.
+     */
+    public void testLookupHierarchy() throws Exception {
+        Converter listConverter = new Converter() {
+            public Object convert(Class type, Object value) {
+                return "List-Converter";
+            }
+        };
+        Converter abstractListConverter = new Converter() {
+            public Object convert(Class type, Object value) {
+                return "AbstractList-Converter";
+            }
+        };
+        Converter arrayListConverter = new Converter() {
+            public Object convert(Class type, Object value) {
+                return "ArrayList-Converter";
+            }
+        };
+
+        ConvertUtilsBean utils = new ConvertUtilsBean();
+        CacheStatistics statistics = utils.getCacheStatistics()[0];
+        utils.setStatisticsEnabled(true);
+        assertNull("none", utils.lookup(String.class, java.util.ArrayList.class));
+        // one miss for the resolution, not one for each supertype
+        assertEquals("misses", 1, statistics.getMissCount());
+        assertEquals("hits", 0, statistics.getHitCount());
+        assertNull("cached", utils.lookup(String.class, java.util.ArrayList.class));
+        assertEquals("misses when cached", 1, statistics.getMissCount());
+        assertEquals("unconverted", "x", utils.convert("x", java.util.ArrayList.class));
+
+        statistics.reset();
+        utils.register(listConverter, java.util.List.class);
+        assertSame("interface", listConverter,
+                utils.lookup(String.class, java.util.ArrayList.class));
+        assertEquals("hit", 1, statistics.getHitCount());
+        assertEquals("no misses", 0, statistics.getMissCount());
+        utils.setStatisticsEnabled(false);
+        assertSame("null source", listConverter, utils.lookup(null, java.util.ArrayList.class));
+        assertEquals("convert", "List-Converter", utils.convert("x", java.util.ArrayList.class));
+        assertNull("exact lookup", utils.lookup(java.util.ArrayList.class));
+
+        utils.register(abstractListConverter, java.util.AbstractList.class);
+        assertSame("superclass", abstractListConverter,
+                utils.lookup(String.class, java.util.ArrayList.class));
+
+        utils.register(arrayListConverter, java.util.ArrayList.class);
+        assertSame("exact", arrayListConverter,
+                utils.lookup(String.class, java.util.ArrayList.class));
+
+        utils.deregister(java.util.ArrayList.class);
+        utils.deregister(java.util.AbstractList.class);
+        assertSame("deregistered", listConverter,
+                utils.lookup(String.class, java.util.ArrayList.class));
+
+        // Object is not searched, and primitives have no hierarchy
+        utils.register(arrayListConverter, Object.class);
+        assertNull("Object", utils.lookup(String.class, java.util.Map.class));
+        assertSame("primitive", utils.lookup(Integer.TYPE), utils.lookup(String.class, Integer.TYPE));
+    }
+
+    /**
+     * Test that the standard converters are not used for subclasses of
+     * the types they support, as they can only produce the exact type.
+     */
+    public void testLookupHierarchySubclassOfStandardType() throws Exception {
+        ConvertUtilsBean utils = new ConvertUtilsBean();
+        assertNotNull("Calendar", utils.lookup(java.util.Calendar.class));
+        assertNull("GregorianCalendar",
+                utils.lookup(String.class, java.util.GregorianCalendar.class));
+        assertEquals("unconverted", "2020-01-01",
+                utils.convert("2020-01-01", java.util.GregorianCalendar.class));
+
+        java.util.Date date = new java.util.Date() { };
+        assertNull("Date subclass", utils.lookup(String.class, date.getClass()));
+        assertEquals("Date subclass unconverted", "2020-01-01",
+                utils.convert("2020-01-01", date.getClass()));
+
+        // a standard converter registered explicitly for the subclass is used
+        utils.register(new CalendarConverter(), java.util.GregorianCalendar.class);
+        assertNotNull("registered",
+                utils.lookup(String.class, java.util.GregorianCalendar.class));
+    }
+
     // -------------------------------------------------------- Private Methods
 
 
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Array;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.converters.IntegerConverter;
+import org.apache.commons.beanutils.converters.StringConverter;
+
+/**
+ * Test case for {@link ConverterRegistry} and the registry mode of
+ * {@link ConvertUtilsBean}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class ConverterRegistryTestCase extends TestCase {
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public ConverterRegistryTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(ConverterRegistryTestCase.class));
+    }
+
+    /**
+     * Test building registries.
+     */
+    public void testBuilder() {
+        Converter integerConverter = new IntegerConverter();
+        Converter stringConverter = new StringConverter();
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder();
+        builder.register(integerConverter, Integer.class);
+        builder.register(stringConverter, String.class);
+        ConverterRegistry registry = builder.build();
+        assertEquals("size", 2, registry.size());
+        assertSame("Integer", integerConverter, registry.lookup(Integer.class));
+        assertSame("String", stringConverter, registry.lookup(String.class));
+        assertNull("Long", registry.lookup(Long.class));
+        assertNull("null", registry.lookup(null));
+
+        builder.deregister(Integer.class);
+        assertSame("unchanged", integerConverter, registry.lookup(Integer.class));
+        ConverterRegistry copy = new ConverterRegistry.Builder(builder.build()).build();
+        assertEquals("copy size", 1, copy.size());
+        assertNull("copy Integer", copy.lookup(Integer.class));
+        assertSame("copy String", stringConverter, copy.lookup(String.class));
+
+        try {
+            builder.register(null, Integer.class);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test a registry with many classes, so that lookups probe.
+     */
+    public void testManyClasses() {
+        Class[] classes = new Class[200];
+        Converter[] converters = new Converter[classes.length];
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder();
+        Class type = String.class;
+        for (int i = 0; i < classes.length; i++) {
+            type = Array.newInstance(type, 0).getClass();
+            classes[i] = type;
+            converters[i] = new StringConverter();
+            builder.register(converters[i], type);
+        }
+        ConverterRegistry registry = builder.build();
+        assertEquals("size", classes.length, registry.size());
+        for (int i = 0; i < classes.length; i++) {
+            assertSame("lookup " + i, converters[i], registry.lookup(classes[i]));
+        }
+        assertNull("missing", registry.lookup(Array.newInstance(type, 0).getClass()));
+    }
+
+    /**
+     * Test a ConvertUtilsBean which uses a registry.
+     */
+    public void testConvertUtilsBean() {
+        ConvertUtilsBean standard = new ConvertUtilsBean();
+        ConverterRegistry registry = standard.getRegistry();
+        assertSame("standard", standard.lookup(Integer.class), registry.lookup(Integer.class));
+
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean(registry);
+        assertSame("registry", registry, convertUtils.getRegistry());
+        assertEquals("convert", new Integer(123), convertUtils.convert("123", Integer.class));
+
+        int count = convertUtils.getModificationCount();
+        Converter converter = new ThrowExceptionConverter();
+        convertUtils.register(converter, Integer.class);
+        assertSame("registered", converter, convertUtils.lookup(Integer.class));
+        assertNotSame("replaced", registry, convertUtils.getRegistry());
+        assertSame("unchanged", standard.lookup(Integer.class), registry.lookup(Integer.class));
+        assertTrue("modified", convertUtils.getModificationCount() > count);
+
+        convertUtils.deregister(Integer.class);
+        assertNull("deregistered", convertUtils.lookup(Integer.class));
+
+        convertUtils.register(true, false, 0);
+        assertNotNull("re-registered", convertUtils.lookup(Integer.class));
+        assertNotNull("kept", convertUtils.lookup(String.class));
+
+        convertUtils.deregister();
+        assertEquals("standard size", registry.size(), convertUtils.getRegistry().size());
+    }
+
+    /**
+     * Test setting the registry of a ConvertUtilsBean.
+     */
+    public void testSetRegistry() {
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean();
+        assertEquals("convert", new Integer(123), convertUtils.convert("123", Integer.class));
+
+        ConverterRegistry.Builder builder = new ConverterRegistry.Builder(convertUtils.getRegistry());
+        builder.deregister(Integer.class);
+        convertUtils.setRegistry(builder.build());
+        assertNull("Integer", convertUtils.lookup(Integer.class));
+        assertNull("Integer resolved", convertUtils.lookup(String.class, Integer.class));
+        assertNotNull("Long", convertUtils.lookup(Long.class));
+    }
+
+    /**
+     * Test freezing a ConvertUtilsBean.
+     */
+    public void testFreeze() {
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean();
+        Converter converter = convertUtils.lookup(Integer.class);
+        assertFalse("not frozen", convertUtils.isFrozen());
+        convertUtils.freeze();
+        assertTrue("frozen", convertUtils.isFrozen());
+        assertSame("lookup", converter, convertUtils.lookup(Integer.class));
+        assertEquals("convert", new Integer(123), convertUtils.convert("123", Integer.class));
+
+        try {
+            convertUtils.register(new IntegerConverter(), Integer.class);
+            fail("register: expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected result
+        }
+        try {
+            convertUtils.deregister();
+            fail("deregister: expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected result
+        }
+        try {
+            convertUtils.setRegistry(new ConverterRegistry.Builder().build());
+            fail("setRegistry: expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected result
+        }
+        assertSame("unchanged", converter, convertUtils.lookup(Integer.class));
+    }
+}
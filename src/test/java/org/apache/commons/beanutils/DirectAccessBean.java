@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+/**
+ * A bean with a hand written {@link DirectAccessor}, see
+ * {@link DirectAccessBeanDirectAccessor}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class DirectAccessBean {
+
+    private int intProperty = 123;
+    private String stringProperty = "This is a string";
+    private long longProperty = 321L;
+
+    public int getIntProperty() {
+        return intProperty;
+    }
+
+    public void setIntProperty(int intProperty) {
+        this.intProperty = intProperty;
+    }
+
+    public String getStringProperty() {
+        return stringProperty;
+    }
+
+    public void setStringProperty(String stringProperty) {
+        if ("throw".equals(stringProperty)) {
+            throw new IllegalStateException("Setter failed");
+        }
+        this.stringProperty = stringProperty;
+    }
+
+    public String getReadOnlyProperty() {
+        return "Read Only";
+    }
+
+    /** Not covered by the DirectAccessor */
+    public long getLongProperty() {
+        return longProperty;
+    }
+
+    public void setLongProperty(long longProperty) {
+        this.longProperty = longProperty;
+    }
+}
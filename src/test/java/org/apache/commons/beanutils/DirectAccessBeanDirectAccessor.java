@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A hand written {@link DirectAccessor} for {@link DirectAccessBean},
+ * like the ones the annotation processor generates, which counts the
+ * calls made to it.
+ *
+ * @version $Revision$ $Date$
+ */
+public class DirectAccessBeanDirectAccessor implements DirectAccessor {
+
+    private static final String[] NAMES = new String[] {
+        "intProperty", "readOnlyProperty", "stringProperty"
+    };
+
+    /** The number of get() calls */
+    static int gets;
+
+    /** The number of set() calls which called the setter */
+    static int sets;
+
+    public Class getBeanClass() {
+        return DirectAccessBean.class;
+    }
+
+    public String[] getPropertyNames() {
+        return (String[]) NAMES.clone();
+    }
+
+    public boolean isReadable(int property) {
+        return true;
+    }
+
+    public boolean isWriteable(int property) {
+        return property != 1;
+    }
+
+    public Object get(Object bean, int property) throws InvocationTargetException {
+        DirectAccessBean target = (DirectAccessBean) bean;
+        gets++;
+        try {
+            switch (property) {
+                case 0:
+                    return new Integer(target.getIntProperty());
+                case 1:
+                    return target.getReadOnlyProperty();
+                case 2:
+                    return target.getStringProperty();
+            }
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+        throw new IllegalArgumentException("Property " + property + " is not readable");
+    }
+
+    public boolean set(Object bean, int property, Object value) throws InvocationTargetException {
+        DirectAccessBean target = (DirectAccessBean) bean;
+        switch (property) {
+            case 0:
+                if (!(value instanceof Integer)) {
+                    return false;
+                }
+                sets++;
+                try {
+                    target.setIntProperty(((Integer) value).intValue());
+                } catch (Throwable t) {
+                    throw new InvocationTargetException(t);
+                }
+                return true;
+            case 2:
+                if (value != null && !(value instanceof String)) {
+                    return false;
+                }
+                sets++;
+                try {
+                    target.setStringProperty((String) value);
+                } catch (Throwable t) {
+                    throw new InvocationTargetException(t);
+                }
+                return true;
+        }
+        throw new IllegalArgumentException("Property " + property + " is not writeable");
+    }
+}
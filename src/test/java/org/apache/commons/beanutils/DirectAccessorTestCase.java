@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.InvocationTargetException;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for the use of {@link DirectAccessor}s.
+ *
+ * @version $Revision$ $Date$
+ */
+public class DirectAccessorTestCase extends TestCase {
+
+    private PropertyUtilsBean propertyUtils;
+    private DirectAccessBean bean;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public DirectAccessorTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(DirectAccessorTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        propertyUtils = new PropertyUtilsBean();
+        bean = new DirectAccessBean();
+        DirectAccessBeanDirectAccessor.gets = 0;
+        DirectAccessBeanDirectAccessor.sets = 0;
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        propertyUtils = null;
+        bean = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test the accessor is found by name and cached.
+     */
+    public void testFind() {
+        DirectAccessor accessor = propertyUtils.getDirectAccessor(DirectAccessBean.class);
+        assertTrue("found", accessor instanceof DirectAccessBeanDirectAccessor);
+        assertSame("cached", accessor, propertyUtils.getDirectAccessor(DirectAccessBean.class));
+        assertNull("none", propertyUtils.getDirectAccessor(TestBean.class));
+        assertNull("bootstrap", propertyUtils.getDirectAccessor(String.class));
+    }
+
+    /**
+     * Test simple property access goes through the accessor.
+     */
+    public void testSimpleProperty() throws Exception {
+        propertyUtils.setSimpleProperty(bean, "intProperty", new Integer(42));
+        propertyUtils.setSimpleProperty(bean, "stringProperty", "Direct");
+        assertEquals("sets", 2, DirectAccessBeanDirectAccessor.sets);
+        assertEquals("int", new Integer(42), propertyUtils.getSimpleProperty(bean, "intProperty"));
+        assertEquals("String", "Direct", propertyUtils.getSimpleProperty(bean, "stringProperty"));
+        assertEquals("read only", "Read Only", propertyUtils.getProperty(bean, "readOnlyProperty"));
+        assertEquals("gets", 3, DirectAccessBeanDirectAccessor.gets);
+
+        // Properties the accessor doesn't cover use reflection
+        propertyUtils.setSimpleProperty(bean, "longProperty", new Long(5));
+        assertEquals("long", new Long(5), propertyUtils.getSimpleProperty(bean, "longProperty"));
+        assertEquals("gets", 3, DirectAccessBeanDirectAccessor.gets);
+    }
+
+    /**
+     * Test values the accessor doesn't take are set by reflection, with
+     * the same conversions and errors.
+     */
+    public void testFallback() throws Exception {
+        propertyUtils.setSimpleProperty(bean, "intProperty", new Short((short) 7));
+        assertEquals("widened", 7, bean.getIntProperty());
+        assertEquals("sets", 0, DirectAccessBeanDirectAccessor.sets);
+        try {
+            propertyUtils.setSimpleProperty(bean, "intProperty", "Not an int");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            propertyUtils.setSimpleProperty(bean, "readOnlyProperty", "x");
+            fail("Expected NoSuchMethodException");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test exceptions thrown by the setter are wrapped as by reflection.
+     */
+    public void testSetterException() throws Exception {
+        try {
+            propertyUtils.setSimpleProperty(bean, "stringProperty", "throw");
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException e) {
+            assertTrue("cause", e.getTargetException() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Test BeanAccessor, copyProperties(), BeanMap and WrapDynaBean use
+     * the accessor.
+     */
+    public void testOtherAccess() throws Exception {
+        BeanAccessor accessor = propertyUtils.getBeanAccessor(DirectAccessBean.class);
+        accessor.set(bean, accessor.indexOf("intProperty"), new Integer(1));
+        assertEquals("BeanAccessor", new Integer(1), accessor.get(bean, accessor.indexOf("intProperty")));
+        assertEquals("BeanAccessor sets", 1, DirectAccessBeanDirectAccessor.sets);
+        assertEquals("BeanAccessor gets", 1, DirectAccessBeanDirectAccessor.gets);
+
+        DirectAccessBean dest = new DirectAccessBean();
+        new BeanUtilsBean(new ConvertUtilsBean(), propertyUtils).copyProperties(dest, bean);
+        assertEquals("copyProperties", 1, dest.getIntProperty());
+        assertEquals("copyProperties sets", 3, DirectAccessBeanDirectAccessor.sets);
+
+        BeanMap map = new BeanMap(bean);
+        map.put("stringProperty", "BeanMap");
+        assertEquals("BeanMap", "BeanMap", map.get("stringProperty"));
+        assertEquals("BeanMap", "BeanMap", bean.getStringProperty());
+        assertEquals("BeanMap sets", 4, DirectAccessBeanDirectAccessor.sets);
+
+        WrapDynaBean dynaBean = new WrapDynaBean(bean);
+        dynaBean.set("intProperty", new Integer(2));
+        assertEquals("WrapDynaBean", new Integer(2), dynaBean.get("intProperty"));
+        assertEquals("WrapDynaBean sets", 5, DirectAccessBeanDirectAccessor.sets);
+    }
+}
@@ -655,4 +655,95 @@ public class MethodUtilsTestCase extends TestCase {
         // reset default
         MethodUtils.setCacheMethods(true);
     }
+
+    /**
+     * Test cached methods are kept after a garbage collection, and are
+     * cached per class.
+     */
+    public void testCacheSize() throws Exception {
+
+        MethodUtils.clearCache(); // make sure it starts empty
+        Method getFoo = MethodUtils.getAccessibleMethod(PublicSubBean.class, "getFoo", new Class[0]);
+        Method setFoo = MethodUtils.getAccessibleMethod(PublicSubBean.class, "setFoo",
+                new Class[] {String.class});
+        MethodUtils.getAccessibleMethod(String.class, "trim", new Class[0]);
+        assertEquals("size", 3, MethodUtils.getCacheSize());
+
+        System.gc();
+        assertSame("getFoo cached", getFoo,
+                MethodUtils.getAccessibleMethod(PublicSubBean.class, "getFoo", new Class[0]));
+        assertSame("setFoo cached", setFoo, MethodUtils.getAccessibleMethod(PublicSubBean.class,
+                "setFoo", new Class[] {String.class}));
+        assertEquals("size after gc", 3, MethodUtils.getCacheSize());
+
+        assertEquals("cleared class", 2, MethodUtils.clearCache(PublicSubBean.class));
+        assertEquals("size after clear", 1, MethodUtils.getCacheSize());
+        assertEquals("cleared", 1, MethodUtils.clearCache());
+    }
+
+    /**
+     * Test cached methods, which are held weakly, are found again after
+     * they have been garbage collected.
+     */
+    public void testCachedMethodFoundAgain() throws Exception {
+
+        MethodUtils.clearCache(); // make sure it starts empty
+        MethodUtils.setStatisticsEnabled(true);
+        try {
+            // a method of a default access superclass, which is made accessible
+            String setFoo = MethodUtils.getMatchingAccessibleMethod(PublicSubBean.class, "setFoo",
+                    new Class[] {String.class}).toString();
+            for (int i = 0; i < 5; i++) {
+                System.gc();
+            }
+
+            CacheStatistics statistics = MethodUtils.getCacheStatistics()[0];
+            long hits = statistics.getHitCount();
+            Method method = MethodUtils.getMatchingAccessibleMethod(PublicSubBean.class, "setFoo",
+                    new Class[] {String.class});
+            assertEquals("hit", hits + 1, statistics.getHitCount());
+            assertEquals("method", setFoo, method.toString());
+            assertTrue("accessible", method.isAccessible());
+            assertEquals("size", 1, MethodUtils.getCacheSize());
+
+            PublicSubBean bean = new PublicSubBean();
+            method.invoke(bean, new Object[] {"alpha"});
+            assertEquals("invoked", "alpha", bean.getFoo());
+        } finally {
+            MethodUtils.setStatisticsEnabled(false);
+            MethodUtils.clearCache();
+        }
+    }
+
+    /**
+     * Test {@link MethodUtils#setMaxCacheSize(int)}.
+     */
+    public void testSetMaxCacheSize() throws Exception {
+
+        assertEquals("default", 0, MethodUtils.getMaxCacheSize());
+        MethodUtils.setMaxCacheSize(2);
+        try {
+            PublicSubBean bean = new PublicSubBean();
+            MethodUtils.invokeMethod(bean, "setFoo", "alpha");
+            assertEquals("alpha", MethodUtils.invokeMethod(bean, "getFoo", new Object[0]));
+            MethodUtils.invokeMethod(bean, "hashCode", new Object[0]);
+            assertEquals("bounded", 2, MethodUtils.clearCache());
+
+            // Cached methods are found again
+            Method method = MethodUtils.getAccessibleMethod(PublicSubBean.class, "getFoo", new Class[0]);
+            assertSame("cached", method,
+                    MethodUtils.getAccessibleMethod(PublicSubBean.class, "getFoo", new Class[0]));
+            assertEquals("class", 1, MethodUtils.clearCache(PublicSubBean.class));
+        } finally {
+            MethodUtils.setMaxCacheSize(0);
+        }
+        assertEquals("reset", 0, MethodUtils.getMaxCacheSize());
+
+        try {
+            MethodUtils.setMaxCacheSize(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
 }
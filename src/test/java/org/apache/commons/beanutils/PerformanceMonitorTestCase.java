@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.converters.IntegerConverter;
+
+/**
+ * Test case for {@link PerformanceMonitor}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class PerformanceMonitorTestCase extends TestCase {
+
+    /** The notifications received, as strings */
+    private List events;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public PerformanceMonitorTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(PerformanceMonitorTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        events = new ArrayList();
+        PerformanceMonitor.setListener(new PerformanceListener() {
+            public void introspected(Class beanClass, int propertyCount, long duration) {
+                events.add("introspected " + beanClass.getName());
+            }
+            public void converted(Class sourceType, Class targetType, long duration) {
+                events.add("converted " + targetType.getName());
+            }
+            public void conversionFailed(Class targetType, Object value, Throwable cause,
+                    boolean defaultUsed) {
+                events.add("failed " + value + " " + defaultUsed);
+            }
+            public void invoked(Method method, long duration) {
+                events.add("invoked " + method.getName());
+            }
+        });
+        PerformanceMonitor.setIntrospectionThreshold(0);
+        PerformanceMonitor.setConversionThreshold(0);
+        PerformanceMonitor.setInvocationThreshold(0);
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        PerformanceMonitor.setListener(null);
+        PerformanceMonitor.setIntrospectionThreshold(0);
+        PerformanceMonitor.setConversionThreshold(PerformanceMonitor.DEFAULT_THRESHOLD);
+        PerformanceMonitor.setInvocationThreshold(PerformanceMonitor.DEFAULT_THRESHOLD);
+        events = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test introspection and property getter invocations are reported.
+     */
+    public void testIntrospection() throws Exception {
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        propertyUtils.getProperty(new TestBean(), "stringProperty");
+        assertTrue("introspected", events.contains("introspected " + TestBean.class.getName()));
+        assertTrue("invoked", events.contains("invoked getStringProperty"));
+
+        events.clear();
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("cached", 0, events.size());
+    }
+
+    /**
+     * Test MethodUtils invocations are reported.
+     */
+    public void testInvocation() throws Exception {
+        MethodUtils.invokeMethod("abc", "length", null);
+        MethodUtils.invokeExactMethod(" abc ", "trim", null);
+        assertTrue("invokeMethod", events.contains("invoked length"));
+        assertTrue("invokeExactMethod", events.contains("invoked trim"));
+    }
+
+    /**
+     * Test conversions and failed conversions are reported.
+     */
+    public void testConversion() {
+        ConvertUtilsBean convertUtils = new ConvertUtilsBean();
+        convertUtils.convert("123", Integer.class);
+        assertTrue("converted", events.contains("converted " + Integer.class.getName()));
+
+        convertUtils.register(new IntegerConverter(new Integer(0)), Integer.class);
+        assertEquals("default", new Integer(0), convertUtils.convert("abc", Integer.class));
+        assertTrue("failed with default", events.contains("failed abc true"));
+
+        convertUtils.register(new IntegerConverter(), Integer.class);
+        try {
+            convertUtils.convert("xyz", Integer.class);
+            fail("Expected ConversionException");
+        } catch (ConversionException e) {
+            // expected result
+        }
+        assertTrue("failed without default", events.contains("failed xyz false"));
+    }
+
+    /**
+     * Test operations quicker than the thresholds are not reported.
+     */
+    public void testThresholds() throws Exception {
+        PerformanceMonitor.setIntrospectionThreshold(Long.MAX_VALUE);
+        PerformanceMonitor.setConversionThreshold(Long.MAX_VALUE);
+        PerformanceMonitor.setInvocationThreshold(Long.MAX_VALUE);
+        new PropertyUtilsBean().getProperty(new TestBean(), "stringProperty");
+        new ConvertUtilsBean().convert("123", Integer.class);
+        MethodUtils.invokeMethod("abc", "length", null);
+        assertEquals("events", 0, events.size());
+    }
+
+    /**
+     * Test nothing is reported without a listener.
+     */
+    public void testNoListener() throws Exception {
+        PerformanceMonitor.setListener(null);
+        new PropertyUtilsBean().getProperty(new TestBean(), "stringProperty");
+        new ConvertUtilsBean().convert("abc", Integer.class);
+        assertEquals("events", 0, events.size());
+    }
+}
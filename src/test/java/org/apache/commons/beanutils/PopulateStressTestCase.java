@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * <p>Stress test which populates beans from many threads at once.</p>
+ *
+ * <p>On Java 21 or later the threads are virtual threads, started through
+ * reflection so that the test still compiles at the library's source
+ * level; otherwise fewer platform threads are used.</p>
+ *
+ * <p>The test checks that every thread gets the right results and that
+ * none of them deadlocks. It doesn't measure throughput, or detect
+ * carrier threads pinned by monitors; for that, run it on Java 21 or
+ * later with <code>-Djdk.tracePinnedThreads=full</code>.</p>
+ *
+ * @version $Revision$ $Date$
+ */
+public class PopulateStressTestCase extends TestCase {
+
+    /** The number of virtual threads */
+    private static final int VIRTUAL_THREADS = 10000;
+
+    /** The number of platform threads, when there are no virtual threads */
+    private static final int PLATFORM_THREADS = 500;
+
+    /** The number of beans each thread populates */
+    private static final int ITERATIONS = 20;
+
+    /** The first failure, if any */
+    private Throwable failure;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public PopulateStressTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(PopulateStressTestCase.class));
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        failure = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test populating beans from many threads, through the static
+     * BeanUtils methods (and so the per classloader BeanUtilsBean) and
+     * a shared BeanUtilsBean.
+     */
+    public void testPopulate() throws Exception {
+        final BeanUtilsBean shared = new BeanUtilsBean();
+        Method startVirtualThread = getStartVirtualThread();
+        int count = (startVirtualThread != null) ? VIRTUAL_THREADS : PLATFORM_THREADS;
+
+        Thread[] threads = new Thread[count];
+        for (int i = 0; i < count; i++) {
+            final int id = i;
+            Runnable task = new Runnable() {
+                public void run() {
+                    populate(id, (id % 2 == 0) ? BeanUtilsBean.getInstance() : shared);
+                }
+            };
+            if (startVirtualThread != null) {
+                threads[i] = (Thread) startVirtualThread.invoke(null, new Object[] {task});
+            } else {
+                threads[i] = new Thread(task);
+                threads[i].start();
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            threads[i].join(60000);
+            assertFalse("Thread " + i + " still running", threads[i].isAlive());
+        }
+        if (failure != null) {
+            AssertionError error = new AssertionError("Populate failed: " + failure);
+            error.initCause(failure);
+            throw error;
+        }
+    }
+
+    /**
+     * Populate beans and check their properties.
+     *
+     * @param id The thread number
+     * @param beanUtils The BeanUtilsBean to populate them with
+     */
+    private void populate(int id, BeanUtilsBean beanUtils) {
+        try {
+            for (int n = 0; n < ITERATIONS; n++) {
+                Map map = new HashMap();
+                map.put("booleanProperty", (n % 2 == 0) ? "true" : "false");
+                map.put("doubleProperty", id + ".5");
+                map.put("intProperty", Integer.toString(id));
+                map.put("longProperty", Integer.toString(n));
+                map.put("stringProperty", "String " + id);
+                map.put("intArray", new String[] {"1", Integer.toString(id)});
+                map.put("intIndexed[2]", Integer.toString(n));
+                map.put("mappedProperty(key" + n + ")", "value " + id);
+                map.put("nested.stringProperty", "Nested " + id);
+
+                TestBean bean = new TestBean();
+                beanUtils.populate(bean, map);
+
+                assertEquals("boolean", n % 2 == 0, bean.getBooleanProperty());
+                assertEquals("double", id + 0.5, bean.getDoubleProperty(), 0.0);
+                assertEquals("int", id, bean.getIntProperty());
+                assertEquals("long", n, bean.getLongProperty());
+                assertEquals("string", "String " + id, bean.getStringProperty());
+                assertEquals("intArray", id, bean.getIntArray()[1]);
+                assertEquals("intIndexed", n, bean.getIntIndexed(2));
+                assertEquals("mapped", "value " + id, bean.getMappedProperty("key" + n));
+                assertEquals("nested", "Nested " + id, bean.getNested().getStringProperty());
+            }
+        } catch (Throwable t) {
+            synchronized (this) {
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the <code>Thread.startVirtualThread(Runnable)</code> method.
+     *
+     * @return The method, or <code>null</code> before Java 21
+     */
+    private static Method getStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", new Class[] {Runnable.class});
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
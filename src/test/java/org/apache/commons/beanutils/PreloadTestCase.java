@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.priv.PrivateBeanFactory;
+import org.apache.commons.beanutils.priv.PrivateDirect;
+import org.apache.commons.beanutils.priv.PublicSubBean;
+
+/**
+ * Test case for {@link PropertyUtilsBean#preload(java.util.Collection)}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class PreloadTestCase extends TestCase {
+
+    private PropertyUtilsBean propertyUtils;
+    private CountingIntrospector introspector;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public PreloadTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(PreloadTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        propertyUtils = new PropertyUtilsBean();
+        introspector = new CountingIntrospector();
+        propertyUtils.setBeanIntrospector(introspector);
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        propertyUtils = null;
+        introspector = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test preloading fills the caches, using several threads.
+     */
+    public void testPreload() throws Exception {
+        List classes = Arrays.asList(new Class[] {
+            TestBean.class, MappedPropertyTestBean.class, IndexedTestBean.class, AlphaBean.class
+        });
+        Map times = propertyUtils.preload(classes, 3);
+        assertEquals("classes", 4, times.size());
+        for (int i = 0; i < classes.size(); i++) {
+            Long time = (Long) times.get(classes.get(i));
+            assertNotNull("time " + i, time);
+            assertTrue("time " + i + " >= 0", time.longValue() >= 0);
+        }
+        assertEquals("introspections", 4, introspector.count);
+
+        // Nothing is introspected again
+        TestBean bean = new TestBean();
+        propertyUtils.setProperty(bean, "stringProperty", "preloaded");
+        assertEquals("preloaded", propertyUtils.getProperty(bean, "stringProperty"));
+        propertyUtils.getBeanAccessor(AlphaBean.class);
+        assertEquals("introspections after access", 4, introspector.count);
+
+        // Mapped properties were described in advance
+        Map mapped = propertyUtils.getMappedPropertyDescriptors(MappedPropertyTestBean.class);
+        assertNotNull("mapped descriptors", mapped);
+        assertTrue("mapproperty", mapped.get("mapproperty") instanceof MappedPropertyDescriptor);
+        assertTrue("mappedSetterOnly", mapped.get("mappedSetterOnly") instanceof MappedPropertyDescriptor);
+    }
+
+    /**
+     * Test preloading on the calling thread.
+     */
+    public void testPreloadSingleThread() throws Exception {
+        List classes = new ArrayList();
+        classes.add(TestBean.class);
+        classes.add(null);
+        Map times = propertyUtils.preload(classes, 1);
+        assertEquals("classes", 1, times.size());
+        assertTrue("TestBean", times.containsKey(TestBean.class));
+        propertyUtils.getPropertyDescriptors(TestBean.class);
+        assertEquals("introspections", 1, introspector.count);
+    }
+
+    /**
+     * Test a class which fails to preload is left out.
+     */
+    public void testPreloadFailure() throws Exception {
+        introspector.fail = AlphaBean.class;
+        Map times = propertyUtils.preload(Arrays.asList(new Class[] {
+            AlphaBean.class, TestBean.class
+        }), 2);
+        assertEquals("classes", 1, times.size());
+        assertTrue("TestBean", times.containsKey(TestBean.class));
+    }
+
+    /**
+     * Test preloading the classes in a package.
+     */
+    public void testPreloadPackage() throws Exception {
+        Map times = propertyUtils.preload("org.apache.commons.beanutils.priv",
+                getClass().getClassLoader());
+        assertTrue("PublicSubBean", times.containsKey(PublicSubBean.class));
+        assertTrue("PrivateBeanFactory", times.containsKey(PrivateBeanFactory.class));
+        assertFalse("interface", times.containsKey(PrivateDirect.class));
+        assertEquals("introspections", times.size(), introspector.count);
+
+        // From a jar
+        times = propertyUtils.preload("junit.framework", TestCase.class.getClassLoader());
+        assertTrue("TestCase", times.containsKey(TestCase.class));
+
+        assertEquals("missing package", 0,
+                propertyUtils.preload("org.apache.commons.beanutils.nosuchpackage", null).size());
+    }
+
+    /**
+     * Test invalid arguments.
+     */
+    public void testInvalid() throws Exception {
+        try {
+            propertyUtils.preload((List) null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            propertyUtils.preload((String) null, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * A BeanIntrospector which counts the classes it introspects.
+     */
+    private static class CountingIntrospector implements BeanIntrospector {
+        private final BeanIntrospector introspector = new DefaultBeanIntrospector();
+        int count;
+        Class fail;
+
+        public synchronized PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+                throws IntrospectionException {
+            if (beanClass == fail) {
+                throw new IllegalStateException("Failed to introspect " + beanClass);
+            }
+            count++;
+            return introspector.getPropertyDescriptors(beanClass);
+        }
+
+        public PropertyDescriptor getPropertyDescriptor(Class beanClass, String name)
+                throws IntrospectionException {
+            return null;
+        }
+    }
+}
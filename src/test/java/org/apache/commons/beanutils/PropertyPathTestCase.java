@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.beanutils.expression.DefaultResolver;
+
+/**
+ * Test case for {@link PropertyPath}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class PropertyPathTestCase extends TestCase {
+
+    private PropertyUtilsBean propertyUtils;
+    private BeanUtilsBean beanUtils;
+    private TestBean bean;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public PropertyPathTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(PropertyPathTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        propertyUtils = new PropertyUtilsBean();
+        beanUtils = new BeanUtilsBean(new ConvertUtilsBean(), propertyUtils);
+        bean = new TestBean();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        propertyUtils = null;
+        beanUtils = null;
+        bean = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test parsing an expression into its elements.
+     */
+    public void testParse() {
+        PropertyPath path = new PropertyPath("order.lines[3].attrs(color)", new DefaultResolver());
+        assertEquals("expression", "order.lines[3].attrs(color)", path.getExpression());
+        assertEquals("count", 3, path.getElementCount());
+
+        assertEquals("element 0", "order", path.getElement(0));
+        assertEquals("property 0", "order", path.getProperty(0));
+        assertFalse("indexed 0", path.isIndexed(0));
+        assertFalse("mapped 0", path.isMapped(0));
+
+        assertEquals("element 1", "lines[3]", path.getElement(1));
+        assertEquals("property 1", "lines", path.getProperty(1));
+        assertEquals("index 1", 3, path.getIndex(1));
+        assertTrue("indexed 1", path.isIndexed(1));
+
+        assertEquals("element 2", "attrs(color)", path.getElement(2));
+        assertEquals("property 2", "attrs", path.getProperty(2));
+        assertEquals("key 2", "color", path.getKey(2));
+        assertTrue("mapped 2", path.isMapped(2));
+
+        PropertyPath parent = path.getParent();
+        assertEquals("parent", "order.lines[3]", parent.getExpression());
+        assertEquals("parent count", 2, parent.getElementCount());
+        assertEquals("grandparent", "order", parent.getParent().getExpression());
+        assertNull("root parent", parent.getParent().getParent());
+    }
+
+    /**
+     * Test that malformed expressions are rejected when parsed.
+     */
+    public void testParseInvalid() {
+        try {
+            new PropertyPath("intIndexed[x]", new DefaultResolver());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            propertyUtils.getPropertyPath(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test that parsed paths are cached.
+     */
+    public void testCache() {
+        PropertyPath path = propertyUtils.getPropertyPath("nested.intProperty");
+        assertSame("cached", path, propertyUtils.getPropertyPath("nested.intProperty"));
+        propertyUtils.setResolver(new DefaultResolver());
+        assertNotSame("cleared", path, propertyUtils.getPropertyPath("nested.intProperty"));
+    }
+
+    /**
+     * Test getting properties using a path gives the same results as
+     * using the equivalent expression.
+     */
+    public void testGetNestedProperty() throws Exception {
+        String[] expressions = new String[] {
+            "intProperty",
+            "nested.stringProperty",
+            "nested.intIndexed[2]",
+            "nested.mappedProperty(First Key)",
+            "mapProperty.First Key",
+            "stringArray[1]",
+            "nested.nested.booleanProperty",
+        };
+        for (int i = 0; i < expressions.length; i++) {
+            PropertyPath path = propertyUtils.getPropertyPath(expressions[i]);
+            assertEquals(expressions[i],
+                    propertyUtils.getNestedProperty(bean, expressions[i]),
+                    propertyUtils.getNestedProperty(bean, path));
+        }
+    }
+
+    /**
+     * Test setting properties using a path.
+     */
+    public void testSetNestedProperty() throws Exception {
+        propertyUtils.setNestedProperty(bean,
+                propertyUtils.getPropertyPath("nested.stringProperty"), "New Value");
+        assertEquals("simple", "New Value", bean.getNested().getStringProperty());
+
+        propertyUtils.setNestedProperty(bean,
+                propertyUtils.getPropertyPath("nested.intIndexed[1]"), new Integer(42));
+        assertEquals("indexed", 42, bean.getNested().getIntIndexed(1));
+
+        propertyUtils.setNestedProperty(bean,
+                propertyUtils.getPropertyPath("nested.mappedProperty(New Key)"), "Mapped");
+        assertEquals("mapped", "Mapped", bean.getNested().getMappedProperty("New Key"));
+    }
+
+    /**
+     * Test a null nested property is reported.
+     */
+    public void testNestedNull() throws Exception {
+        bean.setNullProperty(null);
+        try {
+            propertyUtils.getNestedProperty(bean,
+                    propertyUtils.getPropertyPath("nullProperty.length"));
+            fail("Expected NestedNullException");
+        } catch (NestedNullException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test the BeanUtilsBean overloads, which perform conversions.
+     */
+    public void testBeanUtils() throws Exception {
+        PropertyPath path = propertyUtils.getPropertyPath("nested.intProperty");
+        beanUtils.setProperty(bean, path, "321");
+        assertEquals("set", 321, bean.getNested().getIntProperty());
+        assertEquals("get", "321", beanUtils.getProperty(bean, path));
+
+        beanUtils.setProperty(bean, propertyUtils.getPropertyPath("nested.intIndexed[0]"), "7");
+        assertEquals("indexed", 7, bean.getNested().getIntIndexed(0));
+
+        // Unknown nested properties are skipped, as for the String version
+        beanUtils.setProperty(bean, propertyUtils.getPropertyPath("unknown.intProperty"), "1");
+    }
+
+    /**
+     * Test reading several properties at once.
+     */
+    public void testGetProperties() throws Exception {
+        String[] names = new String[] {
+            "intProperty",
+            "stringProperty",
+            "nested.booleanProperty",
+            "intIndexed[2]",
+            "mappedProperty(First Key)",
+        };
+        Object[] values = new Object[names.length];
+        propertyUtils.getProperties(bean, names, values);
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], propertyUtils.getProperty(bean, names[i]), values[i]);
+        }
+
+        PropertyPath[] paths = propertyUtils.getPropertyPaths(names);
+        DynaBean dynaBean = new WrapDynaBean(bean);
+        PropertyPath[] dynaPaths = new PropertyPath[] {paths[0], paths[1], paths[2], paths[3]};
+        Object[] dynaValues = new Object[dynaPaths.length];
+        propertyUtils.getProperties(dynaBean, dynaPaths, dynaValues);
+        for (int i = 0; i < dynaPaths.length; i++) {
+            assertEquals("dyna " + names[i], values[i], dynaValues[i]);
+        }
+
+        String[] strings = new String[names.length];
+        beanUtils.getProperties(bean, paths, strings);
+        assertEquals("converted", String.valueOf(bean.getIntProperty()), strings[0]);
+
+        try {
+            propertyUtils.getProperties(bean, names, new Object[1]);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            propertyUtils.getProperties(bean, new String[] {"unknown"}, new Object[1]);
+            fail("Expected NoSuchMethodException");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test writing several properties at once.
+     */
+    public void testSetProperties() throws Exception {
+        PropertyPath[] paths = propertyUtils.getPropertyPaths(new String[] {
+            "intProperty",
+            "stringProperty",
+            "nested.stringProperty",
+            "intIndexed[0]",
+            "mappedProperty(New Key)",
+        });
+        propertyUtils.setProperties(bean, paths, new Object[] {
+            new Integer(11), "First", "Second", new Integer(12), "Third"});
+        assertEquals("int", 11, bean.getIntProperty());
+        assertEquals("string", "First", bean.getStringProperty());
+        assertEquals("nested", "Second", bean.getNested().getStringProperty());
+        assertEquals("indexed", 12, bean.getIntIndexed(0));
+        assertEquals("mapped", "Third", bean.getMappedProperty("New Key"));
+
+        beanUtils.setProperties(bean, new String[] {"intProperty", "doubleProperty"},
+                new Object[] {"21", "2.5"});
+        assertEquals("converted int", 21, bean.getIntProperty());
+        assertEquals("converted double", 2.5, bean.getDoubleProperty(), 0.0);
+    }
+}
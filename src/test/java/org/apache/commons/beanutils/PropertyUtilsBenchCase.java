@@ -162,6 +162,40 @@ public class PropertyUtilsBenchCase extends TestCase {
     // ------------------------------------------------- Individual Test Methods
 
 
+    // Time getSimpleProperty() and setSimpleProperty() on a bean
+    public void testSimpleProperty() throws Exception {
+
+        long start;
+        long stop;
+
+        // getSimpleProperty()
+        for (long i = 0; i < counter; i++) {
+            pu.getSimpleProperty(inBean, "stringProperty");
+        }
+        start = System.currentTimeMillis();
+        for (long i = 0; i < counter; i++) {
+            pu.getSimpleProperty(inBean, "stringProperty");
+        }
+        stop = System.currentTimeMillis();
+        System.err.println("PU.getSimpleProperty(bean), count=" + counter +
+                           ", time=" + (stop - start));
+
+        // setSimpleProperty()
+        String value = inBean.getStringProperty();
+        for (long i = 0; i < counter; i++) {
+            pu.setSimpleProperty(outBean, "stringProperty", value);
+        }
+        start = System.currentTimeMillis();
+        for (long i = 0; i < counter; i++) {
+            pu.setSimpleProperty(outBean, "stringProperty", value);
+        }
+        stop = System.currentTimeMillis();
+        System.err.println("PU.setSimpleProperty(bean), count=" + counter +
+                           ", time=" + (stop - start));
+
+    }
+
+
     // Time copyProperties() from a bean
     public void testCopyPropertiesBean() throws Exception {
 
@@ -490,6 +490,34 @@ public class PropertyUtilsTestCase extends TestCase {
     }
 
 
+    /**
+     * Test that unknown property names are remembered until the
+     * descriptors are cleared.
+     */
+    public void testGetDescriptorMissing() throws Exception {
+
+        final int[] scans = new int[1];
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean() {
+            public PropertyDescriptor[] getPropertyDescriptors(Object bean) {
+                scans[0]++;
+                return super.getPropertyDescriptors(bean);
+            }
+        };
+        assertNull("First lookup", propertyUtils.getPropertyDescriptor(bean, "unknown"));
+        assertEquals("First lookup scans", 1, scans[0]);
+        assertNull("Second lookup", propertyUtils.getPropertyDescriptor(bean, "unknown"));
+        assertEquals("Second lookup scans", 1, scans[0]);
+        assertFalse("Readable", propertyUtils.isReadable(bean, "unknown"));
+        assertFalse("Writeable", propertyUtils.isWriteable(bean, "unknown"));
+        assertEquals("Readable/Writeable scans", 1, scans[0]);
+
+        propertyUtils.clearDescriptors();
+        assertNull("Cleared lookup", propertyUtils.getPropertyDescriptor(bean, "unknown"));
+        assertEquals("Cleared lookup scans", 2, scans[0]);
+
+    }
+
+
     /**
      * Positive getPropertyDescriptor on property
      * <code>readOnlyProperty</code>.
@@ -1660,6 +1688,50 @@ public class PropertyUtilsTestCase extends TestCase {
 
     }
 
+    /**
+     * Test tryGetProperty() returns the same values as getProperty(), and
+     * NO_SUCH_PROPERTY where getProperty() would throw.
+     */
+    public void testTryGetProperty() throws Exception {
+
+        String[] names = new String[] {
+            "intProperty",
+            "nested.stringProperty",
+            "intIndexed[1]",
+            "mappedProperty(First Key)",
+            "mapProperty.First Key",
+            "nested.nested.booleanProperty",
+        };
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], PropertyUtils.getProperty(bean, names[i]),
+                    PropertyUtils.tryGetProperty(bean, names[i]));
+        }
+
+        Object missing = PropertyUtilsBean.NO_SUCH_PROPERTY;
+        assertSame("Unknown", missing, PropertyUtils.tryGetProperty(bean, "unknown"));
+        assertSame("Write only", missing, PropertyUtils.tryGetProperty(bean, "writeOnlyProperty"));
+        assertSame("Unknown indexed", missing, PropertyUtils.tryGetProperty(bean, "unknown[0]"));
+        assertSame("Unknown mapped", missing, PropertyUtils.tryGetProperty(bean, "unknown(key)"));
+        assertSame("Unknown nested", missing, PropertyUtils.tryGetProperty(bean, "unknown.intProperty"));
+        assertSame("Nested unknown", missing, PropertyUtils.tryGetProperty(bean, "nested.unknown"));
+        assertSame("Unknown dyna", missing, PropertyUtils.tryGetProperty(
+                new BasicDynaBean(new BasicDynaClass()), "unknown"));
+
+        NestedTestBean nestedBean = new NestedTestBean("base");
+        assertSame("Nested null", missing, PropertyUtils.tryGetProperty(
+                nestedBean, "simpleBeanProperty.indexedProperty[0]"));
+        assertFalse("isReadable nested unknown", PropertyUtils.isReadable(bean, "unknown.intProperty"));
+        assertFalse("isWriteable nested unknown", PropertyUtils.isWriteable(bean, "unknown.intProperty"));
+
+        try {
+            PropertyUtils.tryGetProperty(bean, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+
+    }
+
     /** 
      * When a bean has a null property which is reference by the standard access language,
      * this should throw a NestedNullException.
@@ -4422,6 +4494,43 @@ public class PropertyUtilsTestCase extends TestCase {
         utilsBean.getNestedProperty(myMap, "thebean(mapitem)");
     }
 
+    /**
+     * Test that a subclass overriding getPropertyDescriptor() is asked for
+     * the descriptor on every simple property access, i.e. that resolved
+     * accessors are not cached for it.
+     */
+    public void testOverriddenGetPropertyDescriptor() throws Exception {
+        final int[] calls = new int[1];
+        final boolean[] hidden = new boolean[1];
+        PropertyUtilsBean utilsBean = new PropertyUtilsBean() {
+            public PropertyDescriptor getPropertyDescriptor(Object bean, String name)
+                    throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+                calls[0]++;
+                return hidden[0] ? null : super.getPropertyDescriptor(bean, name);
+            }
+        };
+
+        assertEquals("get", "This is a string", utilsBean.getSimpleProperty(bean, "stringProperty"));
+        utilsBean.setSimpleProperty(bean, "stringProperty", "changed");
+        assertEquals("get after set", "changed", utilsBean.getSimpleProperty(bean, "stringProperty"));
+        assertEquals("calls", 3, calls[0]);
+
+        hidden[0] = true;
+        try {
+            utilsBean.getSimpleProperty(bean, "stringProperty");
+            fail("Expected NoSuchMethodException from get");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+        try {
+            utilsBean.setSimpleProperty(bean, "stringProperty", "hidden");
+            fail("Expected NoSuchMethodException from set");
+        } catch (NoSuchMethodException e) {
+            // expected result
+        }
+        assertEquals("unchanged", "changed", bean.getStringProperty());
+    }
+
     /**
      * Test {@link PropertyUtilsBean}'s invoke method throwing an IllegalArgumentException
      * and check that the "cause" has been properly initialized for JDK 1.4+
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.PropertyDescriptor;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link ScanningBeanIntrospector}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class ScanningBeanIntrospectorTestCase extends TestCase {
+
+    /** Bean classes whose descriptors should match the Introspector's */
+    private static final Class[] BEAN_CLASSES = new Class[] {
+        TestBean.class, IndexedTestBean.class, AlphaBean.class,
+        MappedPropertyTestBean.class, PrimitiveBean.class,
+        TestBeanPublicSubclass.class, NestedTestBean.class, String.class
+    };
+
+    private BeanIntrospector introspector;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public ScanningBeanIntrospectorTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(ScanningBeanIntrospectorTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        introspector = new ScanningBeanIntrospector();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        introspector = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test the descriptors are the same as the Introspector's.
+     */
+    public void testSameAsIntrospector() throws Exception {
+        PropertyUtilsBean defaultUtils = new PropertyUtilsBean();
+        PropertyUtilsBean scanningUtils = new PropertyUtilsBean();
+        scanningUtils.setBeanIntrospector(introspector);
+        for (int i = 0; i < BEAN_CLASSES.length; i++) {
+            PropertyDescriptor[] expected = defaultUtils.getPropertyDescriptors(BEAN_CLASSES[i]);
+            PropertyDescriptor[] actual = scanningUtils.getPropertyDescriptors(BEAN_CLASSES[i]);
+            assertEquals(BEAN_CLASSES[i] + " count", expected.length, actual.length);
+            for (int j = 0; j < expected.length; j++) {
+                assertDescriptor(BEAN_CLASSES[i].getName(), expected[j], actual[j]);
+            }
+        }
+    }
+
+    /**
+     * Test resolving single properties gives the same descriptors as
+     * scanning the whole class.
+     */
+    public void testSingleProperty() throws Exception {
+        for (int i = 0; i < BEAN_CLASSES.length; i++) {
+            PropertyDescriptor[] descriptors = introspector.getPropertyDescriptors(BEAN_CLASSES[i]);
+            for (int j = 0; j < descriptors.length; j++) {
+                PropertyDescriptor descriptor =
+                    introspector.getPropertyDescriptor(BEAN_CLASSES[i], descriptors[j].getName());
+                if (descriptors[j].getReadMethod() != null) {
+                    assertNotNull(descriptors[j].getName(), descriptor);
+                }
+                if (descriptor != null) {
+                    assertDescriptor(BEAN_CLASSES[i].getName(), descriptors[j], descriptor);
+                }
+            }
+        }
+        assertNull("write only", introspector.getPropertyDescriptor(TestBean.class, "writeOnlyProperty"));
+        assertNull("unknown", introspector.getPropertyDescriptor(TestBean.class, "unknown"));
+        assertNull("empty", introspector.getPropertyDescriptor(TestBean.class, ""));
+    }
+
+    /**
+     * Test property access through a PropertyUtilsBean using the scanner.
+     */
+    public void testPropertyUtils() throws Exception {
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        propertyUtils.setBeanIntrospector(introspector);
+        assertSame("introspector", introspector, propertyUtils.getBeanIntrospector());
+
+        TestBean bean = new TestBean();
+        propertyUtils.setProperty(bean, "intProperty", new Integer(42));
+        propertyUtils.setProperty(bean, "intArray[1]", new Integer(24));
+        propertyUtils.setProperty(bean, "nested.stringProperty", "Nested");
+        propertyUtils.setProperty(bean, "mappedProperty(First Key)", "Mapped");
+        assertEquals("simple", new Integer(42), propertyUtils.getProperty(bean, "intProperty"));
+        assertEquals("indexed", new Integer(24), propertyUtils.getProperty(bean, "intArray[1]"));
+        assertEquals("nested", "Nested", propertyUtils.getProperty(bean, "nested.stringProperty"));
+        assertEquals("mapped", "Mapped", propertyUtils.getProperty(bean, "mappedProperty(First Key)"));
+        assertEquals("boolean", Boolean.TRUE, propertyUtils.getProperty(bean, "booleanSecond"));
+        propertyUtils.setProperty(bean, "writeOnlyProperty", "Write Only");
+        assertEquals("write only", "Write Only", bean.getWriteOnlyPropertyValue());
+
+        propertyUtils.setBeanIntrospector(null);
+        assertTrue("default", propertyUtils.getBeanIntrospector() instanceof DefaultBeanIntrospector);
+    }
+
+    /**
+     * Assert two descriptors describe the same property.
+     */
+    private void assertDescriptor(String beanName, PropertyDescriptor expected,
+            PropertyDescriptor actual) {
+        String name = beanName + "." + expected.getName();
+        assertEquals(name + " name", expected.getName(), actual.getName());
+        assertEquals(name + " type", expected.getPropertyType(), actual.getPropertyType());
+        assertEquals(name + " read", expected.getReadMethod(), actual.getReadMethod());
+        assertEquals(name + " write", expected.getWriteMethod(), actual.getWriteMethod());
+        assertEquals(name + " indexed", expected instanceof IndexedPropertyDescriptor,
+                actual instanceof IndexedPropertyDescriptor);
+        if (expected instanceof IndexedPropertyDescriptor) {
+            IndexedPropertyDescriptor indexedExpected = (IndexedPropertyDescriptor) expected;
+            IndexedPropertyDescriptor indexedActual = (IndexedPropertyDescriptor) actual;
+            assertEquals(name + " indexed read", indexedExpected.getIndexedReadMethod(),
+                    indexedActual.getIndexedReadMethod());
+            assertEquals(name + " indexed write", indexedExpected.getIndexedWriteMethod(),
+                    indexedActual.getIndexedWriteMethod());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link SnapshotBeanIntrospector}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class SnapshotBeanIntrospectorTestCase extends TestCase {
+
+    /** The classes in the snapshot */
+    private static final Class[] BEAN_CLASSES = new Class[] {
+        TestBean.class, IndexedTestBean.class, AlphaBean.class, PrimitiveBean.class
+    };
+
+    private File file;
+    private CountingIntrospector fallback;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public SnapshotBeanIntrospectorTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(SnapshotBeanIntrospectorTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = File.createTempFile("beanutils-snapshot", ".txt");
+        fallback = new CountingIntrospector();
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        file.delete();
+        file = null;
+        fallback = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test the descriptors read from a snapshot are the same as the
+     * Introspector's.
+     */
+    public void testSnapshot() throws Exception {
+        writeSnapshot(BEAN_CLASSES);
+        SnapshotBeanIntrospector introspector = createIntrospector();
+        BeanIntrospector live = new DefaultBeanIntrospector();
+        for (int i = 0; i < BEAN_CLASSES.length; i++) {
+            assertTrue("snapshot " + BEAN_CLASSES[i], introspector.isSnapshot(BEAN_CLASSES[i]));
+            PropertyDescriptor[] expected = live.getPropertyDescriptors(BEAN_CLASSES[i]);
+            PropertyDescriptor[] actual = introspector.getPropertyDescriptors(BEAN_CLASSES[i]);
+            assertEquals(BEAN_CLASSES[i] + " count", expected.length, actual.length);
+            for (int j = 0; j < expected.length; j++) {
+                assertDescriptor(BEAN_CLASSES[i].getName(), expected[j], actual[j]);
+            }
+            assertNull("single", introspector.getPropertyDescriptor(BEAN_CLASSES[i], "intProperty"));
+        }
+        assertEquals("fallback", 0, fallback.count);
+    }
+
+    /**
+     * Test classes which aren't in a snapshot use the fallback.
+     */
+    public void testMissing() throws Exception {
+        writeSnapshot(new Class[] {TestBean.class});
+        SnapshotBeanIntrospector introspector = createIntrospector();
+        assertFalse("snapshot", introspector.isSnapshot(BetaBean.class));
+        introspector.getPropertyDescriptors(BetaBean.class);
+        assertEquals("fallback", 1, fallback.count);
+        assertNotNull("single", introspector.getPropertyDescriptor(BetaBean.class, "secret"));
+    }
+
+    /**
+     * Test stale snapshots aren't used.
+     */
+    public void testStale() throws Exception {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        out.write("class " + AlphaBean.class.getName() + " 1\n");
+        out.write("property name java.lang.String getName setName\n");
+        int methodCount = BetaBean.class.getMethods().length;
+        out.write("class " + BetaBean.class.getName() + " " + methodCount + "\n");
+        out.write("property secret java.lang.String getOldSecret -\n");
+        out.write("class " + PrimitiveBean.class.getName() + " "
+                + PrimitiveBean.class.getMethods().length + "\n");
+        out.write("property other unknown.Type getOther -\n");
+        out.close();
+
+        SnapshotBeanIntrospector introspector = createIntrospector();
+        assertFalse("method count", introspector.isSnapshot(AlphaBean.class));
+        assertFalse("method name", introspector.isSnapshot(BetaBean.class));
+        assertFalse("type", introspector.isSnapshot(PrimitiveBean.class));
+        introspector.getPropertyDescriptors(AlphaBean.class);
+        assertEquals("fallback", 1, fallback.count);
+    }
+
+    /**
+     * Test property access through a PropertyUtilsBean using a snapshot.
+     */
+    public void testPropertyUtils() throws Exception {
+        writeSnapshot(BEAN_CLASSES);
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean();
+        propertyUtils.setBeanIntrospector(createIntrospector());
+
+        TestBean bean = new TestBean();
+        propertyUtils.setProperty(bean, "intProperty", new Integer(42));
+        propertyUtils.setProperty(bean, "intArray[1]", new Integer(24));
+        propertyUtils.setProperty(bean, "mappedProperty(First Key)", "Mapped");
+        assertEquals("simple", new Integer(42), propertyUtils.getProperty(bean, "intProperty"));
+        assertEquals("indexed", new Integer(24), propertyUtils.getProperty(bean, "intArray[1]"));
+        assertEquals("mapped", "Mapped", propertyUtils.getProperty(bean, "mappedProperty(First Key)"));
+        assertEquals("fallback", 0, fallback.count);
+    }
+
+    /**
+     * Write a snapshot of the specified classes to the test file.
+     */
+    private void writeSnapshot(Class[] beanClasses) throws Exception {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            SnapshotBeanIntrospector.writeSnapshot(out, beanClasses, new DefaultBeanIntrospector());
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Create an introspector which reads the test file.
+     */
+    private SnapshotBeanIntrospector createIntrospector() throws Exception {
+        return (new SnapshotBeanIntrospector(new URL[] {file.toURI().toURL()}, fallback));
+    }
+
+    /**
+     * Assert two descriptors describe the same property.
+     */
+    private void assertDescriptor(String beanName, PropertyDescriptor expected,
+            PropertyDescriptor actual) {
+        String name = beanName + "." + expected.getName();
+        assertEquals(name + " name", expected.getName(), actual.getName());
+        assertEquals(name + " type", expected.getPropertyType(), actual.getPropertyType());
+        assertEquals(name + " read", expected.getReadMethod(), actual.getReadMethod());
+        assertEquals(name + " write", expected.getWriteMethod(), actual.getWriteMethod());
+        assertEquals(name + " indexed", expected instanceof IndexedPropertyDescriptor,
+                actual instanceof IndexedPropertyDescriptor);
+        if (expected instanceof IndexedPropertyDescriptor) {
+            IndexedPropertyDescriptor indexedExpected = (IndexedPropertyDescriptor) expected;
+            IndexedPropertyDescriptor indexedActual = (IndexedPropertyDescriptor) actual;
+            assertEquals(name + " indexed read", indexedExpected.getIndexedReadMethod(),
+                    indexedActual.getIndexedReadMethod());
+            assertEquals(name + " indexed write", indexedExpected.getIndexedWriteMethod(),
+                    indexedActual.getIndexedWriteMethod());
+        }
+    }
+
+    /**
+     * A fallback introspector which counts the classes it describes.
+     */
+    private static class CountingIntrospector extends ScanningBeanIntrospector {
+        private int count;
+
+        public PropertyDescriptor[] getPropertyDescriptors(Class beanClass)
+                throws IntrospectionException {
+            count++;
+            return (super.getPropertyDescriptors(beanClass));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils;
+
+import java.lang.reflect.Array;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link WeakIntrospectionCache}.
+ *
+ * @version $Revision$ $Date$
+ */
+public class WeakIntrospectionCacheTestCase extends TestCase {
+
+    private WeakIntrospectionCache cache;
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public WeakIntrospectionCacheTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(WeakIntrospectionCacheTestCase.class));
+    }
+
+    /**
+     * Set up instance variables required by this test case.
+     */
+    protected void setUp() throws Exception {
+        super.setUp();
+        cache = new WeakIntrospectionCache(2);
+    }
+
+    /**
+     * Tear down instance variables required by this test case.
+     */
+    protected void tearDown() throws Exception {
+        cache = null;
+        super.tearDown();
+    }
+
+    /**
+     * Test put, get and replacing a value.
+     */
+    public void testPutGet() {
+        assertNull("empty", cache.get(String.class));
+        assertNull("null class", cache.get(null));
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        assertEquals("String", "A", cache.get(String.class));
+        assertEquals("Integer", "B", cache.get(Integer.class));
+        assertNull("Long", cache.get(Long.class));
+        assertEquals("size", 2, cache.size());
+
+        cache.put(String.class, "C");
+        assertEquals("replaced", "C", cache.get(String.class));
+        assertEquals("Integer after replace", "B", cache.get(Integer.class));
+        assertEquals("size after replace", 2, cache.size());
+    }
+
+    /**
+     * Test null arguments are rejected.
+     */
+    public void testPutNull() {
+        try {
+            cache.put(null, "A");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+        try {
+            cache.put(String.class, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected result
+        }
+    }
+
+    /**
+     * Test removing a value.
+     */
+    public void testRemove() {
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        cache.remove(String.class);
+        assertNull("removed", cache.get(String.class));
+        assertEquals("kept", "B", cache.get(Integer.class));
+        assertEquals("size", 1, cache.size());
+
+        cache.remove(Long.class);
+        cache.remove(null);
+        assertEquals("size unchanged", 1, cache.size());
+    }
+
+    /**
+     * Test removing the values of a ClassLoader's classes.
+     */
+    public void testClearClassLoader() {
+        cache.put(String.class, "A");
+        cache.put(getClass(), "B");
+        Class[] removed = cache.clear(getClass().getClassLoader());
+        assertEquals("removed", 1, removed.length);
+        assertSame("removed class", getClass(), removed[0]);
+        assertNull("removed value", cache.get(getClass()));
+        assertEquals("kept", "A", cache.get(String.class));
+        assertEquals("size", 1, cache.size());
+
+        assertEquals("none removed", 0, cache.clear(getClass().getClassLoader()).length);
+        assertEquals("null", 0, cache.clear((ClassLoader) null).length);
+    }
+
+    /**
+     * Test clearing the cache.
+     */
+    public void testClear() {
+        cache.put(String.class, "A");
+        cache.put(Integer.class, "B");
+        cache.clear();
+        assertEquals("size", 0, cache.size());
+        assertNull("String", cache.get(String.class));
+        assertNull("Integer", cache.get(Integer.class));
+    }
+
+    /**
+     * Test the cache grows, and that removing entries from the middle
+     * of a chain leaves the others intact.
+     */
+    public void testManyClasses() {
+        Class[] classes = new Class[200];
+        Class type = String.class;
+        for (int i = 0; i < classes.length; i++) {
+            type = Array.newInstance(type, 0).getClass();
+            classes[i] = type;
+            cache.put(type, new Integer(i));
+        }
+        assertEquals("size", classes.length, cache.size());
+        for (int i = 0; i < classes.length; i++) {
+            assertEquals("get " + i, new Integer(i), cache.get(classes[i]));
+        }
+
+        for (int i = 0; i < classes.length; i += 2) {
+            cache.remove(classes[i]);
+        }
+        assertEquals("size after remove", classes.length / 2, cache.size());
+        for (int i = 0; i < classes.length; i++) {
+            if (i % 2 == 0) {
+                assertNull("removed " + i, cache.get(classes[i]));
+            } else {
+                assertEquals("kept " + i, new Integer(i), cache.get(classes[i]));
+            }
+        }
+    }
+
+    /**
+     * Test that PropertyUtilsBean uses the cache returned by
+     * createIntrospectionCache().
+     */
+    public void testPropertyUtilsBean() throws Exception {
+        final int[] created = new int[1];
+        PropertyUtilsBean propertyUtils = new PropertyUtilsBean() {
+            protected IntrospectionCache createIntrospectionCache() {
+                created[0]++;
+                return super.createIntrospectionCache();
+            }
+        };
+        assertTrue("created", created[0] > 0);
+        TestBean bean = new TestBean();
+        assertEquals("property", bean.getStringProperty(),
+                propertyUtils.getProperty(bean, "stringProperty"));
+        assertSame("descriptors", propertyUtils.getPropertyDescriptors(TestBean.class),
+                propertyUtils.getPropertyDescriptors(TestBean.class));
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.commons.beanutils.converters;
 
+import java.lang.reflect.Field;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -333,6 +334,114 @@ public abstract class DateConverterTestBase extends TestCase {
 
     }
 
+    /**
+     * Test trying the most successful pattern first
+     */
+    public void testAdaptivePatternOrder() {
+        String[] patterns = new String[] {"yyyy-dd-MM", "yyyy-MM-dd", "dd/MM/yyyy"};
+        DateTimeConverter converter = makeConverter();
+        converter.setPatterns(patterns);
+        assertFalse("default", converter.isAdaptivePatternOrder());
+        converter.setAdaptivePatternOrder(true);
+        assertTrue("adaptive", converter.isAdaptivePatternOrder());
+
+        // values only the second pattern parses
+        for (int day = 13; day <= 28; day++) {
+            String value = "2006-10-" + day;
+            validConversion(converter, toType(value, patterns[1], null), value);
+        }
+        validConversion(converter, toType("28/10/2006", patterns[2], null), "28/10/2006");
+        invalidConversion(converter, "2006/10/28");
+
+        // a value both the first and second patterns parse now uses the second
+        validConversion(converter, toType("2006-10-11", patterns[1], null), "2006-10-11");
+        converter.setAdaptivePatternOrder(false);
+        validConversion(converter, toType("2006-10-11", patterns[0], null), "2006-10-11");
+    }
+
+    /**
+     * Test that each thread's formats are only held as JDK objects, which
+     * don't prevent a web application's classes from being unloaded
+     */
+    public void testThreadFormatsHoldJdkTypes() throws Exception {
+        DateTimeConverter converter = makeConverter();
+        converter.setPatterns(new String[] {"yyyy-MM-dd", "dd/MM/yyyy"});
+        converter.setAdaptivePatternOrder(true);
+        converter.convert(getExpectedType(), "28/10/2006");
+
+        Field field = DateTimeConverter.class.getDeclaredField("threadFormats");
+        field.setAccessible(true);
+        Object[] local = (Object[]) ((ThreadLocal) field.get(converter)).get();
+        assertNotNull("formats", local);
+        for (int i = 0; i < local.length; i++) {
+            Object[] values = local[i] instanceof Object[] ? (Object[]) local[i] : new Object[] {local[i]};
+            for (int j = 0; j < values.length; j++) {
+                assertNull("JDK type " + values[j].getClass(), values[j].getClass().getClassLoader());
+            }
+        }
+    }
+
+    /**
+     * Test changing the patterns of a Converter which has been used
+     */
+    public void testChangePatterns() {
+        DateTimeConverter converter = makeConverter();
+        converter.setPattern("yyyy-MM-dd");
+        Object first = converter.convert(getExpectedType(), "2006-10-28");
+        converter.convert(getExpectedType(), "2007-11-29");
+        assertEquals("first unchanged", toType("2006-10-28", "yyyy-MM-dd", null), first);
+
+        converter.setPattern("dd/MM/yyyy");
+        validConversion(converter, toType("28/10/2006", "dd/MM/yyyy", null), "28/10/2006");
+        invalidConversion(converter, "2006-10-28");
+    }
+
+    /**
+     * Test several threads converting with the same Converter
+     */
+    public void testConcurrentConversion() throws Exception {
+        final String[] patterns = new String[] {"yyyy-MM-dd", "dd/MM/yyyy"};
+        final DateTimeConverter converter = makeConverter();
+        converter.setPatterns(patterns);
+        final Object[] expected = new Object[28];
+        final String[] values = new String[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            String day = (i < 9 ? "0" : "") + (i + 1);
+            values[i] = (i % 2 == 0) ? "2006-10-" + day : day + "/10/2006";
+            expected[i] = toType(values[i], patterns[i % 2], null);
+        }
+
+        final Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    try {
+                        for (int n = 0; n < 500; n++) {
+                            int i = (n + offset) % values.length;
+                            Object result = converter.convert(getExpectedType(), values[i]);
+                            assertEquals(values[i], expected[i], result);
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failure) {
+                            failure[0] = e;
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+        }
+        synchronized (failure) {
+            if (failure[0] != null) {
+                fail("Conversion failed: " + failure[0]);
+            }
+        }
+    }
+
     /**
      * Test Date Converter with no default value
      */
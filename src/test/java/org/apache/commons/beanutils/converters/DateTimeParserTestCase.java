@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils.converters;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Test case for {@link DateTimeParser}, comparing its results with those
+ * of <code>SimpleDateFormat</code> and the JDBC <code>valueOf()</code>
+ * methods.
+ *
+ * @version $Revision$ $Date$
+ */
+public class DateTimeParserTestCase extends TestCase {
+
+    /**
+     * Construct a new instance of this test case.
+     *
+     * @param name Name of the test case
+     */
+    public DateTimeParserTestCase(String name) {
+        super(name);
+    }
+
+    /**
+     * Return the tests included in this test suite.
+     * @return a test suite
+     */
+    public static Test suite() {
+        return (new TestSuite(DateTimeParserTestCase.class));
+    }
+
+    /**
+     * Test the JDBC date format.
+     */
+    public void testSqlDate() {
+        String[] values = new String[] {"2006-10-28", "2006-1-5", "1900-02-28", "2004-02-29",
+                "2006-02-30", "0001-01-01", "9999-12-31"};
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], java.sql.Date.valueOf(values[i]),
+                    DateTimeParser.parseSqlDate(values[i]));
+        }
+        String[] invalid = new String[] {"", "2006", "2006-10", "2006-10-", "2006-13-01",
+                "2006-10-32", "2006-00-10", "06-10-28", "2006/10/28", "2006-10-2X",
+                "2006-+1-01", "2006-100-1", "2006-10-28 10:00:00"};
+        for (int i = 0; i < invalid.length; i++) {
+            assertNull(invalid[i], DateTimeParser.parseSqlDate(invalid[i]));
+        }
+    }
+
+    /**
+     * Test the JDBC time format.
+     */
+    public void testSqlTime() {
+        String[] values = new String[] {"00:00:00", "09:05:01", "23:59:59", "12:30:45"};
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], Time.valueOf(values[i]), DateTimeParser.parseSqlTime(values[i]));
+        }
+        String[] invalid = new String[] {"", "9:05:01", "24:00:00", "12:60:00", "12:00:60",
+                "12-00-00", "12:00:0X", "12:00:00.5"};
+        for (int i = 0; i < invalid.length; i++) {
+            assertNull(invalid[i], DateTimeParser.parseSqlTime(invalid[i]));
+        }
+    }
+
+    /**
+     * Test the JDBC timestamp format.
+     */
+    public void testSqlTimestamp() {
+        String[] values = new String[] {"2006-10-28 09:05:01", "2006-1-5 23:59:59",
+                "2006-10-28 09:05:01.1", "2006-10-28 09:05:01.123", "2006-10-28 09:05:01.123456789",
+                "2006-02-30 00:00:00"};
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], Timestamp.valueOf(values[i]),
+                    DateTimeParser.parseSqlTimestamp(values[i]));
+        }
+        String[] invalid = new String[] {"", "2006-10-28", "2006-10-28 09:05", "2006-10-28T09:05:01",
+                "2006-10-28 25:00:00", "2006-10-28 09:05:01.", "2006-10-28 09:05:01.1234567890",
+                "2006-10-28 09:05:01.12X", "2006-10-28 09:05:01 "};
+        for (int i = 0; i < invalid.length; i++) {
+            assertNull(invalid[i], DateTimeParser.parseSqlTimestamp(invalid[i]));
+        }
+    }
+
+    /**
+     * Test the patterns which can and can't be compiled.
+     */
+    public void testCompile() {
+        String[] supported = new String[] {"yyyy-MM-dd", "HH:mm:ss", "yyyy-MM-dd HH:mm:ss",
+                "yyyy-MM-dd'T'HH:mm:ss.SSS", "yyyyMMdd", "dd/MM/yyyy", "yyyy-MM-dd'T'HH:mm:ss'Z'"};
+        for (int i = 0; i < supported.length; i++) {
+            assertNotNull(supported[i], DateTimeParser.compile(new SimpleDateFormat(supported[i])));
+        }
+        String[] unsupported = new String[] {"yy-MM-dd", "yyyy-M-d", "dd MMM yyyy", "hh:mm a",
+                "yyyy-MM-dd HH:mm:ss z", "yyyy-MM-dd''HH", "yyyy-MM-dd'at'HH", "yyyy-MM-dd-yyyy",
+                "yyyy1MM"};
+        for (int i = 0; i < unsupported.length; i++) {
+            assertNull(unsupported[i], DateTimeParser.compile(new SimpleDateFormat(unsupported[i])));
+        }
+    }
+
+    /**
+     * Test screening values.
+     */
+    public void testScreen() {
+        DateTimeParser.Screen screen = DateTimeParser.screen(new SimpleDateFormat("d/M/yyyy"));
+        assertTrue("match", screen.accepts("28/10/2006"));
+        assertTrue("short fields", screen.accepts("1/1/6"));
+        assertFalse("too short", screen.accepts("1/1/"));
+        assertFalse("separators", screen.accepts("2006-10-28"));
+        assertFalse("one separator", screen.accepts("28/10-2006"));
+
+        screen = DateTimeParser.screen(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm 'o''clock'"));
+        assertTrue("quoted", screen.accepts("2006-10-28T09:30 o'clock"));
+        assertFalse("no quoted text", screen.accepts("2006-10-28T09:30"));
+
+        screen = DateTimeParser.screen(new SimpleDateFormat("dd MMM yyyy"));
+        assertTrue("text field", screen.accepts("28 Oct 2006"));
+        assertFalse("no space", screen.accepts("28-Oct-2006"));
+
+        assertNull("not SimpleDateFormat", DateTimeParser.screen(null));
+    }
+
+    /**
+     * Test parsing with compiled patterns gives the same results as the
+     * formats, or NO_MATCH.
+     */
+    public void testParse() {
+        String[] zones = new String[] {"UTC", "Europe/London", "America/New_York", "Australia/Sydney"};
+        for (int z = 0; z < zones.length; z++) {
+            TimeZone zone = TimeZone.getTimeZone(zones[z]);
+            checkParse(zone, "yyyy-MM-dd", new String[] {"2006-10-18", "2004-02-29", "2006-01-01"}, 
+                    new String[] {"2006-02-29", "2006-13-01", "2006-1-5", "1582-10-10", "2006-10-18 "});
+            checkParse(zone, "yyyy-MM-dd HH:mm:ss", new String[] {"2006-10-18 09:05:01", "2006-07-01 23:59:59"},
+                    new String[] {"2006-10-18 24:00:00", "2006-10-18 09:60:00", "2006-10-18T09:05:01"});
+            checkParse(zone, "yyyy-MM-dd'T'HH:mm:ss.SSS", new String[] {"2006-10-18T09:05:01.123"},
+                    new String[] {"2006-10-18T09:05:01", "2006-10-18 09:05:01.123"});
+            checkParse(zone, "HH:mm:ss", new String[] {"09:05:01", "00:00:00"}, new String[] {"9:05:01"});
+            checkParse(zone, "yyyyMMdd", new String[] {"20061018"}, new String[] {"2006102"});
+        }
+
+        // the start and end of daylight saving time are left to the format
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        checkParse(newYork, "yyyy-MM-dd HH:mm", new String[] {"2006-05-01 12:00"},
+                new String[] {"2006-04-02 02:30", "2006-10-29 01:30", "2006-10-28 12:00"});
+    }
+
+    /**
+     * Check the results of parsing values with a compiled pattern.
+     *
+     * @param zone The time zone
+     * @param pattern The pattern
+     * @param values Values which must be parsed the same as the format
+     * @param unmatched Values which must not be parsed
+     */
+    private void checkParse(TimeZone zone, String pattern, String[] values, String[] unmatched) {
+        DateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(zone);
+        format.setLenient(false);
+        DateTimeParser parser = DateTimeParser.compile(format);
+        assertNotNull(pattern, parser);
+        for (int i = 0; i < values.length; i++) {
+            ParsePosition pos = new ParsePosition(0);
+            Date expected = format.parse(values[i], pos);
+            assertEquals(values[i] + " " + zone.getID(), expected.getTime(), parser.parse(values[i]));
+        }
+        for (int i = 0; i < unmatched.length; i++) {
+            assertEquals(unmatched[i] + " " + zone.getID(), DateTimeParser.NO_MATCH,
+                    parser.parse(unmatched[i]));
+        }
+    }
+}